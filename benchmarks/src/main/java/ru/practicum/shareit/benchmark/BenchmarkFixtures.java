@@ -0,0 +1,77 @@
+package ru.practicum.shareit.benchmark;
+
+import lombok.experimental.UtilityClass;
+import ru.practicum.shareit.booking.dto.BookingOutDto;
+import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@UtilityClass
+public class BenchmarkFixtures {
+    public static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    public static User user(long id) {
+        return new User()
+                .setId(id)
+                .setName("User " + id)
+                .setEmail("user" + id + "@shareit.ru");
+    }
+
+    public static Item item(long id, long ownerId) {
+        return new Item()
+                .setId(id)
+                .setUserId(ownerId)
+                .setName("Item " + id)
+                .setDescription("Description of item " + id)
+                .setAvailable(true);
+    }
+
+    public static ItemRequest itemRequest(long id, User requestor) {
+        return new ItemRequest()
+                .setId(id)
+                .setDescription("Request " + id)
+                .setRequestor(requestor)
+                .setCreated(NOW);
+    }
+
+    public static Booking booking(long id, Item item, User booker, BookingStatus status) {
+        return new Booking()
+                .setId(id)
+                .setItem(item)
+                .setBooker(booker)
+                .setOwnerId(item.getUserId())
+                .setStart(NOW.plusHours(id))
+                .setEnd(NOW.plusHours(id + 1))
+                .setStatus(status)
+                .setVersion(0L);
+    }
+
+    public static List<Booking> bookings(int count) {
+        User owner = user(1L);
+        User booker = user(2L);
+        List<Booking> bookings = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Item item = item(i % 10 + 1, owner.getId());
+            bookings.add(booking(i + 1, item, booker, BookingStatus.values()[i % BookingStatus.values().length]));
+        }
+        return bookings;
+    }
+
+    public static List<BookingOutDto> bookingOutDtos(int count) {
+        List<BookingOutDto> bookingOutDtos = new ArrayList<>(count);
+        for (Booking booking : bookings(count)) {
+            Item item = booking.getItem();
+            User booker = booking.getBooker();
+            bookingOutDtos.add(new BookingOutDto(booking.getId(), booking.getStart(), booking.getEnd(),
+                    booking.getStatus(), item.getId(), item.getName(), item.getDescription(), item.getAvailable(),
+                    item.getRequestId(), booker.getId(), booker.getName(), booker.getEmail()));
+        }
+        return bookingOutDtos;
+    }
+}
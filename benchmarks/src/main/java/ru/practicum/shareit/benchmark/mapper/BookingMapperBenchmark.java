@@ -0,0 +1,61 @@
+package ru.practicum.shareit.benchmark.mapper;
+
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.booking.dto.BookingForItemDto;
+import ru.practicum.shareit.booking.dto.BookingInnerDto;
+import ru.practicum.shareit.booking.dto.BookingOutDto;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.timeline.BookingTimelineEntry;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.concurrent.TimeUnit;
+
+import static ru.practicum.shareit.benchmark.BenchmarkFixtures.*;
+import static ru.practicum.shareit.booking.enums.BookingStatus.APPROVED;
+import static ru.practicum.shareit.booking.enums.BookingStatus.WAITING;
+import static ru.practicum.shareit.item.mapper.ItemMapper.toItemOutShortDto;
+import static ru.practicum.shareit.user.mapper.UserMapper.toUserDto;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BookingMapperBenchmark {
+    private BookingInnerDto bookingInnerDto;
+    private Item item;
+    private User booker;
+    private Booking booking;
+
+    @Setup
+    public void createFixtures() {
+        item = item(1L, 1L);
+        booker = user(2L);
+        booking = booking(3L, item, booker, APPROVED);
+        bookingInnerDto = new BookingInnerDto(item.getId(), NOW.plusDays(1), NOW.plusDays(2));
+    }
+
+    @Benchmark
+    public Booking toBooking() {
+        return BookingMapper.toBooking(bookingInnerDto, item, booker, WAITING);
+    }
+
+    @Benchmark
+    public BookingOutDto toBookingOutDto() {
+        return BookingMapper.toBookingOutDto(booking, toItemOutShortDto(item.getId(), item),
+                toUserDto(booker.getId(), booker));
+    }
+
+    @Benchmark
+    public BookingForItemDto toBookingForItemDto() {
+        return BookingMapper.toBookingForItemDto(booking);
+    }
+
+    @Benchmark
+    public BookingTimelineEntry toBookingTimelineEntry() {
+        return BookingMapper.toBookingTimelineEntry(booking, APPROVED);
+    }
+}
@@ -0,0 +1,56 @@
+package ru.practicum.shareit.benchmark.mapper;
+
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.booking.dto.BookingForItemDto;
+import ru.practicum.shareit.item.comment.dto.CommentOutDto;
+import ru.practicum.shareit.item.dto.ItemInnerDto;
+import ru.practicum.shareit.item.dto.ItemOutLongDto;
+import ru.practicum.shareit.item.dto.ItemOutShortDto;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static ru.practicum.shareit.benchmark.BenchmarkFixtures.*;
+import static ru.practicum.shareit.booking.enums.BookingStatus.APPROVED;
+import static ru.practicum.shareit.booking.mapper.BookingMapper.toBookingForItemDto;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ItemMapperBenchmark {
+    private ItemInnerDto itemInnerDto;
+    private Item item;
+    private BookingForItemDto lastBooking;
+    private BookingForItemDto nextBooking;
+    private List<CommentOutDto> comments;
+
+    @Setup
+    public void createFixtures() {
+        item = item(1L, 1L);
+        itemInnerDto = new ItemInnerDto(item.getName(), item.getDescription(), true, null);
+        lastBooking = toBookingForItemDto(booking(2L, item, user(2L), APPROVED));
+        nextBooking = toBookingForItemDto(booking(3L, item, user(3L), APPROVED));
+        comments = List.of(new CommentOutDto(4L, "Comment", "User 2", NOW),
+                new CommentOutDto(5L, "Comment", "User 3", NOW));
+    }
+
+    @Benchmark
+    public Item toItem() {
+        return ItemMapper.toItem(1L, itemInnerDto);
+    }
+
+    @Benchmark
+    public ItemOutShortDto toItemOutShortDto() {
+        return ItemMapper.toItemOutShortDto(item.getId(), item);
+    }
+
+    @Benchmark
+    public ItemOutLongDto toItemOutLongDto() {
+        return ItemMapper.toItemOutLongDto(item, lastBooking, nextBooking, comments);
+    }
+}
@@ -0,0 +1,60 @@
+package ru.practicum.shareit.benchmark.mapper;
+
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.item.dto.ItemOutShortDto;
+import ru.practicum.shareit.request.dto.ItemRequestInnerDto;
+import ru.practicum.shareit.request.dto.ItemRequestOutLongDto;
+import ru.practicum.shareit.request.dto.ItemRequestOutShortDto;
+import ru.practicum.shareit.request.mapper.ItemRequestMapper;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static ru.practicum.shareit.benchmark.BenchmarkFixtures.*;
+import static ru.practicum.shareit.item.mapper.ItemMapper.toItemOutShortDto;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ItemRequestMapperBenchmark {
+    @Param({"0", "10"})
+    public int itemsPerRequest;
+
+    private ItemRequestInnerDto itemRequestInnerDto;
+    private User requestor;
+    private ItemRequest itemRequest;
+    private List<ItemOutShortDto> items;
+
+    @Setup
+    public void createFixtures() {
+        requestor = user(1L);
+        itemRequest = itemRequest(2L, requestor);
+        itemRequestInnerDto = new ItemRequestInnerDto(itemRequest.getDescription());
+        items = LongStream.rangeClosed(1, itemsPerRequest)
+                .mapToObj(id -> item(id, 3L).setRequestId(itemRequest.getId()))
+                .map(item -> toItemOutShortDto(item.getId(), item))
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public ItemRequest toItemRequest() {
+        return ItemRequestMapper.toItemRequest(requestor, itemRequestInnerDto);
+    }
+
+    @Benchmark
+    public ItemRequestOutShortDto toItemRequestOutShortDto() {
+        return ItemRequestMapper.toItemRequestOutShortDto(itemRequest);
+    }
+
+    @Benchmark
+    public ItemRequestOutLongDto toItemRequestOutLongDto() {
+        return ItemRequestMapper.toItemRequestOutLongDto(items, itemRequest);
+    }
+}
@@ -0,0 +1,43 @@
+package ru.practicum.shareit.benchmark.service;
+
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.booking.dto.BookingOutDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.datagen.GeneratedDataset;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class BookingServiceH2Benchmark {
+    @Param({"ALL", "CURRENT", "PAST", "FUTURE", "WAITING"})
+    public String state;
+
+    private BookingService bookingService;
+    private GeneratedDataset dataset;
+    private SplittableRandom random;
+
+    @Setup
+    public void prepare(H2ServerState server) {
+        bookingService = server.getBean(BookingService.class);
+        dataset = server.getDataset();
+        random = new SplittableRandom(server.seed);
+    }
+
+    @Benchmark
+    public List<BookingOutDto> getBookingsForBooker() {
+        return bookingService.getBookingsForBooker(dataset.randomUserId(random), state, 0, 20);
+    }
+
+    @Benchmark
+    public List<BookingOutDto> getBookingsForOwner() {
+        long ownerId = dataset.ownerOf(dataset.randomItemId(random));
+        return bookingService.getBookingsForOwner(ownerId, state, 0, 20);
+    }
+}
@@ -0,0 +1,60 @@
+package ru.practicum.shareit.benchmark.service;
+
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.benchmark.BenchmarkFixtures;
+import ru.practicum.shareit.booking.dto.BookingOutDto;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.booking.service.BookingServiceImpl;
+import ru.practicum.shareit.booking.view.OwnerBookingViewRepository;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BookingStateDispatchBenchmark {
+    @Param({"ALL", "CURRENT", "PAST", "FUTURE", "WAITING", "REJECTED", "EXPIRED"})
+    public String state;
+
+    @Param({"1", "20"})
+    public int pageSize;
+
+    private BookingService bookingService;
+
+    @Setup
+    public void createService() {
+        BookingRepository bookingRepository = RepositoryStubs.returning(BookingRepository.class,
+                BenchmarkFixtures.bookingOutDtos(pageSize));
+        OwnerBookingViewRepository ownerBookingViewRepository = RepositoryStubs.returning(
+                OwnerBookingViewRepository.class, BenchmarkFixtures.bookingOutDtos(pageSize));
+        UserRepository userRepository = RepositoryStubs.returning(UserRepository.class, List.of());
+        bookingService = new BookingServiceImpl(bookingRepository, userRepository, null, null, null,
+                ownerBookingViewRepository, null, null);
+    }
+
+    @Benchmark
+    public List<BookingOutDto> getBookingsForBookerWithPagination() {
+        return bookingService.getBookingsForBooker(2L, state, 0, pageSize);
+    }
+
+    @Benchmark
+    public List<BookingOutDto> getBookingsForBookerWithoutPagination() {
+        return bookingService.getBookingsForBooker(2L, state, null, null);
+    }
+
+    @Benchmark
+    public List<BookingOutDto> getBookingsForOwnerWithPagination() {
+        return bookingService.getBookingsForOwner(1L, state, 0, pageSize);
+    }
+
+    @Benchmark
+    public List<BookingOutDto> getBookingsForOwnerWithoutPagination() {
+        return bookingService.getBookingsForOwner(1L, state, null, null);
+    }
+}
@@ -0,0 +1,63 @@
+package ru.practicum.shareit.benchmark.service;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.ShareItApp;
+import ru.practicum.shareit.datagen.DatasetGenerator;
+import ru.practicum.shareit.datagen.DatasetSpec;
+import ru.practicum.shareit.datagen.GeneratedDataset;
+import ru.practicum.shareit.request.matching.ItemMatchingIndex;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+@State(Scope.Benchmark)
+public class H2ServerState {
+    @Param({"42"})
+    public long seed;
+
+    @Param({"1000"})
+    public int users;
+
+    @Param({"2"})
+    public double itemsPerUser;
+
+    @Param({"10"})
+    public double bookingsPerItem;
+
+    private ConfigurableApplicationContext context;
+    private GeneratedDataset dataset;
+
+    @Setup(Level.Trial)
+    public void start() throws SQLException {
+        context = new SpringApplicationBuilder(ShareItApp.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test", "benchmark")
+                .run();
+        DatasetSpec spec = new DatasetSpec()
+                .setSeed(seed)
+                .setUsers(users)
+                .setItemsPerUser(itemsPerUser)
+                .setBookingsPerItem(bookingsPerItem);
+        try (Connection connection = context.getBean(DataSource.class).getConnection()) {
+            dataset = new DatasetGenerator(spec).generate(connection);
+        }
+        context.getBean(ItemMatchingIndex.class).rebuild();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    public <T> T getBean(Class<T> beanClass) {
+        return context.getBean(beanClass);
+    }
+
+    public GeneratedDataset getDataset() {
+        return dataset;
+    }
+}
@@ -0,0 +1,60 @@
+package ru.practicum.shareit.benchmark.service;
+
+import org.hibernate.Session;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.datagen.GeneratedDataset;
+import ru.practicum.shareit.item.model.Item;
+
+import javax.persistence.EntityManager;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ItemInsertH2Benchmark {
+    @Param({"1", "50"})
+    public int jdbcBatchSize;
+
+    @Param({"1000"})
+    public int rows;
+
+    private EntityManager entityManager;
+    private TransactionTemplate transactionTemplate;
+    private GeneratedDataset dataset;
+    private SplittableRandom random;
+
+    @Setup
+    public void prepare(H2ServerState server) {
+        entityManager = server.getBean(EntityManager.class);
+        transactionTemplate = new TransactionTemplate(server.getBean(PlatformTransactionManager.class));
+        dataset = server.getDataset();
+        random = new SplittableRandom(server.seed);
+    }
+
+    @Benchmark
+    public long insertItems() {
+        long ownerId = dataset.randomUserId(random);
+        return transactionTemplate.execute(status -> {
+            entityManager.unwrap(Session.class).setJdbcBatchSize(jdbcBatchSize);
+            long lastId = 0;
+            for (int i = 0; i < rows; i++) {
+                Item item = new Item()
+                        .setUserId(ownerId)
+                        .setName("Item " + i)
+                        .setDescription("Inserted by benchmark")
+                        .setAvailable(true);
+                entityManager.persist(item);
+                lastId = item.getId();
+            }
+            entityManager.flush();
+            status.setRollbackOnly();
+            return lastId;
+        });
+    }
+}
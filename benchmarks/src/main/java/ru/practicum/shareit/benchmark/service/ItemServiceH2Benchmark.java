@@ -0,0 +1,47 @@
+package ru.practicum.shareit.benchmark.service;
+
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.datagen.GeneratedDataset;
+import ru.practicum.shareit.item.dto.ItemOutLongDto;
+import ru.practicum.shareit.item.dto.ItemOutShortDto;
+import ru.practicum.shareit.item.service.ItemService;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ItemServiceH2Benchmark {
+    private ItemService itemService;
+    private GeneratedDataset dataset;
+    private SplittableRandom random;
+
+    @Setup
+    public void prepare(H2ServerState server) {
+        itemService = server.getBean(ItemService.class);
+        dataset = server.getDataset();
+        random = new SplittableRandom(server.seed);
+    }
+
+    @Benchmark
+    public ItemOutLongDto getItemByIdAsOwner() {
+        long itemId = dataset.randomItemId(random);
+        return itemService.getItemById(dataset.ownerOf(itemId), itemId);
+    }
+
+    @Benchmark
+    public List<ItemOutLongDto> getItems() {
+        long ownerId = dataset.ownerOf(dataset.randomItemId(random));
+        return itemService.getItems(ownerId, 0, 20);
+    }
+
+    @Benchmark
+    public List<ItemOutShortDto> findItemsByNameOrDescription() {
+        return itemService.findItemsByNameOrDescription(dataset.randomUserId(random), "kayak", 0, 20);
+    }
+}
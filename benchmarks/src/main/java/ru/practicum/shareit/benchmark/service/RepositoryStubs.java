@@ -0,0 +1,37 @@
+package ru.practicum.shareit.benchmark.service;
+
+import lombok.experimental.UtilityClass;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Optional;
+
+@UtilityClass
+public class RepositoryStubs {
+    public static <T> T returning(Class<T> repositoryClass, List<?> rows) {
+        Object stub = Proxy.newProxyInstance(repositoryClass.getClassLoader(), new Class<?>[]{repositoryClass},
+                (proxy, method, args) -> {
+                    Class<?> returnType = method.getReturnType();
+                    if (returnType == boolean.class) {
+                        return true;
+                    }
+                    if (returnType == long.class) {
+                        return (long) rows.size();
+                    }
+                    if (List.class.isAssignableFrom(returnType)) {
+                        return rows;
+                    }
+                    if (returnType == Optional.class) {
+                        return rows.stream().findFirst();
+                    }
+                    if (method.getName().equals("hashCode")) {
+                        return System.identityHashCode(proxy);
+                    }
+                    if (method.getName().equals("equals")) {
+                        return proxy == args[0];
+                    }
+                    return null;
+                });
+        return repositoryClass.cast(stub);
+    }
+}
@@ -0,0 +1,32 @@
+package ru.practicum.shareit.datagen;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+public class CommandLineOptions {
+    private final Map<String, String> options = new HashMap<>();
+
+    public CommandLineOptions(String[] args) {
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+    }
+
+    public CommandLineOptions apply(String name, Consumer<String> setter) {
+        String value = options.remove(name);
+        if (value != null) {
+            setter.accept(value);
+        }
+        return this;
+    }
+
+    public void checkAllApplied() {
+        if (!options.isEmpty()) {
+            throw new IllegalArgumentException("Unknown options " + options.keySet());
+        }
+    }
+}
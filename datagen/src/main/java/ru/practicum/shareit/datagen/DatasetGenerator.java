@@ -0,0 +1,295 @@
+package ru.practicum.shareit.datagen;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+@Slf4j
+@RequiredArgsConstructor
+public class DatasetGenerator {
+    private static final String[] WORDS = {"drill", "saw", "ladder", "tent", "bike", "kayak", "camera", "guitar",
+            "projector", "hammer", "sleeping bag", "skis", "scooter", "board game", "grill", "lawn mower"};
+    private static final String[] ADJECTIVES = {"old", "new", "electric", "folding", "big", "small", "kids", "pro"};
+    private static final String[] STATUSES = {"WAITING", "APPROVED", "REJECTED", "EXPIRED"};
+    private static final int WAITING = 0;
+    private static final int APPROVED = 1;
+    private static final int REJECTED = 2;
+    private static final int EXPIRED = 3;
+    private static final long HOUR = 60 * 60;
+    private static final long DAY = 24 * HOUR;
+    private static final long FUTURE_DAYS = 90;
+    private static final double MEDIAN_DURATION_HOURS = 48;
+    private static final double DURATION_SIGMA = 0.9;
+    private static final double AVAILABLE_SHARE = 0.9;
+    private static final int SEQUENCE_INCREMENT = 50;
+
+    private final DatasetSpec spec;
+
+    public GeneratedDataset generate(Connection connection) throws SQLException {
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try {
+            if (spec.isClean()) {
+                clean(connection);
+            }
+            long started = System.nanoTime();
+            insertUsers(connection);
+            insertRequests(connection);
+            int[] itemOwnerIds = insertItems(connection);
+            long[] counts = insertBookingsAndComments(connection, itemOwnerIds);
+            restartSequences(connection);
+            connection.commit();
+            GeneratedDataset dataset = new GeneratedDataset(spec.getUsers(), spec.getRequests(), itemOwnerIds,
+                    counts[0], counts[1]);
+            log.info("Generated dataset {} in {} ms", dataset, (System.nanoTime() - started) / 1_000_000);
+            return dataset;
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    private void clean(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            for (String table : new String[]{"comments", "booking_counters", "owner_booking_view", "bookings_archive",
+                    "bookings", "items", "requests", "users"}) {
+                statement.executeUpdate("DELETE FROM " + table);
+            }
+        }
+        connection.commit();
+    }
+
+    private void insertUsers(Connection connection) throws SQLException {
+        try (BatchWriter writer = new BatchWriter(connection, "INSERT INTO users (id, name, email) VALUES (?, ?, ?)")) {
+            for (long id = 1; id <= spec.getUsers(); id++) {
+                writer.add(id, "User " + id, "user" + id + "@shareit.ru");
+            }
+        }
+        log.info("Inserted {} users", spec.getUsers());
+    }
+
+    private void insertRequests(Connection connection) throws SQLException {
+        SplittableRandom random = random(2);
+        long from = epochSecond(spec.getReferenceTime()) - spec.getHistoryDays() * DAY;
+        try (BatchWriter writer = new BatchWriter(connection,
+                "INSERT INTO requests (id, description, requestor_id, created) VALUES (?, ?, ?, ?)")) {
+            for (long id = 1; id <= spec.getRequests(); id++) {
+                String word = WORDS[random.nextInt(WORDS.length)];
+                long created = from + random.nextLong(spec.getHistoryDays() * DAY);
+                writer.add(id, "Looking for a " + word, random.nextInt(spec.getUsers()) + 1L, timestamp(created));
+            }
+        }
+        log.info("Inserted {} requests", spec.getRequests());
+    }
+
+    private int[] insertItems(Connection connection) throws SQLException {
+        SplittableRandom random = random(3);
+        ZipfSampler owners = new ZipfSampler(spec.getUsers(), spec.getOwnershipSkew());
+        int[] itemOwnerIds = new int[spec.getItems()];
+        try (BatchWriter writer = new BatchWriter(connection,
+                "INSERT INTO items (id, user_id, name, description, available, request_id) " +
+                        "VALUES (?, ?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < itemOwnerIds.length; i++) {
+                int ownerId = owners.sample(random);
+                String word = WORDS[random.nextInt(WORDS.length)];
+                String adjective = ADJECTIVES[random.nextInt(ADJECTIVES.length)];
+                Long requestId = null;
+                if (spec.getRequests() > 0 && random.nextDouble() < spec.getItemsForRequestsShare()) {
+                    requestId = random.nextInt(spec.getRequests()) + 1L;
+                }
+                itemOwnerIds[i] = ownerId;
+                writer.add(i + 1L, ownerId, adjective + " " + word, "A " + adjective + " " + word + " to share",
+                        random.nextDouble() < AVAILABLE_SHARE, requestId);
+            }
+        }
+        log.info("Inserted {} items", itemOwnerIds.length);
+        return itemOwnerIds;
+    }
+
+    private long[] insertBookingsAndComments(Connection connection, int[] itemOwnerIds) throws SQLException {
+        SplittableRandom random = random(4);
+        int[] bookingsPerItem = new int[itemOwnerIds.length];
+        ZipfSampler items = new ZipfSampler(itemOwnerIds.length, spec.getItemPopularitySkew());
+        for (long i = 0; i < spec.getBookings(); i++) {
+            bookingsPerItem[items.sample(random) - 1]++;
+        }
+        long[][] counters = new long[2][(spec.getUsers() + 1) * STATUSES.length];
+        long now = epochSecond(spec.getReferenceTime());
+        long from = now - spec.getHistoryDays() * DAY;
+        long window = (spec.getHistoryDays() + FUTURE_DAYS) * DAY;
+        long bookingId = 0;
+        long commentId = 0;
+        try (BatchWriter bookings = new BatchWriter(connection,
+                "INSERT INTO bookings (id, item_id, booker_id, status, start_time, end_time, owner_id, version) " +
+                        "VALUES (?, ?, ?, ?, ?, ?, ?, 0)");
+             BatchWriter comments = new BatchWriter(connection,
+                     "INSERT INTO comments (id, text, item_id, author_id, created) VALUES (?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < itemOwnerIds.length; i++) {
+                long[] starts = new long[bookingsPerItem[i]];
+                for (int j = 0; j < starts.length; j++) {
+                    starts[j] = from + random.nextLong(window) / HOUR * HOUR;
+                }
+                Arrays.sort(starts);
+                long itemId = i + 1L;
+                int ownerId = itemOwnerIds[i];
+                for (int j = 0; j < starts.length; j++) {
+                    long start = starts[j];
+                    long end = start + duration(random);
+                    if (j + 1 < starts.length && end > starts[j + 1]) {
+                        end = Math.max(start + HOUR, starts[j + 1]);
+                    }
+                    int bookerId = booker(random, ownerId);
+                    int status = status(random, start, end, now);
+                    bookings.add(++bookingId, itemId, bookerId, STATUSES[status], timestamp(start), timestamp(end),
+                            ownerId);
+                    counters[0][bookerId * STATUSES.length + status]++;
+                    counters[1][ownerId * STATUSES.length + status]++;
+                    if (status == APPROVED && end < now && random.nextDouble() < spec.getCommentsPerPastBooking()) {
+                        long created = Math.min(now, end + random.nextLong(3 * DAY));
+                        comments.add(++commentId, "Thanks, the " + WORDS[random.nextInt(WORDS.length)] + " was great",
+                                itemId, bookerId, timestamp(created));
+                    }
+                }
+            }
+        }
+        log.info("Inserted {} bookings and {} comments", bookingId, commentId);
+        insertCounters(connection, counters);
+        insertOwnerBookingView(connection);
+        return new long[]{bookingId, commentId};
+    }
+
+    private void insertCounters(Connection connection, long[][] counters) throws SQLException {
+        String[] roles = {"BOOKER", "OWNER"};
+        try (BatchWriter writer = new BatchWriter(connection,
+                "INSERT INTO booking_counters (user_id, role, status, bookings_count) VALUES (?, ?, ?, ?)")) {
+            for (int userId = 1; userId <= spec.getUsers(); userId++) {
+                for (int role = 0; role < roles.length; role++) {
+                    for (int status = 0; status < STATUSES.length; status++) {
+                        writer.add((long) userId, roles[role], STATUSES[status],
+                                counters[role][userId * STATUSES.length + status]);
+                    }
+                }
+            }
+        }
+    }
+
+    private void insertOwnerBookingView(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate("INSERT INTO owner_booking_view (id, owner_id, start_time, end_time, status, " +
+                    "item_id, item_name, item_description, item_available, item_request_id, " +
+                    "booker_id, booker_name, booker_email) " +
+                    "SELECT b.id, b.owner_id, b.start_time, b.end_time, b.status, " +
+                    "i.id, i.name, i.description, i.available, i.request_id, u.id, u.name, u.email " +
+                    "FROM bookings AS b " +
+                    "JOIN items AS i ON i.id = b.item_id " +
+                    "JOIN users AS u ON u.id = b.booker_id");
+        }
+    }
+
+    private void restartSequences(Connection connection) throws SQLException {
+        long[] maxIds = {spec.getUsers(), spec.getRequests(), spec.getItems()};
+        String[] sequences = {"users_seq", "requests_seq", "items_seq", "bookings_seq", "comments_seq"};
+        String[] tables = {"users", "requests", "items", "bookings", "comments"};
+        try (Statement statement = connection.createStatement()) {
+            for (int i = 0; i < sequences.length; i++) {
+                long maxId = i < maxIds.length ? maxIds[i] : maxId(statement, tables[i]);
+                statement.execute("ALTER SEQUENCE " + sequences[i] + " RESTART WITH " + (maxId + SEQUENCE_INCREMENT));
+            }
+        }
+    }
+
+    private static long maxId(Statement statement, String table) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery("SELECT COALESCE(MAX(id), 0) FROM " + table)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    private int booker(SplittableRandom random, int ownerId) {
+        if (spec.getUsers() == 1) {
+            return ownerId;
+        }
+        int bookerId = random.nextInt(spec.getUsers() - 1) + 1;
+        return bookerId >= ownerId ? bookerId + 1 : bookerId;
+    }
+
+    private static int status(SplittableRandom random, long start, long end, long now) {
+        double p = random.nextDouble();
+        if (end <= now) {
+            return p < 0.8 ? APPROVED : p < 0.9 ? REJECTED : EXPIRED;
+        } else if (start <= now) {
+            return p < 0.9 ? APPROVED : EXPIRED;
+        } else {
+            return p < 0.4 ? WAITING : p < 0.9 ? APPROVED : REJECTED;
+        }
+    }
+
+    private static long duration(SplittableRandom random) {
+        double gaussian = Math.sqrt(-2 * Math.log(1 - random.nextDouble()))
+                * Math.cos(2 * Math.PI * random.nextDouble());
+        double hours = MEDIAN_DURATION_HOURS * Math.exp(DURATION_SIGMA * gaussian);
+        return Math.max(1, Math.min(30 * 24, Math.round(hours))) * HOUR;
+    }
+
+    private SplittableRandom random(long stream) {
+        return new SplittableRandom(spec.getSeed() * 31 + stream);
+    }
+
+    private static long epochSecond(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static Timestamp timestamp(long epochSecond) {
+        return Timestamp.valueOf(LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC));
+    }
+
+    private class BatchWriter implements AutoCloseable {
+        private final Connection connection;
+        private final PreparedStatement statement;
+        private int pending;
+
+        BatchWriter(Connection connection, String sql) throws SQLException {
+            this.connection = connection;
+            this.statement = connection.prepareStatement(sql);
+        }
+
+        void add(Object... values) throws SQLException {
+            for (int i = 0; i < values.length; i++) {
+                statement.setObject(i + 1, values[i]);
+            }
+            statement.addBatch();
+            if (++pending == spec.getBatchSize()) {
+                flush();
+            }
+        }
+
+        private void flush() throws SQLException {
+            if (pending > 0) {
+                statement.executeBatch();
+                connection.commit();
+                pending = 0;
+            }
+        }
+
+        @Override
+        public void close() throws SQLException {
+            try {
+                flush();
+            } finally {
+                statement.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package ru.practicum.shareit.datagen;
+
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+@Data
+@Accessors(chain = true)
+public class DatasetSpec {
+    private long seed = 42L;
+    private LocalDateTime referenceTime = LocalDateTime.now().truncatedTo(ChronoUnit.DAYS);
+    private int users = 1_000;
+    private double itemsPerUser = 3.0;
+    private double ownershipSkew = 1.1;
+    private double requestsPerUser = 0.5;
+    private double itemsForRequestsShare = 0.2;
+    private double bookingsPerItem = 10.0;
+    private double itemPopularitySkew = 0.8;
+    private double commentsPerPastBooking = 0.2;
+    private int historyDays = 730;
+    private int batchSize = 1_000;
+    private boolean clean = true;
+
+    public int getItems() {
+        return (int) Math.round(users * itemsPerUser);
+    }
+
+    public int getRequests() {
+        return (int) Math.round(users * requestsPerUser);
+    }
+
+    public long getBookings() {
+        return Math.round(getItems() * bookingsPerItem);
+    }
+}
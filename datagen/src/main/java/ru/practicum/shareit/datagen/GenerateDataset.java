@@ -0,0 +1,40 @@
+package ru.practicum.shareit.datagen;
+
+import lombok.experimental.UtilityClass;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+
+@UtilityClass
+public class GenerateDataset {
+    private static final String DEFAULT_URL = "jdbc:postgresql://localhost:6541/shareit?reWriteBatchedInserts=true";
+
+    public static void main(String[] args) throws SQLException {
+        DatasetSpec spec = new DatasetSpec();
+        new CommandLineOptions(args)
+                .apply("seed", value -> spec.setSeed(Long.parseLong(value)))
+                .apply("reference-time", value -> spec.setReferenceTime(LocalDateTime.parse(value)))
+                .apply("users", value -> spec.setUsers(Integer.parseInt(value)))
+                .apply("items-per-user", value -> spec.setItemsPerUser(Double.parseDouble(value)))
+                .apply("ownership-skew", value -> spec.setOwnershipSkew(Double.parseDouble(value)))
+                .apply("requests-per-user", value -> spec.setRequestsPerUser(Double.parseDouble(value)))
+                .apply("items-for-requests-share", value -> spec.setItemsForRequestsShare(Double.parseDouble(value)))
+                .apply("bookings-per-item", value -> spec.setBookingsPerItem(Double.parseDouble(value)))
+                .apply("item-popularity-skew", value -> spec.setItemPopularitySkew(Double.parseDouble(value)))
+                .apply("comments-per-past-booking", value -> spec.setCommentsPerPastBooking(Double.parseDouble(value)))
+                .apply("history-days", value -> spec.setHistoryDays(Integer.parseInt(value)))
+                .apply("batch-size", value -> spec.setBatchSize(Integer.parseInt(value)))
+                .apply("clean", value -> spec.setClean(Boolean.parseBoolean(value)))
+                .checkAllApplied();
+        try (Connection connection = connect()) {
+            System.out.println(new DatasetGenerator(spec).generate(connection));
+        }
+    }
+
+    public static Connection connect() throws SQLException {
+        return DriverManager.getConnection(System.getProperty("datagen.url", DEFAULT_URL),
+                System.getProperty("datagen.user", "test"), System.getProperty("datagen.password", "test"));
+    }
+}
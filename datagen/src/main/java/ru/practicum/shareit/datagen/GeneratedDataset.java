@@ -0,0 +1,65 @@
+package ru.practicum.shareit.datagen;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.SplittableRandom;
+
+@Getter
+@AllArgsConstructor
+public class GeneratedDataset {
+    private final int users;
+    private final int requests;
+    private final int[] itemOwnerIds;
+    private final long bookings;
+    private final long comments;
+
+    public static GeneratedDataset read(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            int items = (int) count(statement, "SELECT COALESCE(MAX(id), 0) FROM items");
+            int[] itemOwnerIds = new int[items];
+            try (ResultSet resultSet = statement.executeQuery("SELECT id, user_id FROM items")) {
+                while (resultSet.next()) {
+                    itemOwnerIds[(int) resultSet.getLong(1) - 1] = (int) resultSet.getLong(2);
+                }
+            }
+            return new GeneratedDataset((int) count(statement, "SELECT COALESCE(MAX(id), 0) FROM users"),
+                    (int) count(statement, "SELECT COUNT(*) FROM requests"), itemOwnerIds,
+                    count(statement, "SELECT COUNT(*) FROM bookings"),
+                    count(statement, "SELECT COUNT(*) FROM comments"));
+        }
+    }
+
+    public int getItems() {
+        return itemOwnerIds.length;
+    }
+
+    public long ownerOf(long itemId) {
+        return itemOwnerIds[(int) itemId - 1];
+    }
+
+    public long randomUserId(SplittableRandom random) {
+        return random.nextInt(users) + 1;
+    }
+
+    public long randomItemId(SplittableRandom random) {
+        return random.nextInt(itemOwnerIds.length) + 1;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("users=%s, requests=%s, items=%s, bookings=%s, comments=%s",
+                users, requests, itemOwnerIds.length, bookings, comments);
+    }
+
+    private static long count(Statement statement, String sql) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+}
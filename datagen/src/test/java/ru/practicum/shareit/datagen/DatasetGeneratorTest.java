@@ -0,0 +1,128 @@
+package ru.practicum.shareit.datagen;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+class DatasetGeneratorTest {
+    private static final String URL = "jdbc:h2:mem:datagen;DB_CLOSE_DELAY=-1";
+
+    private DatasetSpec spec;
+
+    @BeforeEach
+    void migrate() {
+        Flyway.configure()
+                .dataSource(URL, "sa", "")
+                .locations("classpath:db/migration/common", "classpath:db/migration/h2")
+                .load()
+                .migrate();
+        spec = new DatasetSpec()
+                .setReferenceTime(LocalDateTime.of(2024, 6, 1, 0, 0))
+                .setUsers(50)
+                .setItemsPerUser(2)
+                .setRequestsPerUser(0.5)
+                .setBookingsPerItem(8)
+                .setBatchSize(64);
+    }
+
+    @Test
+    void generate_whenSpecIsGiven_thenInsertRequestedNumberOfRows() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(URL, "sa", "")) {
+            GeneratedDataset dataset = new DatasetGenerator(spec).generate(connection);
+
+            assertThat(50L, equalTo(count(connection, "SELECT COUNT(*) FROM users")));
+            assertThat(25L, equalTo(count(connection, "SELECT COUNT(*) FROM requests")));
+            assertThat(100L, equalTo(count(connection, "SELECT COUNT(*) FROM items")));
+            assertThat(800L, equalTo(count(connection, "SELECT COUNT(*) FROM bookings")));
+            assertThat(dataset.getComments(), equalTo(count(connection, "SELECT COUNT(*) FROM comments")));
+            assertThat(400L, equalTo(count(connection, "SELECT COUNT(*) FROM booking_counters")));
+            assertThat(800L, equalTo(count(connection, "SELECT COUNT(*) FROM owner_booking_view")));
+            assertThat(0L, equalTo(count(connection, "SELECT COUNT(*) FROM bookings b " +
+                    "JOIN items i ON i.id = b.item_id WHERE b.owner_id <> i.user_id OR b.booker_id = b.owner_id")));
+            assertThat(0L, equalTo(count(connection, "SELECT COUNT(*) FROM bookings " +
+                    "WHERE status = 'WAITING' AND start_time < TIMESTAMP '2024-06-01 00:00:00'")));
+        }
+    }
+
+    @Test
+    void generate_whenGeneratedTwiceWithSameSeed_thenRowsAreIdentical() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(URL, "sa", "")) {
+            new DatasetGenerator(spec).generate(connection);
+            List<String> first = bookings(connection);
+
+            new DatasetGenerator(spec).generate(connection);
+
+            assertThat(first, equalTo(bookings(connection)));
+        }
+    }
+
+    @Test
+    void generate_whenBookingsAreInserted_thenCountersMatchBookings() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(URL, "sa", "")) {
+            new DatasetGenerator(spec).generate(connection);
+
+            assertThat(0L, equalTo(count(connection, "SELECT COUNT(*) FROM booking_counters c " +
+                    "WHERE c.role = 'BOOKER' AND c.bookings_count <> (SELECT COUNT(*) FROM bookings b " +
+                    "WHERE b.booker_id = c.user_id AND b.status = c.status)")));
+            assertThat(0L, equalTo(count(connection, "SELECT COUNT(*) FROM booking_counters c " +
+                    "WHERE c.role = 'OWNER' AND c.bookings_count <> (SELECT COUNT(*) FROM bookings b " +
+                    "WHERE b.owner_id = c.user_id AND b.status = c.status)")));
+        }
+    }
+
+    @Test
+    void generate_whenDatasetIsInserted_thenSequencesContinueAfterGeneratedIds() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(URL, "sa", "")) {
+            new DatasetGenerator(spec).generate(connection);
+
+            assertThat(100L, equalTo(count(connection, "SELECT NEXT VALUE FOR users_seq")));
+            assertThat(850L, equalTo(count(connection, "SELECT NEXT VALUE FOR bookings_seq")));
+        }
+    }
+
+    @Test
+    void read_whenDatasetIsGenerated_thenReturnSameOwnership() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(URL, "sa", "")) {
+            GeneratedDataset generated = new DatasetGenerator(spec).generate(connection);
+
+            GeneratedDataset read = GeneratedDataset.read(connection);
+
+            assertThat(generated.toString(), equalTo(read.toString()));
+            assertThat(generated.getItemOwnerIds(), equalTo(read.getItemOwnerIds()));
+        }
+    }
+
+    private static long count(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    private static List<String> bookings(Connection connection) throws SQLException {
+        List<String> rows = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT id, item_id, booker_id, status, start_time, " +
+                     "end_time FROM bookings ORDER BY id")) {
+            while (resultSet.next()) {
+                rows.add(String.format("%s %s %s %s %s %s", resultSet.getLong(1), resultSet.getLong(2),
+                        resultSet.getLong(3), resultSet.getString(4), resultSet.getTimestamp(5),
+                        resultSet.getTimestamp(6)));
+            }
+        }
+        return rows;
+    }
+}
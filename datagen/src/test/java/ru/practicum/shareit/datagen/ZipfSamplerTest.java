@@ -0,0 +1,50 @@
+package ru.practicum.shareit.datagen;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ZipfSamplerTest {
+    private static final int SAMPLES = 200_000;
+
+    @Test
+    void sample_whenManySamples_thenFrequenciesFollowZipfLaw() {
+        int n = 100;
+        double exponent = 1.1;
+        ZipfSampler sampler = new ZipfSampler(n, exponent);
+        SplittableRandom random = new SplittableRandom(42);
+        int[] frequencies = new int[n + 1];
+
+        for (int i = 0; i < SAMPLES; i++) {
+            frequencies[sampler.sample(random)]++;
+        }
+
+        double harmonic = 0;
+        for (int k = 1; k <= n; k++) {
+            harmonic += Math.pow(k, -exponent);
+        }
+        assertThat((double) frequencies[1] / SAMPLES, closeTo(1 / harmonic, 0.01));
+        assertThat((double) frequencies[2] / SAMPLES, closeTo(Math.pow(2, -exponent) / harmonic, 0.01));
+        assertThat(0, equalTo(frequencies[0]));
+    }
+
+    @Test
+    void sample_whenSingleElement_thenAlwaysReturnFirstRank() {
+        ZipfSampler sampler = new ZipfSampler(1, 1.1);
+        SplittableRandom random = new SplittableRandom(42);
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(1, equalTo(sampler.sample(random)));
+        }
+    }
+
+    @Test
+    void createSampler_whenExponentIsNotPositive_thenThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new ZipfSampler(10, 0));
+    }
+}
@@ -11,6 +11,8 @@ import ru.practicum.shareit.booking.dto.BookingInnerDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.client.BaseClient;
 
+import javax.servlet.http.HttpServletResponse;
+import java.util.List;
 import java.util.Map;
 
 @Service
@@ -38,6 +40,13 @@ public class BookingClient extends BaseClient {
         return patch("/" + bookingId + "?approved={approved}", userId, parameters, null);
     }
 
+    public ResponseEntity<Object> updateBookings(long userId, List<Long> bookingIds, boolean approved) {
+        Map<String, Object> parameters = Map.of(
+                "approved", approved
+        );
+        return patch("?approved={approved}", userId, parameters, bookingIds);
+    }
+
     public ResponseEntity<Object> getBookingById(long userId, Long bookingId) {
         return get("/" + bookingId, userId);
     }
@@ -64,6 +73,18 @@ public class BookingClient extends BaseClient {
         }
     }
 
+    public void exportBookingsForOwner(long userId, HttpServletResponse response) {
+        stream("/owner/export", userId, response);
+    }
+
+    public ResponseEntity<Object> getBookingCountsForBooker(long userId) {
+        return get("/counts", userId);
+    }
+
+    public ResponseEntity<Object> getBookingCountsForOwner(long userId) {
+        return get("/owner/counts", userId);
+    }
+
     private Map<String, Object> getParameters(BookingState state, Integer from, Integer size) {
         Map<String, Object> parameters;
         if (from == null || size == null) {
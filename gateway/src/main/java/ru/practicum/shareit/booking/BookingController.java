@@ -2,7 +2,6 @@ package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
 
-import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
@@ -11,12 +10,19 @@ import ru.practicum.shareit.booking.dto.BookingInnerDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.exception.ValidationException;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import javax.validation.constraints.Size;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
 
 import static ru.practicum.shareit.consts.ShareItAppConst.HEADER_CALLER_ID;
-import static ru.practicum.shareit.log.Logger.logRequest;
+import static ru.practicum.shareit.consts.ShareItAppConst.MAX_BULK_BOOKING_IDS;
 
 @Controller
 @RequestMapping(path = "/bookings")
@@ -28,8 +34,6 @@ public class BookingController {
     @PostMapping
     public ResponseEntity<Object> addBooking(@RequestHeader(HEADER_CALLER_ID) long userId,
                                              @Valid @RequestBody BookingInnerDto bookingInnerDto) {
-        logRequest(HttpMethod.POST, "/bookings",
-                HEADER_CALLER_ID + userId, bookingInnerDto.toString());
         return bookingClient.addBooking(userId, bookingInnerDto);
     }
 
@@ -37,17 +41,21 @@ public class BookingController {
     public ResponseEntity<Object> updateBooking(@RequestHeader(HEADER_CALLER_ID) long userId,
                                                 @PathVariable long bookingId,
                                                 @RequestParam boolean approved) {
-        logRequest(HttpMethod.PATCH, String.format("/bookings/%s?approved=%s", bookingId, approved),
-                HEADER_CALLER_ID + userId, "no");
         return bookingClient.updateBooking(userId, bookingId, approved);
 
     }
 
+    @PatchMapping
+    public ResponseEntity<Object> updateBookings(@RequestHeader(HEADER_CALLER_ID) long userId,
+                                                 @RequestParam boolean approved,
+                                                 @RequestBody @NotEmpty @Size(max = MAX_BULK_BOOKING_IDS)
+                                                 List<@NotNull Long> bookingIds) {
+        return bookingClient.updateBookings(userId, new ArrayList<>(new LinkedHashSet<>(bookingIds)), approved);
+    }
+
     @GetMapping("/{bookingId}")
     public ResponseEntity<Object> getBookingById(@RequestHeader(HEADER_CALLER_ID) long userId,
                                                  @PathVariable Long bookingId) {
-        logRequest(HttpMethod.GET, "/bookings/" + bookingId,
-                HEADER_CALLER_ID + userId, "no");
         return bookingClient.getBookingById(userId, bookingId);
     }
 
@@ -58,8 +66,6 @@ public class BookingController {
                                                        @RequestParam(required = false) @Positive Integer size) {
         BookingState bookingState = BookingState.from(state)
                 .orElseThrow(() -> new ValidationException(String.format("Unknown state: %s", state)));
-        logRequest(HttpMethod.GET, String.format("/bookings?state=%s&from=%s&size=%s", state, from, size),
-                HEADER_CALLER_ID + userId, "no");
         return bookingClient.getBookingsForBooker(userId, bookingState, from, size);
     }
 
@@ -70,8 +76,22 @@ public class BookingController {
                                                       @RequestParam(required = false) @Positive Integer size) {
         BookingState bookingState = BookingState.from(state)
                 .orElseThrow(() -> new ValidationException(String.format("Unknown state: %s", state)));
-        logRequest(HttpMethod.GET, String.format("/bookings/owner?state=%s&from=%s&size=%s", state, from, size),
-                HEADER_CALLER_ID + userId, "no");
         return bookingClient.getBookingsForOwner(userId, bookingState, from, size);
     }
+
+    @GetMapping("/owner/export")
+    public void exportBookingsForOwner(@RequestHeader(HEADER_CALLER_ID) long userId,
+                                       HttpServletResponse response) {
+        bookingClient.exportBookingsForOwner(userId, response);
+    }
+
+    @GetMapping("/counts")
+    public ResponseEntity<Object> getBookingCountsForBooker(@RequestHeader(HEADER_CALLER_ID) long userId) {
+        return bookingClient.getBookingCountsForBooker(userId);
+    }
+
+    @GetMapping("/owner/counts")
+    public ResponseEntity<Object> getBookingCountsForOwner(@RequestHeader(HEADER_CALLER_ID) long userId) {
+        return bookingClient.getBookingCountsForOwner(userId);
+    }
 }
@@ -5,6 +5,7 @@ import java.util.Optional;
 public enum BookingState {
     ALL,
     CURRENT,
+    EXPIRED,
     FUTURE,
     PAST,
     REJECTED,
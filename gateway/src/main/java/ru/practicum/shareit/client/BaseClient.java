@@ -1,5 +1,9 @@
 package ru.practicum.shareit.client;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Map;
 
@@ -10,9 +14,12 @@ import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.Nullable;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
 
+import javax.servlet.http.HttpServletResponse;
+
 import static ru.practicum.shareit.consts.ShareItAppConst.HEADER_CALLER_ID;
 
 @RequiredArgsConstructor
@@ -84,6 +91,26 @@ public class BaseClient {
         return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
     }
 
+    protected void stream(String path, long userId, HttpServletResponse response) {
+        HttpHeaders headers = defaultHeaders(userId);
+        headers.setAccept(List.of(MediaType.APPLICATION_NDJSON, MediaType.APPLICATION_JSON));
+        try {
+            rest.execute(path, HttpMethod.GET, request -> request.getHeaders().putAll(headers),
+                    shareitServerResponse -> {
+                        copyResponse(shareitServerResponse.getRawStatusCode(), shareitServerResponse.getHeaders(),
+                                shareitServerResponse.getBody(), response);
+                        return null;
+                    });
+        } catch (HttpStatusCodeException e) {
+            try {
+                copyResponse(e.getRawStatusCode(), e.getResponseHeaders(),
+                        new ByteArrayInputStream(e.getResponseBodyAsByteArray()), response);
+            } catch (IOException ioException) {
+                throw new UncheckedIOException(ioException);
+            }
+        }
+    }
+
     private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId,
                                                           @Nullable Map<String, Object> parameters, @Nullable T body) {
         HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
@@ -111,6 +138,15 @@ public class BaseClient {
         return headers;
     }
 
+    private static void copyResponse(int status, @Nullable HttpHeaders headers, InputStream body,
+                                     HttpServletResponse response) throws IOException {
+        response.setStatus(status);
+        if (headers != null && headers.getContentType() != null) {
+            response.setContentType(headers.getContentType().toString());
+        }
+        StreamUtils.copy(body, response.getOutputStream());
+    }
+
     private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
         if (response.getStatusCode().is2xxSuccessful()) {
             return response;
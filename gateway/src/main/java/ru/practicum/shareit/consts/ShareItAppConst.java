@@ -5,4 +5,5 @@ import lombok.experimental.UtilityClass;
 @UtilityClass
 public class ShareItAppConst {
     public static final String HEADER_CALLER_ID = "X-Sharer-User-Id";
+    public static final int MAX_BULK_BOOKING_IDS = 100;
 }
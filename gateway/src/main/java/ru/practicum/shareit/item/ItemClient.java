@@ -10,6 +10,7 @@ import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
 import ru.practicum.shareit.item.comment.CommentInnerDto;
 
+import java.time.LocalDateTime;
 import java.util.Map;
 
 @Service
@@ -67,6 +68,36 @@ public class ItemClient extends BaseClient {
         }
     }
 
+    public ResponseEntity<Object> findFreeItemsByNameOrDescription(long userId, String text, LocalDateTime start,
+                                                                   LocalDateTime end, Integer from, Integer size) {
+        Map<String, Object> parameters;
+        if (from == null || size == null) {
+            parameters = Map.of(
+                    "text", text,
+                    "start", start,
+                    "end", end
+            );
+            return get("/search?text={text}&start={start}&end={end}", userId, parameters);
+        } else {
+            parameters = Map.of(
+                    "text", text,
+                    "start", start,
+                    "end", end,
+                    "from", from,
+                    "size", size
+            );
+            return get("/search?text={text}&start={start}&end={end}&from={from}&size={size}", userId, parameters);
+        }
+    }
+
+    public ResponseEntity<Object> getItemAvailability(long userId, long itemId, LocalDateTime from, LocalDateTime to) {
+        Map<String, Object> parameters = Map.of(
+                "from", from,
+                "to", to
+        );
+        return get("/" + itemId + "/availability?from={from}&to={to}", userId, parameters);
+    }
+
     public ResponseEntity<Object> addComment(long userId, long itemId, CommentInnerDto commentInnerDto) {
         return post("/" + itemId + "/comment", userId, commentInnerDto);
     }
@@ -2,7 +2,6 @@ package ru.practicum.shareit.log;
 
 import lombok.experimental.UtilityClass;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.http.HttpMethod;
 
 @UtilityClass
 @Slf4j
@@ -10,8 +9,4 @@ public class Logger {
     public static void logWarnException(Throwable e) {
         log.warn(e.getClass().getSimpleName(), e);
     }
-
-    public static void logRequest(HttpMethod method, String uri, String headers, String body) {
-        log.info("Endpoint request received: '{} {}'. Headers: '{}'. Request body: '{}'", method, uri, headers, body);
-    }
 }
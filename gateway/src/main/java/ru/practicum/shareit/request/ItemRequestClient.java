@@ -50,4 +50,15 @@ public class ItemRequestClient extends BaseClient {
         return get("/" + requestId, userId);
     }
 
+    public ResponseEntity<Object> getSuggestionsForItemRequest(long userId, long requestId, Integer size) {
+        if (size == null) {
+            return get("/" + requestId + "/suggestions", userId);
+        } else {
+            Map<String, Object> parameters = Map.of(
+                    "size", size
+            );
+            return get("/" + requestId + "/suggestions?size={size}", userId, parameters);
+        }
+    }
+
 }
@@ -0,0 +1,109 @@
+package ru.practicum.shareit.loadtest;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop load generator: each of {@code concurrency} virtual users sends the next request only after the
+ * previous one has completed, so throughput is what the system sustains at that concurrency.
+ */
+@Slf4j
+public class LoadTest {
+    private static final long MAX_LATENCY_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final LoadTestSpec spec;
+    private final RequestFactory requestFactory;
+    private final HttpClient client;
+    private final Map<Route, Recorder> recorders = new EnumMap<>(Route.class);
+    private final Map<Route, AtomicLong> errors = new EnumMap<>(Route.class);
+    @Getter
+    private final Map<Route, Histogram> histograms = new EnumMap<>(Route.class);
+
+    public LoadTest(LoadTestSpec spec, RequestFactory requestFactory) {
+        this.spec = spec;
+        this.requestFactory = requestFactory;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(spec.getRequestTimeout())
+                .build();
+        for (Route route : spec.getMix().keySet()) {
+            recorders.put(route, new Recorder(MAX_LATENCY_NANOS, 3));
+            errors.put(route, new AtomicLong());
+        }
+    }
+
+    public LoadTestReport run() throws InterruptedException {
+        long measureFrom = System.nanoTime() + spec.getWarmup().toNanos();
+        long measureTo = measureFrom + spec.getDuration().toNanos();
+        SplittableRandom seeds = new SplittableRandom(spec.getSeed());
+        ExecutorService executor = Executors.newFixedThreadPool(spec.getConcurrency());
+        log.info("Running {} virtual users against {} for {} after {} warmup", spec.getConcurrency(),
+                spec.getTarget(), spec.getDuration(), spec.getWarmup());
+        for (int i = 0; i < spec.getConcurrency(); i++) {
+            SplittableRandom random = seeds.split();
+            executor.execute(() -> runVirtualUser(random, measureFrom, measureTo));
+        }
+        executor.shutdown();
+        long timeout = spec.getWarmup().plus(spec.getDuration()).plus(spec.getRequestTimeout()).toMillis();
+        if (!executor.awaitTermination(timeout, TimeUnit.MILLISECONDS)) {
+            executor.shutdownNow();
+        }
+        List<RouteResult> results = new ArrayList<>();
+        for (Map.Entry<Route, Recorder> entry : recorders.entrySet()) {
+            Histogram histogram = entry.getValue().getIntervalHistogram();
+            histograms.put(entry.getKey(), histogram);
+            results.add(RouteResult.of(entry.getKey(), histogram, errors.get(entry.getKey()).get(),
+                    spec.getDuration()));
+        }
+        return new LoadTestReport(results);
+    }
+
+    private void runVirtualUser(SplittableRandom random, long measureFrom, long measureTo) {
+        long thinkTime = spec.getThinkTime().toMillis();
+        while (System.nanoTime() < measureTo && !Thread.currentThread().isInterrupted()) {
+            Route route = requestFactory.nextRoute(random);
+            HttpRequest request = requestFactory.create(route, random);
+            long started = System.nanoTime();
+            boolean failed;
+            try {
+                failed = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() >= 400;
+            } catch (IOException e) {
+                failed = true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            long finished = System.nanoTime();
+            if (started >= measureFrom && finished <= measureTo) {
+                recorders.get(route).recordValue(Math.min(finished - started, MAX_LATENCY_NANOS));
+                if (failed) {
+                    errors.get(route).incrementAndGet();
+                }
+            }
+            if (thinkTime > 0) {
+                try {
+                    Thread.sleep(thinkTime);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package ru.practicum.shareit.loadtest;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+@Getter
+@AllArgsConstructor
+public class LoadTestReport {
+    public static final String SUMMARY_FILE = "summary.csv";
+
+    private static final String HEADER = "route,requests,errors,throughput,p50,p90,p99,p999,max";
+
+    private final List<RouteResult> results;
+
+    public Optional<RouteResult> getResult(Route route) {
+        return results.stream()
+                .filter(result -> result.getRoute() == route)
+                .findFirst();
+    }
+
+    public void write(Path directory, Map<Route, Histogram> histograms) throws IOException {
+        Files.createDirectories(directory);
+        List<String> lines = new ArrayList<>();
+        lines.add(HEADER);
+        for (RouteResult result : results) {
+            lines.add(String.format(Locale.ROOT, "%s,%d,%d,%.2f,%.3f,%.3f,%.3f,%.3f,%.3f", result.getRoute(),
+                    result.getRequests(), result.getErrors(), result.getThroughput(), result.getP50(),
+                    result.getP90(), result.getP99(), result.getP999(), result.getMax()));
+        }
+        Files.write(directory.resolve(SUMMARY_FILE), lines);
+        for (Map.Entry<Route, Histogram> entry : histograms.entrySet()) {
+            try (PrintStream out = new PrintStream(Files.newOutputStream(directory.resolve(
+                    entry.getKey().name().toLowerCase(Locale.ROOT) + ".hlog")))) {
+                HistogramLogWriter writer = new HistogramLogWriter(out);
+                writer.outputLogFormatVersion();
+                writer.outputLegend();
+                writer.outputIntervalHistogram(entry.getValue());
+            }
+        }
+    }
+
+    public static LoadTestReport read(Path summary) throws IOException {
+        List<RouteResult> results = new ArrayList<>();
+        List<String> lines = Files.readAllLines(summary);
+        if (lines.isEmpty() || !HEADER.equals(lines.get(0))) {
+            throw new IOException("Unexpected load test summary format in " + summary);
+        }
+        for (String line : lines.subList(1, lines.size())) {
+            String[] values = line.split(",");
+            results.add(new RouteResult(Route.valueOf(values[0]), Long.parseLong(values[1]),
+                    Long.parseLong(values[2]), Double.parseDouble(values[3]), Double.parseDouble(values[4]),
+                    Double.parseDouble(values[5]), Double.parseDouble(values[6]), Double.parseDouble(values[7]),
+                    Double.parseDouble(values[8])));
+        }
+        return new LoadTestReport(results);
+    }
+
+    public List<String> findRegressions(LoadTestReport baseline, double tolerance) {
+        List<String> regressions = new ArrayList<>();
+        for (RouteResult result : results) {
+            Optional<RouteResult> previous = baseline.getResult(result.getRoute());
+            if (previous.isEmpty()) {
+                continue;
+            }
+            RouteResult before = previous.get();
+            if (result.getP99() > before.getP99() * (1 + tolerance)) {
+                regressions.add(String.format(Locale.ROOT, "%s p99 %.3f ms -> %.3f ms", result.getRoute(),
+                        before.getP99(), result.getP99()));
+            }
+            if (result.getThroughput() < before.getThroughput() * (1 - tolerance)) {
+                regressions.add(String.format(Locale.ROOT, "%s throughput %.2f/s -> %.2f/s", result.getRoute(),
+                        before.getThroughput(), result.getThroughput()));
+            }
+            if (result.getErrors() > before.getErrors()) {
+                regressions.add(String.format("%s errors %s -> %s", result.getRoute(), before.getErrors(),
+                        result.getErrors()));
+            }
+        }
+        return regressions;
+    }
+
+    public String format(LoadTestReport baseline) {
+        StringBuilder builder = new StringBuilder(String.format("%-15s %9s %7s %10s %9s %9s %9s %9s %9s%n",
+                "route", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms"));
+        for (RouteResult result : results) {
+            builder.append(String.format(Locale.ROOT, "%-15s %9d %7d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f",
+                    result.getRoute(), result.getRequests(), result.getErrors(), result.getThroughput(),
+                    result.getP50(), result.getP90(), result.getP99(), result.getP999(), result.getMax()));
+            Optional<RouteResult> previous = baseline == null
+                    ? Optional.empty()
+                    : baseline.getResult(result.getRoute());
+            previous.ifPresent(before -> builder.append(String.format(Locale.ROOT, "   p99 %+.1f%%, req/s %+.1f%%",
+                    change(before.getP99(), result.getP99()), change(before.getThroughput(), result.getThroughput()))));
+            builder.append(System.lineSeparator());
+        }
+        return builder.toString();
+    }
+
+    private static double change(double before, double after) {
+        return before == 0 ? 0 : (after - before) * 100 / before;
+    }
+}
@@ -0,0 +1,42 @@
+package ru.practicum.shareit.loadtest;
+
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.EnumMap;
+import java.util.Map;
+
+@Data
+@Accessors(chain = true)
+public class LoadTestSpec {
+    private String target = "http://localhost:8080";
+    private long seed = 42L;
+    private int concurrency = 32;
+    private Duration warmup = Duration.ofSeconds(10);
+    private Duration duration = Duration.ofSeconds(60);
+    private Duration thinkTime = Duration.ZERO;
+    private Duration requestTimeout = Duration.ofSeconds(10);
+    private double userActivitySkew = 1.0;
+    private double itemPopularitySkew = 0.8;
+    private int pageSize = 20;
+    private Map<Route, Integer> mix = defaultMix();
+    private Path reportDirectory = Paths.get("loadtest-reports",
+            LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")));
+    private Path baseline;
+    private double tolerance = 0.1;
+
+    private static Map<Route, Integer> defaultMix() {
+        Map<Route, Integer> mix = new EnumMap<>(Route.class);
+        mix.put(Route.BOOKINGS, 30);
+        mix.put(Route.BOOKINGS_OWNER, 20);
+        mix.put(Route.ITEMS_SEARCH, 25);
+        mix.put(Route.ITEM_BY_ID, 15);
+        mix.put(Route.REQUESTS_ALL, 10);
+        return mix;
+    }
+}
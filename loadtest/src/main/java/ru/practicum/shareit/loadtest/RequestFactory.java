@@ -0,0 +1,94 @@
+package ru.practicum.shareit.loadtest;
+
+import ru.practicum.shareit.datagen.GeneratedDataset;
+import ru.practicum.shareit.datagen.ZipfSampler;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.util.SplittableRandom;
+
+public class RequestFactory {
+    public static final String HEADER_CALLER_ID = "X-Sharer-User-Id";
+
+    private static final String[] STATES = {"CURRENT", "PAST", "FUTURE", "WAITING", "REJECTED"};
+    private static final String[] SEARCH_TEXTS = {"drill", "saw", "ladder", "tent", "bike", "kayak", "camera",
+            "guitar", "electric", "folding", "kids", "pro", "board", "grill", "telescope", "piano"};
+
+    private final LoadTestSpec spec;
+    private final GeneratedDataset dataset;
+    private final ZipfSampler users;
+    private final ZipfSampler items;
+    private final Route[] routes;
+    private final int[] cumulativeWeights;
+
+    public RequestFactory(LoadTestSpec spec, GeneratedDataset dataset) {
+        this.spec = spec;
+        this.dataset = dataset;
+        this.users = new ZipfSampler(dataset.getUsers(), spec.getUserActivitySkew());
+        this.items = new ZipfSampler(dataset.getItems(), spec.getItemPopularitySkew());
+        this.routes = spec.getMix().keySet().toArray(new Route[0]);
+        this.cumulativeWeights = new int[routes.length];
+        int total = 0;
+        for (int i = 0; i < routes.length; i++) {
+            total += spec.getMix().get(routes[i]);
+            cumulativeWeights[i] = total;
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("Route mix must have a positive total weight: " + spec.getMix());
+        }
+    }
+
+    public Route nextRoute(SplittableRandom random) {
+        int value = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (value < cumulativeWeights[i]) {
+                return routes[i];
+            }
+        }
+        throw new IllegalStateException("Route weight " + value + " is out of range");
+    }
+
+    public HttpRequest create(Route route, SplittableRandom random) {
+        long userId;
+        String path;
+        switch (route) {
+            case BOOKINGS:
+                userId = users.sample(random);
+                path = "/bookings?state=" + state(random) + page(random);
+                break;
+            case BOOKINGS_OWNER:
+                userId = dataset.ownerOf(items.sample(random));
+                path = "/bookings/owner?state=" + state(random) + page(random);
+                break;
+            case ITEMS_SEARCH:
+                userId = users.sample(random);
+                path = "/items/search?text=" + SEARCH_TEXTS[random.nextInt(SEARCH_TEXTS.length)] + page(random);
+                break;
+            case ITEM_BY_ID:
+                long itemId = items.sample(random);
+                userId = random.nextInt(5) == 0 ? dataset.ownerOf(itemId) : users.sample(random);
+                path = "/items/" + itemId;
+                break;
+            case REQUESTS_ALL:
+                userId = users.sample(random);
+                path = "/requests/all?from=0&size=" + spec.getPageSize();
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown route " + route);
+        }
+        return HttpRequest.newBuilder(URI.create(spec.getTarget() + path))
+                .header(HEADER_CALLER_ID, String.valueOf(userId))
+                .timeout(spec.getRequestTimeout())
+                .GET()
+                .build();
+    }
+
+    private String state(SplittableRandom random) {
+        return random.nextBoolean() ? "ALL" : STATES[random.nextInt(STATES.length)];
+    }
+
+    private String page(SplittableRandom random) {
+        int from = random.nextInt(4) == 0 ? spec.getPageSize() * random.nextInt(1, 5) : 0;
+        return "&from=" + from + "&size=" + spec.getPageSize();
+    }
+}
@@ -0,0 +1,9 @@
+package ru.practicum.shareit.loadtest;
+
+public enum Route {
+    BOOKINGS,
+    BOOKINGS_OWNER,
+    ITEMS_SEARCH,
+    ITEM_BY_ID,
+    REQUESTS_ALL
+}
@@ -0,0 +1,35 @@
+package ru.practicum.shareit.loadtest;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+import org.HdrHistogram.Histogram;
+
+import java.time.Duration;
+
+@Getter
+@ToString
+@AllArgsConstructor
+public class RouteResult {
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final Route route;
+    private final long requests;
+    private final long errors;
+    private final double throughput;
+    private final double p50;
+    private final double p90;
+    private final double p99;
+    private final double p999;
+    private final double max;
+
+    public static RouteResult of(Route route, Histogram histogram, long errors, Duration duration) {
+        return new RouteResult(route, histogram.getTotalCount(), errors,
+                histogram.getTotalCount() * 1000.0 / duration.toMillis(),
+                histogram.getValueAtPercentile(50) / NANOS_PER_MILLI,
+                histogram.getValueAtPercentile(90) / NANOS_PER_MILLI,
+                histogram.getValueAtPercentile(99) / NANOS_PER_MILLI,
+                histogram.getValueAtPercentile(99.9) / NANOS_PER_MILLI,
+                histogram.getMaxValue() / NANOS_PER_MILLI);
+    }
+}
@@ -0,0 +1,73 @@
+package ru.practicum.shareit.loadtest;
+
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+import ru.practicum.shareit.datagen.CommandLineOptions;
+import ru.practicum.shareit.datagen.GenerateDataset;
+import ru.practicum.shareit.datagen.GeneratedDataset;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@UtilityClass
+public class RunLoadTest {
+    public static void main(String[] args) throws IOException, SQLException, InterruptedException {
+        LoadTestSpec spec = new LoadTestSpec();
+        new CommandLineOptions(args)
+                .apply("target", spec::setTarget)
+                .apply("seed", value -> spec.setSeed(Long.parseLong(value)))
+                .apply("concurrency", value -> spec.setConcurrency(Integer.parseInt(value)))
+                .apply("warmup", value -> spec.setWarmup(parseDuration(value)))
+                .apply("duration", value -> spec.setDuration(parseDuration(value)))
+                .apply("think-time", value -> spec.setThinkTime(parseDuration(value)))
+                .apply("request-timeout", value -> spec.setRequestTimeout(parseDuration(value)))
+                .apply("user-activity-skew", value -> spec.setUserActivitySkew(Double.parseDouble(value)))
+                .apply("item-popularity-skew", value -> spec.setItemPopularitySkew(Double.parseDouble(value)))
+                .apply("page-size", value -> spec.setPageSize(Integer.parseInt(value)))
+                .apply("mix", value -> spec.setMix(parseMix(value)))
+                .apply("out", value -> spec.setReportDirectory(Paths.get(value)))
+                .apply("baseline", value -> spec.setBaseline(Paths.get(value)))
+                .apply("tolerance", value -> spec.setTolerance(Double.parseDouble(value)))
+                .checkAllApplied();
+
+        GeneratedDataset dataset;
+        try (Connection connection = GenerateDataset.connect()) {
+            dataset = GeneratedDataset.read(connection);
+        }
+        log.info("Loaded dataset {}", dataset);
+        LoadTest loadTest = new LoadTest(spec, new RequestFactory(spec, dataset));
+        LoadTestReport report = loadTest.run();
+        report.write(spec.getReportDirectory(), loadTest.getHistograms());
+
+        LoadTestReport previous = spec.getBaseline() == null ? null : LoadTestReport.read(spec.getBaseline());
+        System.out.println(report.format(previous));
+        System.out.println("Report written to " + spec.getReportDirectory().toAbsolutePath());
+        if (previous != null) {
+            List<String> regressions = report.findRegressions(previous, spec.getTolerance());
+            regressions.forEach(regression -> System.out.println("REGRESSION " + regression));
+            if (!regressions.isEmpty()) {
+                System.exit(1);
+            }
+        }
+    }
+
+    static Duration parseDuration(String value) {
+        return Duration.parse(value.startsWith("P") ? value : "PT" + value);
+    }
+
+    static Map<Route, Integer> parseMix(String value) {
+        Map<Route, Integer> mix = new EnumMap<>(Route.class);
+        for (String part : value.split(",")) {
+            String[] routeAndWeight = part.split(":");
+            mix.put(Route.valueOf(routeAndWeight[0].trim()), Integer.parseInt(routeAndWeight[1].trim()));
+        }
+        return mix;
+    }
+}
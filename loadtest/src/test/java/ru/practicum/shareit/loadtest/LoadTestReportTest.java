@@ -0,0 +1,53 @@
+package ru.practicum.shareit.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class LoadTestReportTest {
+    private final LoadTestReport baseline = new LoadTestReport(List.of(
+            new RouteResult(Route.BOOKINGS, 1000, 0, 100.0, 5.0, 8.0, 12.0, 20.0, 30.0),
+            new RouteResult(Route.ITEMS_SEARCH, 500, 0, 50.0, 10.0, 15.0, 25.0, 40.0, 50.0)));
+
+    @Test
+    void write_whenReadBack_thenSummaryIsTheSame(@TempDir Path directory) throws IOException {
+        Histogram histogram = new Histogram(3);
+        histogram.recordValue(5_000_000);
+
+        baseline.write(directory, Map.of(Route.BOOKINGS, histogram));
+        LoadTestReport read = LoadTestReport.read(directory.resolve(LoadTestReport.SUMMARY_FILE));
+
+        assertThat(2, equalTo(read.getResults().size()));
+        assertThat(12.0, equalTo(read.getResult(Route.BOOKINGS).orElseThrow().getP99()));
+        assertThat(50.0, equalTo(read.getResult(Route.ITEMS_SEARCH).orElseThrow().getThroughput()));
+        assertThat(Files.exists(directory.resolve("bookings.hlog")), is(true));
+    }
+
+    @Test
+    void findRegressions_whenWithinTolerance_thenReturnEmptyList() {
+        LoadTestReport current = new LoadTestReport(List.of(
+                new RouteResult(Route.BOOKINGS, 980, 0, 98.0, 5.0, 8.0, 12.5, 21.0, 35.0)));
+
+        assertThat(current.findRegressions(baseline, 0.1), empty());
+    }
+
+    @Test
+    void findRegressions_whenLatencyAndThroughputDegrade_thenReportBoth() {
+        LoadTestReport current = new LoadTestReport(List.of(
+                new RouteResult(Route.ITEMS_SEARCH, 300, 2, 30.0, 20.0, 30.0, 45.0, 60.0, 90.0)));
+
+        List<String> regressions = current.findRegressions(baseline, 0.1);
+
+        assertThat(regressions, contains(startsWith("ITEMS_SEARCH p99"), startsWith("ITEMS_SEARCH throughput"),
+                startsWith("ITEMS_SEARCH errors")));
+    }
+}
@@ -0,0 +1,71 @@
+package ru.practicum.shareit.loadtest;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.datagen.GeneratedDataset;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class LoadTestTest {
+    private final Set<String> paths = ConcurrentHashMap.newKeySet();
+    private final Set<String> callers = ConcurrentHashMap.newKeySet();
+    private HttpServer server;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            paths.add(exchange.getRequestURI().getPath());
+            callers.add(exchange.getRequestHeaders().getFirst(RequestFactory.HEADER_CALLER_ID));
+            int status = exchange.getRequestURI().getPath().startsWith("/requests") ? 500 : 200;
+            exchange.sendResponseHeaders(status, -1);
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void run_whenServerResponds_thenRecordEveryRouteOfTheMix() throws InterruptedException {
+        LoadTestSpec spec = new LoadTestSpec()
+                .setTarget("http://localhost:" + server.getAddress().getPort())
+                .setConcurrency(4)
+                .setWarmup(Duration.ofMillis(200))
+                .setDuration(Duration.ofMillis(800));
+        GeneratedDataset dataset = new GeneratedDataset(10, 5, new int[]{1, 1, 2, 3, 4}, 0, 0);
+
+        LoadTestReport report = new LoadTest(spec, new RequestFactory(spec, dataset)).run();
+
+        assertThat(paths, hasItems("/bookings", "/bookings/owner", "/items/search", "/requests/all"));
+        assertThat(callers, not(hasItem(nullValue())));
+        for (Route route : spec.getMix().keySet()) {
+            RouteResult result = report.getResult(route).orElseThrow();
+            assertThat(result.getRequests(), greaterThan(0L));
+            assertThat(result.getP50(), lessThanOrEqualTo(result.getMax()));
+        }
+        RouteResult requests = report.getResult(Route.REQUESTS_ALL).orElseThrow();
+        assertThat(requests.getErrors(), equalTo(requests.getRequests()));
+        assertThat(report.getResult(Route.BOOKINGS).orElseThrow().getErrors(), equalTo(0L));
+    }
+
+    @Test
+    void parseMix_whenWeightsAreGiven_thenKeepOnlyListedRoutes() {
+        Map<Route, Integer> mix = RunLoadTest.parseMix("BOOKINGS:3, ITEMS_SEARCH:1");
+
+        assertThat(mix, equalTo(Map.of(Route.BOOKINGS, 3, Route.ITEMS_SEARCH, 1)));
+    }
+}
@@ -0,0 +1,9 @@
+package ru.practicum.shareit.audit;
+
+public enum AuditAction {
+    CREATE,
+    UPDATE,
+    DELETE,
+    EXPIRE,
+    ARCHIVE
+}
@@ -0,0 +1,9 @@
+package ru.practicum.shareit.audit;
+
+public enum AuditEntity {
+    USER,
+    ITEM,
+    ITEM_REQUEST,
+    BOOKING,
+    COMMENT
+}
@@ -0,0 +1,41 @@
+package ru.practicum.shareit.audit;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Getter
+@ToString
+public class AuditEvent {
+    private final LocalDateTime time = LocalDateTime.now();
+    private final AuditAction action;
+    private final AuditEntity entity;
+    private final Long actorId;
+    private final List<Long> entityIds;
+    private final Map<String, Object> changes = new LinkedHashMap<>();
+
+    private AuditEvent(AuditAction action, AuditEntity entity, Long actorId, List<Long> entityIds) {
+        this.action = action;
+        this.entity = entity;
+        this.actorId = actorId;
+        this.entityIds = entityIds;
+    }
+
+    public static AuditEvent of(AuditAction action, AuditEntity entity, Long actorId, long entityId) {
+        return new AuditEvent(action, entity, actorId, List.of(entityId));
+    }
+
+    public static AuditEvent of(AuditAction action, AuditEntity entity, Long actorId, Collection<Long> entityIds) {
+        return new AuditEvent(action, entity, actorId, List.copyOf(entityIds));
+    }
+
+    public AuditEvent change(String field, Object value) {
+        changes.put(field, value);
+        return this;
+    }
+}
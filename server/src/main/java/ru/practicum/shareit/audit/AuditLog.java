@@ -0,0 +1,62 @@
+package ru.practicum.shareit.audit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.tracing.file.AsyncFileWriter;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Path;
+
+@Component
+public class AuditLog {
+    private final boolean enabled;
+    private final AsyncFileWriter<AuditEvent> writer;
+
+    public AuditLog(@Value("${shareit.audit.enabled:true}") boolean enabled,
+                    @Value("${shareit.audit.journal.path:audit/shareit-audit.jsonl}") Path path,
+                    @Value("${shareit.audit.journal.queue-capacity:10000}") int queueCapacity,
+                    ObjectMapper objectMapper,
+                    MeterRegistry meterRegistry) throws IOException {
+        this.enabled = enabled;
+        this.writer = enabled
+                ? new AsyncFileWriter<>(path, queueCapacity, "audit-journal", objectMapper::writeValueAsString)
+                : null;
+        FunctionCounter.builder("shareit.audit.dropped", this, AuditLog::getDroppedCount)
+                .description("Audit events dropped because the journal queue was full or the journal stopped")
+                .register(meterRegistry);
+    }
+
+    public void record(AuditEvent event) {
+        if (!enabled) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            writer.offer(event);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                writer.offer(event);
+            }
+        });
+    }
+
+    public long getDroppedCount() {
+        return enabled ? writer.getDroppedCount() : 0;
+    }
+
+    @PreDestroy
+    public void close() throws IOException, InterruptedException {
+        if (!enabled) {
+            return;
+        }
+        writer.close();
+    }
+}
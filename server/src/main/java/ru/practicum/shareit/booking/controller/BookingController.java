@@ -1,28 +1,39 @@
 package ru.practicum.shareit.booking.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import lombok.RequiredArgsConstructor;
-import org.springframework.http.HttpMethod;
+import org.springframework.data.domain.Page;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.booking.dto.BookingInnerDto;
 import ru.practicum.shareit.booking.dto.BookingOutDto;
+import ru.practicum.shareit.booking.dto.BookingUpdateResultDto;
+import ru.practicum.shareit.booking.enums.BookingState;
 import ru.practicum.shareit.booking.service.BookingService;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Map;
 
 import static ru.practicum.shareit.consts.ShareItAppConst.HEADER_CALLER_ID;
-import static ru.practicum.shareit.log.Logger.logRequest;
+import static ru.practicum.shareit.consts.ShareItAppConst.HEADER_TOTAL_COUNT;
 
 @RestController
 @RequestMapping(path = "/bookings")
 @RequiredArgsConstructor
 public class BookingController {
     private final BookingService bookingService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     public BookingOutDto addBooking(@RequestHeader(HEADER_CALLER_ID) long bookerId,
                                     @RequestBody BookingInnerDto bookingInnerDto) {
-        logRequest(HttpMethod.POST, "/bookings",
-                HEADER_CALLER_ID + bookerId, bookingInnerDto.toString());
         return bookingService.addBooking(bookerId, bookingInnerDto);
     }
 
@@ -30,37 +41,79 @@ public class BookingController {
     public BookingOutDto updateBooking(@RequestHeader(HEADER_CALLER_ID) long ownerId,
                                        @PathVariable long bookingId,
                                        @RequestParam boolean approved) {
-        logRequest(HttpMethod.PATCH, String.format("/bookings/%s?approved=%s", bookingId, approved),
-                HEADER_CALLER_ID + ownerId, "no");
         return bookingService.updateBooking(ownerId, bookingId, approved);
 
     }
 
+    @PatchMapping
+    public List<BookingUpdateResultDto> updateBookings(@RequestHeader(HEADER_CALLER_ID) long ownerId,
+                                                       @RequestParam boolean approved,
+                                                       @RequestBody List<Long> bookingIds) {
+        return bookingService.updateBookings(ownerId, bookingIds, approved);
+    }
+
     @GetMapping("/{bookingId}")
     public BookingOutDto getBookingById(@RequestHeader(HEADER_CALLER_ID) long userId,
                                         @PathVariable long bookingId) {
-        logRequest(HttpMethod.GET, "/bookings/" + bookingId,
-                HEADER_CALLER_ID + userId, "no");
         return bookingService.getBookingById(userId, bookingId);
     }
 
     @GetMapping
-    public List<BookingOutDto> getBookingsForBooker(@RequestHeader(HEADER_CALLER_ID) long bookerId,
-                                                    @RequestParam(defaultValue = "ALL") String state,
-                                                    @RequestParam(required = false) Integer from,
-                                                    @RequestParam(required = false) Integer size) {
-        logRequest(HttpMethod.GET, String.format("/bookings?state=%s&from=%s&size=%s", state, from, size),
-                HEADER_CALLER_ID + bookerId, "no");
-        return bookingService.getBookingsForBooker(bookerId, state, from, size);
+    public ResponseEntity<List<BookingOutDto>> getBookingsForBooker(@RequestHeader(HEADER_CALLER_ID) long bookerId,
+                                                                    @RequestParam(defaultValue = "ALL") String state,
+                                                                    @RequestParam(required = false) Integer from,
+                                                                    @RequestParam(required = false) Integer size) {
+        Page<BookingOutDto> bookings = bookingService.getBookingPageForBooker(bookerId, state, from, size);
+        return ResponseEntity.ok()
+                .header(HEADER_TOTAL_COUNT, String.valueOf(bookings.getTotalElements()))
+                .body(bookings.getContent());
     }
 
     @GetMapping("/owner")
-    public List<BookingOutDto> getBookingsForOwner(@RequestHeader(HEADER_CALLER_ID) long ownerId,
-                                                   @RequestParam(defaultValue = "ALL") String state,
-                                                   @RequestParam(required = false) Integer from,
-                                                   @RequestParam(required = false) Integer size) {
-        logRequest(HttpMethod.GET, String.format("/bookings/owner?state=%s&from=%s&size=%s", state, from, size),
-                HEADER_CALLER_ID + ownerId, "no");
-        return bookingService.getBookingsForOwner(ownerId, state, from, size);
+    public ResponseEntity<List<BookingOutDto>> getBookingsForOwner(@RequestHeader(HEADER_CALLER_ID) long ownerId,
+                                                                   @RequestParam(defaultValue = "ALL") String state,
+                                                                   @RequestParam(required = false) Integer from,
+                                                                   @RequestParam(required = false) Integer size) {
+        Page<BookingOutDto> bookings = bookingService.getBookingPageForOwner(ownerId, state, from, size);
+        return ResponseEntity.ok()
+                .header(HEADER_TOTAL_COUNT, String.valueOf(bookings.getTotalElements()))
+                .body(bookings.getContent());
+    }
+
+    @GetMapping("/owner/export")
+    public void exportBookingsForOwner(@RequestHeader(HEADER_CALLER_ID) long ownerId,
+                                       HttpServletResponse response) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(BookingOutDto.class);
+        bookingService.exportBookingsForOwner(ownerId, bookingOutDto -> writeLine(response, writer, bookingOutDto));
+        setNdjsonContentType(response);
+        response.flushBuffer();
+    }
+
+    @GetMapping("/counts")
+    public Map<BookingState, Long> getBookingCountsForBooker(@RequestHeader(HEADER_CALLER_ID) long bookerId) {
+        return bookingService.getBookingCountsForBooker(bookerId);
+    }
+
+    @GetMapping("/owner/counts")
+    public Map<BookingState, Long> getBookingCountsForOwner(@RequestHeader(HEADER_CALLER_ID) long ownerId) {
+        return bookingService.getBookingCountsForOwner(ownerId);
+    }
+
+    private void writeLine(HttpServletResponse response, ObjectWriter writer, Object value) {
+        try {
+            setNdjsonContentType(response);
+            OutputStream outputStream = response.getOutputStream();
+            outputStream.write(writer.writeValueAsBytes(value));
+            outputStream.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void setNdjsonContentType(HttpServletResponse response) {
+        if (response.getContentType() == null) {
+            response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        }
     }
 }
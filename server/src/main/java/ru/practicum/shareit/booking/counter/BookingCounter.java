@@ -0,0 +1,67 @@
+package ru.practicum.shareit.booking.counter;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import lombok.experimental.Accessors;
+import org.springframework.data.domain.Persistable;
+import ru.practicum.shareit.booking.enums.BookingRole;
+import ru.practicum.shareit.booking.enums.BookingStatus;
+
+import javax.persistence.*;
+
+@Entity
+@Table(name = "booking_counters")
+@IdClass(BookingCounterId.class)
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@Accessors(chain = true)
+public class BookingCounter implements Persistable<BookingCounterId> {
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    private BookingRole role;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    private BookingStatus status;
+
+    @Column(name = "bookings_count")
+    private Long count;
+
+    @Transient
+    private boolean isNew = true;
+
+    public BookingCounter(Long userId, BookingRole role, BookingStatus status, Long count) {
+        this.userId = userId;
+        this.role = role;
+        this.status = status;
+        this.count = count;
+    }
+
+    public BookingCounter(Long userId, BookingStatus status, Long count) {
+        this(userId, null, status, count);
+    }
+
+    @Override
+    public BookingCounterId getId() {
+        return new BookingCounterId(userId, role, status);
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    private void markNotNew() {
+        isNew = false;
+    }
+}
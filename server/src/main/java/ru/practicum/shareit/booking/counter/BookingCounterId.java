@@ -0,0 +1,28 @@
+package ru.practicum.shareit.booking.counter;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ru.practicum.shareit.booking.enums.BookingRole;
+import ru.practicum.shareit.booking.enums.BookingStatus;
+
+import java.io.Serializable;
+import java.util.Comparator;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingCounterId implements Serializable, Comparable<BookingCounterId> {
+    private static final Comparator<BookingCounterId> ORDER = Comparator.comparing(BookingCounterId::getUserId)
+            .thenComparing(BookingCounterId::getRole)
+            .thenComparing(BookingCounterId::getStatus);
+
+    private Long userId;
+    private BookingRole role;
+    private BookingStatus status;
+
+    @Override
+    public int compareTo(BookingCounterId other) {
+        return ORDER.compare(this, other);
+    }
+}
@@ -0,0 +1,21 @@
+package ru.practicum.shareit.booking.counter;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.rest.core.annotation.RepositoryRestResource;
+import ru.practicum.shareit.booking.enums.BookingRole;
+import ru.practicum.shareit.booking.enums.BookingStatus;
+
+import java.util.List;
+
+@RepositoryRestResource
+public interface BookingCounterRepository extends JpaRepository<BookingCounter, BookingCounterId> {
+    List<BookingCounter> findAllByUserIdAndRole(long userId, BookingRole role);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE BookingCounter AS c " +
+            "SET c.count = c.count + ?4 " +
+            "WHERE c.userId = ?1 AND c.role = ?2 AND c.status = ?3")
+    int addToCount(long userId, BookingRole role, BookingStatus status, long delta);
+}
@@ -0,0 +1,88 @@
+package ru.practicum.shareit.booking.counter;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.enums.BookingRole;
+import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+
+import java.util.*;
+
+import static ru.practicum.shareit.booking.enums.BookingRole.BOOKER;
+import static ru.practicum.shareit.booking.enums.BookingRole.OWNER;
+import static ru.practicum.shareit.booking.enums.BookingStatus.WAITING;
+
+@Component
+@RequiredArgsConstructor
+public class BookingCounters {
+    private final BookingCounterRepository bookingCounterRepository;
+    private final BookingRepository bookingRepository;
+
+    public void registerUser(long userId) {
+        List<BookingCounter> counters = new ArrayList<>();
+        for (BookingRole role : BookingRole.values()) {
+            for (BookingStatus status : BookingStatus.values()) {
+                counters.add(new BookingCounter(userId, role, status, 0L));
+            }
+        }
+        bookingCounterRepository.saveAll(counters);
+    }
+
+    public void onBookingAdded(long bookerId, long ownerId) {
+        Map<BookingCounterId, Long> deltas = new TreeMap<>();
+        addDelta(deltas, bookerId, BOOKER, WAITING, 1);
+        addDelta(deltas, ownerId, OWNER, WAITING, 1);
+        apply(deltas);
+    }
+
+    public void onStatusChanged(Collection<Booking> bookings, BookingStatus status) {
+        Map<BookingCounterId, Long> deltas = new TreeMap<>();
+        for (Booking booking : bookings) {
+            addDelta(deltas, booking.getBooker().getId(), BOOKER, booking.getStatus(), -1);
+            addDelta(deltas, booking.getBooker().getId(), BOOKER, status, 1);
+            addDelta(deltas, booking.getOwnerId(), OWNER, booking.getStatus(), -1);
+            addDelta(deltas, booking.getOwnerId(), OWNER, status, 1);
+        }
+        apply(deltas);
+    }
+
+    public void onUserDeleted(long userId) {
+        Map<BookingCounterId, Long> deltas = new TreeMap<>();
+        for (BookingCounter counter : bookingRepository.countOwnerBookingsByBookerId(userId)) {
+            addDelta(deltas, counter.getUserId(), OWNER, counter.getStatus(), -counter.getCount());
+        }
+        for (BookingCounter counter : bookingRepository.countBookerBookingsByOwnerId(userId)) {
+            addDelta(deltas, counter.getUserId(), BOOKER, counter.getStatus(), -counter.getCount());
+        }
+        apply(deltas);
+    }
+
+    public Map<BookingStatus, Long> getStatusCounts(long userId, BookingRole role) {
+        Map<BookingStatus, Long> counts = new EnumMap<>(BookingStatus.class);
+        for (BookingStatus status : BookingStatus.values()) {
+            counts.put(status, 0L);
+        }
+        for (BookingCounter counter : bookingCounterRepository.findAllByUserIdAndRole(userId, role)) {
+            counts.put(counter.getStatus(), counter.getCount());
+        }
+        return counts;
+    }
+
+    private void addDelta(Map<BookingCounterId, Long> deltas, long userId, BookingRole role, BookingStatus status,
+                          long delta) {
+        deltas.merge(new BookingCounterId(userId, role, status), delta, Long::sum);
+    }
+
+    private void apply(Map<BookingCounterId, Long> deltas) {
+        deltas.forEach((id, delta) -> {
+            if (delta == 0) {
+                return;
+            }
+            if (bookingCounterRepository.addToCount(id.getUserId(), id.getRole(), id.getStatus(), delta) == 0) {
+                bookingCounterRepository.save(new BookingCounter(id.getUserId(), id.getRole(), id.getStatus(),
+                        delta));
+            }
+        });
+    }
+}
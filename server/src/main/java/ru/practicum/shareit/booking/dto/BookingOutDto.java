@@ -21,4 +21,11 @@ public class BookingOutDto {
     private LocalDateTime start;
     private LocalDateTime end;
     private BookingStatus status;
+
+    public BookingOutDto(Long id, LocalDateTime start, LocalDateTime end, BookingStatus status,
+                         Long itemId, String itemName, String itemDescription, Boolean itemAvailable,
+                         Long itemRequestId, Long bookerId, String bookerName, String bookerEmail) {
+        this(id, new ItemOutShortDto(itemId, itemName, itemDescription, itemAvailable, itemRequestId),
+                new UserDto(bookerId, bookerName, bookerEmail), start, end, status);
+    }
 }
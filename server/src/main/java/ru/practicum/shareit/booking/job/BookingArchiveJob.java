@@ -0,0 +1,61 @@
+package ru.practicum.shareit.booking.job;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.service.BookingService;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+@Component
+@ConditionalOnProperty(name = "shareit.booking.archive.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class BookingArchiveJob {
+    private final BookingService bookingService;
+    private final Duration horizon;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final Counter archivedCounter;
+    private final Timer batchTimer;
+
+    public BookingArchiveJob(BookingService bookingService,
+                             MeterRegistry meterRegistry,
+                             @Value("${shareit.booking.archive.horizon:P365D}") Duration horizon,
+                             @Value("${shareit.booking.archive.batch-size:500}") int batchSize,
+                             @Value("${shareit.booking.archive.max-batches-per-run:20}") int maxBatchesPerRun) {
+        this.bookingService = bookingService;
+        this.horizon = horizon;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.archivedCounter = Counter.builder("shareit.booking.archive.rows")
+                .description("Finished bookings moved to the archive")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("shareit.booking.archive.batch")
+                .description("Duration of one archive batch transaction")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.booking.archive.fixed-delay:PT1H}",
+            initialDelayString = "${shareit.booking.archive.initial-delay:PT5M}")
+    public void archiveFinishedBookings() {
+        LocalDateTime dateTime = LocalDateTime.now().minus(horizon);
+        int total = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            Integer archived = batchTimer.record(() -> bookingService.archiveFinishedBookings(dateTime, batchSize));
+            archivedCounter.increment(archived);
+            total += archived;
+            if (archived < batchSize) {
+                break;
+            }
+        }
+        if (total > 0) {
+            log.info("Booking archive run finished: '{}' bookings archived", total);
+        }
+    }
+}
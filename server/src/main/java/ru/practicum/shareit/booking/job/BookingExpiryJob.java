@@ -0,0 +1,57 @@
+package ru.practicum.shareit.booking.job;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.service.BookingService;
+
+import java.time.LocalDateTime;
+
+@Component
+@ConditionalOnProperty(name = "shareit.booking.expiry.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class BookingExpiryJob {
+    private final BookingService bookingService;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final Counter expiredCounter;
+    private final Timer batchTimer;
+
+    public BookingExpiryJob(BookingService bookingService,
+                            MeterRegistry meterRegistry,
+                            @Value("${shareit.booking.expiry.batch-size:500}") int batchSize,
+                            @Value("${shareit.booking.expiry.max-batches-per-run:20}") int maxBatchesPerRun) {
+        this.bookingService = bookingService;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.expiredCounter = Counter.builder("shareit.booking.expiry.rows")
+                .description("Waiting bookings moved to EXPIRED")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("shareit.booking.expiry.batch")
+                .description("Duration of one expiry batch transaction")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.booking.expiry.fixed-delay:PT5M}",
+            initialDelayString = "${shareit.booking.expiry.initial-delay:PT1M}")
+    public void expireStaleBookings() {
+        LocalDateTime dateTime = LocalDateTime.now();
+        int total = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            Integer expired = batchTimer.record(() -> bookingService.expireWaitingBookings(dateTime, batchSize));
+            expiredCounter.increment(expired);
+            total += expired;
+            if (expired < batchSize) {
+                break;
+            }
+        }
+        if (total > 0) {
+            log.info("Booking expiry run finished: '{}' bookings expired", total);
+        }
+    }
+}
@@ -6,6 +6,9 @@ import ru.practicum.shareit.booking.dto.BookingInnerDto;
 import ru.practicum.shareit.booking.dto.BookingOutDto;
 import ru.practicum.shareit.booking.enums.BookingStatus;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingHistory;
+import ru.practicum.shareit.booking.timeline.BookingTimelineEntry;
+import ru.practicum.shareit.booking.view.OwnerBookingView;
 import ru.practicum.shareit.item.dto.ItemOutShortDto;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.dto.UserDto;
@@ -26,6 +29,12 @@ public class BookingMapper {
         return booking;
     }
 
+    public static Booking toBooking(BookingHistory bookingHistory) {
+        return new Booking(bookingHistory.getId(), bookingHistory.getStart(), bookingHistory.getEnd(),
+                bookingHistory.getItem(), bookingHistory.getBooker(), bookingHistory.getStatus(),
+                bookingHistory.getOwnerId(), bookingHistory.getVersion());
+    }
+
     public static BookingOutDto toBookingOutDto(Booking booking,
                                                 ItemOutShortDto itemOutShortDto,
                                                 UserDto bookerDto) {
@@ -49,4 +58,25 @@ public class BookingMapper {
         return bookingForItemDto;
     }
 
+    public static BookingTimelineEntry toBookingTimelineEntry(Booking booking, BookingStatus status) {
+        return new BookingTimelineEntry(booking.getId(), booking.getBooker().getId(), booking.getStart(),
+                booking.getEnd(), status);
+    }
+
+    public static OwnerBookingView toOwnerBookingView(Booking booking, Item item, User booker) {
+        return new OwnerBookingView()
+                .setId(booking.getId())
+                .setOwnerId(item.getUserId())
+                .setStart(booking.getStart())
+                .setEnd(booking.getEnd())
+                .setStatus(booking.getStatus())
+                .setItemId(item.getId())
+                .setItemName(item.getName())
+                .setItemDescription(item.getDescription())
+                .setItemAvailable(item.getAvailable())
+                .setItemRequestId(item.getRequestId())
+                .setBookerId(booker.getId())
+                .setBookerName(booker.getName())
+                .setBookerEmail(booker.getEmail());
+    }
 }
@@ -19,7 +19,8 @@ import java.time.LocalDateTime;
 @Accessors(chain = true)
 public class Booking {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bookings_seq")
+    @SequenceGenerator(name = "bookings_seq", sequenceName = "bookings_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "start_time")
@@ -28,10 +29,12 @@ public class Booking {
     @Column(name = "end_time")
     private LocalDateTime end;
 
+    @ToString.Exclude
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "item_id")
     private Item item;
 
+    @ToString.Exclude
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "booker_id")
     private User booker;
@@ -39,6 +42,19 @@ public class Booking {
     @Enumerated(EnumType.STRING)
     private BookingStatus status;
 
+    @Column(name = "owner_id")
+    private Long ownerId;
+
+    @Version
+    private Long version;
+
+    @PrePersist
+    private void fillOwnerId() {
+        if (ownerId == null && item != null) {
+            ownerId = item.getUserId();
+        }
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -1,127 +1,292 @@
 package ru.practicum.shareit.booking.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.rest.core.annotation.RepositoryRestResource;
+import ru.practicum.shareit.booking.counter.BookingCounter;
+import ru.practicum.shareit.booking.dto.BookingOutDto;
 import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingHistory;
+import ru.practicum.shareit.booking.timeline.BookingTimelineEntry;
 
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import org.springframework.data.domain.Pageable;
 
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_NATIVE_SPACES;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+
 @RepositoryRestResource
 public interface BookingRepository extends JpaRepository<Booking, Long> {
+    int EXPORT_FETCH_SIZE = 500;
+    String BOOKING_OUT_DTO = "new ru.practicum.shareit.booking.dto.BookingOutDto(b.id, b.start, b.end, b.status, " +
+            "i.id, i.name, i.description, i.available, i.requestId, u.id, u.name, u.email) ";
+
     Booking save(Booking booking);
 
     Booking getReferenceById(long bookingId);
 
+    @Query("SELECT new Booking(h.id, h.start, h.end, h.item, h.booker, h.status, h.ownerId, h.version) " +
+            "FROM BookingHistory AS h " +
+            "WHERE h.id = ?1")
+    Optional<Booking> findInHistoryById(long bookingId);
 
-    //Запросы бронирующего (с пагинацией)
-    List<Booking> findAllByBookerIdOrderByStartDesc(long bookerId, Pageable pageable);
-
-    List<Booking> findAllByBookerIdAndStatusOrderByStartDesc(long bookerId, BookingStatus status, Pageable pageable);
+    @Query("SELECT b " +
+            "FROM Booking AS b " +
+            "JOIN FETCH b.item " +
+            "JOIN FETCH b.booker " +
+            "WHERE b.id IN ?1")
+    List<Booking> findAllWithItemAndBookerByIdIn(Collection<Long> bookingIds);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Booking AS b " +
+            "SET b.status = ?3, b.version = b.version + 1 " +
+            "WHERE b.id = ?1 AND b.status = ?2")
+    int updateStatusByIdAndStatus(long bookingId, BookingStatus currentStatus, BookingStatus status);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<Booking> findAllByStatusAndStartBeforeOrderByStart(BookingStatus status, LocalDateTime dateTime,
+                                                            Pageable pageable);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Booking AS b " +
+            "SET b.status = ?3, b.version = b.version + 1 " +
+            "WHERE b.id IN ?1 AND b.status = ?2")
+    int updateStatusByIdInAndStatus(Collection<Long> bookingIds, BookingStatus currentStatus, BookingStatus status);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<Booking> findAllByEndBeforeAndStatusNotOrderByEnd(LocalDateTime dateTime, BookingStatus status,
+                                                           Pageable pageable);
+
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "bookings_archive"))
+    @Query(value = "INSERT INTO bookings_archive " +
+            "(id, item_id, booker_id, status, start_time, end_time, owner_id, version) " +
+            "SELECT b.id, b.item_id, b.booker_id, b.status, b.start_time, b.end_time, b.owner_id, b.version " +
+            "FROM bookings AS b " +
+            "WHERE b.id IN (?1)", nativeQuery = true)
+    int copyToArchiveByIdIn(Collection<Long> bookingIds);
 
-    List<Booking> findAllByBookerIdAndEndBeforeOrderByStartDesc(long bookerId, LocalDateTime dataTime, Pageable pageable);
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Booking AS b " +
+            "WHERE b.id IN ?1")
+    int deleteAllByIdIn(Collection<Long> bookingIds);
 
-    List<Booking> findAllByBookerIdAndStartAfterOrderByStartDesc(long bookerId, LocalDateTime dataTime, Pageable pageable);
 
-    @Query("SELECT new Booking(b.id, b.start, b.end, b.item, b.booker, b.status) " +
-            "FROM Booking AS b " +
-            "WHERE b.booker.id = ?1 AND ?2 BETWEEN b.start AND b.end " +
+    //Запросы бронирующего (с пагинацией)
+    @Query("SELECT " + BOOKING_OUT_DTO +
+            "FROM BookingHistory AS b JOIN b.item AS i JOIN b.booker AS u " +
+            "WHERE b.booker.id = ?1 " +
             "ORDER BY b.start desc")
-    List<Booking> findAllByBookerIdAndCurrent(long bookerId, LocalDateTime dataTime, Pageable pageable);
-
+    List<BookingOutDto> findAllByBookerIdOrderByStartDesc(long bookerId, Pageable pageable);
 
-    //Запросы бронирующего (без пагинации)
-    List<Booking> findAllByBookerIdOrderByStartDesc(long bookerId);
+    @Query("SELECT " + BOOKING_OUT_DTO +
+            "FROM BookingHistory AS b JOIN b.item AS i JOIN b.booker AS u " +
+            "WHERE b.booker.id = ?1 AND b.status = ?2 " +
+            "ORDER BY b.start desc")
+    List<BookingOutDto> findAllByBookerIdAndStatusOrderByStartDesc(long bookerId, BookingStatus status,
+                                                                   Pageable pageable);
 
-    List<Booking> findAllByBookerIdAndStatusOrderByStartDesc(long bookerId, BookingStatus status);
+    @Query("SELECT " + BOOKING_OUT_DTO +
+            "FROM BookingHistory AS b JOIN b.item AS i JOIN b.booker AS u " +
+            "WHERE b.booker.id = ?1 AND b.end < ?2 " +
+            "ORDER BY b.start desc")
+    List<BookingOutDto> findAllByBookerIdAndEndBeforeOrderByStartDesc(long bookerId, LocalDateTime dataTime,
+                                                                      Pageable pageable);
 
-    List<Booking> findAllByBookerIdAndEndBeforeOrderByStartDesc(long bookerId, LocalDateTime dataTime);
+    @Query("SELECT " + BOOKING_OUT_DTO +
+            "FROM Booking AS b JOIN b.item AS i JOIN b.booker AS u " +
+            "WHERE b.booker.id = ?1 " +
+            "AND b.status = ru.practicum.shareit.booking.enums.BookingStatus.WAITING " +
+            "ORDER BY b.start desc")
+    List<BookingOutDto> findAllByBookerIdAndWaiting(long bookerId, Pageable pageable);
 
-    List<Booking> findAllByBookerIdAndStartAfterOrderByStartDesc(long bookerId, LocalDateTime dataTime);
+    @Query("SELECT " + BOOKING_OUT_DTO +
+            "FROM Booking AS b JOIN b.item AS i JOIN b.booker AS u " +
+            "WHERE b.booker.id = ?1 AND b.start > ?2 " +
+            "ORDER BY b.start desc")
+    List<BookingOutDto> findAllByBookerIdAndStartAfterOrderByStartDesc(long bookerId, LocalDateTime dataTime,
+                                                                       Pageable pageable);
 
-    @Query("SELECT new Booking(b.id, b.start, b.end, b.item, b.booker, b.status) " +
-            "FROM Booking AS b " +
+    @Query("SELECT " + BOOKING_OUT_DTO +
+            "FROM Booking AS b JOIN b.item AS i JOIN b.booker AS u " +
             "WHERE b.booker.id = ?1 AND ?2 BETWEEN b.start AND b.end " +
             "ORDER BY b.start desc")
-    List<Booking> findAllByBookerIdAndCurrent(long bookerId, LocalDateTime dataTime);
+    List<BookingOutDto> findAllByBookerIdAndCurrent(long bookerId, LocalDateTime dataTime, Pageable pageable);
 
 
-    //Запросы владельца (с пагинацией)
-    @Query("SELECT new Booking(b.id, b.start, b.end, b.item, b.booker, b.status) " +
-            "FROM Booking AS b " +
-            "WHERE b.item.userId = ?1 " +
+    //Запросы бронирующего (без пагинации)
+    @Query("SELECT " + BOOKING_OUT_DTO +
+            "FROM BookingHistory AS b JOIN b.item AS i JOIN b.booker AS u " +
+            "WHERE b.booker.id = ?1 " +
             "ORDER BY b.start desc")
-    List<Booking> findAllByOwnerId(long ownerId, Pageable pageable);
+    List<BookingOutDto> findAllByBookerIdOrderByStartDesc(long bookerId);
 
-    @Query("SELECT new Booking(b.id, b.start, b.end, b.item, b.booker, b.status) " +
-            "FROM Booking AS b " +
-            "WHERE b.item.userId = ?1 AND b.status = ?2 " +
+    @Query("SELECT " + BOOKING_OUT_DTO +
+            "FROM BookingHistory AS b JOIN b.item AS i JOIN b.booker AS u " +
+            "WHERE b.booker.id = ?1 AND b.status = ?2 " +
             "ORDER BY b.start desc")
-    List<Booking> findAllByOwnerIdAndStatus(long ownerId, BookingStatus status, Pageable pageable);
+    List<BookingOutDto> findAllByBookerIdAndStatusOrderByStartDesc(long bookerId, BookingStatus status);
 
-    @Query("SELECT new Booking(b.id, b.start, b.end, b.item, b.booker, b.status) " +
-            "FROM Booking AS b " +
-            "WHERE b.item.userId = ?1 AND b.end < ?2  " +
+    @Query("SELECT " + BOOKING_OUT_DTO +
+            "FROM BookingHistory AS b JOIN b.item AS i JOIN b.booker AS u " +
+            "WHERE b.booker.id = ?1 AND b.end < ?2 " +
             "ORDER BY b.start desc")
-    List<Booking> findAllByOwnerIdAndPast(long ownerId, LocalDateTime dataTime, Pageable pageable);
+    List<BookingOutDto> findAllByBookerIdAndEndBeforeOrderByStartDesc(long bookerId, LocalDateTime dataTime);
 
-    @Query("SELECT new Booking(b.id, b.start, b.end, b.item, b.booker, b.status) " +
-            "FROM Booking AS b " +
-            "WHERE b.item.userId = ?1 AND ?2 < b.start " +
+    @Query("SELECT " + BOOKING_OUT_DTO +
+            "FROM Booking AS b JOIN b.item AS i JOIN b.booker AS u " +
+            "WHERE b.booker.id = ?1 " +
+            "AND b.status = ru.practicum.shareit.booking.enums.BookingStatus.WAITING " +
             "ORDER BY b.start desc")
-    List<Booking> findAllByOwnerIdAndFuture(long ownerId, LocalDateTime dataTime, Pageable pageable);
+    List<BookingOutDto> findAllByBookerIdAndWaiting(long bookerId);
 
-    @Query("SELECT new Booking(b.id, b.start, b.end, b.item, b.booker, b.status) " +
-            "FROM Booking AS b " +
-            "WHERE b.item.userId = ?1 AND ?2 BETWEEN b.start AND b.end " +
+    @Query("SELECT " + BOOKING_OUT_DTO +
+            "FROM Booking AS b JOIN b.item AS i JOIN b.booker AS u " +
+            "WHERE b.booker.id = ?1 AND b.start > ?2 " +
             "ORDER BY b.start desc")
-    List<Booking> findAllByOwnerIdAndCurrent(long ownerId, LocalDateTime dataTime, Pageable pageable);
+    List<BookingOutDto> findAllByBookerIdAndStartAfterOrderByStartDesc(long bookerId, LocalDateTime dataTime);
 
-
-    //Запросы владельца (без пагинации)
-    @Query("SELECT new Booking(b.id, b.start, b.end, b.item, b.booker, b.status) " +
-            "FROM Booking AS b " +
-            "WHERE b.item.userId = ?1 " +
+    @Query("SELECT " + BOOKING_OUT_DTO +
+            "FROM Booking AS b JOIN b.item AS i JOIN b.booker AS u " +
+            "WHERE b.booker.id = ?1 AND ?2 BETWEEN b.start AND b.end " +
             "ORDER BY b.start desc")
-    List<Booking> findAllByOwnerId(long ownerId);
+    List<BookingOutDto> findAllByBookerIdAndCurrent(long bookerId, LocalDateTime dataTime);
 
-    @Query("SELECT new Booking(b.id, b.start, b.end, b.item, b.booker, b.status) " +
-            "FROM Booking AS b " +
-            "WHERE b.item.userId = ?1 AND b.status = ?2 " +
-            "ORDER BY b.start desc")
-    List<Booking> findAllByOwnerIdAndStatus(long ownerId, BookingStatus status);
 
-    @Query("SELECT new Booking(b.id, b.start, b.end, b.item, b.booker, b.status) " +
-            "FROM Booking AS b " +
-            "WHERE b.item.userId = ?1 AND b.end < ?2  " +
-            "ORDER BY b.start desc")
-    List<Booking> findAllByOwnerIdAndPast(long ownerId, LocalDateTime dataTime);
+    //Выгрузка бронирований владельца
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+            @QueryHint(name = HINT_READONLY, value = "true")})
+    @Query("SELECT h " +
+            "FROM BookingHistory AS h " +
+            "JOIN FETCH h.item " +
+            "JOIN FETCH h.booker " +
+            "WHERE h.ownerId = ?1 " +
+            "ORDER BY h.start desc")
+    Stream<BookingHistory> streamHistoryByOwnerId(long ownerId);
+
+    default Stream<Booking> streamAllByOwnerId(long ownerId) {
+        return streamHistoryByOwnerId(ownerId).map(BookingMapper::toBooking);
+    }
+
 
-    @Query("SELECT new Booking(b.id, b.start, b.end, b.item, b.booker, b.status) " +
+    //Подсчёт бронирований бронирующего
+    @Query("SELECT COUNT(h) " +
+            "FROM BookingHistory AS h " +
+            "WHERE h.booker.id = ?1")
+    long countByBookerId(long bookerId);
+
+    @Query("SELECT COUNT(h) " +
+            "FROM BookingHistory AS h " +
+            "WHERE h.booker.id = ?1 AND h.status = ?2")
+    long countByBookerIdAndStatus(long bookerId, BookingStatus status);
+
+    @Query("SELECT COUNT(b) " +
             "FROM Booking AS b " +
-            "WHERE b.item.userId = ?1 AND ?2 < b.start " +
-            "ORDER BY b.start desc")
-    List<Booking> findAllByOwnerIdAndFuture(long ownerId, LocalDateTime dataTime);
+            "WHERE b.booker.id = ?1 " +
+            "AND b.status = ru.practicum.shareit.booking.enums.BookingStatus.WAITING")
+    long countByBookerIdAndWaiting(long bookerId);
 
-    @Query("SELECT new Booking(b.id, b.start, b.end, b.item, b.booker, b.status) " +
+    @Query("SELECT COUNT(b) " +
             "FROM Booking AS b " +
-            "WHERE b.item.userId = ?1 AND ?2 BETWEEN b.start AND b.end " +
-            "ORDER BY b.start desc")
-    List<Booking> findAllByOwnerIdAndCurrent(long ownerId, LocalDateTime dataTime);
+            "WHERE b.booker.id = ?1 AND ?2 BETWEEN b.start AND b.end")
+    long countByBookerIdAndCurrent(long bookerId, LocalDateTime dataTime);
 
 
-    @Query(value = "SELECT b.* " +
+    //Подсчёт бронирований по времени
+    @Query("SELECT COUNT(h) " +
+            "FROM BookingHistory AS h " +
+            "WHERE h.booker.id = ?1 AND h.end < ?2")
+    long countByBookerIdAndEndBefore(long bookerId, LocalDateTime dataTime);
+
+    long countByBookerIdAndStartAfter(long bookerId, LocalDateTime dataTime);
+
+    @Query("SELECT COUNT(h) " +
+            "FROM BookingHistory AS h " +
+            "WHERE h.ownerId = ?1 AND h.end < ?2")
+    long countByOwnerIdAndEndBefore(long ownerId, LocalDateTime dataTime);
+
+    long countByOwnerIdAndStartAfter(long ownerId, LocalDateTime dataTime);
+
+    @Query("SELECT new ru.practicum.shareit.booking.counter.BookingCounter(h.ownerId, h.status, COUNT(h)) " +
+            "FROM BookingHistory AS h " +
+            "WHERE h.booker.id = ?1 " +
+            "GROUP BY h.ownerId, h.status")
+    List<BookingCounter> countOwnerBookingsByBookerId(long bookerId);
+
+    @Query("SELECT new ru.practicum.shareit.booking.counter.BookingCounter(h.booker.id, h.status, COUNT(h)) " +
+            "FROM BookingHistory AS h " +
+            "WHERE h.ownerId = ?1 " +
+            "GROUP BY h.booker.id, h.status")
+    List<BookingCounter> countBookerBookingsByOwnerId(long ownerId);
+
+
+    @Query("SELECT new ru.practicum.shareit.booking.timeline.BookingTimelineEntry(" +
+            "b.id, b.booker.id, b.start, b.end, b.status) " +
+            "FROM Booking AS b " +
+            "WHERE b.item.id = ?1 AND b.end > ?2 " +
+            "ORDER BY b.start")
+    List<BookingTimelineEntry> findTimelineByItemIdAndEndAfter(long itemId, LocalDateTime dateTime,
+                                                               Pageable pageable);
+
+    @Query("SELECT new ru.practicum.shareit.booking.timeline.BookingTimelineEntry(" +
+            "h.id, h.booker.id, h.start, h.end, h.status) " +
+            "FROM BookingHistory AS h " +
+            "WHERE h.item.id = ?1 AND h.end <= ?2 " +
+            "ORDER BY h.start desc, h.id desc")
+    List<BookingTimelineEntry> findTimelineByItemIdAndEndNotAfter(long itemId, LocalDateTime dateTime,
+                                                                  Pageable pageable);
+
+    @Query(value = "SELECT t.id, t.item_id, t.booker_id, t.status, t.start_time, t.end_time, t.owner_id, t.version " +
+            "FROM (SELECT b.*, ROW_NUMBER() OVER (PARTITION BY b.item_id ORDER BY b.start_time, b.id) AS rn " +
             "FROM bookings AS b " +
-            "WHERE b.item_id = ?1 AND ?2 > b.start_time " +
-            "ORDER BY b.start_time desc " +
+            "WHERE b.item_id IN (?1) AND b.end_time > ?2) AS t " +
+            "WHERE t.rn <= ?3", nativeQuery = true)
+    List<Booking> findTimelineByItemIdInAndEndAfter(Collection<Long> itemIds, LocalDateTime dateTime, int limit);
+
+    @Query(value = "SELECT t.id, t.item_id, t.booker_id, t.status, t.start_time, t.end_time, t.owner_id, t.version " +
+            "FROM (SELECT h.*, ROW_NUMBER() OVER (PARTITION BY h.item_id " +
+            "ORDER BY h.start_time DESC, h.id DESC) AS rn " +
+            "FROM booking_history AS h " +
+            "WHERE h.item_id IN (?1) AND h.end_time <= ?2) AS t " +
+            "WHERE t.rn <= ?3 " +
+            "ORDER BY t.item_id, t.start_time DESC, t.id DESC", nativeQuery = true)
+    List<Booking> findTimelineByItemIdInAndEndNotAfter(Collection<Long> itemIds, LocalDateTime dateTime, int limit);
+
+    @Query("SELECT new ru.practicum.shareit.booking.timeline.BookingTimelineEntry(" +
+            "b.id, b.booker.id, b.start, b.end, b.status) " +
+            "FROM Booking AS b " +
+            "WHERE b.item.id = ?1 AND b.start < ?3 AND b.end > ?2 AND b.status IN ?4 " +
+            "ORDER BY b.start")
+    List<BookingTimelineEntry> findTimelineByItemIdAndPeriod(long itemId, LocalDateTime from, LocalDateTime to,
+                                                             Collection<BookingStatus> statuses);
+
+    @Query(value = "SELECT h.* " +
+            "FROM booking_history AS h " +
+            "WHERE h.item_id = ?1 AND ?2 > h.start_time " +
+            "ORDER BY h.start_time desc " +
             "LIMIT 1", nativeQuery = true)
     Optional<Booking> findLastByItemId(long itemId, LocalDateTime dataTime);
 
+    @Query(value = "SELECT l.id, l.item_id, l.booker_id, l.status, l.start_time, l.end_time, l.owner_id, l.version " +
+            "FROM (SELECT h.*, ROW_NUMBER() OVER (PARTITION BY h.item_id ORDER BY h.start_time DESC) AS rn " +
+            "FROM booking_history AS h " +
+            "WHERE h.item_id IN (?1) AND ?2 > h.start_time) AS l " +
+            "WHERE l.rn = 1", nativeQuery = true)
+    List<Booking> findLastByItemIdIn(Collection<Long> itemIds, LocalDateTime dataTime);
+
     @Query(value = "SELECT b.* " +
             "FROM bookings AS b " +
             "WHERE b.item_id = ?1 AND ?2 < b.start_time " +
@@ -129,8 +294,15 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
             "LIMIT 1", nativeQuery = true)
     Optional<Booking> findNextByItemId(long itemId, LocalDateTime dataTime);
 
-    @Query("SELECT new Booking(b.id, b.start, b.end, b.item, b.booker, b.status) " +
-            "FROM Booking AS b " +
-            "WHERE b.item.id = ?1 AND b.booker.id = ?2 AND ?3 > b.end")
+    @Query(value = "SELECT n.id, n.item_id, n.booker_id, n.status, n.start_time, n.end_time, n.owner_id, n.version " +
+            "FROM (SELECT b.*, ROW_NUMBER() OVER (PARTITION BY b.item_id ORDER BY b.start_time) AS rn " +
+            "FROM bookings AS b " +
+            "WHERE b.item_id IN (?1) AND ?2 < b.start_time) AS n " +
+            "WHERE n.rn = 1", nativeQuery = true)
+    List<Booking> findNextByItemIdIn(Collection<Long> itemIds, LocalDateTime dataTime);
+
+    @Query("SELECT new Booking(h.id, h.start, h.end, h.item, h.booker, h.status, h.ownerId, h.version) " +
+            "FROM BookingHistory AS h " +
+            "WHERE h.item.id = ?1 AND h.booker.id = ?2 AND ?3 > h.end")
     List<Booking> findAllByBookerAndFinished(long itemId, long bookerId, LocalDateTime dataTime);
 }
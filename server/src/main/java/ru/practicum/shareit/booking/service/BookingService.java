@@ -1,10 +1,16 @@
 package ru.practicum.shareit.booking.service;
 
+import org.springframework.data.domain.Page;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.dto.BookingInnerDto;
 import ru.practicum.shareit.booking.dto.BookingOutDto;
+import ru.practicum.shareit.booking.dto.BookingUpdateResultDto;
+import ru.practicum.shareit.booking.enums.BookingState;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 public interface BookingService {
     @Transactional
@@ -13,6 +19,15 @@ public interface BookingService {
     @Transactional
     BookingOutDto updateBooking(long ownerId, long bookingId, boolean approved);
 
+    @Transactional
+    List<BookingUpdateResultDto> updateBookings(long ownerId, List<Long> bookingIds, boolean approved);
+
+    @Transactional
+    int expireWaitingBookings(LocalDateTime dateTime, int batchSize);
+
+    @Transactional
+    int archiveFinishedBookings(LocalDateTime dateTime, int batchSize);
+
     @Transactional(readOnly = true)
     BookingOutDto getBookingById(long userId, long bookingId);
 
@@ -21,4 +36,19 @@ public interface BookingService {
 
     @Transactional(readOnly = true)
     List<BookingOutDto> getBookingsForOwner(long ownerId, String state, Integer from, Integer size);
+
+    @Transactional(readOnly = true)
+    Page<BookingOutDto> getBookingPageForBooker(long bookerId, String state, Integer from, Integer size);
+
+    @Transactional(readOnly = true)
+    Page<BookingOutDto> getBookingPageForOwner(long ownerId, String state, Integer from, Integer size);
+
+    @Transactional(readOnly = true)
+    void exportBookingsForOwner(long ownerId, Consumer<BookingOutDto> consumer);
+
+    @Transactional(readOnly = true)
+    Map<BookingState, Long> getBookingCountsForBooker(long bookerId);
+
+    @Transactional(readOnly = true)
+    Map<BookingState, Long> getBookingCountsForOwner(long ownerId);
 }
@@ -1,16 +1,27 @@
 package ru.practicum.shareit.booking.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.audit.AuditEvent;
+import ru.practicum.shareit.audit.AuditLog;
+import ru.practicum.shareit.booking.counter.BookingCounters;
 import ru.practicum.shareit.booking.dto.BookingInnerDto;
 import ru.practicum.shareit.booking.dto.BookingOutDto;
+import ru.practicum.shareit.booking.dto.BookingUpdateResultDto;
+import ru.practicum.shareit.booking.enums.BookingRole;
 import ru.practicum.shareit.booking.enums.BookingState;
 import ru.practicum.shareit.booking.enums.BookingStatus;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.timeline.BookingTimelineCache;
+import ru.practicum.shareit.booking.view.OwnerBookingViewRepository;
+import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.model.Item;
@@ -18,16 +29,25 @@ import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import javax.persistence.EntityManager;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import static ru.practicum.shareit.audit.AuditAction.ARCHIVE;
+import static ru.practicum.shareit.audit.AuditAction.CREATE;
+import static ru.practicum.shareit.audit.AuditAction.EXPIRE;
+import static ru.practicum.shareit.audit.AuditAction.UPDATE;
+import static ru.practicum.shareit.audit.AuditEntity.BOOKING;
+import static ru.practicum.shareit.booking.enums.BookingRole.BOOKER;
+import static ru.practicum.shareit.booking.enums.BookingRole.OWNER;
 import static ru.practicum.shareit.booking.enums.BookingStatus.*;
 import static ru.practicum.shareit.booking.mapper.BookingMapper.*;
-
+import static ru.practicum.shareit.consts.ShareItAppConst.MAX_BULK_BOOKING_IDS;
 import static ru.practicum.shareit.item.mapper.ItemMapper.toItemOutShortDto;
-import static ru.practicum.shareit.log.Logger.logStorageChanges;
 import static ru.practicum.shareit.user.mapper.UserMapper.toUserDto;
 import static ru.practicum.shareit.validation.Validation.checkItemExists;
 import static ru.practicum.shareit.validation.Validation.checkUserExists;
@@ -38,6 +58,11 @@ public class BookingServiceImpl implements BookingService {
     private final BookingRepository bookingRepository;
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
+    private final BookingTimelineCache bookingTimelineCache;
+    private final BookingCounters bookingCounters;
+    private final OwnerBookingViewRepository ownerBookingViewRepository;
+    private final AuditLog auditLog;
+    private final EntityManager entityManager;
 
     @Transactional
     @Override
@@ -58,7 +83,15 @@ public class BookingServiceImpl implements BookingService {
         }
         Booking booking = toBooking(bookingInnerDto, item, booker, WAITING);
         Booking bookingStorage = bookingRepository.save(booking);
-        logStorageChanges("Add", bookingStorage.toString());
+        auditLog.record(AuditEvent.of(CREATE, BOOKING, bookerId, bookingStorage.getId())
+                .change("itemId", item.getId())
+                .change("bookerId", bookerId)
+                .change("start", bookingStorage.getStart())
+                .change("end", bookingStorage.getEnd())
+                .change("status", WAITING));
+        bookingCounters.onBookingAdded(bookerId, item.getUserId());
+        ownerBookingViewRepository.save(toOwnerBookingView(bookingStorage, item, booker));
+        bookingTimelineCache.onBookingChanged(item.getId(), toBookingTimelineEntry(bookingStorage, WAITING));
         return toBookingOutDto(bookingStorage, toItemOutShortDto(item.getId(), item), toUserDto(booker.getId(), booker));
     }
 
@@ -69,29 +102,122 @@ public class BookingServiceImpl implements BookingService {
         Booking booking = bookingRepository.getReferenceById(bookingId);
         User booker = booking.getBooker();
         Item item = booking.getItem();
-        if (ownerId != item.getUserId()) {
-            throw new NotFoundException(String.format("The user with id %s cannot change an item that he does not own",
-                    ownerId));
+        checkBookingCanBeUpdated(ownerId, booking);
+        BookingStatus status = approved ? APPROVED : REJECTED;
+        BookingOutDto bookingOutDto = toBookingOutDto(booking, toItemOutShortDto(item.getId(), item),
+                toUserDto(booker.getId(), booker));
+        if (bookingRepository.updateStatusByIdAndStatus(bookingId, booking.getStatus(), status) == 0) {
+            throw new ConflictException(String.format("The booking with id %s was changed concurrently", bookingId));
         }
-        if (booking.getStatus() == APPROVED) {
-            throw new ValidationException(String.format("The booking with id %s has already been confirmed",
-                    bookingId));
+        auditLog.record(AuditEvent.of(UPDATE, BOOKING, ownerId, bookingId).change("status", status));
+        bookingCounters.onStatusChanged(List.of(booking), status);
+        ownerBookingViewRepository.updateStatusByIdIn(List.of(bookingId), status);
+        bookingTimelineCache.onBookingChanged(item.getId(), toBookingTimelineEntry(booking, status));
+        return bookingOutDto.setStatus(status);
+    }
+
+    @Transactional
+    @Override
+    public List<BookingUpdateResultDto> updateBookings(long ownerId, List<Long> bookingIds, boolean approved) {
+        checkUserExists(userRepository, ownerId);
+        if (bookingIds == null || bookingIds.isEmpty()) {
+            throw new ValidationException("Booking ids must not be empty");
         }
-        if (approved) {
-            booking.setStatus(APPROVED);
-        } else {
-            booking.setStatus(REJECTED);
+        if (bookingIds.stream().anyMatch(Objects::isNull)) {
+            throw new ValidationException("Booking ids must not contain null");
         }
-        Booking bookingStorage = bookingRepository.save(booking);
-        logStorageChanges("Update", bookingStorage.toString());
-        return toBookingOutDto(bookingStorage, toItemOutShortDto(item.getId(), item), toUserDto(booker.getId(), booker));
+        Set<Long> uniqueBookingIds = new LinkedHashSet<>(bookingIds);
+        if (uniqueBookingIds.size() > MAX_BULK_BOOKING_IDS) {
+            throw new ValidationException(String.format("No more than %s bookings can be updated at once",
+                    MAX_BULK_BOOKING_IDS));
+        }
+        Map<Long, Booking> bookings = bookingRepository.findAllWithItemAndBookerByIdIn(uniqueBookingIds).stream()
+                .collect(Collectors.toMap(Booking::getId, Function.identity()));
+        BookingStatus status = approved ? APPROVED : REJECTED;
+        List<Long> updatableBookingIds = new ArrayList<>();
+        Map<BookingStatus, List<Long>> updatableBookingIdsByStatus = new EnumMap<>(BookingStatus.class);
+        List<BookingUpdateResultDto> results = new ArrayList<>();
+        for (Long bookingId : uniqueBookingIds) {
+            BookingUpdateResultDto result = new BookingUpdateResultDto().setBookingId(bookingId);
+            Booking booking = bookings.get(bookingId);
+            try {
+                if (booking == null) {
+                    throw new NotFoundException(String.format("Booking with id %s not found", bookingId));
+                }
+                checkBookingCanBeUpdated(ownerId, booking);
+                updatableBookingIds.add(bookingId);
+                updatableBookingIdsByStatus.computeIfAbsent(booking.getStatus(), s -> new ArrayList<>()).add(bookingId);
+                bookingTimelineCache.onBookingChanged(booking.getItem().getId(),
+                        toBookingTimelineEntry(booking, status));
+                BookingOutDto bookingOutDto = toBookingOutDto(booking,
+                        toItemOutShortDto(booking.getItem().getId(), booking.getItem()),
+                        toUserDto(booking.getBooker().getId(), booking.getBooker()));
+                result.setBooking(bookingOutDto.setStatus(status));
+            } catch (NotFoundException | ValidationException e) {
+                result.setError(e.getMessage());
+            }
+            results.add(result);
+        }
+        if (!updatableBookingIds.isEmpty()) {
+            int updated = 0;
+            for (Map.Entry<BookingStatus, List<Long>> entry : updatableBookingIdsByStatus.entrySet()) {
+                updated += bookingRepository.updateStatusByIdInAndStatus(entry.getValue(), entry.getKey(), status);
+            }
+            if (updated != updatableBookingIds.size()) {
+                throw new ConflictException(String.format("Bookings with ids %s were changed concurrently",
+                        updatableBookingIds));
+            }
+            auditLog.record(AuditEvent.of(UPDATE, BOOKING, ownerId, updatableBookingIds).change("status", status));
+            bookingCounters.onStatusChanged(updatableBookingIds.stream()
+                    .map(bookings::get)
+                    .collect(Collectors.toList()), status);
+            ownerBookingViewRepository.updateStatusByIdIn(updatableBookingIds, status);
+        }
+        return results;
+    }
+
+    @Transactional
+    @Override
+    public int expireWaitingBookings(LocalDateTime dateTime, int batchSize) {
+        List<Booking> bookings = bookingRepository.findAllByStatusAndStartBeforeOrderByStart(WAITING, dateTime,
+                PageRequest.of(0, batchSize));
+        if (bookings.isEmpty()) {
+            return 0;
+        }
+        List<Long> bookingIds = bookings.stream()
+                .map(Booking::getId)
+                .collect(Collectors.toList());
+        bookingCounters.onStatusChanged(bookings, EXPIRED);
+        int expired = bookingRepository.updateStatusByIdInAndStatus(bookingIds, WAITING, EXPIRED);
+        ownerBookingViewRepository.updateStatusByIdIn(bookingIds, EXPIRED);
+        auditLog.record(AuditEvent.of(EXPIRE, BOOKING, null, bookingIds).change("status", EXPIRED));
+        bookings.forEach(booking -> bookingTimelineCache.onBookingChanged(booking.getItem().getId(),
+                toBookingTimelineEntry(booking, EXPIRED)));
+        return expired;
+    }
+
+    @Transactional
+    @Override
+    public int archiveFinishedBookings(LocalDateTime dateTime, int batchSize) {
+        List<Long> bookingIds = bookingRepository.findAllByEndBeforeAndStatusNotOrderByEnd(dateTime, WAITING,
+                        PageRequest.of(0, batchSize)).stream()
+                .map(Booking::getId)
+                .collect(Collectors.toList());
+        if (bookingIds.isEmpty()) {
+            return 0;
+        }
+        bookingRepository.copyToArchiveByIdIn(bookingIds);
+        int archived = bookingRepository.deleteAllByIdIn(bookingIds);
+        auditLog.record(AuditEvent.of(ARCHIVE, BOOKING, null, bookingIds));
+        return archived;
     }
 
     @Transactional(readOnly = true)
     @Override
     public BookingOutDto getBookingById(long userId, long bookingId) {
         checkUserExists(userRepository, userId);
-        Booking booking = bookingRepository.getReferenceById(bookingId);
+        Booking booking = bookingRepository.findInHistoryById(bookingId)
+                .orElseThrow(() -> new NotFoundException(String.format("Booking with id %s not found", bookingId)));
         User booker = booking.getBooker();
         Item item = booking.getItem();
         if (booker.getId().equals(userId) ||
@@ -106,147 +232,287 @@ public class BookingServiceImpl implements BookingService {
     @Override
     public List<BookingOutDto> getBookingsForBooker(long bookerId, String state, Integer from, Integer size) {
         checkUserExists(userRepository, bookerId);
-        List<Booking> bookings;
+        BookingState bookingState = toBookingState(state);
+        LocalDateTime now = LocalDateTime.now();
         if (from != null && size != null) {
-            bookings = getBookingsForBookerWithPagination(bookerId, state, from, size);
-        } else {
-            bookings = getBookingsForBookerWithoutPagination(bookerId, state);
+            return getBookingsForBookerWithPagination(bookerId, bookingState, PageRequest.of(from / size, size), now);
         }
-        return toListBookingOutDto(bookings);
+        return getBookingsForBookerWithoutPagination(bookerId, bookingState, now);
     }
 
     @Transactional(readOnly = true)
     @Override
     public List<BookingOutDto> getBookingsForOwner(long ownerId, String state, Integer from, Integer size) {
         checkUserExists(userRepository, ownerId);
-        List<Booking> bookings;
+        BookingState bookingState = toBookingState(state);
+        LocalDateTime now = LocalDateTime.now();
+        if (from != null && size != null) {
+            return getBookingsForOwnerWithPagination(ownerId, bookingState, PageRequest.of(from / size, size), now);
+        }
+        return getBookingsForOwnerWithoutPagination(ownerId, bookingState, now);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public Page<BookingOutDto> getBookingPageForBooker(long bookerId, String state, Integer from, Integer size) {
+        checkUserExists(userRepository, bookerId);
+        BookingState bookingState = toBookingState(state);
+        LocalDateTime now = LocalDateTime.now();
+        if (from != null && size != null) {
+            Pageable pageable = PageRequest.of(from / size, size);
+            return PageableExecutionUtils.getPage(
+                    getBookingsForBookerWithPagination(bookerId, bookingState, pageable, now), pageable,
+                    () -> countBookingsForBooker(bookerId, bookingState, now));
+        }
+        return new PageImpl<>(getBookingsForBookerWithoutPagination(bookerId, bookingState, now));
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public Page<BookingOutDto> getBookingPageForOwner(long ownerId, String state, Integer from, Integer size) {
+        checkUserExists(userRepository, ownerId);
+        BookingState bookingState = toBookingState(state);
+        LocalDateTime now = LocalDateTime.now();
         if (from != null && size != null) {
-            bookings = getBookingsForOwnerWithPagination(ownerId, state, from, size);
+            Pageable pageable = PageRequest.of(from / size, size);
+            return PageableExecutionUtils.getPage(
+                    getBookingsForOwnerWithPagination(ownerId, bookingState, pageable, now), pageable,
+                    () -> countBookingsForOwner(ownerId, bookingState, now));
+        }
+        return new PageImpl<>(getBookingsForOwnerWithoutPagination(ownerId, bookingState, now));
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public void exportBookingsForOwner(long ownerId, Consumer<BookingOutDto> consumer) {
+        checkUserExists(userRepository, ownerId);
+        try (Stream<Booking> bookings = bookingRepository.streamAllByOwnerId(ownerId)) {
+            Iterator<Booking> iterator = bookings.iterator();
+            int exported = 0;
+            while (iterator.hasNext()) {
+                Booking booking = iterator.next();
+                consumer.accept(toBookingOutDto(booking, toItemOutShortDto(booking.getItem().getId(),
+                        booking.getItem()), toUserDto(booking.getBooker().getId(), booking.getBooker())));
+                if (++exported % BookingRepository.EXPORT_FETCH_SIZE == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public Map<BookingState, Long> getBookingCountsForBooker(long bookerId) {
+        checkUserExists(userRepository, bookerId);
+        return getBookingCounts(bookerId, BOOKER);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public Map<BookingState, Long> getBookingCountsForOwner(long ownerId) {
+        checkUserExists(userRepository, ownerId);
+        return getBookingCounts(ownerId, OWNER);
+    }
+
+    private Map<BookingState, Long> getBookingCounts(long userId, BookingRole role) {
+        Map<BookingStatus, Long> statusCounts = bookingCounters.getStatusCounts(userId, role);
+        LocalDateTime now = LocalDateTime.now();
+        long past;
+        long future;
+        if (role == BOOKER) {
+            past = bookingRepository.countByBookerIdAndEndBefore(userId, now);
+            future = bookingRepository.countByBookerIdAndStartAfter(userId, now);
         } else {
-            bookings = getBookingsForOwnerWithoutPagination(ownerId, state);
+            past = bookingRepository.countByOwnerIdAndEndBefore(userId, now);
+            future = bookingRepository.countByOwnerIdAndStartAfter(userId, now);
         }
-        return toListBookingOutDto(bookings);
+        long all = statusCounts.values().stream()
+                .mapToLong(Long::longValue)
+                .sum();
+        Map<BookingState, Long> counts = new EnumMap<>(BookingState.class);
+        counts.put(BookingState.ALL, all);
+        counts.put(BookingState.CURRENT, all - past - future);
+        counts.put(BookingState.PAST, past);
+        counts.put(BookingState.FUTURE, future);
+        counts.put(BookingState.WAITING, statusCounts.get(WAITING));
+        counts.put(BookingState.REJECTED, statusCounts.get(REJECTED));
+        counts.put(BookingState.EXPIRED, statusCounts.get(EXPIRED));
+        return counts;
     }
 
-    private List<Booking> getBookingsForBookerWithPagination(long bookerId, String state, Integer from, Integer size) {
-        List<Booking> bookings = new ArrayList<>();
-        Pageable pageable = PageRequest.of(from / size, size);
+    private BookingState toBookingState(String state) {
         try {
-            switch (BookingState.valueOf(state)) {
-                case ALL:
-                    bookings = bookingRepository.findAllByBookerIdOrderByStartDesc(bookerId, pageable);
-                    break;
-                case WAITING:
-                case REJECTED:
-                    bookings = bookingRepository.findAllByBookerIdAndStatusOrderByStartDesc(bookerId,
-                            BookingStatus.valueOf(state), pageable);
-                    break;
-                case PAST:
-                    bookings = bookingRepository.findAllByBookerIdAndEndBeforeOrderByStartDesc(bookerId,
-                            LocalDateTime.now(), pageable);
-                    break;
-                case FUTURE:
-                    bookings = bookingRepository.findAllByBookerIdAndStartAfterOrderByStartDesc(bookerId,
-                            LocalDateTime.now(), pageable);
-                    break;
-                case CURRENT:
-                    bookings = bookingRepository.findAllByBookerIdAndCurrent(bookerId, LocalDateTime.now(), pageable);
-            }
+            return BookingState.valueOf(state);
         } catch (IllegalArgumentException e) {
             throw new ValidationException(String.format("Unknown state: %s", state));
         }
+    }
+
+    private List<BookingOutDto> getBookingsForBookerWithPagination(long bookerId, BookingState state,
+                                                                   Pageable pageable, LocalDateTime now) {
+        List<BookingOutDto> bookings = new ArrayList<>();
+        switch (state) {
+            case ALL:
+                bookings = bookingRepository.findAllByBookerIdOrderByStartDesc(bookerId, pageable);
+                break;
+            case WAITING:
+                bookings = bookingRepository.findAllByBookerIdAndWaiting(bookerId, pageable);
+                break;
+            case REJECTED:
+            case EXPIRED:
+                bookings = bookingRepository.findAllByBookerIdAndStatusOrderByStartDesc(bookerId,
+                        BookingStatus.valueOf(state.name()), pageable);
+                break;
+            case PAST:
+                bookings = bookingRepository.findAllByBookerIdAndEndBeforeOrderByStartDesc(bookerId, now, pageable);
+                break;
+            case FUTURE:
+                bookings = bookingRepository.findAllByBookerIdAndStartAfterOrderByStartDesc(bookerId, now, pageable);
+                break;
+            case CURRENT:
+                bookings = bookingRepository.findAllByBookerIdAndCurrent(bookerId, now, pageable);
+        }
         return bookings;
     }
 
-    private List<Booking> getBookingsForBookerWithoutPagination(long bookerId, String state) {
-        List<Booking> bookings = new ArrayList<>();
-        try {
-            switch (BookingState.valueOf(state)) {
-                case ALL:
-                    bookings = bookingRepository.findAllByBookerIdOrderByStartDesc(bookerId);
-                    break;
-                case WAITING:
-                case REJECTED:
-                    bookings = bookingRepository.findAllByBookerIdAndStatusOrderByStartDesc(bookerId,
-                            BookingStatus.valueOf(state));
-                    break;
-                case PAST:
-                    bookings = bookingRepository.findAllByBookerIdAndEndBeforeOrderByStartDesc(bookerId,
-                            LocalDateTime.now());
-                    break;
-                case FUTURE:
-                    bookings = bookingRepository.findAllByBookerIdAndStartAfterOrderByStartDesc(bookerId,
-                            LocalDateTime.now());
-                    break;
-                case CURRENT:
-                    bookings = bookingRepository.findAllByBookerIdAndCurrent(bookerId, LocalDateTime.now());
-            }
-        } catch (IllegalArgumentException e) {
-            throw new ValidationException(String.format("Unknown state: %s", state));
+    private List<BookingOutDto> getBookingsForBookerWithoutPagination(long bookerId, BookingState state,
+                                                                      LocalDateTime now) {
+        List<BookingOutDto> bookings = new ArrayList<>();
+        switch (state) {
+            case ALL:
+                bookings = bookingRepository.findAllByBookerIdOrderByStartDesc(bookerId);
+                break;
+            case WAITING:
+                bookings = bookingRepository.findAllByBookerIdAndWaiting(bookerId);
+                break;
+            case REJECTED:
+            case EXPIRED:
+                bookings = bookingRepository.findAllByBookerIdAndStatusOrderByStartDesc(bookerId,
+                        BookingStatus.valueOf(state.name()));
+                break;
+            case PAST:
+                bookings = bookingRepository.findAllByBookerIdAndEndBeforeOrderByStartDesc(bookerId, now);
+                break;
+            case FUTURE:
+                bookings = bookingRepository.findAllByBookerIdAndStartAfterOrderByStartDesc(bookerId, now);
+                break;
+            case CURRENT:
+                bookings = bookingRepository.findAllByBookerIdAndCurrent(bookerId, now);
         }
         return bookings;
     }
 
-    private List<Booking> getBookingsForOwnerWithPagination(long ownerId, String state, Integer from, Integer size) {
-        List<Booking> bookings = new ArrayList<>();
-        Pageable pageable = PageRequest.of(from / size, size);
-        try {
-            switch (BookingState.valueOf(state)) {
-                case ALL:
-                    bookings = bookingRepository.findAllByOwnerId(ownerId, pageable);
-                    break;
-                case WAITING:
-                case REJECTED:
-                    bookings = bookingRepository.findAllByOwnerIdAndStatus(ownerId, BookingStatus.valueOf(state),
-                            pageable);
-                    break;
-                case PAST:
-                    bookings = bookingRepository.findAllByOwnerIdAndPast(ownerId, LocalDateTime.now(), pageable);
-                    break;
-                case FUTURE:
-                    bookings = bookingRepository.findAllByOwnerIdAndFuture(ownerId, LocalDateTime.now(), pageable);
-                    break;
-                case CURRENT:
-                    bookings = bookingRepository.findAllByOwnerIdAndCurrent(ownerId, LocalDateTime.now(), pageable);
-            }
-        } catch (IllegalArgumentException e) {
-            throw new ValidationException(String.format("Unknown state: %s", state));
+    private long countBookingsForBooker(long bookerId, BookingState state, LocalDateTime now) {
+        long count = 0;
+        switch (state) {
+            case ALL:
+                count = bookingRepository.countByBookerId(bookerId);
+                break;
+            case WAITING:
+                count = bookingRepository.countByBookerIdAndWaiting(bookerId);
+                break;
+            case REJECTED:
+            case EXPIRED:
+                count = bookingRepository.countByBookerIdAndStatus(bookerId, BookingStatus.valueOf(state.name()));
+                break;
+            case PAST:
+                count = bookingRepository.countByBookerIdAndEndBefore(bookerId, now);
+                break;
+            case FUTURE:
+                count = bookingRepository.countByBookerIdAndStartAfter(bookerId, now);
+                break;
+            case CURRENT:
+                count = bookingRepository.countByBookerIdAndCurrent(bookerId, now);
+        }
+        return count;
+    }
+
+    private List<BookingOutDto> getBookingsForOwnerWithPagination(long ownerId, BookingState state,
+                                                                  Pageable pageable, LocalDateTime now) {
+        List<BookingOutDto> bookings = new ArrayList<>();
+        switch (state) {
+            case ALL:
+                bookings = ownerBookingViewRepository.findAllByOwnerId(ownerId, pageable);
+                break;
+            case WAITING:
+            case REJECTED:
+            case EXPIRED:
+                bookings = ownerBookingViewRepository.findAllByOwnerIdAndStatus(ownerId,
+                        BookingStatus.valueOf(state.name()), pageable);
+                break;
+            case PAST:
+                bookings = ownerBookingViewRepository.findAllByOwnerIdAndPast(ownerId, now, pageable);
+                break;
+            case FUTURE:
+                bookings = ownerBookingViewRepository.findAllByOwnerIdAndFuture(ownerId, now, pageable);
+                break;
+            case CURRENT:
+                bookings = ownerBookingViewRepository.findAllByOwnerIdAndCurrent(ownerId, now, pageable);
         }
         return bookings;
     }
 
-    private List<Booking> getBookingsForOwnerWithoutPagination(long ownerId, String state) {
-        List<Booking> bookings = new ArrayList<>();
-        try {
-            switch (BookingState.valueOf(state)) {
-                case ALL:
-                    bookings = bookingRepository.findAllByOwnerId(ownerId);
-                    break;
-                case WAITING:
-                case REJECTED:
-                    bookings = bookingRepository.findAllByOwnerIdAndStatus(ownerId, BookingStatus.valueOf(state));
-                    break;
-                case PAST:
-                    bookings = bookingRepository.findAllByOwnerIdAndPast(ownerId, LocalDateTime.now());
-                    break;
-                case FUTURE:
-                    bookings = bookingRepository.findAllByOwnerIdAndFuture(ownerId, LocalDateTime.now());
-                    break;
-                case CURRENT:
-                    bookings = bookingRepository.findAllByOwnerIdAndCurrent(ownerId, LocalDateTime.now());
-            }
-        } catch (IllegalArgumentException e) {
-            throw new ValidationException(String.format("Unknown state: %s", state));
+    private List<BookingOutDto> getBookingsForOwnerWithoutPagination(long ownerId, BookingState state,
+                                                                     LocalDateTime now) {
+        List<BookingOutDto> bookings = new ArrayList<>();
+        switch (state) {
+            case ALL:
+                bookings = ownerBookingViewRepository.findAllByOwnerId(ownerId);
+                break;
+            case WAITING:
+            case REJECTED:
+            case EXPIRED:
+                bookings = ownerBookingViewRepository.findAllByOwnerIdAndStatus(ownerId,
+                        BookingStatus.valueOf(state.name()));
+                break;
+            case PAST:
+                bookings = ownerBookingViewRepository.findAllByOwnerIdAndPast(ownerId, now);
+                break;
+            case FUTURE:
+                bookings = ownerBookingViewRepository.findAllByOwnerIdAndFuture(ownerId, now);
+                break;
+            case CURRENT:
+                bookings = ownerBookingViewRepository.findAllByOwnerIdAndCurrent(ownerId, now);
         }
         return bookings;
     }
 
-    private List<BookingOutDto> toListBookingOutDto(List<Booking> bookings) {
-        return bookings.stream()
-                .map(b -> toBookingOutDto(b,
-                        toItemOutShortDto(b.getItem().getId(), b.getItem()),
-                        toUserDto(b.getBooker().getId(), b.getBooker())))
-                .collect(Collectors.toList());
+    private long countBookingsForOwner(long ownerId, BookingState state, LocalDateTime now) {
+        long count = 0;
+        switch (state) {
+            case ALL:
+                count = ownerBookingViewRepository.countByOwnerId(ownerId);
+                break;
+            case WAITING:
+            case REJECTED:
+            case EXPIRED:
+                count = ownerBookingViewRepository.countByOwnerIdAndStatus(ownerId,
+                        BookingStatus.valueOf(state.name()));
+                break;
+            case PAST:
+                count = ownerBookingViewRepository.countByOwnerIdAndPast(ownerId, now);
+                break;
+            case FUTURE:
+                count = ownerBookingViewRepository.countByOwnerIdAndFuture(ownerId, now);
+                break;
+            case CURRENT:
+                count = ownerBookingViewRepository.countByOwnerIdAndCurrent(ownerId, now);
+        }
+        return count;
+    }
+
+    private void checkBookingCanBeUpdated(long ownerId, Booking booking) {
+        if (ownerId != booking.getItem().getUserId()) {
+            throw new NotFoundException(String.format("The user with id %s cannot change an item that he does not own",
+                    ownerId));
+        }
+        if (booking.getStatus() == APPROVED) {
+            throw new ValidationException(String.format("The booking with id %s has already been confirmed",
+                    booking.getId()));
+        }
+        if (booking.getStatus() == EXPIRED) {
+            throw new ValidationException(String.format("The booking with id %s has expired", booking.getId()));
+        }
     }
 }
 
@@ -0,0 +1,246 @@
+package ru.practicum.shareit.booking.timeline;
+
+import ru.practicum.shareit.booking.dto.BookingForItemDto;
+import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.item.dto.ItemFreeIntervalDto;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+
+public final class BookingTimeline {
+    public static final Set<BookingStatus> BLOCKING_STATUSES = EnumSet.of(BookingStatus.WAITING,
+            BookingStatus.APPROVED);
+
+    private static final BookingStatus[] STATUSES = BookingStatus.values();
+
+    private final long[] bookingIds;
+    private final long[] bookerIds;
+    private final long[] starts;
+    private final long[] ends;
+    private final byte[] statuses;
+    private final long[] maxBlockingEnds;
+    private final long loadedAt;
+    private final long completeAfter;
+    private final boolean oversized;
+
+    private BookingTimeline(long[] bookingIds, long[] bookerIds, long[] starts, long[] ends, byte[] statuses,
+                            long loadedAt, long completeAfter, boolean oversized) {
+        this.bookingIds = bookingIds;
+        this.bookerIds = bookerIds;
+        this.starts = starts;
+        this.ends = ends;
+        this.statuses = statuses;
+        this.loadedAt = loadedAt;
+        this.completeAfter = completeAfter;
+        this.oversized = oversized;
+        this.maxBlockingEnds = new long[starts.length];
+        long maxBlockingEnd = Long.MIN_VALUE;
+        for (int i = 0; i < starts.length; i++) {
+            if (isBlocking(i)) {
+                maxBlockingEnd = Math.max(maxBlockingEnd, ends[i]);
+            }
+            maxBlockingEnds[i] = maxBlockingEnd;
+        }
+    }
+
+    public static BookingTimeline of(Collection<BookingTimelineEntry> entries) {
+        return of(entries, Long.MIN_VALUE, Long.MIN_VALUE);
+    }
+
+    public static BookingTimeline window(List<BookingTimelineEntry> upcoming, List<BookingTimelineEntry> past,
+                                         int pastLimit, LocalDateTime loadedAt) {
+        if (past.size() <= pastLimit) {
+            List<BookingTimelineEntry> entries = new ArrayList<>(upcoming);
+            entries.addAll(past);
+            return of(entries, toMicros(loadedAt), Long.MIN_VALUE);
+        }
+        LocalDateTime completeAfter = past.get(pastLimit).getStart();
+        List<BookingTimelineEntry> entries = new ArrayList<>(upcoming);
+        for (int i = 0; i < pastLimit; i++) {
+            if (past.get(i).getStart().isAfter(completeAfter)) {
+                entries.add(past.get(i));
+            }
+        }
+        return of(entries, toMicros(loadedAt), toMicros(completeAfter));
+    }
+
+    public static BookingTimeline oversized(LocalDateTime loadedAt) {
+        return new BookingTimeline(new long[0], new long[0], new long[0], new long[0], new byte[0],
+                toMicros(loadedAt), Long.MIN_VALUE, true);
+    }
+
+    private static BookingTimeline of(Collection<BookingTimelineEntry> entries, long loadedAt, long completeAfter) {
+        List<BookingTimelineEntry> sorted = new ArrayList<>(entries);
+        sorted.sort(Comparator.comparing(BookingTimelineEntry::getStart)
+                .thenComparing(BookingTimelineEntry::getBookingId));
+        int size = sorted.size();
+        long[] bookingIds = new long[size];
+        long[] bookerIds = new long[size];
+        long[] starts = new long[size];
+        long[] ends = new long[size];
+        byte[] statuses = new byte[size];
+        for (int i = 0; i < size; i++) {
+            BookingTimelineEntry entry = sorted.get(i);
+            bookingIds[i] = entry.getBookingId();
+            bookerIds[i] = entry.getBookerId();
+            starts[i] = toMicros(entry.getStart());
+            ends[i] = toMicros(entry.getEnd());
+            statuses[i] = (byte) entry.getStatus().ordinal();
+        }
+        return new BookingTimeline(bookingIds, bookerIds, starts, ends, statuses, loadedAt, completeAfter, false);
+    }
+
+    public BookingTimeline with(BookingTimelineEntry entry) {
+        List<BookingTimelineEntry> entries = new ArrayList<>(size() + 1);
+        for (int i = 0; i < size(); i++) {
+            if (bookingIds[i] != entry.getBookingId()) {
+                entries.add(toEntry(i));
+            }
+        }
+        entries.add(entry);
+        return of(entries, loadedAt, completeAfter);
+    }
+
+    public BookingTimeline trimmed(int maxSize) {
+        int excess = size() - maxSize;
+        if (excess <= 0) {
+            return this;
+        }
+        List<BookingTimelineEntry> entries = new ArrayList<>(maxSize);
+        long trimmedAfter = completeAfter;
+        for (int i = 0; i < size(); i++) {
+            if (excess > 0 && ends[i] <= loadedAt) {
+                trimmedAfter = Math.max(trimmedAfter, starts[i]);
+                excess--;
+            } else {
+                entries.add(toEntry(i));
+            }
+        }
+        return excess > 0 ? null : of(entries, loadedAt, trimmedAfter);
+    }
+
+    public int size() {
+        return starts.length;
+    }
+
+    public boolean isOversized() {
+        return oversized;
+    }
+
+    public LocalDateTime getLoadedAt() {
+        return fromMicros(loadedAt);
+    }
+
+    public boolean isCompleteFrom(LocalDateTime dateTime) {
+        return completeAfter == Long.MIN_VALUE || toMicros(dateTime) >= loadedAt;
+    }
+
+    public boolean coversLastBooking(LocalDateTime dateTime) {
+        int index = firstStartAtOrAfter(toMicros(dateTime)) - 1;
+        return completeAfter == Long.MIN_VALUE || index >= 0 && starts[index] > completeAfter;
+    }
+
+    public boolean coversNextBooking(LocalDateTime dateTime) {
+        long micros = toMicros(dateTime);
+        return micros >= completeAfter || micros >= loadedAt;
+    }
+
+    public BookingForItemDto getLastBooking(long itemId, LocalDateTime dateTime) {
+        int index = firstStartAtOrAfter(toMicros(dateTime)) - 1;
+        return index >= 0 && starts[index] > completeAfter ? toBookingForItemDto(itemId, index) : null;
+    }
+
+    public BookingForItemDto getNextBooking(long itemId, LocalDateTime dateTime) {
+        int index = firstStartAfter(toMicros(dateTime));
+        return index < size() ? toBookingForItemDto(itemId, index) : null;
+    }
+
+    public List<ItemFreeIntervalDto> getFreeIntervals(LocalDateTime from, LocalDateTime to) {
+        long fromMicros = toMicros(from);
+        long toMicros = toMicros(to);
+        List<ItemFreeIntervalDto> freeIntervals = new ArrayList<>();
+        long cursor = fromMicros;
+        for (int i = firstBlockingEndAfter(fromMicros); i < size() && starts[i] < toMicros; i++) {
+            if (!isBlocking(i) || ends[i] <= cursor) {
+                continue;
+            }
+            if (starts[i] > cursor) {
+                freeIntervals.add(new ItemFreeIntervalDto(fromMicros(cursor), fromMicros(starts[i])));
+            }
+            cursor = ends[i];
+            if (cursor >= toMicros) {
+                break;
+            }
+        }
+        if (cursor < toMicros) {
+            freeIntervals.add(new ItemFreeIntervalDto(fromMicros(cursor), fromMicros(toMicros)));
+        }
+        return freeIntervals;
+    }
+
+    private int firstBlockingEndAfter(long micros) {
+        int low = 0;
+        int high = size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (maxBlockingEnds[middle] > micros) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+        return low;
+    }
+
+    private int firstStartAtOrAfter(long micros) {
+        int low = 0;
+        int high = size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (starts[middle] >= micros) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+        return low;
+    }
+
+    private int firstStartAfter(long micros) {
+        int low = 0;
+        int high = size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (starts[middle] > micros) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+        return low;
+    }
+
+    private boolean isBlocking(int index) {
+        return BLOCKING_STATUSES.contains(STATUSES[statuses[index]]);
+    }
+
+    private BookingTimelineEntry toEntry(int index) {
+        return new BookingTimelineEntry(bookingIds[index], bookerIds[index], fromMicros(starts[index]),
+                fromMicros(ends[index]), STATUSES[statuses[index]]);
+    }
+
+    private BookingForItemDto toBookingForItemDto(long itemId, int index) {
+        return new BookingForItemDto(bookingIds[index], itemId, bookerIds[index], fromMicros(starts[index]),
+                fromMicros(ends[index]));
+    }
+
+    private static long toMicros(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + dateTime.getNano() / 1_000;
+    }
+
+    private static LocalDateTime fromMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+}
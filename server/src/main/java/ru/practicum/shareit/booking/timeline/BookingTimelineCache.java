@@ -0,0 +1,227 @@
+package ru.practicum.shareit.booking.timeline;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.datasource.ReplicaRoutingDataSource;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Collectors;
+
+import static ru.practicum.shareit.booking.mapper.BookingMapper.toBookingTimelineEntry;
+
+@Component
+@Slf4j
+public class BookingTimelineCache {
+    private static final int GENERATION_STRIPES = 64;
+    private static final String CACHE_NAME = "booking-timeline";
+
+    private final BookingRepository bookingRepository;
+    private final int maxBookingsPerItem;
+    private final Duration oversizedRetry;
+    private final Map<Long, BookingTimeline> timelines;
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter evictionCounter;
+
+    public BookingTimelineCache(BookingRepository bookingRepository,
+                                MeterRegistry meterRegistry,
+                                @Value("${shareit.booking.timeline.max-items:10000}") int maxItems,
+                                @Value("${shareit.booking.timeline.max-bookings-per-item:512}")
+                                int maxBookingsPerItem,
+                                @Value("${shareit.booking.timeline.oversized-retry:PT10M}") Duration oversizedRetry) {
+        this.bookingRepository = bookingRepository;
+        this.maxBookingsPerItem = maxBookingsPerItem;
+        this.oversizedRetry = oversizedRetry;
+        this.timelines = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, BookingTimeline> eldest) {
+                if (size() > maxItems) {
+                    evictionCounter.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+        this.hitCounter = cacheGets(meterRegistry, "hit");
+        this.missCounter = cacheGets(meterRegistry, "miss");
+        this.evictionCounter = Counter.builder("cache.evictions")
+                .tag("cache", CACHE_NAME)
+                .description("Booking timelines evicted to keep the cache bounded")
+                .register(meterRegistry);
+        Gauge.builder("cache.size", this, BookingTimelineCache::size)
+                .tag("cache", CACHE_NAME)
+                .description("Number of cached booking timelines")
+                .register(meterRegistry);
+    }
+
+    public Optional<BookingTimeline> get(long itemId) {
+        LocalDateTime now = LocalDateTime.now();
+        synchronized (timelines) {
+            BookingTimeline timeline = timelines.get(itemId);
+            if (timeline != null && !isStaleMarker(timeline, now)) {
+                hitCounter.increment();
+                return timeline.isOversized() ? Optional.empty() : Optional.of(timeline);
+            }
+        }
+        missCounter.increment();
+        long generation = generations.get(stripe(itemId));
+        BookingTimeline timeline = load(itemId, now);
+        if (!ReplicaRoutingDataSource.isReplicaRead()) {
+            synchronized (timelines) {
+                if (generations.get(stripe(itemId)) == generation) {
+                    timelines.put(itemId, timeline);
+                }
+            }
+        }
+        return timeline.isOversized() ? Optional.empty() : Optional.of(timeline);
+    }
+
+    public Map<Long, BookingTimeline> getAll(Collection<Long> itemIds) {
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, BookingTimeline> found = new HashMap<>();
+        Map<Long, Long> missingGenerations = new HashMap<>();
+        synchronized (timelines) {
+            for (Long itemId : itemIds) {
+                BookingTimeline timeline = timelines.get(itemId);
+                if (timeline != null && !isStaleMarker(timeline, now)) {
+                    hitCounter.increment();
+                    found.put(itemId, timeline);
+                } else {
+                    missingGenerations.put(itemId, generations.get(stripe(itemId)));
+                }
+            }
+        }
+        if (!missingGenerations.isEmpty()) {
+            missCounter.increment(missingGenerations.size());
+            Map<Long, BookingTimeline> loaded = loadAll(missingGenerations.keySet(), now);
+            if (!ReplicaRoutingDataSource.isReplicaRead()) {
+                synchronized (timelines) {
+                    loaded.forEach((itemId, timeline) -> {
+                        if (generations.get(stripe(itemId)) == missingGenerations.get(itemId)) {
+                            timelines.put(itemId, timeline);
+                        }
+                    });
+                }
+            }
+            found.putAll(loaded);
+        }
+        found.values().removeIf(BookingTimeline::isOversized);
+        return found;
+    }
+
+    public void onBookingChanged(long itemId, BookingTimelineEntry entry) {
+        afterCommit(() -> apply(itemId, entry));
+    }
+
+    public void evictAll() {
+        afterCommit(this::clear);
+    }
+
+    private BookingTimeline load(long itemId, LocalDateTime now) {
+        List<BookingTimelineEntry> upcoming = bookingRepository.findTimelineByItemIdAndEndAfter(itemId, now,
+                PageRequest.of(0, maxBookingsPerItem + 1));
+        if (upcoming.size() > maxBookingsPerItem) {
+            log.debug("Item with id '{}' has more than '{}' upcoming bookings, timeline is not cached",
+                    itemId, maxBookingsPerItem);
+            return BookingTimeline.oversized(now);
+        }
+        int pastLimit = maxBookingsPerItem - upcoming.size();
+        List<BookingTimelineEntry> past = bookingRepository.findTimelineByItemIdAndEndNotAfter(itemId, now,
+                PageRequest.of(0, pastLimit + 1));
+        return BookingTimeline.window(upcoming, past, pastLimit, now);
+    }
+
+    private Map<Long, BookingTimeline> loadAll(Collection<Long> itemIds, LocalDateTime now) {
+        Map<Long, List<BookingTimelineEntry>> upcoming = groupByItemId(
+                bookingRepository.findTimelineByItemIdInAndEndAfter(itemIds, now, maxBookingsPerItem + 1));
+        Map<Long, List<BookingTimelineEntry>> past = groupByItemId(
+                bookingRepository.findTimelineByItemIdInAndEndNotAfter(itemIds, now, maxBookingsPerItem + 1));
+        Map<Long, BookingTimeline> loaded = new HashMap<>();
+        for (Long itemId : itemIds) {
+            List<BookingTimelineEntry> itemUpcoming = upcoming.getOrDefault(itemId, List.of());
+            if (itemUpcoming.size() > maxBookingsPerItem) {
+                loaded.put(itemId, BookingTimeline.oversized(now));
+            } else {
+                loaded.put(itemId, BookingTimeline.window(itemUpcoming, past.getOrDefault(itemId, List.of()),
+                        maxBookingsPerItem - itemUpcoming.size(), now));
+            }
+        }
+        return loaded;
+    }
+
+    private static Map<Long, List<BookingTimelineEntry>> groupByItemId(List<Booking> bookings) {
+        return bookings.stream()
+                .collect(Collectors.groupingBy(booking -> booking.getItem().getId(),
+                        Collectors.mapping(booking -> toBookingTimelineEntry(booking, booking.getStatus()),
+                                Collectors.toList())));
+    }
+
+    private boolean isStaleMarker(BookingTimeline timeline, LocalDateTime now) {
+        return timeline.isOversized() && !now.isBefore(timeline.getLoadedAt().plus(oversizedRetry));
+    }
+
+    private void apply(long itemId, BookingTimelineEntry entry) {
+        synchronized (timelines) {
+            generations.incrementAndGet(stripe(itemId));
+            BookingTimeline timeline = timelines.get(itemId);
+            if (timeline == null || timeline.isOversized()) {
+                return;
+            }
+            BookingTimeline updated = timeline.with(entry).trimmed(maxBookingsPerItem);
+            timelines.put(itemId, updated != null ? updated : BookingTimeline.oversized(LocalDateTime.now()));
+        }
+    }
+
+    private void clear() {
+        synchronized (timelines) {
+            for (int i = 0; i < GENERATION_STRIPES; i++) {
+                generations.incrementAndGet(i);
+            }
+            timelines.clear();
+        }
+    }
+
+    private int size() {
+        synchronized (timelines) {
+            return timelines.size();
+        }
+    }
+
+    private static Counter cacheGets(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("cache.gets")
+                .tag("cache", CACHE_NAME)
+                .tag("result", result)
+                .description("Booking timeline cache lookups")
+                .register(meterRegistry);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static int stripe(long itemId) {
+        return (int) Math.floorMod(itemId, (long) GENERATION_STRIPES);
+    }
+}
@@ -0,0 +1,129 @@
+package ru.practicum.shareit.booking.view;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.rest.core.annotation.RepositoryRestResource;
+import ru.practicum.shareit.booking.dto.BookingOutDto;
+import ru.practicum.shareit.booking.enums.BookingStatus;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@RepositoryRestResource
+public interface OwnerBookingViewRepository extends JpaRepository<OwnerBookingView, Long> {
+    String BOOKING_OUT_DTO = "new ru.practicum.shareit.booking.dto.BookingOutDto(v.id, v.start, v.end, v.status, " +
+            "v.itemId, v.itemName, v.itemDescription, v.itemAvailable, v.itemRequestId, " +
+            "v.bookerId, v.bookerName, v.bookerEmail) ";
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE OwnerBookingView AS v " +
+            "SET v.status = ?2 " +
+            "WHERE v.id IN ?1")
+    int updateStatusByIdIn(Collection<Long> bookingIds, BookingStatus status);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE OwnerBookingView AS v " +
+            "SET v.itemName = ?2, v.itemDescription = ?3, v.itemAvailable = ?4 " +
+            "WHERE v.itemId = ?1")
+    int updateItem(long itemId, String name, String description, Boolean available);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE OwnerBookingView AS v " +
+            "SET v.bookerName = ?2, v.bookerEmail = ?3 " +
+            "WHERE v.bookerId = ?1")
+    int updateBooker(long bookerId, String name, String email);
+
+
+    //Запросы владельца (с пагинацией)
+    @Query("SELECT " + BOOKING_OUT_DTO +
+            "FROM OwnerBookingView AS v " +
+            "WHERE v.ownerId = ?1 " +
+            "ORDER BY v.start desc")
+    List<BookingOutDto> findAllByOwnerId(long ownerId, Pageable pageable);
+
+    @Query("SELECT " + BOOKING_OUT_DTO +
+            "FROM OwnerBookingView AS v " +
+            "WHERE v.ownerId = ?1 AND v.status = ?2 " +
+            "ORDER BY v.start desc")
+    List<BookingOutDto> findAllByOwnerIdAndStatus(long ownerId, BookingStatus status, Pageable pageable);
+
+    @Query("SELECT " + BOOKING_OUT_DTO +
+            "FROM OwnerBookingView AS v " +
+            "WHERE v.ownerId = ?1 AND v.end < ?2 " +
+            "ORDER BY v.start desc")
+    List<BookingOutDto> findAllByOwnerIdAndPast(long ownerId, LocalDateTime dataTime, Pageable pageable);
+
+    @Query("SELECT " + BOOKING_OUT_DTO +
+            "FROM OwnerBookingView AS v " +
+            "WHERE v.ownerId = ?1 AND ?2 < v.start " +
+            "ORDER BY v.start desc")
+    List<BookingOutDto> findAllByOwnerIdAndFuture(long ownerId, LocalDateTime dataTime, Pageable pageable);
+
+    @Query("SELECT " + BOOKING_OUT_DTO +
+            "FROM OwnerBookingView AS v " +
+            "WHERE v.ownerId = ?1 AND ?2 BETWEEN v.start AND v.end " +
+            "ORDER BY v.start desc")
+    List<BookingOutDto> findAllByOwnerIdAndCurrent(long ownerId, LocalDateTime dataTime, Pageable pageable);
+
+
+    //Запросы владельца (без пагинации)
+    @Query("SELECT " + BOOKING_OUT_DTO +
+            "FROM OwnerBookingView AS v " +
+            "WHERE v.ownerId = ?1 " +
+            "ORDER BY v.start desc")
+    List<BookingOutDto> findAllByOwnerId(long ownerId);
+
+    @Query("SELECT " + BOOKING_OUT_DTO +
+            "FROM OwnerBookingView AS v " +
+            "WHERE v.ownerId = ?1 AND v.status = ?2 " +
+            "ORDER BY v.start desc")
+    List<BookingOutDto> findAllByOwnerIdAndStatus(long ownerId, BookingStatus status);
+
+    @Query("SELECT " + BOOKING_OUT_DTO +
+            "FROM OwnerBookingView AS v " +
+            "WHERE v.ownerId = ?1 AND v.end < ?2 " +
+            "ORDER BY v.start desc")
+    List<BookingOutDto> findAllByOwnerIdAndPast(long ownerId, LocalDateTime dataTime);
+
+    @Query("SELECT " + BOOKING_OUT_DTO +
+            "FROM OwnerBookingView AS v " +
+            "WHERE v.ownerId = ?1 AND ?2 < v.start " +
+            "ORDER BY v.start desc")
+    List<BookingOutDto> findAllByOwnerIdAndFuture(long ownerId, LocalDateTime dataTime);
+
+    @Query("SELECT " + BOOKING_OUT_DTO +
+            "FROM OwnerBookingView AS v " +
+            "WHERE v.ownerId = ?1 AND ?2 BETWEEN v.start AND v.end " +
+            "ORDER BY v.start desc")
+    List<BookingOutDto> findAllByOwnerIdAndCurrent(long ownerId, LocalDateTime dataTime);
+
+
+    //Подсчёт бронирований владельца
+    @Query("SELECT COUNT(v) " +
+            "FROM OwnerBookingView AS v " +
+            "WHERE v.ownerId = ?1")
+    long countByOwnerId(long ownerId);
+
+    @Query("SELECT COUNT(v) " +
+            "FROM OwnerBookingView AS v " +
+            "WHERE v.ownerId = ?1 AND v.status = ?2")
+    long countByOwnerIdAndStatus(long ownerId, BookingStatus status);
+
+    @Query("SELECT COUNT(v) " +
+            "FROM OwnerBookingView AS v " +
+            "WHERE v.ownerId = ?1 AND v.end < ?2")
+    long countByOwnerIdAndPast(long ownerId, LocalDateTime dataTime);
+
+    @Query("SELECT COUNT(v) " +
+            "FROM OwnerBookingView AS v " +
+            "WHERE v.ownerId = ?1 AND ?2 < v.start")
+    long countByOwnerIdAndFuture(long ownerId, LocalDateTime dataTime);
+
+    @Query("SELECT COUNT(v) " +
+            "FROM OwnerBookingView AS v " +
+            "WHERE v.ownerId = ?1 AND ?2 BETWEEN v.start AND v.end")
+    long countByOwnerIdAndCurrent(long ownerId, LocalDateTime dataTime);
+}
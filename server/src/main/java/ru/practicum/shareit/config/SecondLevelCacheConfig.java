@@ -0,0 +1,73 @@
+package ru.practicum.shareit.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+@Configuration
+@ConditionalOnProperty(name = "shareit.cache.second-level.enabled", havingValue = "true")
+public class SecondLevelCacheConfig {
+    private static final long DEFAULT_QUERY_RESULTS_MAX_SIZE = 1000;
+
+    private final long usersMaxSize;
+    private final long itemsMaxSize;
+    private final long itemsByRequestMaxSize;
+
+    public SecondLevelCacheConfig(@Value("${shareit.cache.second-level.users.max-size:10000}") long usersMaxSize,
+                                  @Value("${shareit.cache.second-level.items.max-size:50000}") long itemsMaxSize,
+                                  @Value("${shareit.cache.second-level.items-by-request.max-size:10000}")
+                                  long itemsByRequestMaxSize) {
+        this.usersMaxSize = usersMaxSize;
+        this.itemsMaxSize = itemsMaxSize;
+        this.itemsByRequestMaxSize = itemsByRequestMaxSize;
+    }
+
+    @Bean(destroyMethod = "close")
+    public CacheManager secondLevelCacheManager() {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("shareit-" + UUID.randomUUID()), getClass().getClassLoader());
+        cacheManager.createCache("users", bounded(usersMaxSize));
+        cacheManager.createCache("items", bounded(itemsMaxSize));
+        cacheManager.createCache("items-by-request", bounded(itemsByRequestMaxSize));
+        cacheManager.createCache(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME,
+                bounded(DEFAULT_QUERY_RESULTS_MAX_SIZE));
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, unbounded());
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager secondLevelCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    private static CaffeineConfiguration<Object, Object> bounded(long maxSize) {
+        CaffeineConfiguration<Object, Object> configuration = unbounded();
+        configuration.setMaximumSize(OptionalLong.of(maxSize));
+        return configuration;
+    }
+
+    private static CaffeineConfiguration<Object, Object> unbounded() {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setStoreByValue(false);
+        return configuration;
+    }
+}
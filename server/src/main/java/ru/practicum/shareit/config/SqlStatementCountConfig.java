@@ -0,0 +1,38 @@
+package ru.practicum.shareit.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import ru.practicum.shareit.sql.SqlStatementCountInterceptor;
+import ru.practicum.shareit.sql.SqlStatementCounter;
+
+@Configuration
+@ConditionalOnProperty(name = "shareit.sql.statement-count.enabled", havingValue = "true")
+public class SqlStatementCountConfig implements WebMvcConfigurer {
+    private final SqlStatementCounter sqlStatementCounter = new SqlStatementCounter();
+    private final int warnThreshold;
+
+    public SqlStatementCountConfig(@Value("${shareit.sql.statement-count.warn-threshold:10}") int warnThreshold) {
+        this.warnThreshold = warnThreshold;
+    }
+
+    @Bean
+    public SqlStatementCounter sqlStatementCounter() {
+        return sqlStatementCounter;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementCounterCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, sqlStatementCounter);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new SqlStatementCountInterceptor(sqlStatementCounter, warnThreshold));
+    }
+}
@@ -2,4 +2,6 @@ package ru.practicum.shareit.consts;
 
 public class ShareItAppConst {
     public static final String HEADER_CALLER_ID = "X-Sharer-User-Id";
+    public static final String HEADER_TOTAL_COUNT = "X-Total-Count";
+    public static final int MAX_BULK_BOOKING_IDS = 100;
 }
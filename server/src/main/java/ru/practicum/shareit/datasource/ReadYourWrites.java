@@ -0,0 +1,54 @@
+package ru.practicum.shareit.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+
+public class ReadYourWrites {
+    private final Cache<Long, Boolean> recentWriters;
+    private final ThreadLocal<Request> currentRequest = new ThreadLocal<>();
+
+    public ReadYourWrites(Duration window, long maxWriters) {
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .maximumSize(maxWriters)
+                .build();
+    }
+
+    public void startRequest(Long callerId) {
+        currentRequest.set(new Request(callerId));
+    }
+
+    public void endRequest() {
+        currentRequest.remove();
+    }
+
+    public void onWriteCommitted() {
+        Request request = currentRequest.get();
+        if (request == null) {
+            return;
+        }
+        request.wrote = true;
+        if (request.callerId != null) {
+            recentWriters.put(request.callerId, true);
+        }
+    }
+
+    public boolean isPrimaryRequired() {
+        Request request = currentRequest.get();
+        if (request == null) {
+            return false;
+        }
+        return request.wrote || request.callerId != null && recentWriters.getIfPresent(request.callerId) != null;
+    }
+
+    private static class Request {
+        private final Long callerId;
+        private boolean wrote;
+
+        Request(Long callerId) {
+            this.callerId = callerId;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package ru.practicum.shareit.datasource;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityManagerFactory;
+
+@RequiredArgsConstructor
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+    private static final String REPLICA_READ = ReplicaRoutingDataSource.class.getName() + ".REPLICA_READ";
+
+    private final ReadYourWrites readYourWrites;
+    private final ObjectProvider<EntityManagerFactory> entityManagerFactory;
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return DataSourceRole.PRIMARY;
+        }
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    readYourWrites.onWriteCommitted();
+                }
+            });
+            return DataSourceRole.PRIMARY;
+        }
+        if (readYourWrites.isPrimaryRequired()) {
+            return DataSourceRole.PRIMARY;
+        }
+        markReplicaRead();
+        disableCachePuts();
+        return DataSourceRole.REPLICA;
+    }
+
+    public static boolean isReplicaRead() {
+        return TransactionSynchronizationManager.hasResource(REPLICA_READ);
+    }
+
+    private void markReplicaRead() {
+        if (isReplicaRead()) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(REPLICA_READ, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(REPLICA_READ);
+            }
+        });
+    }
+
+    private void disableCachePuts() {
+        EntityManagerFactory factory = entityManagerFactory.getIfAvailable();
+        EntityManagerHolder holder = factory == null ? null
+                : (EntityManagerHolder) TransactionSynchronizationManager.getResource(factory);
+        if (holder == null) {
+            return;
+        }
+        Session session = holder.getEntityManager().unwrap(Session.class);
+        CacheMode previousCacheMode = session.getCacheMode();
+        if (previousCacheMode == CacheMode.GET) {
+            return;
+        }
+        session.setCacheMode(CacheMode.GET);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (session.isOpen()) {
+                    session.setCacheMode(previousCacheMode);
+                }
+            }
+        });
+    }
+}
@@ -3,6 +3,7 @@ package ru.practicum.shareit.item.comment.repository;
 import org.springframework.data.jpa.repository.JpaRepository;
 import ru.practicum.shareit.item.comment.model.Comment;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
@@ -10,5 +11,7 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
 
     List<Comment> findAllByItemId(long itemId);
 
+    List<Comment> findAllByItemIdIn(Collection<Long> itemIds);
+
     boolean existsById(long id);
 }
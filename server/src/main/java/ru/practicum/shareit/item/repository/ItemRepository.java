@@ -2,19 +2,29 @@ package ru.practicum.shareit.item.repository;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.rest.core.annotation.RepositoryRestResource;
 import ru.practicum.shareit.item.model.Item;
 
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_CACHE_REGION;
+
 @RepositoryRestResource
 public interface ItemRepository extends JpaRepository<Item, Long> {
     Item save(Item item);
 
     Item getReferenceById(long itemId);
 
-    boolean existsById(long itemId);
+    default boolean existsById(long itemId) {
+        return findById(itemId).isPresent();
+    }
 
     List<Item> findAllByUserIdOrderById(long userId, Pageable pageable);
 
@@ -32,5 +42,35 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
             "AND (LOWER(i.name) LIKE %?1% OR LOWER(i.description) LIKE %?2%)")
     List<Item> findByNameOrDescription(String name, String description);
 
+    @Query("SELECT new Item(i.id, i.userId, i.name, i.description, i.available, i.requestId) " +
+            "FROM Item AS i " +
+            "WHERE i.available = TRUE " +
+            "AND (LOWER(i.name) LIKE %?1% OR LOWER(i.description) LIKE %?2%) " +
+            "AND NOT EXISTS (SELECT b.id FROM Booking AS b " +
+            "WHERE b.item.id = i.id " +
+            "AND b.status = ru.practicum.shareit.booking.enums.BookingStatus.APPROVED " +
+            "AND b.start < ?4 AND b.end > ?3)")
+    List<Item> findFreeByNameOrDescription(String name, String description, LocalDateTime start, LocalDateTime end,
+                                           Pageable pageable);
+
+    @Query("SELECT new Item(i.id, i.userId, i.name, i.description, i.available, i.requestId) " +
+            "FROM Item AS i " +
+            "WHERE i.available = TRUE " +
+            "AND (LOWER(i.name) LIKE %?1% OR LOWER(i.description) LIKE %?2%) " +
+            "AND NOT EXISTS (SELECT b.id FROM Booking AS b " +
+            "WHERE b.item.id = i.id " +
+            "AND b.status = ru.practicum.shareit.booking.enums.BookingStatus.APPROVED " +
+            "AND b.start < ?4 AND b.end > ?3)")
+    List<Item> findFreeByNameOrDescription(String name, String description, LocalDateTime start, LocalDateTime end);
+
+    @QueryHints({@QueryHint(name = HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HINT_CACHE_REGION, value = "items-by-request")})
     List<Item> findItemByRequestId(long requestId);
+
+    List<Item> findAllByRequestIdIn(Collection<Long> requestIds);
+
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM Item AS i " +
+            "WHERE i.userId = ?1")
+    int deleteAllByUserId(long userId);
 }
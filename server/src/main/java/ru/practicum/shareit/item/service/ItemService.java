@@ -3,10 +3,12 @@ package ru.practicum.shareit.item.service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.item.comment.dto.CommentInnerDto;
 import ru.practicum.shareit.item.comment.dto.CommentOutDto;
+import ru.practicum.shareit.item.dto.ItemFreeIntervalDto;
 import ru.practicum.shareit.item.dto.ItemInnerDto;
 import ru.practicum.shareit.item.dto.ItemOutLongDto;
 import ru.practicum.shareit.item.dto.ItemOutShortDto;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemService {
@@ -25,6 +27,13 @@ public interface ItemService {
     @Transactional(readOnly = true)
     List<ItemOutShortDto> findItemsByNameOrDescription(long userId, String text, Integer from, Integer size);
 
+    @Transactional(readOnly = true)
+    List<ItemOutShortDto> findFreeItemsByNameOrDescription(long userId, String text, LocalDateTime start,
+                                                           LocalDateTime end, Integer from, Integer size);
+
+    @Transactional(readOnly = true)
+    List<ItemFreeIntervalDto> getItemAvailability(long userId, long itemId, LocalDateTime from, LocalDateTime to);
+
     @Transactional
     CommentOutDto addComment(long userId, long itemId, CommentInnerDto commentInnerDto);
 }
@@ -5,9 +5,14 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.audit.AuditEvent;
+import ru.practicum.shareit.audit.AuditLog;
 import ru.practicum.shareit.booking.dto.BookingForItemDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.timeline.BookingTimeline;
+import ru.practicum.shareit.booking.timeline.BookingTimelineCache;
+import ru.practicum.shareit.booking.view.OwnerBookingViewRepository;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.comment.dto.CommentInnerDto;
@@ -15,26 +20,33 @@ import ru.practicum.shareit.item.comment.dto.CommentOutDto;
 import ru.practicum.shareit.item.comment.mapper.CommentsMapper;
 import ru.practicum.shareit.item.comment.model.Comment;
 import ru.practicum.shareit.item.comment.repository.CommentRepository;
+import ru.practicum.shareit.item.dto.ItemFreeIntervalDto;
 import ru.practicum.shareit.item.dto.ItemInnerDto;
 import ru.practicum.shareit.item.dto.ItemOutLongDto;
 import ru.practicum.shareit.item.dto.ItemOutShortDto;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.matching.ItemMatchingIndex;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
+import static ru.practicum.shareit.audit.AuditAction.CREATE;
+import static ru.practicum.shareit.audit.AuditAction.UPDATE;
+import static ru.practicum.shareit.audit.AuditEntity.COMMENT;
+import static ru.practicum.shareit.audit.AuditEntity.ITEM;
 import static ru.practicum.shareit.booking.mapper.BookingMapper.toBookingForItemDto;
 import static ru.practicum.shareit.item.comment.mapper.CommentsMapper.toComment;
 import static ru.practicum.shareit.item.comment.mapper.CommentsMapper.toCommentOutDto;
 import static ru.practicum.shareit.item.mapper.ItemMapper.*;
-import static ru.practicum.shareit.log.Logger.logStorageChanges;
 import static ru.practicum.shareit.validation.Validation.*;
 
 @Service
@@ -45,6 +57,10 @@ public class ItemServiceImpl implements ItemService {
     private final BookingRepository bookingRepository;
     private final CommentRepository commentRepository;
     private final ItemRequestRepository itemRequestRepository;
+    private final ItemMatchingIndex itemMatchingIndex;
+    private final BookingTimelineCache bookingTimelineCache;
+    private final OwnerBookingViewRepository ownerBookingViewRepository;
+    private final AuditLog auditLog;
 
     @Transactional
     @Override
@@ -64,7 +80,13 @@ public class ItemServiceImpl implements ItemService {
         }
         Item item = toItem(userId, itemInnerDto);
         Item itemStorage = itemRepository.save(item);
-        logStorageChanges("Add item", itemStorage.toString());
+        auditLog.record(AuditEvent.of(CREATE, ITEM, userId, itemStorage.getId())
+                .change("ownerId", userId)
+                .change("name", itemStorage.getName())
+                .change("description", itemStorage.getDescription())
+                .change("available", itemStorage.getAvailable())
+                .change("requestId", itemStorage.getRequestId()));
+        itemMatchingIndex.index(itemStorage);
         return toItemOutShortDto(itemStorage.getId(), itemStorage);
     }
 
@@ -79,17 +101,24 @@ public class ItemServiceImpl implements ItemService {
                     userId));
         }
         Item newItem = toItem(userId, itemInnerDto);
+        AuditEvent auditEvent = AuditEvent.of(UPDATE, ITEM, userId, itemId);
         if (newItem.getName() != null && !newItem.getName().isBlank()) {
             oldItem.setName(newItem.getName());
+            auditEvent.change("name", newItem.getName());
         }
         if (newItem.getDescription() != null && !newItem.getDescription().isBlank()) {
             oldItem.setDescription(newItem.getDescription());
+            auditEvent.change("description", newItem.getDescription());
         }
         if (newItem.getAvailable() != null) {
             oldItem.setAvailable(newItem.getAvailable());
+            auditEvent.change("available", newItem.getAvailable());
         }
         Item itemStorage = itemRepository.save(oldItem);
-        logStorageChanges("Update item", itemStorage.toString());
+        ownerBookingViewRepository.updateItem(itemId, itemStorage.getName(), itemStorage.getDescription(),
+                itemStorage.getAvailable());
+        auditLog.record(auditEvent);
+        itemMatchingIndex.index(itemStorage);
         return toItemOutShortDto(itemStorage.getId(), itemStorage);
     }
 
@@ -101,9 +130,7 @@ public class ItemServiceImpl implements ItemService {
         Item itemStorage = itemRepository.getReferenceById(itemId);
         ItemOutLongDto itemOutLongDto;
         if (userId == itemStorage.getUserId()) {
-            LocalDateTime now = LocalDateTime.now();
-            itemOutLongDto = toItemOutLongDto(itemStorage, getLastBookingDto(itemStorage, now),
-                    getNextBookingDto(itemStorage, now), getCommentsDtoForItem(itemStorage));
+            itemOutLongDto = toItemOutLongDtoWithBookings(itemStorage, LocalDateTime.now());
         } else {
             itemOutLongDto = toItemOutLongDto(itemStorage, null, null,
                     getCommentsDtoForItem(itemStorage));
@@ -122,11 +149,7 @@ public class ItemServiceImpl implements ItemService {
         } else {
             items = itemRepository.findAllByUserIdOrderById(userId);
         }
-        LocalDateTime now = LocalDateTime.now();
-        return items.stream()
-                .map(item -> toItemOutLongDto(item, getLastBookingDto(item, now),
-                        getNextBookingDto(item, now), getCommentsDtoForItem(item)))
-                .collect(Collectors.toList());
+        return toItemOutLongDtosWithBookings(items, LocalDateTime.now());
     }
 
     @Transactional(readOnly = true)
@@ -149,6 +172,53 @@ public class ItemServiceImpl implements ItemService {
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public List<ItemOutShortDto> findFreeItemsByNameOrDescription(long userId, String text, LocalDateTime start,
+                                                                  LocalDateTime end, Integer from, Integer size) {
+        checkUserExists(userRepository, userId);
+        if (start == null || end == null) {
+            throw new ValidationException("Both start and end of the period must be set");
+        }
+        if (!start.isBefore(end)) {
+            throw new ValidationException("The end of the period should be after its start");
+        }
+        if (text.isBlank()) {
+            return new ArrayList<>();
+        }
+        String formattedText = text.toLowerCase();
+        List<Item> items;
+        if (from != null && size != null) {
+            Pageable pageable = PageRequest.of(from / size, size);
+            items = itemRepository.findFreeByNameOrDescription(formattedText, formattedText, start, end, pageable);
+        } else {
+            items = itemRepository.findFreeByNameOrDescription(formattedText, formattedText, start, end);
+        }
+        return items.stream()
+                .map(item -> toItemOutShortDto(item.getId(), item))
+                .collect(Collectors.toList());
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public List<ItemFreeIntervalDto> getItemAvailability(long userId, long itemId,
+                                                         LocalDateTime from, LocalDateTime to) {
+        checkUserExists(userRepository, userId);
+        checkItemExists(itemRepository, itemId);
+        if (!from.isBefore(to)) {
+            throw new ValidationException("The end of the period should be after its start");
+        }
+        Item itemStorage = itemRepository.getReferenceById(itemId);
+        if (!itemStorage.getAvailable()) {
+            return new ArrayList<>();
+        }
+        BookingTimeline timeline = bookingTimelineCache.get(itemId)
+                .filter(t -> t.isCompleteFrom(from))
+                .orElseGet(() -> BookingTimeline.of(bookingRepository.findTimelineByItemIdAndPeriod(itemId, from, to,
+                        BookingTimeline.BLOCKING_STATUSES)));
+        return timeline.getFreeIntervals(from, to);
+    }
+
     @Override
     public CommentOutDto addComment(long userId, long itemId, CommentInnerDto commentInnerDto) {
         checkUserExists(userRepository, userId);
@@ -163,10 +233,66 @@ public class ItemServiceImpl implements ItemService {
         Item item = itemRepository.getReferenceById(itemId);
         Comment comment = toComment(commentInnerDto, item, author);
         Comment commentStorage = commentRepository.save(comment);
-        logStorageChanges("Add comment", commentStorage.toString());
+        auditLog.record(AuditEvent.of(CREATE, COMMENT, userId, commentStorage.getId())
+                .change("itemId", itemId)
+                .change("authorId", userId)
+                .change("text", commentStorage.getText()));
         return toCommentOutDto(commentStorage);
     }
 
+    private ItemOutLongDto toItemOutLongDtoWithBookings(Item item, LocalDateTime now) {
+        Optional<BookingTimeline> timeline = bookingTimelineCache.get(item.getId());
+        BookingForItemDto lastBooking = timeline.isPresent() && timeline.get().coversLastBooking(now)
+                ? timeline.get().getLastBooking(item.getId(), now)
+                : getLastBookingDto(item, now);
+        BookingForItemDto nextBooking = timeline.isPresent() && timeline.get().coversNextBooking(now)
+                ? timeline.get().getNextBooking(item.getId(), now)
+                : getNextBookingDto(item, now);
+        return toItemOutLongDto(item, lastBooking, nextBooking, getCommentsDtoForItem(item));
+    }
+
+    private List<ItemOutLongDto> toItemOutLongDtosWithBookings(List<Item> items, LocalDateTime now) {
+        if (items.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Long> itemIds = items.stream()
+                .map(Item::getId)
+                .collect(Collectors.toList());
+        Map<Long, BookingTimeline> timelines = bookingTimelineCache.getAll(itemIds);
+        Map<Long, BookingForItemDto> lastBookings = new HashMap<>();
+        Map<Long, BookingForItemDto> nextBookings = new HashMap<>();
+        List<Long> itemIdsWithoutLastBooking = new ArrayList<>();
+        List<Long> itemIdsWithoutNextBooking = new ArrayList<>();
+        for (Long itemId : itemIds) {
+            BookingTimeline timeline = timelines.get(itemId);
+            if (timeline != null && timeline.coversLastBooking(now)) {
+                lastBookings.put(itemId, timeline.getLastBooking(itemId, now));
+            } else {
+                itemIdsWithoutLastBooking.add(itemId);
+            }
+            if (timeline != null && timeline.coversNextBooking(now)) {
+                nextBookings.put(itemId, timeline.getNextBooking(itemId, now));
+            } else {
+                itemIdsWithoutNextBooking.add(itemId);
+            }
+        }
+        if (!itemIdsWithoutLastBooking.isEmpty()) {
+            bookingRepository.findLastByItemIdIn(itemIdsWithoutLastBooking, now)
+                    .forEach(booking -> lastBookings.put(booking.getItem().getId(), toBookingForItemDto(booking)));
+        }
+        if (!itemIdsWithoutNextBooking.isEmpty()) {
+            bookingRepository.findNextByItemIdIn(itemIdsWithoutNextBooking, now)
+                    .forEach(booking -> nextBookings.put(booking.getItem().getId(), toBookingForItemDto(booking)));
+        }
+        Map<Long, List<CommentOutDto>> comments = commentRepository.findAllByItemIdIn(itemIds).stream()
+                .collect(Collectors.groupingBy(comment -> comment.getItem().getId(),
+                        Collectors.mapping(CommentsMapper::toCommentOutDto, Collectors.toList())));
+        return items.stream()
+                .map(item -> toItemOutLongDto(item, lastBookings.get(item.getId()), nextBookings.get(item.getId()),
+                        comments.getOrDefault(item.getId(), new ArrayList<>())))
+                .collect(Collectors.toList());
+    }
+
     private BookingForItemDto getLastBookingDto(Item item, LocalDateTime dataTime) {
         BookingForItemDto lastBooking = null;
         Optional<Booking> lastBookingOpt = bookingRepository.findLastByItemId(item.getId(), dataTime);
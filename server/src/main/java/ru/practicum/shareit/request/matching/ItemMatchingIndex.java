@@ -0,0 +1,180 @@
+package ru.practicum.shareit.request.matching;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ItemMatchingIndex {
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int MIN_TOKEN_LENGTH = 3;
+    private static final Set<String> STOP_WORDS = Set.of(
+            "the", "and", "for", "with", "need", "needed", "looking", "want", "would", "like", "some",
+            "для", "что", "это", "как", "или", "нужен", "нужна", "нужно", "хочу", "хотел", "хотела");
+
+    private final ItemRepository itemRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Postings postings = new Postings();
+    private List<Consumer<Postings>> pendingChanges;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        lock.writeLock().lock();
+        try {
+            pendingChanges = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        try {
+            Postings rebuilt = new Postings();
+            itemRepository.findAll().forEach(rebuilt::index);
+            lock.writeLock().lock();
+            try {
+                pendingChanges.forEach(change -> change.accept(rebuilt));
+                postings = rebuilt;
+                log.info("Item matching index built: '{}' items, '{}' tokens", rebuilt.itemTokens.size(),
+                        rebuilt.tokenItems.size());
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            lock.writeLock().lock();
+            try {
+                pendingChanges = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    public void index(Item item) {
+        afterCommit(target -> target.index(item));
+    }
+
+    public void removeOwnerItems(long ownerId) {
+        afterCommit(target -> target.removeOwner(ownerId));
+    }
+
+    public List<Long> match(String text, long excludedOwnerId, int limit) {
+        Set<String> queryTokens = tokenize(text);
+        Map<Long, Double> scores = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            int indexedItems = postings.itemTokens.size();
+            for (String token : queryTokens) {
+                Set<Long> itemIds = postings.tokenItems.get(token);
+                if (itemIds == null) {
+                    continue;
+                }
+                double idf = Math.log(1.0 + (double) indexedItems / itemIds.size());
+                for (Long itemId : itemIds) {
+                    if (!Objects.equals(postings.itemOwners.get(itemId), excludedOwnerId)) {
+                        scores.merge(itemId, idf, Double::sum);
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return scores.entrySet().stream()
+                .sorted(Map.Entry.<Long, Double>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+    }
+
+    static Set<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return Collections.emptySet();
+        }
+        return TOKEN_SEPARATOR.splitAsStream(text.toLowerCase())
+                .filter(token -> token.length() >= MIN_TOKEN_LENGTH && !STOP_WORDS.contains(token))
+                .collect(Collectors.toSet());
+    }
+
+    private void afterCommit(Consumer<Postings> change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(change);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(change);
+            }
+        });
+    }
+
+    private void apply(Consumer<Postings> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(postings);
+            if (pendingChanges != null) {
+                pendingChanges.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static class Postings {
+        private final Map<String, Set<Long>> tokenItems = new HashMap<>();
+        private final Map<Long, Set<String>> itemTokens = new HashMap<>();
+        private final Map<Long, Long> itemOwners = new HashMap<>();
+
+        void index(Item item) {
+            remove(item.getId());
+            if (!Boolean.TRUE.equals(item.getAvailable())) {
+                return;
+            }
+            Set<String> tokens = new HashSet<>(tokenize(item.getName()));
+            tokens.addAll(tokenize(item.getDescription()));
+            if (tokens.isEmpty()) {
+                return;
+            }
+            itemTokens.put(item.getId(), tokens);
+            itemOwners.put(item.getId(), item.getUserId());
+            tokens.forEach(token -> tokenItems.computeIfAbsent(token, t -> new HashSet<>()).add(item.getId()));
+        }
+
+        void removeOwner(long ownerId) {
+            List<Long> itemIds = itemOwners.entrySet().stream()
+                    .filter(entry -> entry.getValue() == ownerId)
+                    .map(Map.Entry::getKey)
+                    .collect(Collectors.toList());
+            itemIds.forEach(this::remove);
+        }
+
+        private void remove(Long itemId) {
+            Set<String> tokens = itemTokens.remove(itemId);
+            itemOwners.remove(itemId);
+            if (tokens == null) {
+                return;
+            }
+            for (String token : tokens) {
+                Set<Long> itemIds = tokenItems.get(token);
+                itemIds.remove(itemId);
+                if (itemIds.isEmpty()) {
+                    tokenItems.remove(token);
+                }
+            }
+        }
+    }
+}
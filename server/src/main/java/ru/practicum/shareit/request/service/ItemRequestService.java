@@ -1,6 +1,7 @@
 package ru.practicum.shareit.request.service;
 
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.dto.ItemOutShortDto;
 import ru.practicum.shareit.request.dto.ItemRequestInnerDto;
 import ru.practicum.shareit.request.dto.ItemRequestOutLongDto;
 import ru.practicum.shareit.request.dto.ItemRequestOutShortDto;
@@ -19,4 +20,7 @@ public interface ItemRequestService {
 
     @Transactional(readOnly = true)
     ItemRequestOutLongDto getItemRequestById(long userId, long requestId);
+
+    @Transactional(readOnly = true)
+    List<ItemOutShortDto> getSuggestionsForItemRequest(long userId, long requestId, Integer size);
 }
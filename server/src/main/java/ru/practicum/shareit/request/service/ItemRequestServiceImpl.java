@@ -5,12 +5,15 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.audit.AuditEvent;
+import ru.practicum.shareit.audit.AuditLog;
 import ru.practicum.shareit.item.dto.ItemOutShortDto;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.request.dto.ItemRequestInnerDto;
 import ru.practicum.shareit.request.dto.ItemRequestOutLongDto;
 import ru.practicum.shareit.request.dto.ItemRequestOutShortDto;
+import ru.practicum.shareit.request.matching.ItemMatchingIndex;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
@@ -18,19 +21,27 @@ import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import static ru.practicum.shareit.audit.AuditAction.CREATE;
+import static ru.practicum.shareit.audit.AuditEntity.ITEM_REQUEST;
 import static ru.practicum.shareit.item.mapper.ItemMapper.toItemOutShortDto;
-import static ru.practicum.shareit.log.Logger.logStorageChanges;
 import static ru.practicum.shareit.request.mapper.ItemRequestMapper.*;
+import static ru.practicum.shareit.validation.Validation.checkItemRequestExists;
 import static ru.practicum.shareit.validation.Validation.checkUserExists;
 
 @Service
 @RequiredArgsConstructor
 public class ItemRequestServiceImpl implements ItemRequestService {
+    private static final int DEFAULT_SUGGESTIONS_SIZE = 10;
+
     private final ItemRequestRepository itemRequestRepository;
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
+    private final ItemMatchingIndex itemMatchingIndex;
+    private final AuditLog auditLog;
 
     @Transactional
     @Override
@@ -39,7 +50,9 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         User requestor = userRepository.getReferenceById(userId);
         ItemRequest itemRequest = toItemRequest(requestor, itemRequestInnerDto);
         ItemRequest itemRequestStorage = itemRequestRepository.save(itemRequest);
-        logStorageChanges("Add item request", itemRequestStorage.toString());
+        auditLog.record(AuditEvent.of(CREATE, ITEM_REQUEST, userId, itemRequestStorage.getId())
+                .change("requestorId", userId)
+                .change("description", itemRequestStorage.getDescription()));
         return toItemRequestOutShortDto(itemRequestStorage);
     }
 
@@ -48,9 +61,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     public List<ItemRequestOutLongDto> getYourItemRequests(long userId) {
         checkUserExists(userRepository, userId);
         List<ItemRequest> itemRequests = itemRequestRepository.findItemRequestByRequestorIdOrderByCreatedDesc(userId);
-        return itemRequests.stream()
-                .map(itemRequest -> toItemRequestOutLongDto(getItemOutShortDtoList(itemRequest), itemRequest))
-                .collect(Collectors.toList());
+        return toItemRequestOutLongDtoList(itemRequests);
     }
 
     @Transactional(readOnly = true)
@@ -64,9 +75,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         } else {
             itemRequests = itemRequestRepository.findAllOtherRequests(userId);
         }
-        return itemRequests.stream()
-                .map(itemRequest -> toItemRequestOutLongDto(getItemOutShortDtoList(itemRequest), itemRequest))
-                .collect(Collectors.toList());
+        return toItemRequestOutLongDtoList(itemRequests);
     }
 
     @Transactional(readOnly = true)
@@ -77,6 +86,42 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         return toItemRequestOutLongDto(getItemOutShortDtoList(itemRequest), itemRequest);
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public List<ItemOutShortDto> getSuggestionsForItemRequest(long userId, long requestId, Integer size) {
+        checkUserExists(userRepository, userId);
+        checkItemRequestExists(itemRequestRepository, requestId);
+        ItemRequest itemRequest = itemRequestRepository.getReferenceById(requestId);
+        List<Long> itemIds = itemMatchingIndex.match(itemRequest.getDescription(),
+                itemRequest.getRequestor().getId(), size != null ? size : DEFAULT_SUGGESTIONS_SIZE);
+        if (itemIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, Item> items = itemRepository.findAllById(itemIds).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        return itemIds.stream()
+                .map(items::get)
+                .filter(item -> item != null && item.getAvailable())
+                .map(item -> toItemOutShortDto(item.getId(), item))
+                .collect(Collectors.toList());
+    }
+
+    private List<ItemRequestOutLongDto> toItemRequestOutLongDtoList(List<ItemRequest> itemRequests) {
+        if (itemRequests.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Long> requestIds = itemRequests.stream()
+                .map(ItemRequest::getId)
+                .collect(Collectors.toList());
+        Map<Long, List<ItemOutShortDto>> items = itemRepository.findAllByRequestIdIn(requestIds).stream()
+                .collect(Collectors.groupingBy(Item::getRequestId,
+                        Collectors.mapping(item -> toItemOutShortDto(item.getId(), item), Collectors.toList())));
+        return itemRequests.stream()
+                .map(itemRequest -> toItemRequestOutLongDto(items.getOrDefault(itemRequest.getId(),
+                        new ArrayList<>()), itemRequest))
+                .collect(Collectors.toList());
+    }
+
     private List<ItemOutShortDto> getItemOutShortDtoList(ItemRequest itemRequest) {
         List<Item> items = itemRepository.findItemByRequestId(itemRequest.getId());
         if (items.isEmpty()) {
@@ -0,0 +1,32 @@
+package ru.practicum.shareit.sql;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+@Slf4j
+@RequiredArgsConstructor
+public class SqlStatementCountInterceptor implements HandlerInterceptor {
+    private final SqlStatementCounter sqlStatementCounter;
+    private final int warnThreshold;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        sqlStatementCounter.reset();
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        int count = sqlStatementCounter.getCount();
+        if (count > warnThreshold) {
+            log.warn("Request '{} {}' executed {} SQL statements, more than {}: {}", request.getMethod(),
+                    request.getRequestURI(), count, warnThreshold, sqlStatementCounter.getStatements());
+        }
+        sqlStatementCounter.reset();
+    }
+}
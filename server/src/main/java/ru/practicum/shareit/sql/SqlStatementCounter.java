@@ -0,0 +1,36 @@
+package ru.practicum.shareit.sql;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class SqlStatementCounter implements StatementInspector {
+    private static final int MAX_KEPT_STATEMENTS = 100;
+
+    private final ThreadLocal<List<String>> statements = ThreadLocal.withInitial(ArrayList::new);
+    private final ThreadLocal<int[]> counts = ThreadLocal.withInitial(() -> new int[1]);
+
+    @Override
+    public String inspect(String sql) {
+        counts.get()[0]++;
+        List<String> kept = statements.get();
+        if (kept.size() < MAX_KEPT_STATEMENTS) {
+            kept.add(sql);
+        }
+        return sql;
+    }
+
+    public int getCount() {
+        return counts.get()[0];
+    }
+
+    public List<String> getStatements() {
+        return List.copyOf(statements.get());
+    }
+
+    public void reset() {
+        counts.get()[0] = 0;
+        statements.get().clear();
+    }
+}
@@ -0,0 +1,61 @@
+package ru.practicum.shareit.tracing;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Aspect
+@Component
+@ConditionalOnProperty(name = "shareit.tracing.enabled", havingValue = "true", matchIfMissing = true)
+public class TracingAspect {
+    private final Tracer tracer;
+    private final ClassValue<Map<Method, String>> spanNames = new ClassValue<>() {
+        @Override
+        protected Map<Method, String> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    public TracingAspect(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Around("execution(public * ru.practicum.shareit..*Controller.*(..))"
+            + " || execution(public * ru.practicum.shareit..*ServiceImpl.*(..))"
+            + " || execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object trace(ProceedingJoinPoint joinPoint) throws Throwable {
+        Class<?> targetClass = joinPoint.getTarget().getClass();
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        String name = spanNames.get(targetClass)
+                .computeIfAbsent(method, m -> typeName(targetClass) + "." + m.getName());
+        try (Span span = tracer.startSpan(name)) {
+            try {
+                return joinPoint.proceed();
+            } catch (Throwable e) {
+                span.error(e);
+                throw e;
+            }
+        }
+    }
+
+    private static String typeName(Class<?> type) {
+        if (Proxy.isProxyClass(type)) {
+            for (Class<?> repository : type.getInterfaces()) {
+                if (Repository.class.isAssignableFrom(repository)
+                        && repository.getName().startsWith("ru.practicum.shareit")) {
+                    return repository.getSimpleName();
+                }
+            }
+        }
+        return type.getSimpleName();
+    }
+}
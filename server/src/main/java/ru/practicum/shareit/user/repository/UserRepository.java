@@ -12,7 +12,9 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     User getReferenceById(long id);
 
-    boolean existsById(long id);
+    default boolean existsById(long id) {
+        return findById(id).isPresent();
+    }
 
     void deleteById(long id);
 
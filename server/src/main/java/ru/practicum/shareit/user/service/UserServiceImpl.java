@@ -3,8 +3,15 @@ package ru.practicum.shareit.user.service;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.audit.AuditEvent;
+import ru.practicum.shareit.audit.AuditLog;
+import ru.practicum.shareit.booking.counter.BookingCounters;
+import ru.practicum.shareit.booking.timeline.BookingTimelineCache;
+import ru.practicum.shareit.booking.view.OwnerBookingViewRepository;
 import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.matching.ItemMatchingIndex;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
@@ -12,7 +19,10 @@ import ru.practicum.shareit.user.repository.UserRepository;
 import java.util.List;
 import java.util.stream.Collectors;
 
-import static ru.practicum.shareit.log.Logger.logStorageChanges;
+import static ru.practicum.shareit.audit.AuditAction.CREATE;
+import static ru.practicum.shareit.audit.AuditAction.DELETE;
+import static ru.practicum.shareit.audit.AuditAction.UPDATE;
+import static ru.practicum.shareit.audit.AuditEntity.USER;
 import static ru.practicum.shareit.user.mapper.UserMapper.*;
 import static ru.practicum.shareit.validation.Validation.checkUserExists;
 
@@ -20,6 +30,12 @@ import static ru.practicum.shareit.validation.Validation.checkUserExists;
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final BookingTimelineCache bookingTimelineCache;
+    private final BookingCounters bookingCounters;
+    private final OwnerBookingViewRepository ownerBookingViewRepository;
+    private final ItemMatchingIndex itemMatchingIndex;
+    private final AuditLog auditLog;
 
     @Transactional
     @Override
@@ -35,7 +51,10 @@ public class UserServiceImpl implements UserService {
         }
         User user = toUser(userDto.getId(), userDto);
         User userStorage = userRepository.save(user);
-        logStorageChanges("Add", userStorage.toString());
+        auditLog.record(AuditEvent.of(CREATE, USER, null, userStorage.getId())
+                .change("name", userStorage.getName())
+                .change("email", userStorage.getEmail()));
+        bookingCounters.registerUser(userStorage.getId());
         return toUserDto(userStorage.getId(), userStorage);
     }
 
@@ -45,14 +64,18 @@ public class UserServiceImpl implements UserService {
         checkUserExists(userRepository, id);
         User oldUser = userRepository.getReferenceById(id);
         User newUser = toUser(id, userDto);
+        AuditEvent auditEvent = AuditEvent.of(UPDATE, USER, id, id);
         if (newUser.getEmail() != null && !newUser.getEmail().isBlank()) {
             oldUser.setEmail(newUser.getEmail());
+            auditEvent.change("email", newUser.getEmail());
         }
         if (newUser.getName() != null && !newUser.getName().isBlank()) {
             oldUser.setName(newUser.getName());
+            auditEvent.change("name", newUser.getName());
         }
         User userStorage = userRepository.save(oldUser);
-        logStorageChanges("Update", userStorage.toString());
+        ownerBookingViewRepository.updateBooker(id, userStorage.getName(), userStorage.getEmail());
+        auditLog.record(auditEvent);
         return toUserDto(userStorage.getId(), userStorage);
     }
 
@@ -68,8 +91,12 @@ public class UserServiceImpl implements UserService {
     @Override
     public void delUserById(long id) {
         checkUserExists(userRepository, id);
+        bookingCounters.onUserDeleted(id);
+        itemRepository.deleteAllByUserId(id);
+        itemMatchingIndex.removeOwnerItems(id);
         userRepository.deleteById(id);
-        logStorageChanges("Delete", String.format("User with id %s", id));
+        auditLog.record(AuditEvent.of(DELETE, USER, id, id));
+        bookingTimelineCache.evictAll();
     }
 
     @Transactional(readOnly = true)
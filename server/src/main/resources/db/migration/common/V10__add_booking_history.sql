@@ -0,0 +1,19 @@
+CREATE INDEX IF NOT EXISTS idx_bookings_end_status ON bookings (end_time, status);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_archive_booker_start ON bookings_archive (booker_id, start_time DESC);
+CREATE INDEX IF NOT EXISTS idx_bookings_archive_booker_status_start
+    ON bookings_archive (booker_id, status, start_time DESC);
+CREATE INDEX IF NOT EXISTS idx_bookings_archive_owner_start ON bookings_archive (owner_id, start_time DESC);
+CREATE INDEX IF NOT EXISTS idx_bookings_archive_owner_status_start
+    ON bookings_archive (owner_id, status, start_time DESC);
+CREATE INDEX IF NOT EXISTS idx_bookings_archive_item_start ON bookings_archive (item_id, start_time);
+CREATE INDEX IF NOT EXISTS idx_bookings_archive_item_booker_end ON bookings_archive (item_id, booker_id, end_time);
+CREATE INDEX IF NOT EXISTS idx_bookings_archive_booker_end ON bookings_archive (booker_id, end_time);
+CREATE INDEX IF NOT EXISTS idx_bookings_archive_owner_end ON bookings_archive (owner_id, end_time);
+
+CREATE OR REPLACE VIEW booking_history AS
+SELECT b.id, b.item_id, b.booker_id, b.status, b.start_time, b.end_time, b.owner_id, b.version
+FROM bookings AS b
+UNION ALL
+SELECT a.id, a.item_id, a.booker_id, a.status, a.start_time, a.end_time, a.owner_id, a.version
+FROM bookings_archive AS a;
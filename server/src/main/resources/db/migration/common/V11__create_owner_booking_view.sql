@@ -0,0 +1,32 @@
+CREATE TABLE IF NOT EXISTS owner_booking_view
+(
+    id BIGINT PRIMARY KEY,
+    owner_id BIGINT NOT NULL,
+    start_time timestamp NOT NULL,
+    end_time timestamp NOT NULL,
+    status VARCHAR NOT NULL,
+    item_id BIGINT NOT NULL,
+    item_name VARCHAR NOT NULL,
+    item_description VARCHAR NOT NULL,
+    item_available BOOLEAN NOT NULL,
+    item_request_id BIGINT REFERENCES requests(id) ON DELETE SET NULL,
+    booker_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    booker_name VARCHAR NOT NULL,
+    booker_email VARCHAR NOT NULL,
+    CONSTRAINT fk_owner_booking_view_item_owner FOREIGN KEY (item_id, owner_id)
+        REFERENCES items (id, user_id) ON DELETE CASCADE ON UPDATE CASCADE
+);
+
+INSERT INTO owner_booking_view (id, owner_id, start_time, end_time, status, item_id, item_name, item_description,
+                                item_available, item_request_id, booker_id, booker_name, booker_email)
+SELECT h.id, h.owner_id, h.start_time, h.end_time, h.status, i.id, i.name, i.description,
+       i.available, i.request_id, u.id, u.name, u.email
+FROM booking_history AS h
+JOIN items AS i ON i.id = h.item_id
+JOIN users AS u ON u.id = h.booker_id;
+
+CREATE INDEX IF NOT EXISTS idx_owner_booking_view_owner_start ON owner_booking_view (owner_id, start_time DESC);
+CREATE INDEX IF NOT EXISTS idx_owner_booking_view_owner_status_start
+    ON owner_booking_view (owner_id, status, start_time DESC);
+CREATE INDEX IF NOT EXISTS idx_owner_booking_view_owner_end_start
+    ON owner_booking_view (owner_id, end_time, start_time);
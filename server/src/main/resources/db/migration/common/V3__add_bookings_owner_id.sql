@@ -0,0 +1,10 @@
+ALTER TABLE bookings ADD COLUMN IF NOT EXISTS owner_id BIGINT;
+
+UPDATE bookings b SET owner_id = (SELECT i.user_id FROM items i WHERE i.id = b.item_id);
+
+ALTER TABLE items ADD CONSTRAINT uq_items_id_user_id UNIQUE (id, user_id);
+ALTER TABLE bookings ADD CONSTRAINT fk_bookings_item_owner FOREIGN KEY (item_id, owner_id)
+    REFERENCES items (id, user_id) ON UPDATE CASCADE;
+
+CREATE INDEX IF NOT EXISTS idx_bookings_owner_start ON bookings (owner_id, start_time DESC);
+CREATE INDEX IF NOT EXISTS idx_bookings_owner_status_start ON bookings (owner_id, status, start_time DESC);
@@ -0,0 +1 @@
+CREATE INDEX IF NOT EXISTS idx_bookings_item_status_start_end ON bookings (item_id, status, start_time, end_time);
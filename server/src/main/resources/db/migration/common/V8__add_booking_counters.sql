@@ -0,0 +1,25 @@
+CREATE TABLE IF NOT EXISTS booking_counters
+(
+    user_id BIGINT REFERENCES users(id) ON DELETE CASCADE,
+    role VARCHAR NOT NULL,
+    status VARCHAR NOT NULL,
+    bookings_count BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (user_id, role, status)
+);
+
+INSERT INTO booking_counters (user_id, role, status)
+SELECT u.id, r.role, s.status
+FROM users u
+CROSS JOIN (VALUES ('BOOKER'), ('OWNER')) AS r (role)
+CROSS JOIN (VALUES ('WAITING'), ('APPROVED'), ('REJECTED'), ('EXPIRED')) AS s (status);
+
+UPDATE booking_counters c SET bookings_count = (SELECT COUNT(*) FROM bookings b
+    WHERE b.booker_id = c.user_id AND b.status = c.status)
+WHERE c.role = 'BOOKER';
+
+UPDATE booking_counters c SET bookings_count = (SELECT COUNT(*) FROM bookings b
+    WHERE b.owner_id = c.user_id AND b.status = c.status)
+WHERE c.role = 'OWNER';
+
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_end ON bookings (booker_id, end_time);
+CREATE INDEX IF NOT EXISTS idx_bookings_owner_end ON bookings (owner_id, end_time);
@@ -0,0 +1,14 @@
+DELETE FROM COMMENTS;
+DELETE FROM BOOKING_COUNTERS;
+DELETE FROM OWNER_BOOKING_VIEW;
+DELETE FROM BOOKINGS_ARCHIVE;
+DELETE FROM BOOKINGS;
+DELETE FROM ITEMS;
+DELETE FROM REQUESTS;
+DELETE FROM USERS;
+
+ALTER SEQUENCE REQUESTS_SEQ RESTART WITH 1;
+ALTER SEQUENCE COMMENTS_SEQ RESTART WITH 1;
+ALTER SEQUENCE BOOKINGS_SEQ RESTART WITH 1;
+ALTER SEQUENCE ITEMS_SEQ RESTART WITH 1;
+ALTER SEQUENCE USERS_SEQ RESTART WITH 1;
@@ -0,0 +1,13 @@
+CREATE TABLE IF NOT EXISTS bookings_archive
+(
+    id BIGINT PRIMARY KEY,
+    item_id BIGINT REFERENCES items(id) ON DELETE CASCADE,
+    booker_id BIGINT REFERENCES users(id) ON DELETE CASCADE,
+    status VARCHAR NOT NULL,
+    start_time timestamp NOT NULL,
+    end_time timestamp NOT NULL,
+    owner_id BIGINT,
+    version BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT fk_bookings_archive_item_owner FOREIGN KEY (item_id, owner_id)
+        REFERENCES items (id, user_id) ON UPDATE CASCADE
+);
@@ -0,0 +1,25 @@
+CREATE TABLE IF NOT EXISTS bookings_archive
+(
+    id BIGINT NOT NULL,
+    item_id BIGINT REFERENCES items(id) ON DELETE CASCADE,
+    booker_id BIGINT REFERENCES users(id) ON DELETE CASCADE,
+    status VARCHAR NOT NULL,
+    start_time timestamp NOT NULL,
+    end_time timestamp NOT NULL,
+    owner_id BIGINT,
+    version BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (id, start_time),
+    CONSTRAINT fk_bookings_archive_item_owner FOREIGN KEY (item_id, owner_id)
+        REFERENCES items (id, user_id) ON UPDATE CASCADE
+) PARTITION BY RANGE (start_time);
+
+DO $$
+BEGIN
+    FOR year IN 2020..2040 LOOP
+        EXECUTE format('CREATE TABLE IF NOT EXISTS bookings_archive_%s PARTITION OF bookings_archive '
+                           'FOR VALUES FROM (%L) TO (%L)',
+                       year, make_date(year, 1, 1), make_date(year + 1, 1, 1));
+    END LOOP;
+END $$;
+
+CREATE TABLE IF NOT EXISTS bookings_archive_default PARTITION OF bookings_archive DEFAULT;
@@ -0,0 +1,80 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.TestPropertySource;
+
+import javax.persistence.EntityManager;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsStringIgnoringCase;
+import static org.hamcrest.Matchers.not;
+
+@DataJpaTest()
+@TestPropertySource(properties = {"spring.jpa.hibernate.ddl-auto=validate"})
+class SchemaQueryPlanTest {
+    @Autowired
+    private EntityManager entityManager;
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "SELECT * FROM bookings b WHERE b.booker_id = 1 ORDER BY b.start_time DESC",
+            "SELECT * FROM bookings b WHERE b.booker_id = 1 AND b.status = 'WAITING' ORDER BY b.start_time DESC",
+            "SELECT * FROM bookings b WHERE b.booker_id = 1 AND b.end_time < NOW() ORDER BY b.start_time DESC",
+            "SELECT * FROM bookings b WHERE b.booker_id = 1 AND b.start_time > NOW() ORDER BY b.start_time DESC",
+            "SELECT * FROM bookings b WHERE b.item_id = 1 AND NOW() > b.start_time ORDER BY b.start_time DESC LIMIT 1",
+            "SELECT * FROM bookings b WHERE b.item_id = 1 AND NOW() < b.start_time ORDER BY b.start_time LIMIT 1",
+            "SELECT * FROM bookings b WHERE b.item_id = 1 AND b.booker_id = 2 AND NOW() > b.end_time",
+            "SELECT b.id FROM bookings b WHERE b.item_id = 1 AND b.status = 'APPROVED' " +
+                    "AND b.start_time < NOW() AND b.end_time > NOW()",
+            "SELECT b.id, b.booker_id FROM bookings b WHERE b.item_id = 1 AND b.end_time > NOW() " +
+                    "ORDER BY b.start_time LIMIT 513",
+            "SELECT b.id, b.booker_id FROM bookings b WHERE b.item_id = 1 AND b.end_time <= NOW() " +
+                    "ORDER BY b.start_time DESC LIMIT 513",
+            "SELECT b.id, b.booker_id FROM bookings b WHERE b.item_id IN (1, 2) AND b.end_time > NOW()",
+            "SELECT b.id, b.booker_id FROM bookings b WHERE b.item_id IN (1, 2) AND NOW() < b.start_time",
+            "SELECT * FROM bookings b WHERE b.owner_id = 1 ORDER BY b.start_time DESC",
+            "SELECT * FROM bookings b WHERE b.owner_id = 1 AND b.status = 'WAITING' ORDER BY b.start_time DESC",
+            "SELECT * FROM bookings b WHERE b.owner_id = 1 AND NOW() < b.start_time ORDER BY b.start_time DESC",
+            "SELECT b.id FROM bookings b WHERE b.status = 'WAITING' AND b.start_time < NOW() ORDER BY b.start_time",
+            "SELECT COUNT(*) FROM bookings b WHERE b.booker_id = 1 AND b.end_time < NOW()",
+            "SELECT COUNT(*) FROM bookings b WHERE b.owner_id = 1 AND b.end_time < NOW()",
+            "SELECT COUNT(*) FROM bookings b WHERE b.owner_id = 1 AND b.start_time > NOW()",
+            "SELECT b.id FROM bookings b WHERE b.end_time < NOW() AND b.status <> 'WAITING' ORDER BY b.end_time",
+            "SELECT * FROM bookings_archive a WHERE a.booker_id = 1 ORDER BY a.start_time DESC",
+            "SELECT * FROM bookings_archive a WHERE a.booker_id = 1 AND a.status = 'REJECTED' " +
+                    "ORDER BY a.start_time DESC",
+            "SELECT * FROM bookings_archive a WHERE a.owner_id = 1 ORDER BY a.start_time DESC",
+            "SELECT * FROM bookings_archive a WHERE a.owner_id = 1 AND a.status = 'REJECTED' " +
+                    "ORDER BY a.start_time DESC",
+            "SELECT * FROM bookings_archive a WHERE a.item_id = 1 AND NOW() > a.start_time " +
+                    "ORDER BY a.start_time DESC LIMIT 1",
+            "SELECT a.id, a.booker_id FROM bookings_archive a WHERE a.item_id = 1 AND a.end_time <= NOW() " +
+                    "ORDER BY a.start_time DESC LIMIT 513",
+            "SELECT a.id, a.booker_id FROM bookings_archive a WHERE a.item_id IN (1, 2) AND a.end_time <= NOW()",
+            "SELECT COUNT(*) FROM bookings_archive a WHERE a.owner_id = 1 AND a.end_time < NOW()",
+            "SELECT * FROM booking_counters c WHERE c.user_id = 1 AND c.role = 'OWNER'",
+            "SELECT * FROM owner_booking_view v WHERE v.owner_id = 1 ORDER BY v.start_time DESC",
+            "SELECT * FROM owner_booking_view v WHERE v.owner_id = 1 AND v.status = 'WAITING' " +
+                    "ORDER BY v.start_time DESC",
+            "SELECT * FROM owner_booking_view v WHERE v.owner_id = 1 AND v.end_time < NOW() " +
+                    "ORDER BY v.start_time DESC",
+            "SELECT * FROM owner_booking_view v WHERE v.owner_id = 1 AND NOW() < v.start_time " +
+                    "ORDER BY v.start_time DESC",
+            "SELECT * FROM owner_booking_view v WHERE v.owner_id = 1 AND NOW() BETWEEN v.start_time AND v.end_time " +
+                    "ORDER BY v.start_time DESC",
+            "SELECT * FROM items i WHERE i.user_id = 1 ORDER BY i.id",
+            "SELECT * FROM items i WHERE i.request_id = 1",
+            "SELECT * FROM comments c WHERE c.item_id = 1",
+            "SELECT * FROM requests r WHERE r.requestor_id = 1 ORDER BY r.created DESC"
+    })
+    void explain_whenHotQueryIsExecuted_thenTableIsNotScanned(String query) {
+        assertThat(explain(query), not(containsStringIgnoringCase("tableScan")));
+    }
+
+    private String explain(String query) {
+        return String.valueOf(entityManager.createNativeQuery("EXPLAIN " + query).getSingleResult());
+    }
+}
@@ -0,0 +1,89 @@
+package ru.practicum.shareit.audit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static ru.practicum.shareit.audit.AuditAction.CREATE;
+import static ru.practicum.shareit.audit.AuditAction.UPDATE;
+import static ru.practicum.shareit.audit.AuditEntity.BOOKING;
+import static ru.practicum.shareit.audit.AuditEntity.USER;
+
+class AuditLogTest {
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @TempDir
+    private Path directory;
+
+    private Path journal;
+    private AuditLog auditLog;
+
+    @BeforeEach
+    void createAuditLog() throws Exception {
+        journal = directory.resolve("audit").resolve("shareit-audit.jsonl");
+        auditLog = new AuditLog(true, journal, 100, objectMapper, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void record_whenNoTransaction_thenAppendJsonLine() throws Exception {
+        auditLog.record(AuditEvent.of(UPDATE, USER, 1L, 1L).change("email", "new@user.ru"));
+        auditLog.close();
+
+        List<String> lines = Files.readAllLines(journal);
+        assertThat(1, equalTo(lines.size()));
+        JsonNode event = objectMapper.readTree(lines.get(0));
+        assertThat("UPDATE", equalTo(event.get("action").asText()));
+        assertThat("USER", equalTo(event.get("entity").asText()));
+        assertThat(1L, equalTo(event.get("actorId").asLong()));
+        assertThat(1L, equalTo(event.get("entityIds").get(0).asLong()));
+        assertThat("new@user.ru", equalTo(event.get("changes").get("email").asText()));
+    }
+
+    @Test
+    void record_whenTransactionCommits_thenAppendAfterCommit() throws Exception {
+        TransactionSynchronizationManager.initSynchronization();
+        auditLog.record(AuditEvent.of(CREATE, BOOKING, 2L, 3L));
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        assertThat(1, equalTo(synchronizations.size()));
+
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        auditLog.close();
+
+        assertThat(1, equalTo(Files.readAllLines(journal).size()));
+    }
+
+    @Test
+    void record_whenTransactionRollsBack_thenAppendNothing() throws Exception {
+        TransactionSynchronizationManager.initSynchronization();
+        auditLog.record(AuditEvent.of(CREATE, BOOKING, 2L, 3L));
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        auditLog.close();
+
+        assertThat(0, equalTo(Files.readAllLines(journal).size()));
+        assertThat(0L, equalTo(auditLog.getDroppedCount()));
+    }
+}
@@ -6,11 +6,15 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.web.bind.MissingRequestHeaderException;
 import ru.practicum.shareit.booking.dto.BookingInnerDto;
 import ru.practicum.shareit.booking.dto.BookingOutDto;
+import ru.practicum.shareit.booking.dto.BookingUpdateResultDto;
+import ru.practicum.shareit.booking.enums.BookingState;
 import ru.practicum.shareit.booking.enums.BookingStatus;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.exception.NotFoundException;
@@ -21,8 +25,11 @@ import ru.practicum.shareit.user.dto.UserDto;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.function.Consumer;
 
 import static java.lang.Boolean.parseBoolean;
 import static java.lang.Integer.parseInt;
@@ -33,9 +40,12 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static ru.practicum.shareit.consts.ShareItAppConst.HEADER_CALLER_ID;
+import static ru.practicum.shareit.consts.ShareItAppConst.HEADER_TOTAL_COUNT;
 
 @WebMvcTest(controllers = BookingController.class)
 class BookingControllerTest {
@@ -242,6 +252,38 @@ class BookingControllerTest {
         verify(bookingService, times(1)).updateBooking(ownerId, bookingId, parseBoolean(approved));
     }
 
+    @SneakyThrows
+    @Test
+    void updateBookings_whenRequestIsValid_thenReturnResults() {
+        long ownerId = 1L;
+        String approved = "false";
+        List<Long> bookingIds = List.of(2L, 3L);
+        String exceptionMessage = String.format("The booking with id %s has already been confirmed", 3L);
+        List<BookingUpdateResultDto> results = List.of(
+                new BookingUpdateResultDto()
+                        .setBookingId(2L)
+                        .setBooking(new BookingOutDto().setId(2L).setStatus(BookingStatus.REJECTED)),
+                new BookingUpdateResultDto()
+                        .setBookingId(3L)
+                        .setError(exceptionMessage));
+        when(bookingService.updateBookings(ownerId, bookingIds, parseBoolean(approved))).thenReturn(results);
+
+        mockMvc.perform(patch("/bookings")
+                        .header(HEADER_CALLER_ID, ownerId)
+                        .param("approved", approved)
+                        .content(mapper.writeValueAsString(bookingIds))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].bookingId", is(2L), Long.class))
+                .andExpect(jsonPath("$[0].booking.status", is(BookingStatus.REJECTED.toString())))
+                .andExpect(jsonPath("$[1].bookingId", is(3L), Long.class))
+                .andExpect(jsonPath("$[1].error", is(exceptionMessage)));
+        verify(bookingService, times(1)).updateBookings(ownerId, bookingIds, parseBoolean(approved));
+    }
+
     @SneakyThrows
     @Test
     void getBookingById_whenNotRequestHeader_thenMissingRequestHeaderExceptionThrow() {
@@ -323,7 +365,7 @@ class BookingControllerTest {
         String from = "0";
         String size = "1";
         String exceptionMessage = String.format("User with id %s not found", userId);
-        when(bookingService.getBookingsForBooker(userId, state, parseInt(from), parseInt(size)))
+        when(bookingService.getBookingPageForBooker(userId, state, parseInt(from), parseInt(size)))
                 .thenThrow(new NotFoundException(exceptionMessage));
 
         mockMvc.perform(get("/bookings")
@@ -337,7 +379,7 @@ class BookingControllerTest {
                 .andExpect(result -> assertEquals(exceptionMessage,
                         Objects.requireNonNull(result.getResolvedException()).getMessage()));
         verify(bookingService, times(1))
-                .getBookingsForBooker(userId, state, parseInt(from), parseInt(size));
+                .getBookingPageForBooker(userId, state, parseInt(from), parseInt(size));
     }
 
     @SneakyThrows
@@ -358,14 +400,15 @@ class BookingControllerTest {
                 .setEnd(end)
                 .setStatus(BookingStatus.APPROVED);
         List<BookingOutDto> bookings = List.of(bookingOut);
-        when(bookingService.getBookingsForBooker(userId, state, parseInt(from), parseInt(size)))
-                .thenReturn(bookings);
+        when(bookingService.getBookingPageForBooker(userId, state, parseInt(from), parseInt(size)))
+                .thenReturn(new PageImpl<>(bookings, PageRequest.of(0, 1), 5));
 
         mockMvc.perform(get("/bookings")
                         .header(HEADER_CALLER_ID, userId)
                         .param("from", from)
                         .param("size", size))
                 .andExpect(status().isOk())
+                .andExpect(header().string(HEADER_TOTAL_COUNT, "5"))
                 .andExpect(jsonPath("$", hasSize(1)))
                 .andExpect(jsonPath("$[0].id", is(bookingId), Long.class))
                 .andExpect(jsonPath("$[0].item", is(bookingOut.getItem()), ItemOutShortDto.class))
@@ -391,7 +434,7 @@ class BookingControllerTest {
                 .setEnd(end)
                 .setStatus(BookingStatus.APPROVED);
         List<BookingOutDto> bookings = List.of(bookingOut);
-        when(bookingService.getBookingsForBooker(userId, state, null, null)).thenReturn(bookings);
+        when(bookingService.getBookingPageForBooker(userId, state, null, null)).thenReturn(new PageImpl<>(bookings));
 
         mockMvc.perform(get("/bookings")
                         .header(HEADER_CALLER_ID, userId)
@@ -429,7 +472,7 @@ class BookingControllerTest {
         String from = "0";
         String size = "1";
         String exceptionMessage = String.format("User with id %s not found", userId);
-        when(bookingService.getBookingsForOwner(userId, state, parseInt(from), parseInt(size)))
+        when(bookingService.getBookingPageForOwner(userId, state, parseInt(from), parseInt(size)))
                 .thenThrow(new NotFoundException(exceptionMessage));
 
         mockMvc.perform(get("/bookings/owner")
@@ -443,7 +486,7 @@ class BookingControllerTest {
                 .andExpect(result -> assertEquals(exceptionMessage,
                         Objects.requireNonNull(result.getResolvedException()).getMessage()));
         verify(bookingService, times(1))
-                .getBookingsForOwner(userId, state, parseInt(from), parseInt(size));
+                .getBookingPageForOwner(userId, state, parseInt(from), parseInt(size));
     }
 
     @SneakyThrows
@@ -464,8 +507,8 @@ class BookingControllerTest {
                 .setEnd(end)
                 .setStatus(BookingStatus.APPROVED);
         List<BookingOutDto> bookings = List.of(bookingOut);
-        when(bookingService.getBookingsForOwner(userId, state, parseInt(from), parseInt(size)))
-                .thenReturn(bookings);
+        when(bookingService.getBookingPageForOwner(userId, state, parseInt(from), parseInt(size)))
+                .thenReturn(new PageImpl<>(bookings));
 
         mockMvc.perform(get("/bookings/owner")
                         .header(HEADER_CALLER_ID, userId)
@@ -497,12 +540,13 @@ class BookingControllerTest {
                 .setEnd(end)
                 .setStatus(BookingStatus.APPROVED);
         List<BookingOutDto> bookings = List.of(bookingOut);
-        when(bookingService.getBookingsForOwner(userId, state, null, null)).thenReturn(bookings);
+        when(bookingService.getBookingPageForOwner(userId, state, null, null)).thenReturn(new PageImpl<>(bookings));
 
         mockMvc.perform(get("/bookings/owner")
                         .header(HEADER_CALLER_ID, userId)
                         .param("state", state))
                 .andExpect(status().isOk())
+                .andExpect(header().string(HEADER_TOTAL_COUNT, "1"))
                 .andExpect(jsonPath("$", hasSize(1)))
                 .andExpect(jsonPath("$[0].id", is(bookingId), Long.class))
                 .andExpect(jsonPath("$[0].item", is(bookingOut.getItem()), ItemOutShortDto.class))
@@ -511,4 +555,73 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$[0].end", is(end.toString())))
                 .andExpect(jsonPath("$[0].status", is(bookingOut.getStatus().toString())));
     }
-}
\ No newline at end of file
+
+    @SneakyThrows
+    @Test
+    void exportBookingsForOwner_whenBookingsExist_thenWriteOneJsonLinePerBooking() {
+        long userId = 1L;
+        doAnswer(invocation -> {
+            Consumer<BookingOutDto> consumer = invocation.getArgument(1);
+            consumer.accept(new BookingOutDto().setId(2L).setStatus(BookingStatus.APPROVED));
+            consumer.accept(new BookingOutDto().setId(3L).setStatus(BookingStatus.WAITING));
+            return null;
+        }).when(bookingService).exportBookingsForOwner(eq(userId), any());
+
+        String content = mockMvc.perform(get("/bookings/owner/export")
+                        .header(HEADER_CALLER_ID, userId))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString(StandardCharsets.UTF_8);
+
+        String[] lines = content.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals(2L, mapper.readValue(lines[0], BookingOutDto.class).getId());
+        assertEquals(BookingStatus.WAITING, mapper.readValue(lines[1], BookingOutDto.class).getStatus());
+    }
+
+    @SneakyThrows
+    @Test
+    void exportBookingsForOwner_whenUserIsNotFound_thenNotFoundExceptionThrow() {
+        long userId = 1L;
+        String exceptionMessage = String.format("User with id %s not found", userId);
+        doThrow(new NotFoundException(exceptionMessage))
+                .when(bookingService).exportBookingsForOwner(eq(userId), any());
+
+        mockMvc.perform(get("/bookings/owner/export")
+                        .header(HEADER_CALLER_ID, userId))
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+
+    @SneakyThrows
+    @Test
+    void getBookingCountsForBooker_whenUserIsFound_thenReturnCountsPerState() {
+        long userId = 1L;
+        Map<BookingState, Long> counts = new EnumMap<>(BookingState.class);
+        counts.put(BookingState.ALL, 3L);
+        counts.put(BookingState.WAITING, 1L);
+        when(bookingService.getBookingCountsForBooker(userId)).thenReturn(counts);
+
+        mockMvc.perform(get("/bookings/counts")
+                        .header(HEADER_CALLER_ID, userId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.ALL", is(3L), Long.class))
+                .andExpect(jsonPath("$.WAITING", is(1L), Long.class));
+    }
+
+    @SneakyThrows
+    @Test
+    void getBookingCountsForOwner_whenUserIsNotFound_thenNotFoundExceptionThrow() {
+        long userId = 1L;
+        String exceptionMessage = String.format("User with id %s not found", userId);
+        when(bookingService.getBookingCountsForOwner(userId)).thenThrow(new NotFoundException(exceptionMessage));
+
+        mockMvc.perform(get("/bookings/owner/counts")
+                        .header(HEADER_CALLER_ID, userId))
+                .andExpect(status().isNotFound())
+                .andExpect(result -> assertEquals(exceptionMessage,
+                        Objects.requireNonNull(result.getResolvedException()).getMessage()));
+    }
+}
@@ -0,0 +1,117 @@
+package ru.practicum.shareit.booking.counter;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.dto.BookingInnerDto;
+import ru.practicum.shareit.booking.enums.BookingState;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.dto.ItemInnerDto;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+@SpringBootTest
+class BookingCountersTest {
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    private long ownerId;
+    private long firstBookerId;
+    private long secondBookerId;
+
+    @BeforeEach
+    void saveData() {
+        ownerId = userService.addUser(new UserDto()
+                .setName("Owner name")
+                .setEmail("counters-owner@yandex.ru")).getId();
+        firstBookerId = userService.addUser(new UserDto()
+                .setName("First booker name")
+                .setEmail("counters-booker1@yandex.ru")).getId();
+        secondBookerId = userService.addUser(new UserDto()
+                .setName("Second booker name")
+                .setEmail("counters-booker2@yandex.ru")).getId();
+        long itemId = itemService.addItem(ownerId, new ItemInnerDto()
+                .setName("Item name")
+                .setDescription("Item description")
+                .setAvailable(true)).getId();
+        LocalDateTime now = LocalDateTime.now();
+        long futureBookingId = addBooking(firstBookerId, itemId, now.plusDays(1), now.plusDays(2));
+        addBooking(firstBookerId, itemId, now.minusDays(1), now.plusDays(1));
+        long pastBookingId = addBooking(secondBookerId, itemId, now.minusDays(3), now.minusDays(2));
+        bookingService.updateBooking(ownerId, futureBookingId, true);
+        bookingService.updateBooking(ownerId, pastBookingId, false);
+        bookingService.expireWaitingBookings(LocalDateTime.now(), 10);
+    }
+
+    @AfterEach
+    void deleteData() {
+        bookingRepository.deleteAll();
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void getBookingCounts_whenBookingsChangeStatus_thenCountersFollowTransitions() {
+        Map<BookingState, Long> ownerCounts = bookingService.getBookingCountsForOwner(ownerId);
+        Map<BookingState, Long> bookerCounts = bookingService.getBookingCountsForBooker(firstBookerId);
+
+        assertThat(Map.of(BookingState.ALL, 3L, BookingState.CURRENT, 1L, BookingState.PAST, 1L,
+                BookingState.FUTURE, 1L, BookingState.WAITING, 0L, BookingState.REJECTED, 1L,
+                BookingState.EXPIRED, 1L), equalTo(ownerCounts));
+        assertThat(Map.of(BookingState.ALL, 2L, BookingState.CURRENT, 1L, BookingState.PAST, 0L,
+                BookingState.FUTURE, 1L, BookingState.WAITING, 0L, BookingState.REJECTED, 0L,
+                BookingState.EXPIRED, 1L), equalTo(bookerCounts));
+    }
+
+    @Test
+    void getBookingCounts_whenCalledForEveryState_thenMatchTheSizeOfTheList() {
+        Map<BookingState, Long> ownerCounts = bookingService.getBookingCountsForOwner(ownerId);
+        Map<BookingState, Long> bookerCounts = bookingService.getBookingCountsForBooker(firstBookerId);
+        for (BookingState state : BookingState.values()) {
+            assertThat(state.name(), (long) bookingService.getBookingsForOwner(ownerId, state.name(), null, null)
+                    .size(), equalTo(ownerCounts.get(state)));
+            assertThat(state.name(), (long) bookingService.getBookingsForBooker(firstBookerId, state.name(), null,
+                    null).size(), equalTo(bookerCounts.get(state)));
+        }
+    }
+
+    @Test
+    void getBookingCountsForOwner_whenBookerIsDeleted_thenTheirBookingsAreNotCounted() {
+        userService.delUserById(secondBookerId);
+
+        Map<BookingState, Long> ownerCounts = bookingService.getBookingCountsForOwner(ownerId);
+
+        assertThat(2L, equalTo(ownerCounts.get(BookingState.ALL)));
+        assertThat(0L, equalTo(ownerCounts.get(BookingState.REJECTED)));
+        assertThat(0L, equalTo(ownerCounts.get(BookingState.PAST)));
+    }
+
+    private long addBooking(long bookerId, long itemId, LocalDateTime start, LocalDateTime end) {
+        return bookingService.addBooking(bookerId, new BookingInnerDto()
+                .setItemId(itemId)
+                .setStart(start)
+                .setEnd(end)).getId();
+    }
+}
@@ -0,0 +1,76 @@
+package ru.practicum.shareit.booking.job;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.service.BookingService;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookingArchiveJobTest {
+    private static final Duration HORIZON = Duration.ofDays(30);
+    private static final int BATCH_SIZE = 2;
+    private static final int MAX_BATCHES_PER_RUN = 3;
+
+    @Mock
+    private BookingService bookingService;
+
+    private MeterRegistry meterRegistry;
+    private BookingArchiveJob bookingArchiveJob;
+
+    @BeforeEach
+    void createJob() {
+        meterRegistry = new SimpleMeterRegistry();
+        bookingArchiveJob = new BookingArchiveJob(bookingService, meterRegistry, HORIZON, BATCH_SIZE,
+                MAX_BATCHES_PER_RUN);
+    }
+
+    @Test
+    void archiveFinishedBookings_whenLastBatchIsNotFull_thenStopAndRecordMetrics() {
+        when(bookingService.archiveFinishedBookings(any(LocalDateTime.class), eq(BATCH_SIZE)))
+                .thenReturn(2, 1);
+
+        bookingArchiveJob.archiveFinishedBookings();
+
+        verify(bookingService, times(2)).archiveFinishedBookings(any(LocalDateTime.class), eq(BATCH_SIZE));
+        assertThat(3.0, equalTo(meterRegistry.counter("shareit.booking.archive.rows").count()));
+        assertThat(2L, equalTo(meterRegistry.timer("shareit.booking.archive.batch").count()));
+    }
+
+    @Test
+    void archiveFinishedBookings_whenEveryBatchIsFull_thenStopAfterMaxBatches() {
+        when(bookingService.archiveFinishedBookings(any(LocalDateTime.class), eq(BATCH_SIZE)))
+                .thenReturn(BATCH_SIZE);
+
+        bookingArchiveJob.archiveFinishedBookings();
+
+        verify(bookingService, times(MAX_BATCHES_PER_RUN))
+                .archiveFinishedBookings(any(LocalDateTime.class), eq(BATCH_SIZE));
+        assertThat(6.0, equalTo(meterRegistry.counter("shareit.booking.archive.rows").count()));
+    }
+
+    @Test
+    void archiveFinishedBookings_whenRun_thenArchiveBookingsOlderThanHorizon() {
+        ArgumentCaptor<LocalDateTime> dateTimeCaptor = ArgumentCaptor.forClass(LocalDateTime.class);
+        when(bookingService.archiveFinishedBookings(dateTimeCaptor.capture(), eq(BATCH_SIZE))).thenReturn(0);
+
+        bookingArchiveJob.archiveFinishedBookings();
+
+        assertThat(dateTimeCaptor.getValue(), lessThanOrEqualTo(LocalDateTime.now().minus(HORIZON)));
+        assertThat(0.0, equalTo(meterRegistry.counter("shareit.booking.archive.rows").count()));
+    }
+}
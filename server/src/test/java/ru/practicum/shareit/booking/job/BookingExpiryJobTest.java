@@ -0,0 +1,70 @@
+package ru.practicum.shareit.booking.job;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.service.BookingService;
+
+import java.time.LocalDateTime;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookingExpiryJobTest {
+    private static final int BATCH_SIZE = 2;
+    private static final int MAX_BATCHES_PER_RUN = 3;
+
+    @Mock
+    private BookingService bookingService;
+
+    private MeterRegistry meterRegistry;
+    private BookingExpiryJob bookingExpiryJob;
+
+    @BeforeEach
+    void createJob() {
+        meterRegistry = new SimpleMeterRegistry();
+        bookingExpiryJob = new BookingExpiryJob(bookingService, meterRegistry, BATCH_SIZE, MAX_BATCHES_PER_RUN);
+    }
+
+    @Test
+    void expireStaleBookings_whenLastBatchIsNotFull_thenStopAndRecordMetrics() {
+        when(bookingService.expireWaitingBookings(any(LocalDateTime.class), eq(BATCH_SIZE)))
+                .thenReturn(2, 1);
+
+        bookingExpiryJob.expireStaleBookings();
+
+        verify(bookingService, times(2)).expireWaitingBookings(any(LocalDateTime.class), eq(BATCH_SIZE));
+        assertThat(3.0, equalTo(meterRegistry.counter("shareit.booking.expiry.rows").count()));
+        assertThat(2L, equalTo(meterRegistry.timer("shareit.booking.expiry.batch").count()));
+    }
+
+    @Test
+    void expireStaleBookings_whenEveryBatchIsFull_thenStopAfterMaxBatches() {
+        when(bookingService.expireWaitingBookings(any(LocalDateTime.class), eq(BATCH_SIZE)))
+                .thenReturn(BATCH_SIZE);
+
+        bookingExpiryJob.expireStaleBookings();
+
+        verify(bookingService, times(MAX_BATCHES_PER_RUN))
+                .expireWaitingBookings(any(LocalDateTime.class), eq(BATCH_SIZE));
+        assertThat(6.0, equalTo(meterRegistry.counter("shareit.booking.expiry.rows").count()));
+    }
+
+    @Test
+    void expireStaleBookings_whenNothingToExpire_thenRunOneBatch() {
+        when(bookingService.expireWaitingBookings(any(LocalDateTime.class), eq(BATCH_SIZE))).thenReturn(0);
+
+        bookingExpiryJob.expireStaleBookings();
+
+        verify(bookingService, times(1)).expireWaitingBookings(any(LocalDateTime.class), eq(BATCH_SIZE));
+        assertThat(0.0, equalTo(meterRegistry.counter("shareit.booking.expiry.rows").count()));
+    }
+}
@@ -8,19 +8,30 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.TestPropertySource;
+import ru.practicum.shareit.booking.counter.BookingCounter;
+import ru.practicum.shareit.booking.dto.BookingOutDto;
+import ru.practicum.shareit.booking.enums.BookingStatus;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.timeline.BookingTimeline;
+import ru.practicum.shareit.booking.timeline.BookingTimelineEntry;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static ru.practicum.shareit.booking.enums.BookingStatus.APPROVED;
+import static ru.practicum.shareit.booking.enums.BookingStatus.EXPIRED;
 import static ru.practicum.shareit.booking.enums.BookingStatus.REJECTED;
 import static ru.practicum.shareit.booking.enums.BookingStatus.WAITING;
 
@@ -74,6 +85,7 @@ class BookingRepositoryTest {
         assertThat(newBooking.getItem(), equalTo(bookingStorage.getItem()));
         assertThat(newBooking.getBooker(), equalTo(bookingStorage.getBooker()));
         assertThat(newBooking.getStatus(), equalTo(bookingStorage.getStatus()));
+        assertThat(ownerStorage.getId(), equalTo(bookingStorage.getOwnerId()));
     }
 
     @Test
@@ -86,7 +98,7 @@ class BookingRepositoryTest {
                 .setStatus(WAITING);
 
         DataIntegrityViolationException e = Assertions.assertThrows(
-                DataIntegrityViolationException.class, () -> bookingRepository.save(newBooking));
+                DataIntegrityViolationException.class, () -> bookingRepository.saveAndFlush(newBooking));
     }
 
     @Test
@@ -99,7 +111,7 @@ class BookingRepositoryTest {
                 .setStatus(WAITING);
 
         DataIntegrityViolationException e = Assertions.assertThrows(
-                DataIntegrityViolationException.class, () -> bookingRepository.save(newBooking));
+                DataIntegrityViolationException.class, () -> bookingRepository.saveAndFlush(newBooking));
     }
 
     @Test
@@ -123,294 +135,230 @@ class BookingRepositoryTest {
     }
 
     @Test
-    void findAllByBookerIdOrderByStartDesc_whenPageableIsSet_thenReturnLimitedList() {
-        Booking newBooking1 = new Booking()
-                .setStart(LocalDateTime.now().minusDays(5))
-                .setEnd(LocalDateTime.now().minusDays(2))
-                .setItem(itemStorage)
-                .setBooker(bookerStorage)
-                .setStatus(WAITING);
-        Booking newBooking2 = new Booking()
+    void updateStatusByIdAndStatus_whenStatusWasChanged_thenNotUpdate() {
+        Booking bookingStorage = bookingRepository.save(new Booking()
                 .setStart(LocalDateTime.now().plusDays(2))
                 .setEnd(LocalDateTime.now().plusDays(5))
                 .setItem(itemStorage)
                 .setBooker(bookerStorage)
-                .setStatus(WAITING);
-        Booking bookingStorage1 = bookingRepository.save(newBooking1);
-        Booking bookingStorage2 = bookingRepository.save(newBooking2);
-        PageRequest pageable = PageRequest.of(0, 1);
-
-        List<Booking> bookings = bookingRepository
-                .findAllByBookerIdOrderByStartDesc(bookerStorage.getId(), pageable);
-
-        assertThat(bookings, hasSize(1));
-        assertThat(bookings, hasItem(bookingStorage2));
-    }
-
-    @Test
-    void findAllByBookerIdOrderByStartDesc_whenPageableIsNotSet_thenReturnFullList() {
-        Booking newBooking1 = new Booking()
-                .setStart(LocalDateTime.now().minusDays(5))
-                .setEnd(LocalDateTime.now().minusDays(2))
-                .setItem(itemStorage)
-                .setBooker(bookerStorage)
-                .setStatus(WAITING);
-        Booking newBooking2 = new Booking()
-                .setStart(LocalDateTime.now().plusDays(2))
-                .setEnd(LocalDateTime.now().plusDays(5))
-                .setItem(itemStorage)
-                .setBooker(bookerStorage)
-                .setStatus(WAITING);
-        Booking bookingStorage1 = bookingRepository.save(newBooking1);
-        Booking bookingStorage2 = bookingRepository.save(newBooking2);
+                .setStatus(REJECTED));
 
-        List<Booking> bookings = bookingRepository
-                .findAllByBookerIdOrderByStartDesc(bookerStorage.getId());
+        int notUpdated = bookingRepository.updateStatusByIdAndStatus(bookingStorage.getId(), WAITING, APPROVED);
+        int updated = bookingRepository.updateStatusByIdAndStatus(bookingStorage.getId(), REJECTED, APPROVED);
 
-        assertThat(bookings, hasSize(2));
-        assertTrue(bookings.get(0).getStart().isAfter(bookings.get(1).getStart()));
+        assertThat(0, equalTo(notUpdated));
+        assertThat(1, equalTo(updated));
     }
 
     @Test
-    void findAllByBookerIdAndStatusOrderByStartDesc_whenPageableIsSet_thenReturnLimitedList() {
-        Booking newBooking1 = new Booking()
-                .setStart(LocalDateTime.now().minusDays(5))
-                .setEnd(LocalDateTime.now().minusDays(2))
-                .setItem(itemStorage)
-                .setBooker(bookerStorage)
-                .setStatus(WAITING);
-        Booking newBooking2 = new Booking()
+    void updateStatusByIdInAndStatus_whenBookingsAreFound_thenUpdateOnlyTheseBookings() {
+        Booking firstBooking = bookingRepository.save(new Booking()
                 .setStart(LocalDateTime.now().plusDays(2))
                 .setEnd(LocalDateTime.now().plusDays(5))
                 .setItem(itemStorage)
                 .setBooker(bookerStorage)
-                .setStatus(WAITING);
-        Booking bookingStorage1 = bookingRepository.save(newBooking1);
-        Booking bookingStorage2 = bookingRepository.save(newBooking2);
-        PageRequest pageable = PageRequest.of(0, 1);
-
-        List<Booking> bookings = bookingRepository
-                .findAllByBookerIdAndStatusOrderByStartDesc(bookerStorage.getId(), WAITING, pageable);
-
-        assertThat(bookings, hasSize(1));
-        assertThat(bookings, hasItem(bookingStorage2));
-    }
-
-    @Test
-    void findAllByBookerIdAndStatusOrderByStartDesc_whenPageableIsNotSet_thenReturnFullList() {
-        Booking newBooking1 = new Booking()
-                .setStart(LocalDateTime.now().minusDays(5))
-                .setEnd(LocalDateTime.now().minusDays(2))
-                .setItem(itemStorage)
-                .setBooker(bookerStorage)
-                .setStatus(REJECTED);
-        Booking newBooking2 = new Booking()
-                .setStart(LocalDateTime.now().plusDays(2))
-                .setEnd(LocalDateTime.now().plusDays(5))
+                .setStatus(WAITING));
+        Booking secondBooking = bookingRepository.save(new Booking()
+                .setStart(LocalDateTime.now().plusDays(6))
+                .setEnd(LocalDateTime.now().plusDays(8))
                 .setItem(itemStorage)
                 .setBooker(bookerStorage)
-                .setStatus(WAITING);
-        Booking bookingStorage1 = bookingRepository.save(newBooking1);
-        Booking bookingStorage2 = bookingRepository.save(newBooking2);
+                .setStatus(WAITING));
 
-        List<Booking> bookings = bookingRepository
-                .findAllByBookerIdAndStatusOrderByStartDesc(bookerStorage.getId(), REJECTED);
+        int updated = bookingRepository.updateStatusByIdInAndStatus(List.of(firstBooking.getId()), WAITING,
+                APPROVED);
 
-        assertThat(bookings, hasSize(1));
-        assertThat(bookings, hasItem(bookingStorage1));
+        List<Booking> bookings = bookingRepository.findAllWithItemAndBookerByIdIn(
+                List.of(firstBooking.getId(), secondBooking.getId()));
+        assertThat(1, equalTo(updated));
+        assertThat(2, equalTo(bookings.size()));
+        assertThat(APPROVED, equalTo(bookingRepository.getReferenceById(firstBooking.getId()).getStatus()));
+        assertThat(WAITING, equalTo(bookingRepository.getReferenceById(secondBooking.getId()).getStatus()));
     }
 
     @Test
-    void findAllByBookerIdAndEndBeforeOrderByStartDesc_whenPageableIsSet_thenReturnLimitedList() {
-        Booking newBooking1 = new Booking()
-                .setStart(LocalDateTime.now().minusDays(5))
-                .setEnd(LocalDateTime.now().minusDays(2))
+    void updateStatusByIdInAndStatus_whenWaitingBookingsStarted_thenExpireOnlyWaitingOnes() {
+        Booking staleBooking = bookingRepository.save(new Booking()
+                .setStart(LocalDateTime.now().minusDays(2))
+                .setEnd(LocalDateTime.now().plusDays(1))
                 .setItem(itemStorage)
                 .setBooker(bookerStorage)
-                .setStatus(WAITING);
-        Booking newBooking2 = new Booking()
-                .setStart(LocalDateTime.now().minusDays(1))
-                .setEnd(LocalDateTime.now().minusMinutes(5))
+                .setStatus(WAITING));
+        Booking approvedBooking = bookingRepository.save(new Booking()
+                .setStart(LocalDateTime.now().minusDays(3))
+                .setEnd(LocalDateTime.now().plusDays(1))
                 .setItem(itemStorage)
                 .setBooker(bookerStorage)
-                .setStatus(WAITING);
-        Booking newBooking3 = new Booking()
+                .setStatus(APPROVED));
+        Booking futureBooking = bookingRepository.save(new Booking()
                 .setStart(LocalDateTime.now().plusDays(2))
-                .setEnd(LocalDateTime.now().plusDays(5))
+                .setEnd(LocalDateTime.now().plusDays(3))
                 .setItem(itemStorage)
                 .setBooker(bookerStorage)
-                .setStatus(WAITING);
-        Booking bookingStorage1 = bookingRepository.save(newBooking1);
-        Booking bookingStorage2 = bookingRepository.save(newBooking2);
-        Booking bookingStorage3 = bookingRepository.save(newBooking3);
-        PageRequest pageable = PageRequest.of(0, 1);
+                .setStatus(WAITING));
 
-        List<Booking> bookings = bookingRepository
-                .findAllByBookerIdAndEndBeforeOrderByStartDesc(bookerStorage.getId(), LocalDateTime.now(), pageable);
+        List<Long> staleBookingIds = bookingRepository.findAllByStatusAndStartBeforeOrderByStart(WAITING,
+                        LocalDateTime.now(), PageRequest.of(0, 10)).stream()
+                .map(Booking::getId)
+                .collect(Collectors.toList());
+        int expired = bookingRepository.updateStatusByIdInAndStatus(
+                List.of(staleBooking.getId(), approvedBooking.getId()), WAITING, EXPIRED);
 
-        assertThat(bookings, hasSize(1));
-        assertThat(bookings, hasItem(bookingStorage2));
+        assertThat(List.of(staleBooking.getId()), equalTo(staleBookingIds));
+        assertThat(1, equalTo(expired));
+        assertThat(EXPIRED, equalTo(bookingRepository.getReferenceById(staleBooking.getId()).getStatus()));
+        assertThat(APPROVED, equalTo(bookingRepository.getReferenceById(approvedBooking.getId()).getStatus()));
+        assertThat(WAITING, equalTo(bookingRepository.getReferenceById(futureBooking.getId()).getStatus()));
     }
 
     @Test
-    void findAllByBookerIdAndEndBeforeOrderByStartDesc_whenPageableIsNotSet_thenReturnFullList() {
-        Booking newBooking1 = new Booking()
-                .setStart(LocalDateTime.now().minusDays(5))
-                .setEnd(LocalDateTime.now().minusDays(2))
-                .setItem(itemStorage)
-                .setBooker(bookerStorage)
-                .setStatus(WAITING);
-        Booking newBooking2 = new Booking()
-                .setStart(LocalDateTime.now().minusDays(1))
-                .setEnd(LocalDateTime.now().minusMinutes(5))
+    void streamAllByOwnerId_whenBookingsExist_thenStreamOwnerBookingsLatestFirst() {
+        Booking earlierBooking = bookingRepository.save(new Booking()
+                .setStart(LocalDateTime.now().plusDays(1))
+                .setEnd(LocalDateTime.now().plusDays(2))
                 .setItem(itemStorage)
                 .setBooker(bookerStorage)
-                .setStatus(WAITING);
-        Booking newBooking3 = new Booking()
-                .setStart(LocalDateTime.now().plusDays(2))
-                .setEnd(LocalDateTime.now().plusDays(5))
+                .setStatus(WAITING));
+        Booking laterBooking = bookingRepository.save(new Booking()
+                .setStart(LocalDateTime.now().plusDays(3))
+                .setEnd(LocalDateTime.now().plusDays(4))
                 .setItem(itemStorage)
                 .setBooker(bookerStorage)
-                .setStatus(WAITING);
-        Booking bookingStorage1 = bookingRepository.save(newBooking1);
-        Booking bookingStorage2 = bookingRepository.save(newBooking2);
-        Booking bookingStorage3 = bookingRepository.save(newBooking3);
+                .setStatus(APPROVED));
 
-        List<Booking> bookings = bookingRepository
-                .findAllByBookerIdAndEndBeforeOrderByStartDesc(bookerStorage.getId(), LocalDateTime.now());
+        List<Long> ownerBookingIds;
+        try (Stream<Booking> bookings = bookingRepository.streamAllByOwnerId(ownerStorage.getId())) {
+            ownerBookingIds = bookings.map(Booking::getId).collect(Collectors.toList());
+        }
+        long bookerBookingsCount;
+        try (Stream<Booking> bookings = bookingRepository.streamAllByOwnerId(bookerStorage.getId())) {
+            bookerBookingsCount = bookings.count();
+        }
 
-        assertThat(bookings, hasSize(2));
-        assertTrue(bookings.get(0).getStart().isAfter(bookings.get(1).getStart()));
+        assertThat(List.of(laterBooking.getId(), earlierBooking.getId()), equalTo(ownerBookingIds));
+        assertThat(0L, equalTo(bookerBookingsCount));
     }
 
     @Test
-    void findAllByBookerIdAndStartAfterOrderByStartDesc_whenPageableIsSet_thenReturnLimitedList() {
-        Booking newBooking1 = new Booking()
-                .setStart(LocalDateTime.now().minusDays(5))
-                .setEnd(LocalDateTime.now().minusDays(2))
+    void countByBookerIdAndEndBefore_whenBookingsExist_thenCountOnlyPastAndFutureOnes() {
+        LocalDateTime now = LocalDateTime.now();
+        bookingRepository.save(new Booking()
+                .setStart(now.minusDays(3))
+                .setEnd(now.minusDays(2))
                 .setItem(itemStorage)
                 .setBooker(bookerStorage)
-                .setStatus(WAITING);
-        Booking newBooking2 = new Booking()
-                .setStart(LocalDateTime.now().plusMinutes(5))
-                .setEnd(LocalDateTime.now().plusDays(1))
+                .setStatus(APPROVED));
+        bookingRepository.save(new Booking()
+                .setStart(now.minusDays(1))
+                .setEnd(now.plusDays(1))
                 .setItem(itemStorage)
                 .setBooker(bookerStorage)
-                .setStatus(WAITING);
-        Booking newBooking3 = new Booking()
-                .setStart(LocalDateTime.now().plusDays(2))
-                .setEnd(LocalDateTime.now().plusDays(5))
+                .setStatus(APPROVED));
+        bookingRepository.save(new Booking()
+                .setStart(now.plusDays(1))
+                .setEnd(now.plusDays(2))
                 .setItem(itemStorage)
                 .setBooker(bookerStorage)
-                .setStatus(WAITING);
-        Booking bookingStorage1 = bookingRepository.save(newBooking1);
-        Booking bookingStorage2 = bookingRepository.save(newBooking2);
-        Booking bookingStorage3 = bookingRepository.save(newBooking3);
-        PageRequest pageable = PageRequest.of(0, 1);
+                .setStatus(WAITING));
 
-        List<Booking> bookings = bookingRepository
-                .findAllByBookerIdAndStartAfterOrderByStartDesc(bookerStorage.getId(), LocalDateTime.now(), pageable);
-
-        assertThat(bookings, hasSize(1));
-        assertThat(bookings, hasItem(bookingStorage3));
+        assertThat(1L, equalTo(bookingRepository.countByBookerIdAndEndBefore(bookerStorage.getId(), now)));
+        assertThat(1L, equalTo(bookingRepository.countByBookerIdAndStartAfter(bookerStorage.getId(), now)));
+        assertThat(1L, equalTo(bookingRepository.countByOwnerIdAndEndBefore(ownerStorage.getId(), now)));
+        assertThat(1L, equalTo(bookingRepository.countByOwnerIdAndStartAfter(ownerStorage.getId(), now)));
+        assertThat(0L, equalTo(bookingRepository.countByOwnerIdAndStartAfter(bookerStorage.getId(), now)));
     }
 
     @Test
-    void findAllByBookerIdAndStartAfterOrderByStartDesc_whenPageableIsNotSet_thenReturnFullList() {
-        Booking newBooking1 = new Booking()
-                .setStart(LocalDateTime.now().minusDays(5))
-                .setEnd(LocalDateTime.now().minusDays(2))
-                .setItem(itemStorage)
-                .setBooker(bookerStorage)
-                .setStatus(WAITING);
-        Booking newBooking2 = new Booking()
-                .setStart(LocalDateTime.now().plusMinutes(5))
-                .setEnd(LocalDateTime.now().plusDays(1))
-                .setItem(itemStorage)
-                .setBooker(bookerStorage)
-                .setStatus(WAITING);
-        Booking newBooking3 = new Booking()
-                .setStart(LocalDateTime.now().plusDays(2))
-                .setEnd(LocalDateTime.now().plusDays(5))
-                .setItem(itemStorage)
-                .setBooker(bookerStorage)
-                .setStatus(WAITING);
-        Booking bookingStorage1 = bookingRepository.save(newBooking1);
-        Booking bookingStorage2 = bookingRepository.save(newBooking2);
-        Booking bookingStorage3 = bookingRepository.save(newBooking3);
-
-        List<Booking> bookings = bookingRepository
-                .findAllByBookerIdAndStartAfterOrderByStartDesc(bookerStorage.getId(), LocalDateTime.now());
-
-        assertThat(bookings, hasSize(2));
-        assertTrue(bookings.get(0).getStart().isAfter(bookings.get(1).getStart()));
+    void countOwnerBookingsByBookerId_whenBookingsExist_thenGroupByOwnerAndStatus() {
+        for (BookingStatus status : List.of(WAITING, WAITING, REJECTED)) {
+            bookingRepository.save(new Booking()
+                    .setStart(LocalDateTime.now().plusDays(1))
+                    .setEnd(LocalDateTime.now().plusDays(2))
+                    .setItem(itemStorage)
+                    .setBooker(bookerStorage)
+                    .setStatus(status));
+        }
+
+        List<BookingCounter> ownerCounters = bookingRepository.countOwnerBookingsByBookerId(bookerStorage.getId());
+        List<BookingCounter> bookerCounters = bookingRepository.countBookerBookingsByOwnerId(ownerStorage.getId());
+
+        assertThat(2, equalTo(ownerCounters.size()));
+        assertThat(ownerCounters, everyItem(hasProperty("userId", equalTo(ownerStorage.getId()))));
+        assertThat(Map.of(WAITING, 2L, REJECTED, 1L), equalTo(ownerCounters.stream()
+                .collect(Collectors.toMap(BookingCounter::getStatus, BookingCounter::getCount))));
+        assertThat(Map.of(WAITING, 2L, REJECTED, 1L), equalTo(bookerCounters.stream()
+                .filter(counter -> counter.getUserId().equals(bookerStorage.getId()))
+                .collect(Collectors.toMap(BookingCounter::getStatus, BookingCounter::getCount))));
     }
 
     @Test
-    void findAllByBookerIdAndCurrent_whenPageableIsSet_thenReturnLimitedList() {
-        Booking newBooking1 = new Booking()
-                .setStart(LocalDateTime.now().minusDays(5))
-                .setEnd(LocalDateTime.now().minusDays(2))
+    void findTimelineByItemIdAndPeriod_whenBookingsOverlapPeriod_thenReturnOnlyBlockingOnes() {
+        LocalDateTime from = LocalDateTime.now().plusDays(10).truncatedTo(ChronoUnit.SECONDS);
+        LocalDateTime to = from.plusDays(5);
+        Booking overlapping = bookingRepository.save(new Booking()
+                .setStart(from.minusDays(1))
+                .setEnd(from.plusDays(1))
                 .setItem(itemStorage)
                 .setBooker(bookerStorage)
-                .setStatus(WAITING);
-        Booking newBooking2 = new Booking()
-                .setStart(LocalDateTime.now().minusMinutes(5))
-                .setEnd(LocalDateTime.now().plusDays(1))
+                .setStatus(APPROVED));
+        bookingRepository.save(new Booking()
+                .setStart(from.plusDays(2))
+                .setEnd(from.plusDays(3))
                 .setItem(itemStorage)
                 .setBooker(bookerStorage)
-                .setStatus(WAITING);
-        Booking newBooking3 = new Booking()
-                .setStart(LocalDateTime.now().plusDays(2))
-                .setEnd(LocalDateTime.now().plusDays(5))
+                .setStatus(REJECTED));
+        bookingRepository.save(new Booking()
+                .setStart(to)
+                .setEnd(to.plusDays(1))
                 .setItem(itemStorage)
                 .setBooker(bookerStorage)
-                .setStatus(WAITING);
-        Booking bookingStorage1 = bookingRepository.save(newBooking1);
-        Booking bookingStorage2 = bookingRepository.save(newBooking2);
-        Booking bookingStorage3 = bookingRepository.save(newBooking3);
-        PageRequest pageable = PageRequest.of(0, 1);
+                .setStatus(WAITING));
 
-        List<Booking> bookings = bookingRepository
-                .findAllByBookerIdAndCurrent(bookerStorage.getId(), LocalDateTime.now(), pageable);
+        List<BookingTimelineEntry> entries = bookingRepository.findTimelineByItemIdAndPeriod(itemStorage.getId(),
+                from, to, BookingTimeline.BLOCKING_STATUSES);
 
-        assertThat(bookings, hasSize(1));
-        assertThat(bookings, hasItem(bookingStorage2));
+        assertThat(entries, hasSize(1));
+        assertThat(overlapping.getId(), equalTo(entries.get(0).getBookingId()));
+        assertThat(3, equalTo(bookingRepository.findTimelineByItemIdAndEndAfter(itemStorage.getId(),
+                LocalDateTime.now(), PageRequest.of(0, 10)).size()));
     }
 
     @Test
-    void findAllByBookerIdAndCurrent_whenPageableIsNotSet_thenReturnFullList() {
-        Booking newBooking1 = new Booking()
-                .setStart(LocalDateTime.now().minusDays(5))
-                .setEnd(LocalDateTime.now().minusDays(2))
+    void findTimelineByItemIdAndEndNotAfter_whenBookingsAreArchived_thenReturnMostRecentFirst() {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        Booking archivedBooking = bookingRepository.save(new Booking()
+                .setStart(now.minusDays(400))
+                .setEnd(now.minusDays(399))
                 .setItem(itemStorage)
                 .setBooker(bookerStorage)
-                .setStatus(WAITING);
-        Booking newBooking2 = new Booking()
-                .setStart(LocalDateTime.now().minusMinutes(5))
-                .setEnd(LocalDateTime.now().plusDays(1))
+                .setStatus(APPROVED));
+        Booking pastBooking = bookingRepository.save(new Booking()
+                .setStart(now.minusDays(3))
+                .setEnd(now.minusDays(2))
                 .setItem(itemStorage)
                 .setBooker(bookerStorage)
-                .setStatus(WAITING);
-        Booking newBooking3 = new Booking()
-                .setStart(LocalDateTime.now().plusDays(2))
-                .setEnd(LocalDateTime.now().plusDays(5))
+                .setStatus(REJECTED));
+        bookingRepository.save(new Booking()
+                .setStart(now.minusDays(1))
+                .setEnd(now.plusDays(1))
                 .setItem(itemStorage)
                 .setBooker(bookerStorage)
-                .setStatus(WAITING);
-        Booking bookingStorage1 = bookingRepository.save(newBooking1);
-        Booking bookingStorage2 = bookingRepository.save(newBooking2);
-        Booking bookingStorage3 = bookingRepository.save(newBooking3);
+                .setStatus(APPROVED));
+        bookingRepository.copyToArchiveByIdIn(List.of(archivedBooking.getId()));
+        bookingRepository.deleteAllByIdIn(List.of(archivedBooking.getId()));
 
-        List<Booking> bookings = bookingRepository
-                .findAllByBookerIdAndCurrent(bookerStorage.getId(), LocalDateTime.now());
+        List<BookingTimelineEntry> entries = bookingRepository.findTimelineByItemIdAndEndNotAfter(
+                itemStorage.getId(), now, PageRequest.of(0, 10));
 
-        assertThat(bookings, hasSize(1));
-        assertThat(bookings, hasItem(bookingStorage2));
+        assertThat(List.of(pastBooking.getId(), archivedBooking.getId()), equalTo(entries.stream()
+                .map(BookingTimelineEntry::getBookingId)
+                .collect(Collectors.toList())));
+        assertThat(1, equalTo(bookingRepository.findTimelineByItemIdAndEndNotAfter(itemStorage.getId(), now,
+                PageRequest.of(0, 1)).size()));
     }
 
     @Test
-    void findAllByOwnerId_whenPageableIsSet_thenReturnLimitedList() {
+    void findAllByBookerIdOrderByStartDesc_whenPageableIsSet_thenReturnLimitedList() {
         Booking newBooking1 = new Booking()
                 .setStart(LocalDateTime.now().minusDays(5))
                 .setEnd(LocalDateTime.now().minusDays(2))
@@ -427,15 +375,15 @@ class BookingRepositoryTest {
         Booking bookingStorage2 = bookingRepository.save(newBooking2);
         PageRequest pageable = PageRequest.of(0, 1);
 
-        List<Booking> bookings = bookingRepository
-                .findAllByOwnerId(ownerStorage.getId(), pageable);
+        List<BookingOutDto> bookings = bookingRepository
+                .findAllByBookerIdOrderByStartDesc(bookerStorage.getId(), pageable);
 
         assertThat(bookings, hasSize(1));
-        assertThat(bookings, hasItem(bookingStorage2));
+        assertThat(bookings, hasItem(hasProperty("id", equalTo(bookingStorage2.getId()))));
     }
 
     @Test
-    void findAllByOwnerId_whenPageableIsNotSet_thenReturnFullList() {
+    void findAllByBookerIdOrderByStartDesc_whenPageableIsNotSet_thenReturnFullList() {
         Booking newBooking1 = new Booking()
                 .setStart(LocalDateTime.now().minusDays(5))
                 .setEnd(LocalDateTime.now().minusDays(2))
@@ -451,15 +399,15 @@ class BookingRepositoryTest {
         Booking bookingStorage1 = bookingRepository.save(newBooking1);
         Booking bookingStorage2 = bookingRepository.save(newBooking2);
 
-        List<Booking> bookings = bookingRepository
-                .findAllByOwnerId(ownerStorage.getId());
+        List<BookingOutDto> bookings = bookingRepository
+                .findAllByBookerIdOrderByStartDesc(bookerStorage.getId());
 
         assertThat(bookings, hasSize(2));
         assertTrue(bookings.get(0).getStart().isAfter(bookings.get(1).getStart()));
     }
 
     @Test
-    void findAllByOwnerIdAndStatus_whenPageableIsSet_thenReturnLimitedList() {
+    void findAllByBookerIdAndStatusOrderByStartDesc_whenPageableIsSet_thenReturnLimitedList() {
         Booking newBooking1 = new Booking()
                 .setStart(LocalDateTime.now().minusDays(5))
                 .setEnd(LocalDateTime.now().minusDays(2))
@@ -476,15 +424,15 @@ class BookingRepositoryTest {
         Booking bookingStorage2 = bookingRepository.save(newBooking2);
         PageRequest pageable = PageRequest.of(0, 1);
 
-        List<Booking> bookings = bookingRepository
-                .findAllByOwnerIdAndStatus(ownerStorage.getId(), WAITING, pageable);
+        List<BookingOutDto> bookings = bookingRepository
+                .findAllByBookerIdAndStatusOrderByStartDesc(bookerStorage.getId(), WAITING, pageable);
 
         assertThat(bookings, hasSize(1));
-        assertThat(bookings, hasItem(bookingStorage2));
+        assertThat(bookings, hasItem(hasProperty("id", equalTo(bookingStorage2.getId()))));
     }
 
     @Test
-    void findAllByOwnerIdAndStatus_whenPageableIsNotSet_thenReturnFullList() {
+    void findAllByBookerIdAndStatusOrderByStartDesc_whenPageableIsNotSet_thenReturnFullList() {
         Booking newBooking1 = new Booking()
                 .setStart(LocalDateTime.now().minusDays(5))
                 .setEnd(LocalDateTime.now().minusDays(2))
@@ -500,15 +448,15 @@ class BookingRepositoryTest {
         Booking bookingStorage1 = bookingRepository.save(newBooking1);
         Booking bookingStorage2 = bookingRepository.save(newBooking2);
 
-        List<Booking> bookings = bookingRepository
-                .findAllByOwnerIdAndStatus(ownerStorage.getId(), REJECTED);
+        List<BookingOutDto> bookings = bookingRepository
+                .findAllByBookerIdAndStatusOrderByStartDesc(bookerStorage.getId(), REJECTED);
 
         assertThat(bookings, hasSize(1));
-        assertThat(bookings, hasItem(bookingStorage1));
+        assertThat(bookings, hasItem(hasProperty("id", equalTo(bookingStorage1.getId()))));
     }
 
     @Test
-    void findAllByOwnerIdAndPast_whenPageableIsSet_thenReturnLimitedList() {
+    void findAllByBookerIdAndEndBeforeOrderByStartDesc_whenPageableIsSet_thenReturnLimitedList() {
         Booking newBooking1 = new Booking()
                 .setStart(LocalDateTime.now().minusDays(5))
                 .setEnd(LocalDateTime.now().minusDays(2))
@@ -517,7 +465,7 @@ class BookingRepositoryTest {
                 .setStatus(WAITING);
         Booking newBooking2 = new Booking()
                 .setStart(LocalDateTime.now().minusDays(1))
-                .setEnd(LocalDateTime.now())
+                .setEnd(LocalDateTime.now().minusMinutes(5))
                 .setItem(itemStorage)
                 .setBooker(bookerStorage)
                 .setStatus(WAITING);
@@ -532,15 +480,15 @@ class BookingRepositoryTest {
         Booking bookingStorage3 = bookingRepository.save(newBooking3);
         PageRequest pageable = PageRequest.of(0, 1);
 
-        List<Booking> bookings = bookingRepository
-                .findAllByOwnerIdAndPast(ownerStorage.getId(), LocalDateTime.now(), pageable);
+        List<BookingOutDto> bookings = bookingRepository
+                .findAllByBookerIdAndEndBeforeOrderByStartDesc(bookerStorage.getId(), LocalDateTime.now(), pageable);
 
         assertThat(bookings, hasSize(1));
-        assertThat(bookings, hasItem(bookingStorage2));
+        assertThat(bookings, hasItem(hasProperty("id", equalTo(bookingStorage2.getId()))));
     }
 
     @Test
-    void findAllByOwnerIdAndPast_whenPageableIsNotSet_thenReturnFullList() {
+    void findAllByBookerIdAndEndBeforeOrderByStartDesc_whenPageableIsNotSet_thenReturnFullList() {
         Booking newBooking1 = new Booking()
                 .setStart(LocalDateTime.now().minusDays(5))
                 .setEnd(LocalDateTime.now().minusDays(2))
@@ -549,7 +497,7 @@ class BookingRepositoryTest {
                 .setStatus(WAITING);
         Booking newBooking2 = new Booking()
                 .setStart(LocalDateTime.now().minusDays(1))
-                .setEnd(LocalDateTime.now())
+                .setEnd(LocalDateTime.now().minusMinutes(5))
                 .setItem(itemStorage)
                 .setBooker(bookerStorage)
                 .setStatus(WAITING);
@@ -563,15 +511,15 @@ class BookingRepositoryTest {
         Booking bookingStorage2 = bookingRepository.save(newBooking2);
         Booking bookingStorage3 = bookingRepository.save(newBooking3);
 
-        List<Booking> bookings = bookingRepository
-                .findAllByOwnerIdAndPast(ownerStorage.getId(), LocalDateTime.now());
+        List<BookingOutDto> bookings = bookingRepository
+                .findAllByBookerIdAndEndBeforeOrderByStartDesc(bookerStorage.getId(), LocalDateTime.now());
 
         assertThat(bookings, hasSize(2));
         assertTrue(bookings.get(0).getStart().isAfter(bookings.get(1).getStart()));
     }
 
     @Test
-    void findAllByOwnerIdAndFuture_whenPageableIsSet_thenReturnLimitedList() {
+    void findAllByBookerIdAndStartAfterOrderByStartDesc_whenPageableIsSet_thenReturnLimitedList() {
         Booking newBooking1 = new Booking()
                 .setStart(LocalDateTime.now().minusDays(5))
                 .setEnd(LocalDateTime.now().minusDays(2))
@@ -595,15 +543,15 @@ class BookingRepositoryTest {
         Booking bookingStorage3 = bookingRepository.save(newBooking3);
         PageRequest pageable = PageRequest.of(0, 1);
 
-        List<Booking> bookings = bookingRepository
-                .findAllByOwnerIdAndFuture(ownerStorage.getId(), LocalDateTime.now(), pageable);
+        List<BookingOutDto> bookings = bookingRepository
+                .findAllByBookerIdAndStartAfterOrderByStartDesc(bookerStorage.getId(), LocalDateTime.now(), pageable);
 
         assertThat(bookings, hasSize(1));
-        assertThat(bookings, hasItem(bookingStorage3));
+        assertThat(bookings, hasItem(hasProperty("id", equalTo(bookingStorage3.getId()))));
     }
 
     @Test
-    void findAllByOwnerIdAndFuture_whenPageableIsNotSet_thenReturnFullList() {
+    void findAllByBookerIdAndStartAfterOrderByStartDesc_whenPageableIsNotSet_thenReturnFullList() {
         Booking newBooking1 = new Booking()
                 .setStart(LocalDateTime.now().minusDays(5))
                 .setEnd(LocalDateTime.now().minusDays(2))
@@ -626,15 +574,15 @@ class BookingRepositoryTest {
         Booking bookingStorage2 = bookingRepository.save(newBooking2);
         Booking bookingStorage3 = bookingRepository.save(newBooking3);
 
-        List<Booking> bookings = bookingRepository
-                .findAllByOwnerIdAndFuture(ownerStorage.getId(), LocalDateTime.now());
+        List<BookingOutDto> bookings = bookingRepository
+                .findAllByBookerIdAndStartAfterOrderByStartDesc(bookerStorage.getId(), LocalDateTime.now());
 
         assertThat(bookings, hasSize(2));
         assertTrue(bookings.get(0).getStart().isAfter(bookings.get(1).getStart()));
     }
 
     @Test
-    void findAllByOwnerIdAndCurrent_whenPageableIsSet_thenReturnLimitedList() {
+    void findAllByBookerIdAndCurrent_whenPageableIsSet_thenReturnLimitedList() {
         Booking newBooking1 = new Booking()
                 .setStart(LocalDateTime.now().minusDays(5))
                 .setEnd(LocalDateTime.now().minusDays(2))
@@ -658,15 +606,15 @@ class BookingRepositoryTest {
         Booking bookingStorage3 = bookingRepository.save(newBooking3);
         PageRequest pageable = PageRequest.of(0, 1);
 
-        List<Booking> bookings = bookingRepository
-                .findAllByOwnerIdAndCurrent(ownerStorage.getId(), LocalDateTime.now(), pageable);
+        List<BookingOutDto> bookings = bookingRepository
+                .findAllByBookerIdAndCurrent(bookerStorage.getId(), LocalDateTime.now(), pageable);
 
         assertThat(bookings, hasSize(1));
-        assertThat(bookings, hasItem(bookingStorage2));
+        assertThat(bookings, hasItem(hasProperty("id", equalTo(bookingStorage2.getId()))));
     }
 
     @Test
-    void findAllByOwnerIdAndCurrent_whenPageableIsNotSet_thenReturnFullList() {
+    void findAllByBookerIdAndCurrent_whenPageableIsNotSet_thenReturnFullList() {
         Booking newBooking1 = new Booking()
                 .setStart(LocalDateTime.now().minusDays(5))
                 .setEnd(LocalDateTime.now().minusDays(2))
@@ -689,11 +637,11 @@ class BookingRepositoryTest {
         Booking bookingStorage2 = bookingRepository.save(newBooking2);
         Booking bookingStorage3 = bookingRepository.save(newBooking3);
 
-        List<Booking> bookings = bookingRepository
-                .findAllByOwnerIdAndCurrent(ownerStorage.getId(), LocalDateTime.now());
+        List<BookingOutDto> bookings = bookingRepository
+                .findAllByBookerIdAndCurrent(bookerStorage.getId(), LocalDateTime.now());
 
         assertThat(bookings, hasSize(1));
-        assertThat(bookings, hasItem(bookingStorage2));
+        assertThat(bookings, hasItem(hasProperty("id", equalTo(bookingStorage2.getId()))));
     }
 
     @Test
@@ -786,4 +734,182 @@ class BookingRepositoryTest {
         assertThat(bookings, hasSize(1));
         assertThat(bookings, hasItem(bookingStorage1));
     }
-}
\ No newline at end of file
+
+    @Test
+    void archive_whenFinishedBookingsAreMoved_thenHistoryQueriesStillReturnThem() {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        Booking archivedBooking = bookingRepository.save(new Booking()
+                .setStart(now.minusDays(400))
+                .setEnd(now.minusDays(399))
+                .setItem(itemStorage)
+                .setBooker(bookerStorage)
+                .setStatus(APPROVED));
+        Booking staleWaitingBooking = bookingRepository.save(new Booking()
+                .setStart(now.minusDays(398))
+                .setEnd(now.minusDays(397))
+                .setItem(itemStorage)
+                .setBooker(bookerStorage)
+                .setStatus(WAITING));
+        Booking futureBooking = bookingRepository.save(new Booking()
+                .setStart(now.plusDays(1))
+                .setEnd(now.plusDays(2))
+                .setItem(itemStorage)
+                .setBooker(bookerStorage)
+                .setStatus(APPROVED));
+
+        List<Long> finishedBookingIds = toIds(bookingRepository
+                .findAllByEndBeforeAndStatusNotOrderByEnd(now.minusDays(365), WAITING, PageRequest.of(0, 10)));
+        int copied = bookingRepository.copyToArchiveByIdIn(finishedBookingIds);
+        int deleted = bookingRepository.deleteAllByIdIn(finishedBookingIds);
+
+        assertThat(List.of(archivedBooking.getId()), equalTo(finishedBookingIds));
+        assertThat(1, equalTo(copied));
+        assertThat(1, equalTo(deleted));
+        assertThat(false, equalTo(bookingRepository.existsById(archivedBooking.getId())));
+        assertThat(APPROVED, equalTo(bookingRepository.findInHistoryById(archivedBooking.getId())
+                .orElseThrow().getStatus()));
+        assertThat(List.of(futureBooking.getId(), staleWaitingBooking.getId(), archivedBooking.getId()),
+                equalTo(toDtoIds(bookingRepository.findAllByBookerIdOrderByStartDesc(bookerStorage.getId()))));
+        assertThat(List.of(staleWaitingBooking.getId(), archivedBooking.getId()),
+                equalTo(toDtoIds(bookingRepository.findAllByBookerIdAndEndBeforeOrderByStartDesc(bookerStorage.getId(),
+                        now))));
+        assertThat(List.of(futureBooking.getId(), archivedBooking.getId()),
+                equalTo(toDtoIds(bookingRepository.findAllByBookerIdAndStatusOrderByStartDesc(bookerStorage.getId(),
+                        APPROVED))));
+        assertThat(List.of(staleWaitingBooking.getId()),
+                equalTo(toDtoIds(bookingRepository.findAllByBookerIdAndWaiting(bookerStorage.getId()))));
+        assertThat(2L, equalTo(bookingRepository.countByBookerIdAndEndBefore(bookerStorage.getId(), now)));
+        assertThat(bookingRepository.findAllByBookerAndFinished(itemStorage.getId(), bookerStorage.getId(), now),
+                hasSize(2));
+        try (Stream<Booking> bookings = bookingRepository.streamAllByOwnerId(ownerStorage.getId())) {
+            assertThat(3L, equalTo(bookings.count()));
+        }
+    }
+
+    @Test
+    void findLastByItemId_whenLastBookingIsArchived_thenReturnArchivedBooking() {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        Booking archivedBooking = bookingRepository.save(new Booking()
+                .setStart(now.minusDays(400))
+                .setEnd(now.minusDays(399))
+                .setItem(itemStorage)
+                .setBooker(bookerStorage)
+                .setStatus(APPROVED));
+        bookingRepository.copyToArchiveByIdIn(List.of(archivedBooking.getId()));
+        bookingRepository.deleteAllByIdIn(List.of(archivedBooking.getId()));
+
+        Optional<Booking> lastBooking = bookingRepository.findLastByItemId(itemStorage.getId(), now);
+
+        assertTrue(lastBooking.isPresent());
+        assertThat(archivedBooking.getId(), equalTo(lastBooking.get().getId()));
+    }
+
+    @Test
+    void findLastByItemIdIn_whenItemsHaveBookings_thenReturnLastBookingOfEachItem() {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        Item secondItem = itemRepository.save(new Item()
+                .setUserId(ownerStorage.getId())
+                .setName("Second item")
+                .setDescription("Second item description")
+                .setAvailable(true));
+        Item thirdItem = itemRepository.save(new Item()
+                .setUserId(ownerStorage.getId())
+                .setName("Third item")
+                .setDescription("Third item description")
+                .setAvailable(true));
+        bookingRepository.save(new Booking()
+                .setStart(now.minusDays(5))
+                .setEnd(now.minusDays(4))
+                .setItem(itemStorage)
+                .setBooker(bookerStorage)
+                .setStatus(APPROVED));
+        Booking lastBooking = bookingRepository.save(new Booking()
+                .setStart(now.minusDays(2))
+                .setEnd(now.minusDays(1))
+                .setItem(itemStorage)
+                .setBooker(bookerStorage)
+                .setStatus(APPROVED));
+        Booking archivedBooking = bookingRepository.save(new Booking()
+                .setStart(now.minusDays(400))
+                .setEnd(now.minusDays(399))
+                .setItem(secondItem)
+                .setBooker(bookerStorage)
+                .setStatus(APPROVED));
+        bookingRepository.save(new Booking()
+                .setStart(now.plusDays(1))
+                .setEnd(now.plusDays(2))
+                .setItem(thirdItem)
+                .setBooker(bookerStorage)
+                .setStatus(WAITING));
+        bookingRepository.copyToArchiveByIdIn(List.of(archivedBooking.getId()));
+        bookingRepository.deleteAllByIdIn(List.of(archivedBooking.getId()));
+
+        List<Booking> lastBookings = bookingRepository.findLastByItemIdIn(List.of(itemStorage.getId(),
+                secondItem.getId(), thirdItem.getId()), now);
+
+        assertThat(toIds(lastBookings), containsInAnyOrder(lastBooking.getId(), archivedBooking.getId()));
+    }
+
+    @Test
+    void findNextByItemIdIn_whenItemsHaveBookings_thenReturnNextBookingOfEachItem() {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        Item secondItem = itemRepository.save(new Item()
+                .setUserId(ownerStorage.getId())
+                .setName("Second item")
+                .setDescription("Second item description")
+                .setAvailable(true));
+        Booking nextBooking = saveBooking(itemStorage, now.plusDays(1), now.plusDays(2), WAITING);
+        saveBooking(itemStorage, now.plusDays(3), now.plusDays(4), APPROVED);
+        saveBooking(secondItem, now.minusDays(2), now.minusDays(1), APPROVED);
+
+        List<Booking> nextBookings = bookingRepository.findNextByItemIdIn(List.of(itemStorage.getId(),
+                secondItem.getId()), now);
+
+        assertThat(toIds(nextBookings), contains(nextBooking.getId()));
+    }
+
+    @Test
+    void findTimelineByItemIdIn_whenItemsHaveBookings_thenReturnTheWindowOfEachItem() {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        Item secondItem = itemRepository.save(new Item()
+                .setUserId(ownerStorage.getId())
+                .setName("Second item")
+                .setDescription("Second item description")
+                .setAvailable(true));
+        Booking upcoming = saveBooking(itemStorage, now.minusDays(1), now.plusDays(1), APPROVED);
+        saveBooking(itemStorage, now.plusDays(2), now.plusDays(3), WAITING);
+        Booking secondUpcoming = saveBooking(secondItem, now.plusDays(1), now.plusDays(2), APPROVED);
+        Booking archived = saveBooking(itemStorage, now.minusDays(400), now.minusDays(399), APPROVED);
+        Booking past = saveBooking(itemStorage, now.minusDays(3), now.minusDays(2), REJECTED);
+        Booking secondPast = saveBooking(secondItem, now.minusDays(3), now.minusDays(2), APPROVED);
+        bookingRepository.copyToArchiveByIdIn(List.of(archived.getId()));
+        bookingRepository.deleteAllByIdIn(List.of(archived.getId()));
+        List<Long> itemIds = List.of(itemStorage.getId(), secondItem.getId());
+
+        assertThat(toIds(bookingRepository.findTimelineByItemIdInAndEndAfter(itemIds, now, 1)),
+                containsInAnyOrder(upcoming.getId(), secondUpcoming.getId()));
+        assertThat(toIds(bookingRepository.findTimelineByItemIdInAndEndNotAfter(itemIds, now, 2)),
+                contains(past.getId(), archived.getId(), secondPast.getId()));
+    }
+
+    private Booking saveBooking(Item item, LocalDateTime start, LocalDateTime end, BookingStatus status) {
+        return bookingRepository.save(new Booking()
+                .setStart(start)
+                .setEnd(end)
+                .setItem(item)
+                .setBooker(bookerStorage)
+                .setStatus(status));
+    }
+
+    private List<Long> toIds(List<Booking> bookings) {
+        return bookings.stream()
+                .map(Booking::getId)
+                .collect(Collectors.toList());
+    }
+
+    private List<Long> toDtoIds(List<BookingOutDto> bookings) {
+        return bookings.stream()
+                .map(BookingOutDto::getId)
+                .collect(Collectors.toList());
+    }
+}
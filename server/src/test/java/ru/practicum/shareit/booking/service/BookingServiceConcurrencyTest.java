@@ -0,0 +1,111 @@
+package ru.practicum.shareit.booking.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.exception.ConflictException;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static ru.practicum.shareit.booking.enums.BookingStatus.APPROVED;
+import static ru.practicum.shareit.booking.enums.BookingStatus.WAITING;
+
+@SpringBootTest
+class BookingServiceConcurrencyTest {
+    private static final int THREADS = 16;
+    private static final int ROUNDS = 20;
+
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+
+    private User ownerStorage;
+    private User bookerStorage;
+    private Item itemStorage;
+
+    @BeforeEach
+    void saveData() {
+        ownerStorage = userRepository.save(new User()
+                .setName("Owner name")
+                .setEmail("concurrency-owner@yandex.ru"));
+        bookerStorage = userRepository.save(new User()
+                .setName("Booker name")
+                .setEmail("concurrency-booker@yandex.ru"));
+        itemStorage = itemRepository.save(new Item()
+                .setUserId(ownerStorage.getId())
+                .setName("Item name")
+                .setDescription("Item description")
+                .setAvailable(true));
+    }
+
+    @AfterEach
+    void deleteData() {
+        bookingRepository.deleteAll();
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void updateBooking_whenApprovedFromManyThreads_thenOnlyOneApprovalSucceeds() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                Booking bookingStorage = bookingRepository.save(new Booking()
+                        .setStart(LocalDateTime.now().plusDays(round + 1))
+                        .setEnd(LocalDateTime.now().plusDays(round + 2))
+                        .setItem(itemStorage)
+                        .setBooker(bookerStorage)
+                        .setStatus(WAITING));
+                long bookingId = bookingStorage.getId();
+                CountDownLatch startLatch = new CountDownLatch(1);
+                AtomicInteger approvals = new AtomicInteger();
+                AtomicInteger rejected = new AtomicInteger();
+                List<Future<?>> futures = new ArrayList<>();
+                for (int i = 0; i < THREADS; i++) {
+                    futures.add(executor.submit(() -> {
+                        startLatch.await();
+                        try {
+                            bookingService.updateBooking(ownerStorage.getId(), bookingId, true);
+                            approvals.incrementAndGet();
+                        } catch (ValidationException | ConflictException e) {
+                            rejected.incrementAndGet();
+                        }
+                        return null;
+                    }));
+                }
+                startLatch.countDown();
+                for (Future<?> future : futures) {
+                    future.get(30, TimeUnit.SECONDS);
+                }
+
+                Booking actualBooking = bookingRepository.findById(bookingId).orElseThrow();
+                assertThat(1, equalTo(approvals.get()));
+                assertThat(THREADS - 1, equalTo(rejected.get()));
+                assertThat(APPROVED, equalTo(actualBooking.getStatus()));
+                assertThat(1L, equalTo(actualBooking.getVersion()));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
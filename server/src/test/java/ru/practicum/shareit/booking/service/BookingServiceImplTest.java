@@ -5,31 +5,54 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.audit.AuditLog;
+import ru.practicum.shareit.booking.counter.BookingCounters;
 import ru.practicum.shareit.booking.dto.BookingInnerDto;
 import ru.practicum.shareit.booking.dto.BookingOutDto;
+import ru.practicum.shareit.booking.dto.BookingUpdateResultDto;
+import ru.practicum.shareit.booking.enums.BookingRole;
+import ru.practicum.shareit.booking.enums.BookingState;
 import ru.practicum.shareit.booking.enums.BookingStatus;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.timeline.BookingTimelineCache;
+import ru.practicum.shareit.booking.view.OwnerBookingViewRepository;
+import ru.practicum.shareit.booking.timeline.BookingTimelineEntry;
+import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.dto.ItemOutShortDto;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import javax.persistence.EntityManager;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 import static ru.practicum.shareit.booking.enums.BookingStatus.*;
+import static ru.practicum.shareit.consts.ShareItAppConst.MAX_BULK_BOOKING_IDS;
 import static ru.practicum.shareit.item.mapper.ItemMapper.toItemOutShortDto;
 
 @ExtendWith(MockitoExtension.class)
@@ -40,7 +63,17 @@ class BookingServiceImplTest {
     private UserRepository userRepository;
     @Mock
     private ItemRepository itemRepository;
+    @Mock
+    private BookingTimelineCache bookingTimelineCache;
+    @Mock
+    private BookingCounters bookingCounters;
+    @Mock
+    private OwnerBookingViewRepository ownerBookingViewRepository;
+    @Mock
+    private EntityManager entityManager;
 
+    @Mock
+    private AuditLog auditLog;
     @InjectMocks
     private BookingServiceImpl bookingService;
 
@@ -172,6 +205,9 @@ class BookingServiceImplTest {
         assertThat(bookingStorage.getStart(), equalTo(bookingOutDto.getStart()));
         assertThat(bookingStorage.getEnd(), equalTo(bookingOutDto.getEnd()));
         assertThat(bookingStorage.getStatus(), equalTo(bookingOutDto.getStatus()));
+        verify(bookingCounters, times(1)).onBookingAdded(bookerId, bookerId + 1);
+        verify(ownerBookingViewRepository, times(1)).save(argThat(view -> view.getId() == bookingId
+                && view.getOwnerId() == bookerId + 1 && view.getStatus() == WAITING));
     }
 
     @Test
@@ -234,30 +270,70 @@ class BookingServiceImplTest {
     }
 
     @Test
-    void updateBooking_whenApprovedByTheOwner_thenChangeTheStatusToApproved() {
+    void updateBooking_whenBookingStatusIsExpired_thenValidationExceptionThrow() {
         long ownerId = 1L;
         long bookingId = 2L;
-        boolean approved = true;
-        long bookerId = 3L;
-        User booker = new User().setId(bookerId);
+        Item item = new Item().setUserId(ownerId);
+        Booking booking = new Booking()
+                .setId(bookingId)
+                .setBooker(new User().setId(3L))
+                .setItem(item)
+                .setStatus(EXPIRED);
+        when(userRepository.existsById(ownerId)).thenReturn(true);
+        when(bookingRepository.getReferenceById(bookingId)).thenReturn(booking);
+
+        ValidationException e = Assertions.assertThrows(
+                ValidationException.class, () -> bookingService.updateBooking(ownerId, bookingId, true));
+        assertThat(String.format("The booking with id %s has expired", bookingId), equalTo(e.getMessage()));
+        verify(bookingRepository, never())
+                .updateStatusByIdAndStatus(anyLong(), any(BookingStatus.class), any(BookingStatus.class));
+    }
+
+    @Test
+    void updateBooking_whenChangedConcurrently_thenConflictExceptionThrow() {
+        long ownerId = 1L;
+        long bookingId = 2L;
+        User booker = new User().setId(3L);
         Item item = new Item().setUserId(ownerId);
         Booking booking = new Booking()
                 .setId(bookingId)
                 .setBooker(booker)
                 .setItem(item)
                 .setStatus(WAITING);
-        Booking updateBooking = new Booking()
+        when(userRepository.existsById(ownerId)).thenReturn(true);
+        when(bookingRepository.getReferenceById(bookingId)).thenReturn(booking);
+        when(bookingRepository.updateStatusByIdAndStatus(bookingId, WAITING, REJECTED)).thenReturn(0);
+
+        ConflictException e = Assertions.assertThrows(
+                ConflictException.class, () -> bookingService.updateBooking(ownerId, bookingId, false));
+        assertThat(String.format("The booking with id %s was changed concurrently", bookingId),
+                equalTo(e.getMessage()));
+    }
+
+    @Test
+    void updateBooking_whenApprovedByTheOwner_thenChangeTheStatusToApproved() {
+        long ownerId = 1L;
+        long bookingId = 2L;
+        boolean approved = true;
+        long bookerId = 3L;
+        User booker = new User().setId(bookerId);
+        Item item = new Item().setId(4L).setUserId(ownerId);
+        Booking booking = new Booking()
                 .setId(bookingId)
                 .setBooker(booker)
                 .setItem(item)
-                .setStatus(APPROVED);
+                .setStatus(WAITING);
         when(userRepository.existsById(ownerId)).thenReturn(true);
         when(bookingRepository.getReferenceById(bookingId)).thenReturn(booking);
-        when(bookingRepository.save(updateBooking)).thenReturn(updateBooking);
+        when(bookingRepository.updateStatusByIdAndStatus(bookingId, WAITING, APPROVED)).thenReturn(1);
 
         BookingOutDto bookingOutDto = bookingService.updateBooking(ownerId, bookingId, approved);
 
         assertThat(APPROVED, equalTo(bookingOutDto.getStatus()));
+        verify(bookingTimelineCache, times(1)).onBookingChanged(4L,
+                new BookingTimelineEntry(bookingId, bookerId, null, null, APPROVED));
+        verify(bookingCounters, times(1)).onStatusChanged(List.of(booking), APPROVED);
+        verify(ownerBookingViewRepository, times(1)).updateStatusByIdIn(List.of(bookingId), APPROVED);
     }
 
     @Test
@@ -267,24 +343,259 @@ class BookingServiceImplTest {
         boolean approved = false;
         long bookerId = 3L;
         User booker = new User().setId(bookerId);
-        Item item = new Item().setUserId(ownerId);
+        Item item = new Item().setId(4L).setUserId(ownerId);
         Booking booking = new Booking()
                 .setId(bookingId)
                 .setBooker(booker)
                 .setItem(item)
                 .setStatus(WAITING);
-        Booking updateBooking = new Booking()
-                .setId(bookingId)
-                .setBooker(booker)
-                .setItem(item)
-                .setStatus(REJECTED);
         when(userRepository.existsById(ownerId)).thenReturn(true);
         when(bookingRepository.getReferenceById(bookingId)).thenReturn(booking);
-        when(bookingRepository.save(updateBooking)).thenReturn(updateBooking);
+        when(bookingRepository.updateStatusByIdAndStatus(bookingId, WAITING, REJECTED)).thenReturn(1);
 
         BookingOutDto bookingOutDto = bookingService.updateBooking(ownerId, bookingId, approved);
 
         assertThat(REJECTED, equalTo(bookingOutDto.getStatus()));
+        verify(bookingTimelineCache, times(1)).onBookingChanged(4L,
+                new BookingTimelineEntry(bookingId, bookerId, null, null, REJECTED));
+    }
+
+    @Test
+    void updateBookings_whenUserNotFound_thenNotFoundExceptionThrow() {
+        long ownerId = 1L;
+        List<Long> bookingIds = List.of(2L, 3L);
+        when(userRepository.existsById(ownerId)).thenReturn(false);
+
+        NotFoundException e = Assertions.assertThrows(
+                NotFoundException.class, () -> bookingService.updateBookings(ownerId, bookingIds, true));
+        assertThat(String.format("User with id %s not found", ownerId), equalTo(e.getMessage()));
+        verify(bookingRepository, never())
+                .updateStatusByIdInAndStatus(anyCollection(), any(BookingStatus.class), any(BookingStatus.class));
+    }
+
+    @Test
+    void updateBookings_whenSomeBookingsCannotBeUpdated_thenUpdateOnlyValidBookings() {
+        long ownerId = 1L;
+        long otherOwnerId = 4L;
+        User booker = new User().setId(3L);
+        Item item = new Item().setId(5L).setUserId(ownerId);
+        Item otherItem = new Item().setId(6L).setUserId(otherOwnerId);
+        Booking waitingBooking = new Booking()
+                .setId(10L)
+                .setBooker(booker)
+                .setItem(item)
+                .setStatus(WAITING);
+        Booking approvedBooking = new Booking()
+                .setId(11L)
+                .setBooker(booker)
+                .setItem(item)
+                .setStatus(APPROVED);
+        Booking foreignBooking = new Booking()
+                .setId(12L)
+                .setBooker(booker)
+                .setItem(otherItem)
+                .setStatus(WAITING);
+        long missingBookingId = 13L;
+        List<Long> bookingIds = List.of(10L, 11L, 12L, missingBookingId, 10L);
+        when(userRepository.existsById(ownerId)).thenReturn(true);
+        when(bookingRepository.findAllWithItemAndBookerByIdIn(anyCollection()))
+                .thenReturn(List.of(waitingBooking, approvedBooking, foreignBooking));
+
+        when(bookingRepository.updateStatusByIdInAndStatus(List.of(10L), WAITING, REJECTED)).thenReturn(1);
+
+        List<BookingUpdateResultDto> results = bookingService.updateBookings(ownerId, bookingIds, false);
+
+        assertThat(4, equalTo(results.size()));
+        assertThat(REJECTED, equalTo(results.get(0).getBooking().getStatus()));
+        assertThat(null, equalTo(results.get(0).getError()));
+        assertThat(String.format("The booking with id %s has already been confirmed", approvedBooking.getId()),
+                equalTo(results.get(1).getError()));
+        assertThat(String.format("The user with id %s cannot change an item that he does not own", ownerId),
+                equalTo(results.get(2).getError()));
+        assertThat(String.format("Booking with id %s not found", missingBookingId),
+                equalTo(results.get(3).getError()));
+        verify(bookingRepository, times(1)).updateStatusByIdInAndStatus(List.of(10L), WAITING, REJECTED);
+        verify(bookingCounters, times(1)).onStatusChanged(List.of(waitingBooking), REJECTED);
+        verify(bookingRepository, never()).save(any(Booking.class));
+    }
+
+    @Test
+    void updateBookings_whenBookingsChangedConcurrently_thenConflictExceptionThrow() {
+        long ownerId = 1L;
+        Item item = new Item().setId(5L).setUserId(ownerId);
+        User booker = new User().setId(3L);
+        Booking firstBooking = new Booking()
+                .setId(10L)
+                .setBooker(booker)
+                .setItem(item)
+                .setStatus(WAITING);
+        Booking secondBooking = new Booking()
+                .setId(11L)
+                .setBooker(booker)
+                .setItem(item)
+                .setStatus(WAITING);
+        List<Long> bookingIds = List.of(10L, 11L);
+        when(userRepository.existsById(ownerId)).thenReturn(true);
+        when(bookingRepository.findAllWithItemAndBookerByIdIn(anyCollection()))
+                .thenReturn(List.of(firstBooking, secondBooking));
+        when(bookingRepository.updateStatusByIdInAndStatus(bookingIds, WAITING, APPROVED)).thenReturn(1);
+
+        ConflictException e = Assertions.assertThrows(
+                ConflictException.class, () -> bookingService.updateBookings(ownerId, bookingIds, true));
+        assertThat(String.format("Bookings with ids %s were changed concurrently", bookingIds),
+                equalTo(e.getMessage()));
+        verify(bookingCounters, never()).onStatusChanged(anyCollection(), any(BookingStatus.class));
+    }
+
+    @Test
+    void updateBookings_whenBookingsHaveDifferentStatuses_thenUpdateEachStatusSeparately() {
+        long ownerId = 1L;
+        Item item = new Item().setId(5L).setUserId(ownerId);
+        User booker = new User().setId(3L);
+        Booking waitingBooking = new Booking()
+                .setId(10L)
+                .setBooker(booker)
+                .setItem(item)
+                .setStatus(WAITING);
+        Booking rejectedBooking = new Booking()
+                .setId(11L)
+                .setBooker(booker)
+                .setItem(item)
+                .setStatus(REJECTED);
+        List<Long> bookingIds = List.of(10L, 11L);
+        when(userRepository.existsById(ownerId)).thenReturn(true);
+        when(bookingRepository.findAllWithItemAndBookerByIdIn(anyCollection()))
+                .thenReturn(List.of(waitingBooking, rejectedBooking));
+        when(bookingRepository.updateStatusByIdInAndStatus(List.of(10L), WAITING, APPROVED)).thenReturn(1);
+        when(bookingRepository.updateStatusByIdInAndStatus(List.of(11L), REJECTED, APPROVED)).thenReturn(1);
+
+        List<BookingUpdateResultDto> results = bookingService.updateBookings(ownerId, bookingIds, true);
+
+        assertThat(APPROVED, equalTo(results.get(0).getBooking().getStatus()));
+        assertThat(APPROVED, equalTo(results.get(1).getBooking().getStatus()));
+        verify(bookingCounters, times(1)).onStatusChanged(List.of(waitingBooking, rejectedBooking), APPROVED);
+        verify(ownerBookingViewRepository, times(1)).updateStatusByIdIn(bookingIds, APPROVED);
+    }
+
+    @Test
+    void updateBookings_whenNoBookingCanBeUpdated_thenNotRunUpdate() {
+        long ownerId = 1L;
+        long bookingId = 2L;
+        when(userRepository.existsById(ownerId)).thenReturn(true);
+        when(bookingRepository.findAllWithItemAndBookerByIdIn(anyCollection())).thenReturn(List.of());
+
+        List<BookingUpdateResultDto> results = bookingService.updateBookings(ownerId, List.of(bookingId), true);
+
+        assertThat(String.format("Booking with id %s not found", bookingId), equalTo(results.get(0).getError()));
+        verify(bookingRepository, never())
+                .updateStatusByIdInAndStatus(anyCollection(), any(BookingStatus.class), any(BookingStatus.class));
+    }
+
+    @Test
+    void updateBookings_whenTooManyBookingIds_thenValidationExceptionThrow() {
+        long ownerId = 1L;
+        List<Long> bookingIds = LongStream.rangeClosed(1, MAX_BULK_BOOKING_IDS + 1)
+                .boxed()
+                .collect(Collectors.toList());
+        when(userRepository.existsById(ownerId)).thenReturn(true);
+
+        ValidationException e = Assertions.assertThrows(
+                ValidationException.class, () -> bookingService.updateBookings(ownerId, bookingIds, true));
+        assertThat(String.format("No more than %s bookings can be updated at once", MAX_BULK_BOOKING_IDS),
+                equalTo(e.getMessage()));
+        verify(bookingRepository, never()).findAllWithItemAndBookerByIdIn(anyCollection());
+    }
+
+    @Test
+    void updateBookings_whenDuplicatesFitTheLimit_thenLoadEachBookingOnce() {
+        long ownerId = 1L;
+        List<Long> bookingIds = new ArrayList<>(Collections.nCopies(MAX_BULK_BOOKING_IDS + 1, 2L));
+        when(userRepository.existsById(ownerId)).thenReturn(true);
+        when(bookingRepository.findAllWithItemAndBookerByIdIn(anyCollection())).thenReturn(List.of());
+
+        List<BookingUpdateResultDto> results = bookingService.updateBookings(ownerId, bookingIds, true);
+
+        assertThat(1, equalTo(results.size()));
+        verify(bookingRepository, times(1)).findAllWithItemAndBookerByIdIn(Set.of(2L));
+    }
+
+    @Test
+    void expireWaitingBookings_whenNoStaleBookings_thenNotRunUpdate() {
+        LocalDateTime now = LocalDateTime.now();
+        when(bookingRepository.findAllByStatusAndStartBeforeOrderByStart(WAITING, now, PageRequest.of(0, 100)))
+                .thenReturn(List.of());
+
+        int expired = bookingService.expireWaitingBookings(now, 100);
+
+        assertThat(0, equalTo(expired));
+        verify(bookingRepository, never())
+                .updateStatusByIdInAndStatus(anyCollection(), any(BookingStatus.class), any(BookingStatus.class));
+    }
+
+    @Test
+    void expireWaitingBookings_whenStaleBookingsFound_thenExpireOnlyWaitingOnes() {
+        LocalDateTime now = LocalDateTime.now();
+        User booker = new User().setId(3L);
+        Booking firstBooking = new Booking()
+                .setId(1L)
+                .setStart(now.minusDays(2))
+                .setEnd(now.plusDays(1))
+                .setItem(new Item().setId(4L))
+                .setBooker(booker)
+                .setStatus(WAITING);
+        Booking secondBooking = new Booking()
+                .setId(2L)
+                .setStart(now.minusDays(1))
+                .setEnd(now.plusDays(2))
+                .setItem(new Item().setId(5L))
+                .setBooker(booker)
+                .setStatus(WAITING);
+        List<Booking> bookings = List.of(firstBooking, secondBooking);
+        when(bookingRepository.findAllByStatusAndStartBeforeOrderByStart(WAITING, now, PageRequest.of(0, 100)))
+                .thenReturn(bookings);
+        when(bookingRepository.updateStatusByIdInAndStatus(List.of(1L, 2L), WAITING, EXPIRED)).thenReturn(2);
+
+        int expired = bookingService.expireWaitingBookings(now, 100);
+
+        assertThat(2, equalTo(expired));
+        verify(bookingCounters, times(1)).onStatusChanged(bookings, EXPIRED);
+        verify(ownerBookingViewRepository, times(1)).updateStatusByIdIn(List.of(1L, 2L), EXPIRED);
+        verify(bookingTimelineCache, times(1)).onBookingChanged(4L,
+                new BookingTimelineEntry(1L, 3L, firstBooking.getStart(), firstBooking.getEnd(), EXPIRED));
+        verify(bookingTimelineCache, times(1)).onBookingChanged(5L,
+                new BookingTimelineEntry(2L, 3L, secondBooking.getStart(), secondBooking.getEnd(), EXPIRED));
+        verify(bookingTimelineCache, never()).evictAll();
+    }
+
+    @Test
+    void archiveFinishedBookings_whenNoFinishedBookings_thenNotMoveAnything() {
+        LocalDateTime dateTime = LocalDateTime.now().minusDays(365);
+        when(bookingRepository.findAllByEndBeforeAndStatusNotOrderByEnd(dateTime, WAITING, PageRequest.of(0, 100)))
+                .thenReturn(List.of());
+
+        int archived = bookingService.archiveFinishedBookings(dateTime, 100);
+
+        assertThat(0, equalTo(archived));
+        verify(bookingRepository, never()).copyToArchiveByIdIn(anyCollection());
+        verify(bookingRepository, never()).deleteAllByIdIn(anyCollection());
+    }
+
+    @Test
+    void archiveFinishedBookings_whenFinishedBookingsFound_thenCopyThemToArchiveAndDelete() {
+        LocalDateTime dateTime = LocalDateTime.now().minusDays(365);
+        List<Booking> bookings = List.of(new Booking().setId(1L), new Booking().setId(2L));
+        when(bookingRepository.findAllByEndBeforeAndStatusNotOrderByEnd(dateTime, WAITING, PageRequest.of(0, 100)))
+                .thenReturn(bookings);
+        when(bookingRepository.copyToArchiveByIdIn(List.of(1L, 2L))).thenReturn(2);
+        when(bookingRepository.deleteAllByIdIn(List.of(1L, 2L))).thenReturn(2);
+
+        int archived = bookingService.archiveFinishedBookings(dateTime, 100);
+
+        assertThat(2, equalTo(archived));
+        InOrder inOrder = inOrder(bookingRepository);
+        inOrder.verify(bookingRepository).copyToArchiveByIdIn(List.of(1L, 2L));
+        inOrder.verify(bookingRepository).deleteAllByIdIn(List.of(1L, 2L));
+        verifyNoInteractions(bookingCounters);
     }
 
     @Test
@@ -296,7 +607,19 @@ class BookingServiceImplTest {
         NotFoundException e = Assertions.assertThrows(
                 NotFoundException.class, () -> bookingService.getBookingById(userId, bookingId));
         assertThat(String.format("User with id %s not found", userId), equalTo(e.getMessage()));
-        verify(bookingRepository, never()).getReferenceById(bookingId);
+        verify(bookingRepository, never()).findInHistoryById(bookingId);
+    }
+
+    @Test
+    void getBookingById_whenBookingNotFound_thenNotFoundExceptionThrow() {
+        long userId = 1L;
+        long bookingId = 2L;
+        when(userRepository.existsById(userId)).thenReturn(true);
+        when(bookingRepository.findInHistoryById(bookingId)).thenReturn(Optional.empty());
+
+        NotFoundException e = Assertions.assertThrows(
+                NotFoundException.class, () -> bookingService.getBookingById(userId, bookingId));
+        assertThat(String.format("Booking with id %s not found", bookingId), equalTo(e.getMessage()));
     }
 
     @Test
@@ -313,7 +636,7 @@ class BookingServiceImplTest {
                 .setItem(item)
                 .setStatus(WAITING);
         when(userRepository.existsById(userId)).thenReturn(true);
-        when(bookingRepository.getReferenceById(bookingId)).thenReturn(booking);
+        when(bookingRepository.findInHistoryById(bookingId)).thenReturn(Optional.of(booking));
 
         NotFoundException e = Assertions.assertThrows(
                 NotFoundException.class, () -> bookingService.getBookingById(userId, bookingId));
@@ -339,7 +662,7 @@ class BookingServiceImplTest {
                 .setEnd(LocalDateTime.now().plusDays(5))
                 .setStatus(WAITING);
         when(userRepository.existsById(userId)).thenReturn(true);
-        when(bookingRepository.getReferenceById(bookingId)).thenReturn(booking);
+        when(bookingRepository.findInHistoryById(bookingId)).thenReturn(Optional.of(booking));
 
         BookingOutDto bookingOutDto = bookingService.getBookingById(userId, bookingId);
 
@@ -368,7 +691,7 @@ class BookingServiceImplTest {
                 .setEnd(LocalDateTime.now().plusDays(5))
                 .setStatus(WAITING);
         when(userRepository.existsById(userId)).thenReturn(true);
-        when(bookingRepository.getReferenceById(bookingId)).thenReturn(booking);
+        when(bookingRepository.findInHistoryById(bookingId)).thenReturn(Optional.of(booking));
 
         BookingOutDto bookingOutDto = bookingService.getBookingById(userId, bookingId);
 
@@ -402,11 +725,11 @@ class BookingServiceImplTest {
         Integer size = 1;
         long bookingId = 2L;
         long itemId = 3L;
-        Booking booking = new Booking()
+        BookingOutDto booking = new BookingOutDto()
                 .setId(bookingId)
-                .setBooker(new User().setId(bookerId))
-                .setItem(new Item().setId(itemId));
-        List<Booking> bookings = List.of(booking);
+                .setBooker(new UserDto().setId(bookerId))
+                .setItem(new ItemOutShortDto().setId(itemId));
+        List<BookingOutDto> bookings = List.of(booking);
         when(userRepository.existsById(bookerId)).thenReturn(true);
         when(bookingRepository.findAllByBookerIdOrderByStartDesc(bookerId, PageRequest.of(from / size, size)))
                 .thenReturn(bookings);
@@ -420,18 +743,18 @@ class BookingServiceImplTest {
     }
 
     @ParameterizedTest
-    @ValueSource(strings = {"WAITING", "REJECTED"})
-    void getBookingsForBooker_whenFromOrSizeIsNotNullAndStateIsWaitingOrRejected_thenReturnBookingOutDtoList(String state) {
+    @ValueSource(strings = {"REJECTED", "EXPIRED"})
+    void getBookingsForBooker_whenFromOrSizeIsNotNullAndStateIsRejectedOrExpired_thenReturnBookingOutDtoList(String state) {
         long bookerId = 1L;
         Integer from = 0;
         Integer size = 1;
         long bookingId = 2L;
         long itemId = 3L;
-        Booking booking = new Booking()
+        BookingOutDto booking = new BookingOutDto()
                 .setId(bookingId)
-                .setBooker(new User().setId(bookerId))
-                .setItem(new Item().setId(itemId));
-        List<Booking> bookings = List.of(booking);
+                .setBooker(new UserDto().setId(bookerId))
+                .setItem(new ItemOutShortDto().setId(itemId));
+        List<BookingOutDto> bookings = List.of(booking);
         when(userRepository.existsById(bookerId)).thenReturn(true);
         when(bookingRepository.findAllByBookerIdAndStatusOrderByStartDesc(bookerId, BookingStatus.valueOf(state),
                 PageRequest.of(from / size, size))).thenReturn(bookings);
@@ -444,6 +767,31 @@ class BookingServiceImplTest {
         assertThat(bookerId, equalTo(bookingOutDto.getBooker().getId()));
     }
 
+    @Test
+    void getBookingsForBooker_whenFromOrSizeIsNotNullAndStateIsWaiting_thenReadRecentBookings() {
+        long bookerId = 1L;
+        String state = "WAITING";
+        Integer from = 0;
+        Integer size = 1;
+        long bookingId = 2L;
+        long itemId = 3L;
+        BookingOutDto booking = new BookingOutDto()
+                .setId(bookingId)
+                .setBooker(new UserDto().setId(bookerId))
+                .setItem(new ItemOutShortDto().setId(itemId));
+        List<BookingOutDto> bookings = List.of(booking);
+        when(userRepository.existsById(bookerId)).thenReturn(true);
+        when(bookingRepository.findAllByBookerIdAndWaiting(bookerId, PageRequest.of(from / size, size)))
+                .thenReturn(bookings);
+
+        List<BookingOutDto> bookingOutDtoList = bookingService.getBookingsForBooker(bookerId, state, from, size);
+        BookingOutDto bookingOutDto = bookingOutDtoList.get(0);
+
+        assertThat(bookingId, equalTo(bookingOutDto.getId()));
+        assertThat(itemId, equalTo(bookingOutDto.getItem().getId()));
+        assertThat(bookerId, equalTo(bookingOutDto.getBooker().getId()));
+    }
+
     @Test
     void getBookingsForBooker_whenFromOrSizeIsNotNullAndStateIsPast_thenReturnBookingOutDtoList() {
         long bookerId = 1L;
@@ -452,11 +800,11 @@ class BookingServiceImplTest {
         Integer size = 1;
         long bookingId = 2L;
         long itemId = 3L;
-        Booking booking = new Booking()
+        BookingOutDto booking = new BookingOutDto()
                 .setId(bookingId)
-                .setBooker(new User().setId(bookerId))
-                .setItem(new Item().setId(itemId));
-        List<Booking> bookings = List.of(booking);
+                .setBooker(new UserDto().setId(bookerId))
+                .setItem(new ItemOutShortDto().setId(itemId));
+        List<BookingOutDto> bookings = List.of(booking);
         when(userRepository.existsById(bookerId)).thenReturn(true);
         when(bookingRepository.findAllByBookerIdAndEndBeforeOrderByStartDesc(anyLong(),
                 any(LocalDateTime.class), any(Pageable.class))).thenReturn(bookings);
@@ -477,11 +825,11 @@ class BookingServiceImplTest {
         Integer size = 1;
         long bookingId = 2L;
         long itemId = 3L;
-        Booking booking = new Booking()
+        BookingOutDto booking = new BookingOutDto()
                 .setId(bookingId)
-                .setBooker(new User().setId(bookerId))
-                .setItem(new Item().setId(itemId));
-        List<Booking> bookings = List.of(booking);
+                .setBooker(new UserDto().setId(bookerId))
+                .setItem(new ItemOutShortDto().setId(itemId));
+        List<BookingOutDto> bookings = List.of(booking);
         when(userRepository.existsById(bookerId)).thenReturn(true);
         when(bookingRepository.findAllByBookerIdAndStartAfterOrderByStartDesc(anyLong(),
                 any(LocalDateTime.class), any(Pageable.class))).thenReturn(bookings);
@@ -502,11 +850,11 @@ class BookingServiceImplTest {
         Integer size = 1;
         long bookingId = 2L;
         long itemId = 3L;
-        Booking booking = new Booking()
+        BookingOutDto booking = new BookingOutDto()
                 .setId(bookingId)
-                .setBooker(new User().setId(bookerId))
-                .setItem(new Item().setId(itemId));
-        List<Booking> bookings = List.of(booking);
+                .setBooker(new UserDto().setId(bookerId))
+                .setItem(new ItemOutShortDto().setId(itemId));
+        List<BookingOutDto> bookings = List.of(booking);
         when(userRepository.existsById(bookerId)).thenReturn(true);
         when(bookingRepository.findAllByBookerIdAndCurrent(anyLong(),
                 any(LocalDateTime.class), any(Pageable.class))).thenReturn(bookings);
@@ -540,11 +888,11 @@ class BookingServiceImplTest {
         Integer size = null;
         long bookingId = 2L;
         long itemId = 3L;
-        Booking booking = new Booking()
+        BookingOutDto booking = new BookingOutDto()
                 .setId(bookingId)
-                .setBooker(new User().setId(bookerId))
-                .setItem(new Item().setId(itemId));
-        List<Booking> bookings = List.of(booking);
+                .setBooker(new UserDto().setId(bookerId))
+                .setItem(new ItemOutShortDto().setId(itemId));
+        List<BookingOutDto> bookings = List.of(booking);
         when(userRepository.existsById(bookerId)).thenReturn(true);
         when(bookingRepository.findAllByBookerIdOrderByStartDesc(bookerId)).thenReturn(bookings);
 
@@ -557,18 +905,18 @@ class BookingServiceImplTest {
     }
 
     @ParameterizedTest
-    @ValueSource(strings = {"WAITING", "REJECTED"})
-    void getBookingsForBooker_whenFromOrSizeIsNullAndStateIsWaitingOrRejected_thenReturnBookingOutDtoList(String state) {
+    @ValueSource(strings = {"REJECTED", "EXPIRED"})
+    void getBookingsForBooker_whenFromOrSizeIsNullAndStateIsRejectedOrExpired_thenReturnBookingOutDtoList(String state) {
         long bookerId = 1L;
         Integer from = null;
         Integer size = null;
         long bookingId = 2L;
         long itemId = 3L;
-        Booking booking = new Booking()
+        BookingOutDto booking = new BookingOutDto()
                 .setId(bookingId)
-                .setBooker(new User().setId(bookerId))
-                .setItem(new Item().setId(itemId));
-        List<Booking> bookings = List.of(booking);
+                .setBooker(new UserDto().setId(bookerId))
+                .setItem(new ItemOutShortDto().setId(itemId));
+        List<BookingOutDto> bookings = List.of(booking);
         when(userRepository.existsById(bookerId)).thenReturn(true);
         when(bookingRepository.findAllByBookerIdAndStatusOrderByStartDesc(bookerId, BookingStatus.valueOf(state)))
                 .thenReturn(bookings);
@@ -581,6 +929,30 @@ class BookingServiceImplTest {
         assertThat(bookerId, equalTo(bookingOutDto.getBooker().getId()));
     }
 
+    @Test
+    void getBookingsForBooker_whenFromOrSizeIsNullAndStateIsWaiting_thenReadRecentBookings() {
+        long bookerId = 1L;
+        String state = "WAITING";
+        Integer from = null;
+        Integer size = null;
+        long bookingId = 2L;
+        long itemId = 3L;
+        BookingOutDto booking = new BookingOutDto()
+                .setId(bookingId)
+                .setBooker(new UserDto().setId(bookerId))
+                .setItem(new ItemOutShortDto().setId(itemId));
+        List<BookingOutDto> bookings = List.of(booking);
+        when(userRepository.existsById(bookerId)).thenReturn(true);
+        when(bookingRepository.findAllByBookerIdAndWaiting(bookerId)).thenReturn(bookings);
+
+        List<BookingOutDto> bookingOutDtoList = bookingService.getBookingsForBooker(bookerId, state, from, size);
+        BookingOutDto bookingOutDto = bookingOutDtoList.get(0);
+
+        assertThat(bookingId, equalTo(bookingOutDto.getId()));
+        assertThat(itemId, equalTo(bookingOutDto.getItem().getId()));
+        assertThat(bookerId, equalTo(bookingOutDto.getBooker().getId()));
+    }
+
     @Test
     void getBookingsForBooker_whenFromOrSizeIsNullAndStateIsPast_thenReturnBookingOutDtoList() {
         long bookerId = 1L;
@@ -589,11 +961,11 @@ class BookingServiceImplTest {
         Integer size = null;
         long bookingId = 2L;
         long itemId = 3L;
-        Booking booking = new Booking()
+        BookingOutDto booking = new BookingOutDto()
                 .setId(bookingId)
-                .setBooker(new User().setId(bookerId))
-                .setItem(new Item().setId(itemId));
-        List<Booking> bookings = List.of(booking);
+                .setBooker(new UserDto().setId(bookerId))
+                .setItem(new ItemOutShortDto().setId(itemId));
+        List<BookingOutDto> bookings = List.of(booking);
         when(userRepository.existsById(bookerId)).thenReturn(true);
         when(bookingRepository.findAllByBookerIdAndEndBeforeOrderByStartDesc(anyLong(),
                 any(LocalDateTime.class))).thenReturn(bookings);
@@ -614,11 +986,11 @@ class BookingServiceImplTest {
         Integer size = null;
         long bookingId = 2L;
         long itemId = 3L;
-        Booking booking = new Booking()
+        BookingOutDto booking = new BookingOutDto()
                 .setId(bookingId)
-                .setBooker(new User().setId(bookerId))
-                .setItem(new Item().setId(itemId));
-        List<Booking> bookings = List.of(booking);
+                .setBooker(new UserDto().setId(bookerId))
+                .setItem(new ItemOutShortDto().setId(itemId));
+        List<BookingOutDto> bookings = List.of(booking);
         when(userRepository.existsById(bookerId)).thenReturn(true);
         when(bookingRepository.findAllByBookerIdAndStartAfterOrderByStartDesc(anyLong(),
                 any(LocalDateTime.class))).thenReturn(bookings);
@@ -639,11 +1011,11 @@ class BookingServiceImplTest {
         Integer size = null;
         long bookingId = 2L;
         long itemId = 3L;
-        Booking booking = new Booking()
+        BookingOutDto booking = new BookingOutDto()
                 .setId(bookingId)
-                .setBooker(new User().setId(bookerId))
-                .setItem(new Item().setId(itemId));
-        List<Booking> bookings = List.of(booking);
+                .setBooker(new UserDto().setId(bookerId))
+                .setItem(new ItemOutShortDto().setId(itemId));
+        List<BookingOutDto> bookings = List.of(booking);
         when(userRepository.existsById(bookerId)).thenReturn(true);
         when(bookingRepository.findAllByBookerIdAndCurrent(anyLong(),
                 any(LocalDateTime.class))).thenReturn(bookings);
@@ -692,13 +1064,13 @@ class BookingServiceImplTest {
         long bookingId = 2L;
         long bookerId = 3L;
         long itemId = 4L;
-        Booking booking = new Booking()
+        BookingOutDto booking = new BookingOutDto()
                 .setId(bookingId)
-                .setBooker(new User().setId(bookerId))
-                .setItem(new Item().setId(itemId).setUserId(ownerId));
-        List<Booking> bookings = List.of(booking);
+                .setBooker(new UserDto().setId(bookerId))
+                .setItem(new ItemOutShortDto().setId(itemId));
+        List<BookingOutDto> bookings = List.of(booking);
         when(userRepository.existsById(ownerId)).thenReturn(true);
-        when(bookingRepository.findAllByOwnerId(ownerId, PageRequest.of(from / size, size)))
+        when(ownerBookingViewRepository.findAllByOwnerId(ownerId, PageRequest.of(from / size, size)))
                 .thenReturn(bookings);
 
         List<BookingOutDto> bookingOutDtoList = bookingService.getBookingsForOwner(ownerId, state, from, size);
@@ -710,22 +1082,50 @@ class BookingServiceImplTest {
     }
 
     @ParameterizedTest
-    @ValueSource(strings = {"WAITING", "REJECTED"})
-    void getBookingsForOwner_whenFromOrSizeIsNotNullAndStateIsWaitingOrRejected_thenReturnBookingOutDtoList(String state) {
+    @ValueSource(strings = {"REJECTED", "EXPIRED"})
+    void getBookingsForOwner_whenFromOrSizeIsNotNullAndStateIsRejectedOrExpired_thenReturnBookingOutDtoList(String state) {
         long ownerId = 1L;
         Integer from = 0;
         Integer size = 1;
         long bookingId = 2L;
         long bookerId = 3L;
         long itemId = 4L;
-        Booking booking = new Booking()
+        BookingOutDto booking = new BookingOutDto()
                 .setId(bookingId)
-                .setBooker(new User().setId(bookerId))
-                .setItem(new Item().setId(itemId).setUserId(ownerId));
-        List<Booking> bookings = List.of(booking);
+                .setBooker(new UserDto().setId(bookerId))
+                .setItem(new ItemOutShortDto().setId(itemId));
+        List<BookingOutDto> bookings = List.of(booking);
         when(userRepository.existsById(ownerId)).thenReturn(true);
-        when(bookingRepository.findAllByOwnerIdAndStatus(ownerId, BookingStatus.valueOf(state),
-                PageRequest.of(from / size, size))).thenReturn(bookings);
+        when(ownerBookingViewRepository.findAllByOwnerIdAndStatus(ownerId, BookingStatus.valueOf(state),
+                PageRequest.of(from / size, size)))
+                .thenReturn(bookings);
+
+        List<BookingOutDto> bookingOutDtoList = bookingService.getBookingsForOwner(ownerId, state, from, size);
+        BookingOutDto bookingOutDto = bookingOutDtoList.get(0);
+
+        assertThat(bookingId, equalTo(bookingOutDto.getId()));
+        assertThat(itemId, equalTo(bookingOutDto.getItem().getId()));
+        assertThat(bookerId, equalTo(bookingOutDto.getBooker().getId()));
+    }
+
+    @Test
+    void getBookingsForOwner_whenFromOrSizeIsNotNullAndStateIsWaiting_thenReadRecentBookings() {
+        long ownerId = 1L;
+        String state = "WAITING";
+        Integer from = 0;
+        Integer size = 1;
+        long bookingId = 2L;
+        long bookerId = 3L;
+        long itemId = 4L;
+        BookingOutDto booking = new BookingOutDto()
+                .setId(bookingId)
+                .setBooker(new UserDto().setId(bookerId))
+                .setItem(new ItemOutShortDto().setId(itemId));
+        List<BookingOutDto> bookings = List.of(booking);
+        when(userRepository.existsById(ownerId)).thenReturn(true);
+        when(ownerBookingViewRepository.findAllByOwnerIdAndStatus(ownerId, BookingStatus.WAITING,
+                PageRequest.of(from / size, size)))
+                .thenReturn(bookings);
 
         List<BookingOutDto> bookingOutDtoList = bookingService.getBookingsForOwner(ownerId, state, from, size);
         BookingOutDto bookingOutDto = bookingOutDtoList.get(0);
@@ -744,14 +1144,15 @@ class BookingServiceImplTest {
         long bookingId = 2L;
         long bookerId = 3L;
         long itemId = 4L;
-        Booking booking = new Booking()
+        BookingOutDto booking = new BookingOutDto()
                 .setId(bookingId)
-                .setBooker(new User().setId(bookerId))
-                .setItem(new Item().setId(itemId).setUserId(ownerId));
-        List<Booking> bookings = List.of(booking);
+                .setBooker(new UserDto().setId(bookerId))
+                .setItem(new ItemOutShortDto().setId(itemId));
+        List<BookingOutDto> bookings = List.of(booking);
         when(userRepository.existsById(ownerId)).thenReturn(true);
-        when(bookingRepository.findAllByOwnerIdAndPast(anyLong(), any(LocalDateTime.class),
-                any(Pageable.class))).thenReturn(bookings);
+        when(ownerBookingViewRepository.findAllByOwnerIdAndPast(anyLong(), any(LocalDateTime.class),
+                any(Pageable.class)))
+                .thenReturn(bookings);
 
         List<BookingOutDto> bookingOutDtoList = bookingService.getBookingsForOwner(ownerId, state, from, size);
         BookingOutDto bookingOutDto = bookingOutDtoList.get(0);
@@ -770,14 +1171,15 @@ class BookingServiceImplTest {
         long bookingId = 2L;
         long bookerId = 3L;
         long itemId = 4L;
-        Booking booking = new Booking()
+        BookingOutDto booking = new BookingOutDto()
                 .setId(bookingId)
-                .setBooker(new User().setId(bookerId))
-                .setItem(new Item().setId(itemId).setUserId(ownerId));
-        List<Booking> bookings = List.of(booking);
+                .setBooker(new UserDto().setId(bookerId))
+                .setItem(new ItemOutShortDto().setId(itemId));
+        List<BookingOutDto> bookings = List.of(booking);
         when(userRepository.existsById(ownerId)).thenReturn(true);
-        when(bookingRepository.findAllByOwnerIdAndFuture(anyLong(),
-                any(LocalDateTime.class), any(Pageable.class))).thenReturn(bookings);
+        when(ownerBookingViewRepository.findAllByOwnerIdAndFuture(anyLong(),
+                any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(bookings);
 
         List<BookingOutDto> bookingOutDtoList = bookingService.getBookingsForOwner(ownerId, state, from, size);
         BookingOutDto bookingOutDto = bookingOutDtoList.get(0);
@@ -796,14 +1198,15 @@ class BookingServiceImplTest {
         long bookingId = 2L;
         long bookerId = 3L;
         long itemId = 4L;
-        Booking booking = new Booking()
+        BookingOutDto booking = new BookingOutDto()
                 .setId(bookingId)
-                .setBooker(new User().setId(bookerId))
-                .setItem(new Item().setId(itemId).setUserId(ownerId));
-        List<Booking> bookings = List.of(booking);
+                .setBooker(new UserDto().setId(bookerId))
+                .setItem(new ItemOutShortDto().setId(itemId));
+        List<BookingOutDto> bookings = List.of(booking);
         when(userRepository.existsById(ownerId)).thenReturn(true);
-        when(bookingRepository.findAllByOwnerIdAndCurrent(anyLong(), any(LocalDateTime.class),
-                any(Pageable.class))).thenReturn(bookings);
+        when(ownerBookingViewRepository.findAllByOwnerIdAndCurrent(anyLong(), any(LocalDateTime.class),
+                any(Pageable.class)))
+                .thenReturn(bookings);
 
         List<BookingOutDto> bookingOutDtoList = bookingService.getBookingsForOwner(ownerId, state, from, size);
         BookingOutDto bookingOutDto = bookingOutDtoList.get(0);
@@ -835,13 +1238,13 @@ class BookingServiceImplTest {
         long bookingId = 2L;
         long bookerId = 3L;
         long itemId = 4L;
-        Booking booking = new Booking()
+        BookingOutDto booking = new BookingOutDto()
                 .setId(bookingId)
-                .setBooker(new User().setId(bookerId))
-                .setItem(new Item().setId(itemId).setUserId(ownerId));
-        List<Booking> bookings = List.of(booking);
+                .setBooker(new UserDto().setId(bookerId))
+                .setItem(new ItemOutShortDto().setId(itemId));
+        List<BookingOutDto> bookings = List.of(booking);
         when(userRepository.existsById(ownerId)).thenReturn(true);
-        when(bookingRepository.findAllByOwnerId(ownerId)).thenReturn(bookings);
+        when(ownerBookingViewRepository.findAllByOwnerId(ownerId)).thenReturn(bookings);
 
         List<BookingOutDto> bookingOutDtoList = bookingService.getBookingsForOwner(ownerId, state, from, size);
         BookingOutDto bookingOutDto = bookingOutDtoList.get(0);
@@ -852,21 +1255,48 @@ class BookingServiceImplTest {
     }
 
     @ParameterizedTest
-    @ValueSource(strings = {"WAITING", "REJECTED"})
-    void getBookingsForOwner_whenFromOrSizeIsNullAndStateIsWaitingOrRejected_thenReturnBookingOutDtoList(String state) {
+    @ValueSource(strings = {"REJECTED", "EXPIRED"})
+    void getBookingsForOwner_whenFromOrSizeIsNullAndStateIsRejectedOrExpired_thenReturnBookingOutDtoList(String state) {
         long ownerId = 1L;
         Integer from = null;
         Integer size = null;
         long bookingId = 2L;
         long bookerId = 3L;
         long itemId = 4L;
-        Booking booking = new Booking()
+        BookingOutDto booking = new BookingOutDto()
                 .setId(bookingId)
-                .setBooker(new User().setId(bookerId))
-                .setItem(new Item().setId(itemId).setUserId(ownerId));
-        List<Booking> bookings = List.of(booking);
+                .setBooker(new UserDto().setId(bookerId))
+                .setItem(new ItemOutShortDto().setId(itemId));
+        List<BookingOutDto> bookings = List.of(booking);
         when(userRepository.existsById(ownerId)).thenReturn(true);
-        when(bookingRepository.findAllByOwnerIdAndStatus(ownerId, BookingStatus.valueOf(state))).thenReturn(bookings);
+        when(ownerBookingViewRepository.findAllByOwnerIdAndStatus(ownerId, BookingStatus.valueOf(state)))
+                .thenReturn(bookings);
+
+        List<BookingOutDto> bookingOutDtoList = bookingService.getBookingsForOwner(ownerId, state, from, size);
+        BookingOutDto bookingOutDto = bookingOutDtoList.get(0);
+
+        assertThat(bookingId, equalTo(bookingOutDto.getId()));
+        assertThat(itemId, equalTo(bookingOutDto.getItem().getId()));
+        assertThat(bookerId, equalTo(bookingOutDto.getBooker().getId()));
+    }
+
+    @Test
+    void getBookingsForOwner_whenFromOrSizeIsNullAndStateIsWaiting_thenReadRecentBookings() {
+        long ownerId = 1L;
+        String state = "WAITING";
+        Integer from = null;
+        Integer size = null;
+        long bookingId = 2L;
+        long bookerId = 3L;
+        long itemId = 4L;
+        BookingOutDto booking = new BookingOutDto()
+                .setId(bookingId)
+                .setBooker(new UserDto().setId(bookerId))
+                .setItem(new ItemOutShortDto().setId(itemId));
+        List<BookingOutDto> bookings = List.of(booking);
+        when(userRepository.existsById(ownerId)).thenReturn(true);
+        when(ownerBookingViewRepository.findAllByOwnerIdAndStatus(ownerId, BookingStatus.WAITING))
+                .thenReturn(bookings);
 
         List<BookingOutDto> bookingOutDtoList = bookingService.getBookingsForOwner(ownerId, state, from, size);
         BookingOutDto bookingOutDto = bookingOutDtoList.get(0);
@@ -885,13 +1315,14 @@ class BookingServiceImplTest {
         long bookingId = 2L;
         long bookerId = 3L;
         long itemId = 4L;
-        Booking booking = new Booking()
+        BookingOutDto booking = new BookingOutDto()
                 .setId(bookingId)
-                .setBooker(new User().setId(bookerId))
-                .setItem(new Item().setId(itemId).setUserId(ownerId));
-        List<Booking> bookings = List.of(booking);
+                .setBooker(new UserDto().setId(bookerId))
+                .setItem(new ItemOutShortDto().setId(itemId));
+        List<BookingOutDto> bookings = List.of(booking);
         when(userRepository.existsById(ownerId)).thenReturn(true);
-        when(bookingRepository.findAllByOwnerIdAndPast(anyLong(), any(LocalDateTime.class))).thenReturn(bookings);
+        when(ownerBookingViewRepository.findAllByOwnerIdAndPast(anyLong(), any(LocalDateTime.class)))
+                .thenReturn(bookings);
 
         List<BookingOutDto> bookingOutDtoList = bookingService.getBookingsForOwner(ownerId, state, from, size);
         BookingOutDto bookingOutDto = bookingOutDtoList.get(0);
@@ -910,13 +1341,14 @@ class BookingServiceImplTest {
         long bookingId = 2L;
         long bookerId = 3L;
         long itemId = 4L;
-        Booking booking = new Booking()
+        BookingOutDto booking = new BookingOutDto()
                 .setId(bookingId)
-                .setBooker(new User().setId(bookerId))
-                .setItem(new Item().setId(itemId).setUserId(ownerId));
-        List<Booking> bookings = List.of(booking);
+                .setBooker(new UserDto().setId(bookerId))
+                .setItem(new ItemOutShortDto().setId(itemId));
+        List<BookingOutDto> bookings = List.of(booking);
         when(userRepository.existsById(ownerId)).thenReturn(true);
-        when(bookingRepository.findAllByOwnerIdAndFuture(anyLong(), any(LocalDateTime.class))).thenReturn(bookings);
+        when(ownerBookingViewRepository.findAllByOwnerIdAndFuture(anyLong(), any(LocalDateTime.class)))
+                .thenReturn(bookings);
 
         List<BookingOutDto> bookingOutDtoList = bookingService.getBookingsForOwner(ownerId, state, from, size);
         BookingOutDto bookingOutDto = bookingOutDtoList.get(0);
@@ -935,13 +1367,14 @@ class BookingServiceImplTest {
         long bookingId = 2L;
         long bookerId = 3L;
         long itemId = 4L;
-        Booking booking = new Booking()
+        BookingOutDto booking = new BookingOutDto()
                 .setId(bookingId)
-                .setBooker(new User().setId(bookerId))
-                .setItem(new Item().setId(itemId).setUserId(ownerId));
-        List<Booking> bookings = List.of(booking);
+                .setBooker(new UserDto().setId(bookerId))
+                .setItem(new ItemOutShortDto().setId(itemId));
+        List<BookingOutDto> bookings = List.of(booking);
         when(userRepository.existsById(ownerId)).thenReturn(true);
-        when(bookingRepository.findAllByOwnerIdAndCurrent(anyLong(), any(LocalDateTime.class))).thenReturn(bookings);
+        when(ownerBookingViewRepository.findAllByOwnerIdAndCurrent(anyLong(), any(LocalDateTime.class)))
+                .thenReturn(bookings);
 
         List<BookingOutDto> bookingOutDtoList = bookingService.getBookingsForOwner(ownerId, state, from, size);
         BookingOutDto bookingOutDto = bookingOutDtoList.get(0);
@@ -963,4 +1396,130 @@ class BookingServiceImplTest {
                 ValidationException.class, () -> bookingService.getBookingsForOwner(ownerId, state, from, size));
         assertThat(String.format("Unknown state: %s", state), equalTo(e.getMessage()));
     }
-}
\ No newline at end of file
+
+    @Test
+    void exportBookingsForOwner_whenUserNotFound_thenNotFoundExceptionThrow() {
+        long ownerId = 1L;
+        when(userRepository.existsById(ownerId)).thenReturn(false);
+
+        NotFoundException e = Assertions.assertThrows(
+                NotFoundException.class, () -> bookingService.exportBookingsForOwner(ownerId, dto -> {
+                }));
+        assertThat(String.format("User with id %s not found", ownerId), equalTo(e.getMessage()));
+        verify(bookingRepository, never()).streamAllByOwnerId(anyLong());
+    }
+
+    @Test
+    void exportBookingsForOwner_whenBookingsExist_thenPassEveryBookingToTheConsumer() {
+        long ownerId = 1L;
+        User booker = new User().setId(2L);
+        Item item = new Item().setId(3L).setUserId(ownerId);
+        List<Booking> bookings = List.of(
+                new Booking().setId(10L).setItem(item).setBooker(booker).setStatus(WAITING),
+                new Booking().setId(11L).setItem(item).setBooker(booker).setStatus(APPROVED));
+        when(userRepository.existsById(ownerId)).thenReturn(true);
+        when(bookingRepository.streamAllByOwnerId(ownerId)).thenReturn(bookings.stream());
+        List<BookingOutDto> exported = new ArrayList<>();
+
+        bookingService.exportBookingsForOwner(ownerId, exported::add);
+
+        assertThat(2, equalTo(exported.size()));
+        assertThat(10L, equalTo(exported.get(0).getId()));
+        assertThat(APPROVED, equalTo(exported.get(1).getStatus()));
+        assertThat(3L, equalTo(exported.get(1).getItem().getId()));
+        verify(entityManager, never()).clear();
+    }
+
+    @Test
+    void getBookingCountsForBooker_whenCountersExist_thenCombineStatusAndTimeCounts() {
+        long bookerId = 1L;
+        Map<BookingStatus, Long> statusCounts = new EnumMap<>(BookingStatus.class);
+        statusCounts.put(WAITING, 2L);
+        statusCounts.put(APPROVED, 5L);
+        statusCounts.put(REJECTED, 1L);
+        statusCounts.put(EXPIRED, 3L);
+        when(userRepository.existsById(bookerId)).thenReturn(true);
+        when(bookingCounters.getStatusCounts(bookerId, BookingRole.BOOKER)).thenReturn(statusCounts);
+        when(bookingRepository.countByBookerIdAndEndBefore(anyLong(), any(LocalDateTime.class))).thenReturn(4L);
+        when(bookingRepository.countByBookerIdAndStartAfter(anyLong(), any(LocalDateTime.class))).thenReturn(6L);
+
+        Map<BookingState, Long> counts = bookingService.getBookingCountsForBooker(bookerId);
+
+        assertThat(11L, equalTo(counts.get(BookingState.ALL)));
+        assertThat(1L, equalTo(counts.get(BookingState.CURRENT)));
+        assertThat(4L, equalTo(counts.get(BookingState.PAST)));
+        assertThat(6L, equalTo(counts.get(BookingState.FUTURE)));
+        assertThat(2L, equalTo(counts.get(BookingState.WAITING)));
+        assertThat(1L, equalTo(counts.get(BookingState.REJECTED)));
+        assertThat(3L, equalTo(counts.get(BookingState.EXPIRED)));
+        verify(bookingRepository, never()).countByOwnerIdAndEndBefore(anyLong(), any(LocalDateTime.class));
+    }
+
+    @Test
+    void getBookingPageForOwner_whenPageIsNotFull_thenTotalWithoutCountQuery() {
+        long ownerId = 1L;
+        List<BookingOutDto> bookings = List.of(new BookingOutDto().setId(2L), new BookingOutDto().setId(3L));
+        when(userRepository.existsById(ownerId)).thenReturn(true);
+        when(ownerBookingViewRepository.findAllByOwnerIdAndStatus(ownerId, WAITING, PageRequest.of(1, 5)))
+                .thenReturn(bookings);
+
+        Page<BookingOutDto> page = bookingService.getBookingPageForOwner(ownerId, "WAITING", 5, 5);
+
+        assertThat(bookings, equalTo(page.getContent()));
+        assertThat(7L, equalTo(page.getTotalElements()));
+        verify(ownerBookingViewRepository, never()).countByOwnerIdAndStatus(anyLong(), any(BookingStatus.class));
+        verify(bookingCounters, never()).getStatusCounts(anyLong(), any(BookingRole.class));
+    }
+
+    @Test
+    void getBookingPageForOwner_whenPageIsFull_thenCountInTheSameView() {
+        long ownerId = 1L;
+        List<BookingOutDto> bookings = List.of(new BookingOutDto().setId(2L));
+        when(userRepository.existsById(ownerId)).thenReturn(true);
+        when(ownerBookingViewRepository.findAllByOwnerIdAndPast(eq(ownerId), any(LocalDateTime.class),
+                eq(PageRequest.of(0, 1)))).thenReturn(bookings);
+        when(ownerBookingViewRepository.countByOwnerIdAndPast(eq(ownerId), any(LocalDateTime.class))).thenReturn(4L);
+
+        Page<BookingOutDto> page = bookingService.getBookingPageForOwner(ownerId, "PAST", 0, 1);
+
+        assertThat(bookings, equalTo(page.getContent()));
+        assertThat(4L, equalTo(page.getTotalElements()));
+        verify(bookingRepository, never()).countByOwnerIdAndEndBefore(anyLong(), any(LocalDateTime.class));
+    }
+
+    @Test
+    void getBookingPageForBooker_whenWithoutPagination_thenTotalIsTheSizeOfTheList() {
+        long bookerId = 1L;
+        List<BookingOutDto> bookings = List.of(new BookingOutDto().setId(2L), new BookingOutDto().setId(3L));
+        when(userRepository.existsById(bookerId)).thenReturn(true);
+        when(bookingRepository.findAllByBookerIdAndCurrent(eq(bookerId), any(LocalDateTime.class)))
+                .thenReturn(bookings);
+
+        Page<BookingOutDto> page = bookingService.getBookingPageForBooker(bookerId, "CURRENT", null, null);
+
+        assertThat(bookings, equalTo(page.getContent()));
+        assertThat(2L, equalTo(page.getTotalElements()));
+        verify(bookingRepository, never()).countByBookerIdAndCurrent(anyLong(), any(LocalDateTime.class));
+    }
+
+    @Test
+    void getBookingPageForBooker_whenUserNotFound_thenNotFoundExceptionThrow() {
+        long bookerId = 1L;
+        when(userRepository.existsById(bookerId)).thenReturn(false);
+
+        Assertions.assertThrows(NotFoundException.class,
+                () -> bookingService.getBookingPageForBooker(bookerId, "ALL", 0, 10));
+        verify(bookingRepository, never()).countByBookerId(anyLong());
+    }
+
+    @Test
+    void getBookingPageForOwner_whenStateIsInvalid_thenValidationExceptionThrow() {
+        long ownerId = 1L;
+        String state = "INVALID";
+        when(userRepository.existsById(ownerId)).thenReturn(true);
+
+        ValidationException e = Assertions.assertThrows(
+                ValidationException.class, () -> bookingService.getBookingPageForOwner(ownerId, state, null, null));
+        assertThat(String.format("Unknown state: %s", state), equalTo(e.getMessage()));
+    }
+}
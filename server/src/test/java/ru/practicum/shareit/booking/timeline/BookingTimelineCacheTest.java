@@ -0,0 +1,282 @@
+package ru.practicum.shareit.booking.timeline;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.dto.ItemFreeIntervalDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static ru.practicum.shareit.booking.enums.BookingStatus.APPROVED;
+import static ru.practicum.shareit.booking.enums.BookingStatus.WAITING;
+
+@ExtendWith(MockitoExtension.class)
+class BookingTimelineCacheTest {
+    private static final LocalDateTime DAY = LocalDateTime.of(2030, 1, 1, 0, 0);
+    private static final int MAX_ITEMS = 2;
+    private static final int MAX_BOOKINGS_PER_ITEM = 2;
+    private static final PageRequest UPCOMING_PAGE = PageRequest.of(0, MAX_BOOKINGS_PER_ITEM + 1);
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    private MeterRegistry meterRegistry;
+    private BookingTimelineCache bookingTimelineCache;
+
+    @BeforeEach
+    void createCache() {
+        meterRegistry = new SimpleMeterRegistry();
+        bookingTimelineCache = new BookingTimelineCache(bookingRepository, meterRegistry, MAX_ITEMS,
+                MAX_BOOKINGS_PER_ITEM, Duration.ofMinutes(10));
+    }
+
+    @Test
+    void get_whenCalledTwice_thenLoadTimelineOnce() {
+        long itemId = 1L;
+        when(bookingRepository.findTimelineByItemIdAndEndAfter(eq(itemId), any(LocalDateTime.class),
+                eq(UPCOMING_PAGE)))
+                .thenReturn(List.of(new BookingTimelineEntry(1L, 3L, DAY.plusDays(1), DAY.plusDays(2), APPROVED)));
+        when(bookingRepository.findTimelineByItemIdAndEndNotAfter(eq(itemId), any(LocalDateTime.class),
+                eq(PageRequest.of(0, MAX_BOOKINGS_PER_ITEM))))
+                .thenReturn(List.of());
+
+        bookingTimelineCache.get(itemId);
+        BookingTimeline timeline = bookingTimelineCache.get(itemId).orElseThrow();
+
+        assertThat(1, equalTo(timeline.size()));
+        verify(bookingRepository, times(1)).findTimelineByItemIdAndEndAfter(eq(itemId),
+                any(LocalDateTime.class), eq(UPCOMING_PAGE));
+        assertThat(1.0, equalTo(meterRegistry.counter("cache.gets", "cache", "booking-timeline", "result", "hit")
+                .count()));
+        assertThat(1.0, equalTo(meterRegistry.counter("cache.gets", "cache", "booking-timeline", "result", "miss")
+                .count()));
+    }
+
+    @Test
+    void get_whenItemHasTooManyUpcomingBookings_thenRememberItAndNotReload() {
+        long itemId = 1L;
+        when(bookingRepository.findTimelineByItemIdAndEndAfter(eq(itemId), any(LocalDateTime.class),
+                eq(UPCOMING_PAGE)))
+                .thenReturn(List.of(
+                        new BookingTimelineEntry(1L, 3L, DAY.plusDays(1), DAY.plusDays(2), APPROVED),
+                        new BookingTimelineEntry(2L, 3L, DAY.plusDays(3), DAY.plusDays(4), APPROVED),
+                        new BookingTimelineEntry(3L, 3L, DAY.plusDays(5), DAY.plusDays(6), APPROVED)));
+
+        Optional<BookingTimeline> timeline = bookingTimelineCache.get(itemId);
+        bookingTimelineCache.onBookingChanged(itemId,
+                new BookingTimelineEntry(4L, 3L, DAY.plusDays(7), DAY.plusDays(8), WAITING));
+        Optional<BookingTimeline> cachedTimeline = bookingTimelineCache.get(itemId);
+
+        assertTrue(timeline.isEmpty());
+        assertTrue(cachedTimeline.isEmpty());
+        verify(bookingRepository, times(1)).findTimelineByItemIdAndEndAfter(eq(itemId),
+                any(LocalDateTime.class), eq(UPCOMING_PAGE));
+        verify(bookingRepository, never()).findTimelineByItemIdAndEndNotAfter(anyLong(), any(LocalDateTime.class),
+                any(PageRequest.class));
+    }
+
+    @Test
+    void get_whenOversizedMarkerIsStale_thenReload() {
+        long itemId = 1L;
+        bookingTimelineCache = new BookingTimelineCache(bookingRepository, meterRegistry, MAX_ITEMS,
+                MAX_BOOKINGS_PER_ITEM, Duration.ZERO);
+        when(bookingRepository.findTimelineByItemIdAndEndAfter(eq(itemId), any(LocalDateTime.class),
+                eq(UPCOMING_PAGE)))
+                .thenReturn(List.of(
+                        new BookingTimelineEntry(1L, 3L, DAY.plusDays(1), DAY.plusDays(2), APPROVED),
+                        new BookingTimelineEntry(2L, 3L, DAY.plusDays(3), DAY.plusDays(4), APPROVED),
+                        new BookingTimelineEntry(3L, 3L, DAY.plusDays(5), DAY.plusDays(6), APPROVED)));
+
+        bookingTimelineCache.get(itemId);
+        bookingTimelineCache.get(itemId);
+
+        verify(bookingRepository, times(2)).findTimelineByItemIdAndEndAfter(eq(itemId),
+                any(LocalDateTime.class), eq(UPCOMING_PAGE));
+    }
+
+    @Test
+    void get_whenItemHasManyPastBookings_thenCacheTheMostRecentOnes() {
+        long itemId = 1L;
+        LocalDateTime now = LocalDateTime.now();
+        when(bookingRepository.findTimelineByItemIdAndEndAfter(eq(itemId), any(LocalDateTime.class),
+                eq(UPCOMING_PAGE)))
+                .thenReturn(List.of());
+        when(bookingRepository.findTimelineByItemIdAndEndNotAfter(eq(itemId), any(LocalDateTime.class),
+                eq(PageRequest.of(0, MAX_BOOKINGS_PER_ITEM + 1))))
+                .thenReturn(List.of(
+                        new BookingTimelineEntry(3L, 4L, now.minusDays(2), now.minusDays(1), APPROVED),
+                        new BookingTimelineEntry(2L, 4L, now.minusDays(4), now.minusDays(3), APPROVED),
+                        new BookingTimelineEntry(1L, 4L, now.minusDays(6), now.minusDays(5), APPROVED)));
+
+        BookingTimeline timeline = bookingTimelineCache.get(itemId).orElseThrow();
+
+        assertThat(2, equalTo(timeline.size()));
+        assertThat(3L, equalTo(timeline.getLastBooking(itemId, now).getId()));
+        assertThat(2L, equalTo(timeline.getLastBooking(itemId, now.minusDays(3)).getId()));
+        assertNull(timeline.getLastBooking(itemId, now.minusDays(5)));
+        assertTrue(timeline.isCompleteFrom(timeline.getLoadedAt()));
+        assertFalse(timeline.isCompleteFrom(now.minusDays(3)));
+    }
+
+    @Test
+    void onBookingChanged_whenTimelineIsCached_thenUpdateItWithoutQuery() {
+        long itemId = 1L;
+        when(bookingRepository.findTimelineByItemIdAndEndAfter(eq(itemId), any(LocalDateTime.class),
+                eq(UPCOMING_PAGE)))
+                .thenReturn(List.of());
+        when(bookingRepository.findTimelineByItemIdAndEndNotAfter(eq(itemId), any(LocalDateTime.class),
+                eq(PageRequest.of(0, MAX_BOOKINGS_PER_ITEM + 1))))
+                .thenReturn(List.of());
+        bookingTimelineCache.get(itemId);
+
+        bookingTimelineCache.onBookingChanged(itemId,
+                new BookingTimelineEntry(5L, 3L, DAY.plusDays(1), DAY.plusDays(2), WAITING));
+        List<ItemFreeIntervalDto> freeIntervals = bookingTimelineCache.get(itemId).orElseThrow()
+                .getFreeIntervals(DAY, DAY.plusDays(3));
+
+        assertThat(List.of(
+                new ItemFreeIntervalDto(DAY, DAY.plusDays(1)),
+                new ItemFreeIntervalDto(DAY.plusDays(2), DAY.plusDays(3))), equalTo(freeIntervals));
+        verify(bookingRepository, times(1)).findTimelineByItemIdAndEndAfter(eq(itemId),
+                any(LocalDateTime.class), eq(UPCOMING_PAGE));
+    }
+
+    @Test
+    void onBookingChanged_whenTimelineIsFull_thenDropTheOldestPastBooking() {
+        long itemId = 1L;
+        LocalDateTime now = LocalDateTime.now();
+        when(bookingRepository.findTimelineByItemIdAndEndAfter(eq(itemId), any(LocalDateTime.class),
+                eq(UPCOMING_PAGE)))
+                .thenReturn(List.of());
+        when(bookingRepository.findTimelineByItemIdAndEndNotAfter(eq(itemId), any(LocalDateTime.class),
+                eq(PageRequest.of(0, MAX_BOOKINGS_PER_ITEM + 1))))
+                .thenReturn(List.of(
+                        new BookingTimelineEntry(2L, 4L, now.minusDays(2), now.minusDays(1), APPROVED),
+                        new BookingTimelineEntry(1L, 4L, now.minusDays(4), now.minusDays(3), APPROVED)));
+        bookingTimelineCache.get(itemId);
+
+        bookingTimelineCache.onBookingChanged(itemId,
+                new BookingTimelineEntry(3L, 4L, DAY.plusDays(1), DAY.plusDays(2), WAITING));
+        BookingTimeline timeline = bookingTimelineCache.get(itemId).orElseThrow();
+
+        assertThat(2, equalTo(timeline.size()));
+        assertThat(2L, equalTo(timeline.getLastBooking(itemId, now).getId()));
+        assertThat(3L, equalTo(timeline.getNextBooking(itemId, now).getId()));
+        assertNull(timeline.getLastBooking(itemId, now.minusDays(2)));
+        verify(bookingRepository, times(1)).findTimelineByItemIdAndEndAfter(eq(itemId),
+                any(LocalDateTime.class), eq(UPCOMING_PAGE));
+    }
+
+    @Test
+    void get_whenMoreItemsThanLimit_thenEvictLeastRecentlyUsed() {
+        when(bookingRepository.findTimelineByItemIdAndEndAfter(anyLong(), any(LocalDateTime.class),
+                eq(UPCOMING_PAGE)))
+                .thenReturn(List.of());
+        when(bookingRepository.findTimelineByItemIdAndEndNotAfter(anyLong(), any(LocalDateTime.class),
+                any(PageRequest.class)))
+                .thenReturn(List.of());
+
+        bookingTimelineCache.get(1L);
+        bookingTimelineCache.get(2L);
+        bookingTimelineCache.get(1L);
+        bookingTimelineCache.get(3L);
+        bookingTimelineCache.get(1L);
+        bookingTimelineCache.get(2L);
+
+        verify(bookingRepository, times(1)).findTimelineByItemIdAndEndAfter(eq(1L), any(LocalDateTime.class),
+                eq(UPCOMING_PAGE));
+        verify(bookingRepository, times(2)).findTimelineByItemIdAndEndAfter(eq(2L), any(LocalDateTime.class),
+                eq(UPCOMING_PAGE));
+        verify(bookingRepository, times(1)).findTimelineByItemIdAndEndAfter(eq(3L), any(LocalDateTime.class),
+                eq(UPCOMING_PAGE));
+        assertThat(2.0, equalTo(meterRegistry.counter("cache.evictions", "cache", "booking-timeline").count()));
+        assertThat(2.0, equalTo(meterRegistry.get("cache.size").gauge().value()));
+    }
+
+    @Test
+    void evictAll_whenCalled_thenReloadTimelines() {
+        long itemId = 1L;
+        when(bookingRepository.findTimelineByItemIdAndEndAfter(eq(itemId), any(LocalDateTime.class),
+                eq(UPCOMING_PAGE)))
+                .thenReturn(List.of());
+        when(bookingRepository.findTimelineByItemIdAndEndNotAfter(eq(itemId), any(LocalDateTime.class),
+                any(PageRequest.class)))
+                .thenReturn(List.of());
+        bookingTimelineCache.get(itemId);
+
+        bookingTimelineCache.evictAll();
+        bookingTimelineCache.get(itemId);
+
+        verify(bookingRepository, times(2)).findTimelineByItemIdAndEndAfter(eq(itemId),
+                any(LocalDateTime.class), eq(UPCOMING_PAGE));
+    }
+
+    @Test
+    void getAll_whenItemsAreMissing_thenLoadThemWithOneQueryEach() {
+        when(bookingRepository.findTimelineByItemIdAndEndAfter(eq(1L), any(LocalDateTime.class),
+                eq(UPCOMING_PAGE)))
+                .thenReturn(List.of());
+        when(bookingRepository.findTimelineByItemIdAndEndNotAfter(eq(1L), any(LocalDateTime.class),
+                any(PageRequest.class)))
+                .thenReturn(List.of());
+        bookingTimelineCache.get(1L);
+        when(bookingRepository.findTimelineByItemIdInAndEndAfter(eq(Set.of(2L, 3L)), any(LocalDateTime.class),
+                eq(MAX_BOOKINGS_PER_ITEM + 1)))
+                .thenReturn(List.of(
+                        booking(1L, 2L, DAY.plusDays(1), DAY.plusDays(2)),
+                        booking(2L, 3L, DAY.plusDays(1), DAY.plusDays(2)),
+                        booking(3L, 3L, DAY.plusDays(3), DAY.plusDays(4)),
+                        booking(4L, 3L, DAY.plusDays(5), DAY.plusDays(6))));
+        when(bookingRepository.findTimelineByItemIdInAndEndNotAfter(eq(Set.of(2L, 3L)), any(LocalDateTime.class),
+                eq(MAX_BOOKINGS_PER_ITEM + 1)))
+                .thenReturn(List.of(
+                        booking(6L, 2L, DAY.minusDays(2), DAY.minusDays(1)),
+                        booking(5L, 2L, DAY.minusDays(4), DAY.minusDays(3))));
+
+        Map<Long, BookingTimeline> timelines = bookingTimelineCache.getAll(List.of(1L, 2L, 3L));
+
+        assertThat(Set.of(1L, 2L), equalTo(timelines.keySet()));
+        assertThat(0, equalTo(timelines.get(1L).size()));
+        assertThat(2, equalTo(timelines.get(2L).size()));
+        assertTrue(timelines.get(2L).coversLastBooking(DAY.minusDays(1)));
+        assertFalse(timelines.get(2L).coversLastBooking(DAY.minusDays(3)));
+        assertTrue(bookingTimelineCache.getAll(List.of(3L)).isEmpty());
+        verify(bookingRepository, times(1)).findTimelineByItemIdInAndEndAfter(anyCollection(),
+                any(LocalDateTime.class), anyInt());
+        assertThat(2.0, equalTo(meterRegistry.counter("cache.gets", "cache", "booking-timeline", "result", "hit")
+                .count()));
+        assertThat(3.0, equalTo(meterRegistry.counter("cache.gets", "cache", "booking-timeline", "result", "miss")
+                .count()));
+    }
+
+    private static Booking booking(long id, long itemId, LocalDateTime start, LocalDateTime end) {
+        return new Booking()
+                .setId(id)
+                .setItem(new Item().setId(itemId))
+                .setBooker(new User().setId(7L))
+                .setStart(start)
+                .setEnd(end)
+                .setStatus(APPROVED);
+    }
+}
@@ -0,0 +1,146 @@
+package ru.practicum.shareit.booking.timeline;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.dto.BookingForItemDto;
+import ru.practicum.shareit.item.dto.ItemFreeIntervalDto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static ru.practicum.shareit.booking.enums.BookingStatus.*;
+
+class BookingTimelineTest {
+    private static final LocalDateTime DAY = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    @Test
+    void getFreeIntervals_whenNoBookings_thenReturnWholePeriod() {
+        BookingTimeline timeline = BookingTimeline.of(List.of());
+
+        List<ItemFreeIntervalDto> freeIntervals = timeline.getFreeIntervals(DAY, DAY.plusDays(10));
+
+        assertThat(List.of(new ItemFreeIntervalDto(DAY, DAY.plusDays(10))), equalTo(freeIntervals));
+    }
+
+    @Test
+    void getFreeIntervals_whenBookingsOverlap_thenMergeThem() {
+        BookingTimeline timeline = BookingTimeline.of(List.of(
+                new BookingTimelineEntry(3L, 3L, DAY.plusDays(6), DAY.plusDays(7), WAITING),
+                new BookingTimelineEntry(1L, 3L, DAY.plusDays(1), DAY.plusDays(4), APPROVED),
+                new BookingTimelineEntry(2L, 3L, DAY.plusDays(2), DAY.plusDays(3), APPROVED)));
+
+        List<ItemFreeIntervalDto> freeIntervals = timeline.getFreeIntervals(DAY, DAY.plusDays(10));
+
+        assertThat(List.of(
+                new ItemFreeIntervalDto(DAY, DAY.plusDays(1)),
+                new ItemFreeIntervalDto(DAY.plusDays(4), DAY.plusDays(6)),
+                new ItemFreeIntervalDto(DAY.plusDays(7), DAY.plusDays(10))), equalTo(freeIntervals));
+    }
+
+    @Test
+    void getFreeIntervals_whenBookingsAreRejectedOrExpired_thenIgnoreThem() {
+        BookingTimeline timeline = BookingTimeline.of(List.of(
+                new BookingTimelineEntry(1L, 3L, DAY.plusDays(1), DAY.plusDays(2), REJECTED),
+                new BookingTimelineEntry(2L, 3L, DAY.plusDays(3), DAY.plusDays(4), EXPIRED)));
+
+        List<ItemFreeIntervalDto> freeIntervals = timeline.getFreeIntervals(DAY, DAY.plusDays(5));
+
+        assertThat(List.of(new ItemFreeIntervalDto(DAY, DAY.plusDays(5))), equalTo(freeIntervals));
+    }
+
+    @Test
+    void getFreeIntervals_whenBookingsCrossPeriodBounds_thenClipToPeriod() {
+        BookingTimeline timeline = BookingTimeline.of(List.of(
+                new BookingTimelineEntry(1L, 3L, DAY.minusDays(5), DAY.plusDays(1), APPROVED),
+                new BookingTimelineEntry(2L, 3L, DAY.plusDays(3), DAY.plusDays(9), APPROVED),
+                new BookingTimelineEntry(3L, 3L, DAY.minusDays(9), DAY.minusDays(8), APPROVED)));
+
+        List<ItemFreeIntervalDto> freeIntervals = timeline.getFreeIntervals(DAY, DAY.plusDays(5));
+
+        assertThat(List.of(new ItemFreeIntervalDto(DAY.plusDays(1), DAY.plusDays(3))), equalTo(freeIntervals));
+    }
+
+    @Test
+    void getFreeIntervals_whenLongBookingCoversLaterOnes_thenReturnNothingInside() {
+        BookingTimeline timeline = BookingTimeline.of(List.of(
+                new BookingTimelineEntry(1L, 3L, DAY.minusDays(10), DAY.plusDays(20), APPROVED),
+                new BookingTimelineEntry(2L, 3L, DAY.plusDays(2), DAY.plusDays(3), WAITING)));
+
+        List<ItemFreeIntervalDto> freeIntervals = timeline.getFreeIntervals(DAY, DAY.plusDays(5));
+
+        assertThat(List.of(), equalTo(freeIntervals));
+    }
+
+    @Test
+    void getLastAndNextBooking_whenBookingsAroundDate_thenFindNearestByStart() {
+        BookingTimeline timeline = BookingTimeline.of(List.of(
+                new BookingTimelineEntry(1L, 3L, DAY.minusDays(5), DAY.minusDays(4), APPROVED),
+                new BookingTimelineEntry(2L, 4L, DAY.minusDays(2), DAY.plusDays(1), REJECTED),
+                new BookingTimelineEntry(3L, 5L, DAY.plusDays(3), DAY.plusDays(4), WAITING),
+                new BookingTimelineEntry(4L, 6L, DAY.plusDays(6), DAY.plusDays(7), APPROVED)));
+
+        BookingForItemDto lastBooking = timeline.getLastBooking(10L, DAY);
+        BookingForItemDto nextBooking = timeline.getNextBooking(10L, DAY);
+
+        assertThat(new BookingForItemDto(2L, 10L, 4L, DAY.minusDays(2), DAY.plusDays(1)), equalTo(lastBooking));
+        assertThat(new BookingForItemDto(3L, 10L, 5L, DAY.plusDays(3), DAY.plusDays(4)), equalTo(nextBooking));
+    }
+
+    @Test
+    void getLastAndNextBooking_whenStartEqualsDate_thenBookingIsNeitherLastNorNext() {
+        BookingTimeline timeline = BookingTimeline.of(List.of(
+                new BookingTimelineEntry(1L, 3L, DAY, DAY.plusDays(1), APPROVED)));
+
+        assertNull(timeline.getLastBooking(10L, DAY));
+        assertNull(timeline.getNextBooking(10L, DAY));
+        assertThat(1L, equalTo(timeline.getLastBooking(10L, DAY.plusSeconds(1)).getId()));
+        assertThat(1L, equalTo(timeline.getNextBooking(10L, DAY.minusSeconds(1)).getId()));
+    }
+
+    @Test
+    void with_whenBookingStatusChanged_thenReplaceEntry() {
+        BookingTimeline timeline = BookingTimeline.of(List.of(
+                new BookingTimelineEntry(1L, 3L, DAY.plusDays(1), DAY.plusDays(2), WAITING)));
+
+        BookingTimeline updatedTimeline = timeline
+                .with(new BookingTimelineEntry(1L, 3L, DAY.plusDays(1), DAY.plusDays(2), REJECTED))
+                .with(new BookingTimelineEntry(2L, 3L, DAY.plusDays(3), DAY.plusDays(4), APPROVED));
+
+        assertThat(2, equalTo(updatedTimeline.size()));
+        assertThat(List.of(new ItemFreeIntervalDto(DAY, DAY.plusDays(3))),
+                equalTo(updatedTimeline.getFreeIntervals(DAY, DAY.plusDays(4))));
+    }
+
+    @Test
+    void window_whenPastBookingsExceedLimit_thenLeaveOutBookingsStartingWithTheFirstDropped() {
+        BookingTimeline timeline = BookingTimeline.window(
+                List.of(new BookingTimelineEntry(5L, 3L, DAY.plusDays(9), DAY.plusDays(11), APPROVED)),
+                List.of(
+                        new BookingTimelineEntry(4L, 3L, DAY.plusDays(6), DAY.plusDays(7), APPROVED),
+                        new BookingTimelineEntry(3L, 3L, DAY.plusDays(4), DAY.plusDays(5), REJECTED),
+                        new BookingTimelineEntry(2L, 3L, DAY.plusDays(4), DAY.plusDays(5), APPROVED)),
+                2, DAY.plusDays(10));
+
+        assertThat(2, equalTo(timeline.size()));
+        assertThat(4L, equalTo(timeline.getLastBooking(1L, DAY.plusDays(9)).getId()));
+        assertNull(timeline.getLastBooking(1L, DAY.plusDays(5)));
+        assertThat(5L, equalTo(timeline.getNextBooking(1L, DAY.plusDays(8)).getId()));
+        assertTrue(timeline.isCompleteFrom(DAY.plusDays(10)));
+        assertFalse(timeline.isCompleteFrom(DAY.plusDays(8)));
+    }
+
+    @Test
+    void trimmed_whenOnlyUpcomingBookingsRemain_thenReturnNull() {
+        BookingTimeline timeline = BookingTimeline.window(List.of(
+                        new BookingTimelineEntry(1L, 3L, DAY.plusDays(1), DAY.plusDays(2), APPROVED),
+                        new BookingTimelineEntry(2L, 3L, DAY.plusDays(3), DAY.plusDays(4), APPROVED)),
+                List.of(), 0, DAY);
+
+        assertThat(timeline, equalTo(timeline.trimmed(2)));
+        assertNull(timeline.trimmed(1));
+    }
+}
@@ -0,0 +1,414 @@
+package ru.practicum.shareit.booking.view;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.TestPropertySource;
+import ru.practicum.shareit.booking.dto.BookingOutDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static ru.practicum.shareit.booking.enums.BookingStatus.APPROVED;
+import static ru.practicum.shareit.booking.enums.BookingStatus.REJECTED;
+import static ru.practicum.shareit.booking.enums.BookingStatus.WAITING;
+import static ru.practicum.shareit.booking.mapper.BookingMapper.toOwnerBookingView;
+
+@DataJpaTest()
+@TestPropertySource(properties = {"spring.jpa.hibernate.ddl-auto=validate"})
+class OwnerBookingViewRepositoryTest {
+    @Autowired
+    private OwnerBookingViewRepository ownerBookingViewRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+
+    private User bookerStorage;
+    private User ownerStorage;
+    private Item itemStorage;
+
+    @BeforeEach
+    void saveData() {
+        User booker = new User()
+                .setName("Booker name")
+                .setEmail("booker@yandex.ru");
+        bookerStorage = userRepository.save(booker);
+
+        User owner = new User()
+                .setName("Owner name")
+                .setEmail("owner@yandex.ru");
+        ownerStorage = userRepository.save(owner);
+
+        Item newItem = new Item()
+                .setUserId(ownerStorage.getId())
+                .setName("Item name")
+                .setDescription("Item description")
+                .setAvailable(true);
+        itemStorage = itemRepository.save(newItem);
+    }
+
+    @Test
+    void findAllByOwnerId_whenPageableIsSet_thenReturnLimitedList() {
+        Booking newBooking1 = new Booking()
+                .setStart(LocalDateTime.now().minusDays(5))
+                .setEnd(LocalDateTime.now().minusDays(2))
+                .setItem(itemStorage)
+                .setBooker(bookerStorage)
+                .setStatus(WAITING);
+        Booking newBooking2 = new Booking()
+                .setStart(LocalDateTime.now().plusDays(2))
+                .setEnd(LocalDateTime.now().plusDays(5))
+                .setItem(itemStorage)
+                .setBooker(bookerStorage)
+                .setStatus(WAITING);
+        Booking bookingStorage1 = save(newBooking1);
+        Booking bookingStorage2 = save(newBooking2);
+        PageRequest pageable = PageRequest.of(0, 1);
+
+        List<BookingOutDto> bookings = ownerBookingViewRepository
+                .findAllByOwnerId(ownerStorage.getId(), pageable);
+
+        assertThat(bookings, hasSize(1));
+        assertThat(bookings, hasItem(hasProperty("id", equalTo(bookingStorage2.getId()))));
+    }
+
+    @Test
+    void findAllByOwnerId_whenPageableIsNotSet_thenReturnFullList() {
+        Booking newBooking1 = new Booking()
+                .setStart(LocalDateTime.now().minusDays(5))
+                .setEnd(LocalDateTime.now().minusDays(2))
+                .setItem(itemStorage)
+                .setBooker(bookerStorage)
+                .setStatus(WAITING);
+        Booking newBooking2 = new Booking()
+                .setStart(LocalDateTime.now().plusDays(2))
+                .setEnd(LocalDateTime.now().plusDays(5))
+                .setItem(itemStorage)
+                .setBooker(bookerStorage)
+                .setStatus(WAITING);
+        Booking bookingStorage1 = save(newBooking1);
+        Booking bookingStorage2 = save(newBooking2);
+
+        List<BookingOutDto> bookings = ownerBookingViewRepository
+                .findAllByOwnerId(ownerStorage.getId());
+
+        assertThat(bookings, hasSize(2));
+        assertTrue(bookings.get(0).getStart().isAfter(bookings.get(1).getStart()));
+    }
+
+    @Test
+    void findAllByOwnerIdAndStatus_whenPageableIsSet_thenReturnLimitedList() {
+        Booking newBooking1 = new Booking()
+                .setStart(LocalDateTime.now().minusDays(5))
+                .setEnd(LocalDateTime.now().minusDays(2))
+                .setItem(itemStorage)
+                .setBooker(bookerStorage)
+                .setStatus(WAITING);
+        Booking newBooking2 = new Booking()
+                .setStart(LocalDateTime.now().plusDays(2))
+                .setEnd(LocalDateTime.now().plusDays(5))
+                .setItem(itemStorage)
+                .setBooker(bookerStorage)
+                .setStatus(WAITING);
+        Booking bookingStorage1 = save(newBooking1);
+        Booking bookingStorage2 = save(newBooking2);
+        PageRequest pageable = PageRequest.of(0, 1);
+
+        List<BookingOutDto> bookings = ownerBookingViewRepository
+                .findAllByOwnerIdAndStatus(ownerStorage.getId(), WAITING, pageable);
+
+        assertThat(bookings, hasSize(1));
+        assertThat(bookings, hasItem(hasProperty("id", equalTo(bookingStorage2.getId()))));
+    }
+
+    @Test
+    void findAllByOwnerIdAndStatus_whenPageableIsNotSet_thenReturnFullList() {
+        Booking newBooking1 = new Booking()
+                .setStart(LocalDateTime.now().minusDays(5))
+                .setEnd(LocalDateTime.now().minusDays(2))
+                .setItem(itemStorage)
+                .setBooker(bookerStorage)
+                .setStatus(REJECTED);
+        Booking newBooking2 = new Booking()
+                .setStart(LocalDateTime.now().plusDays(2))
+                .setEnd(LocalDateTime.now().plusDays(5))
+                .setItem(itemStorage)
+                .setBooker(bookerStorage)
+                .setStatus(WAITING);
+        Booking bookingStorage1 = save(newBooking1);
+        Booking bookingStorage2 = save(newBooking2);
+
+        List<BookingOutDto> bookings = ownerBookingViewRepository
+                .findAllByOwnerIdAndStatus(ownerStorage.getId(), REJECTED);
+
+        assertThat(bookings, hasSize(1));
+        assertThat(bookings, hasItem(hasProperty("id", equalTo(bookingStorage1.getId()))));
+    }
+
+    @Test
+    void findAllByOwnerIdAndPast_whenPageableIsSet_thenReturnLimitedList() {
+        Booking newBooking1 = new Booking()
+                .setStart(LocalDateTime.now().minusDays(5))
+                .setEnd(LocalDateTime.now().minusDays(2))
+                .setItem(itemStorage)
+                .setBooker(bookerStorage)
+                .setStatus(WAITING);
+        Booking newBooking2 = new Booking()
+                .setStart(LocalDateTime.now().minusDays(1))
+                .setEnd(LocalDateTime.now())
+                .setItem(itemStorage)
+                .setBooker(bookerStorage)
+                .setStatus(WAITING);
+        Booking newBooking3 = new Booking()
+                .setStart(LocalDateTime.now().plusDays(2))
+                .setEnd(LocalDateTime.now().plusDays(5))
+                .setItem(itemStorage)
+                .setBooker(bookerStorage)
+                .setStatus(WAITING);
+        Booking bookingStorage1 = save(newBooking1);
+        Booking bookingStorage2 = save(newBooking2);
+        Booking bookingStorage3 = save(newBooking3);
+        PageRequest pageable = PageRequest.of(0, 1);
+
+        List<BookingOutDto> bookings = ownerBookingViewRepository
+                .findAllByOwnerIdAndPast(ownerStorage.getId(), LocalDateTime.now(), pageable);
+
+        assertThat(bookings, hasSize(1));
+        assertThat(bookings, hasItem(hasProperty("id", equalTo(bookingStorage2.getId()))));
+    }
+
+    @Test
+    void findAllByOwnerIdAndPast_whenPageableIsNotSet_thenReturnFullList() {
+        Booking newBooking1 = new Booking()
+                .setStart(LocalDateTime.now().minusDays(5))
+                .setEnd(LocalDateTime.now().minusDays(2))
+                .setItem(itemStorage)
+                .setBooker(bookerStorage)
+                .setStatus(WAITING);
+        Booking newBooking2 = new Booking()
+                .setStart(LocalDateTime.now().minusDays(1))
+                .setEnd(LocalDateTime.now())
+                .setItem(itemStorage)
+                .setBooker(bookerStorage)
+                .setStatus(WAITING);
+        Booking newBooking3 = new Booking()
+                .setStart(LocalDateTime.now().plusDays(2))
+                .setEnd(LocalDateTime.now().plusDays(5))
+                .setItem(itemStorage)
+                .setBooker(bookerStorage)
+                .setStatus(WAITING);
+        Booking bookingStorage1 = save(newBooking1);
+        Booking bookingStorage2 = save(newBooking2);
+        Booking bookingStorage3 = save(newBooking3);
+
+        List<BookingOutDto> bookings = ownerBookingViewRepository
+                .findAllByOwnerIdAndPast(ownerStorage.getId(), LocalDateTime.now());
+
+        assertThat(bookings, hasSize(2));
+        assertTrue(bookings.get(0).getStart().isAfter(bookings.get(1).getStart()));
+    }
+
+    @Test
+    void findAllByOwnerIdAndFuture_whenPageableIsSet_thenReturnLimitedList() {
+        Booking newBooking1 = new Booking()
+                .setStart(LocalDateTime.now().minusDays(5))
+                .setEnd(LocalDateTime.now().minusDays(2))
+                .setItem(itemStorage)
+                .setBooker(bookerStorage)
+                .setStatus(WAITING);
+        Booking newBooking2 = new Booking()
+                .setStart(LocalDateTime.now().plusMinutes(5))
+                .setEnd(LocalDateTime.now().plusDays(1))
+                .setItem(itemStorage)
+                .setBooker(bookerStorage)
+                .setStatus(WAITING);
+        Booking newBooking3 = new Booking()
+                .setStart(LocalDateTime.now().plusDays(2))
+                .setEnd(LocalDateTime.now().plusDays(5))
+                .setItem(itemStorage)
+                .setBooker(bookerStorage)
+                .setStatus(WAITING);
+        Booking bookingStorage1 = save(newBooking1);
+        Booking bookingStorage2 = save(newBooking2);
+        Booking bookingStorage3 = save(newBooking3);
+        PageRequest pageable = PageRequest.of(0, 1);
+
+        List<BookingOutDto> bookings = ownerBookingViewRepository
+                .findAllByOwnerIdAndFuture(ownerStorage.getId(), LocalDateTime.now(), pageable);
+
+        assertThat(bookings, hasSize(1));
+        assertThat(bookings, hasItem(hasProperty("id", equalTo(bookingStorage3.getId()))));
+    }
+
+    @Test
+    void findAllByOwnerIdAndFuture_whenPageableIsNotSet_thenReturnFullList() {
+        Booking newBooking1 = new Booking()
+                .setStart(LocalDateTime.now().minusDays(5))
+                .setEnd(LocalDateTime.now().minusDays(2))
+                .setItem(itemStorage)
+                .setBooker(bookerStorage)
+                .setStatus(WAITING);
+        Booking newBooking2 = new Booking()
+                .setStart(LocalDateTime.now().plusMinutes(5))
+                .setEnd(LocalDateTime.now().plusDays(1))
+                .setItem(itemStorage)
+                .setBooker(bookerStorage)
+                .setStatus(WAITING);
+        Booking newBooking3 = new Booking()
+                .setStart(LocalDateTime.now().plusDays(2))
+                .setEnd(LocalDateTime.now().plusDays(5))
+                .setItem(itemStorage)
+                .setBooker(bookerStorage)
+                .setStatus(WAITING);
+        Booking bookingStorage1 = save(newBooking1);
+        Booking bookingStorage2 = save(newBooking2);
+        Booking bookingStorage3 = save(newBooking3);
+
+        List<BookingOutDto> bookings = ownerBookingViewRepository
+                .findAllByOwnerIdAndFuture(ownerStorage.getId(), LocalDateTime.now());
+
+        assertThat(bookings, hasSize(2));
+        assertTrue(bookings.get(0).getStart().isAfter(bookings.get(1).getStart()));
+    }
+
+    @Test
+    void findAllByOwnerIdAndCurrent_whenPageableIsSet_thenReturnLimitedList() {
+        Booking newBooking1 = new Booking()
+                .setStart(LocalDateTime.now().minusDays(5))
+                .setEnd(LocalDateTime.now().minusDays(2))
+                .setItem(itemStorage)
+                .setBooker(bookerStorage)
+                .setStatus(WAITING);
+        Booking newBooking2 = new Booking()
+                .setStart(LocalDateTime.now().minusMinutes(5))
+                .setEnd(LocalDateTime.now().plusDays(1))
+                .setItem(itemStorage)
+                .setBooker(bookerStorage)
+                .setStatus(WAITING);
+        Booking newBooking3 = new Booking()
+                .setStart(LocalDateTime.now().plusDays(2))
+                .setEnd(LocalDateTime.now().plusDays(5))
+                .setItem(itemStorage)
+                .setBooker(bookerStorage)
+                .setStatus(WAITING);
+        Booking bookingStorage1 = save(newBooking1);
+        Booking bookingStorage2 = save(newBooking2);
+        Booking bookingStorage3 = save(newBooking3);
+        PageRequest pageable = PageRequest.of(0, 1);
+
+        List<BookingOutDto> bookings = ownerBookingViewRepository
+                .findAllByOwnerIdAndCurrent(ownerStorage.getId(), LocalDateTime.now(), pageable);
+
+        assertThat(bookings, hasSize(1));
+        assertThat(bookings, hasItem(hasProperty("id", equalTo(bookingStorage2.getId()))));
+    }
+
+    @Test
+    void findAllByOwnerIdAndCurrent_whenPageableIsNotSet_thenReturnFullList() {
+        Booking newBooking1 = new Booking()
+                .setStart(LocalDateTime.now().minusDays(5))
+                .setEnd(LocalDateTime.now().minusDays(2))
+                .setItem(itemStorage)
+                .setBooker(bookerStorage)
+                .setStatus(WAITING);
+        Booking newBooking2 = new Booking()
+                .setStart(LocalDateTime.now().minusMinutes(5))
+                .setEnd(LocalDateTime.now().plusDays(1))
+                .setItem(itemStorage)
+                .setBooker(bookerStorage)
+                .setStatus(WAITING);
+        Booking newBooking3 = new Booking()
+                .setStart(LocalDateTime.now().plusDays(2))
+                .setEnd(LocalDateTime.now().plusDays(5))
+                .setItem(itemStorage)
+                .setBooker(bookerStorage)
+                .setStatus(WAITING);
+        Booking bookingStorage1 = save(newBooking1);
+        Booking bookingStorage2 = save(newBooking2);
+        Booking bookingStorage3 = save(newBooking3);
+
+        List<BookingOutDto> bookings = ownerBookingViewRepository
+                .findAllByOwnerIdAndCurrent(ownerStorage.getId(), LocalDateTime.now());
+
+        assertThat(bookings, hasSize(1));
+        assertThat(bookings, hasItem(hasProperty("id", equalTo(bookingStorage2.getId()))));
+    }
+
+    @Test
+    void findAllByOwnerId_whenBookingIsSaved_thenReturnItemAndBookerFromTheView() {
+        Booking bookingStorage = save(new Booking()
+                .setStart(LocalDateTime.now().plusDays(2))
+                .setEnd(LocalDateTime.now().plusDays(5))
+                .setItem(itemStorage)
+                .setBooker(bookerStorage)
+                .setStatus(WAITING));
+
+        BookingOutDto booking = ownerBookingViewRepository.findAllByOwnerId(ownerStorage.getId()).get(0);
+
+        assertThat(bookingStorage.getId(), equalTo(booking.getId()));
+        assertThat(WAITING, equalTo(booking.getStatus()));
+        assertThat(itemStorage.getId(), equalTo(booking.getItem().getId()));
+        assertThat("Item name", equalTo(booking.getItem().getName()));
+        assertThat("Item description", equalTo(booking.getItem().getDescription()));
+        assertThat(true, equalTo(booking.getItem().getAvailable()));
+        assertThat(bookerStorage.getId(), equalTo(booking.getBooker().getId()));
+        assertThat("Booker name", equalTo(booking.getBooker().getName()));
+        assertThat("booker@yandex.ru", equalTo(booking.getBooker().getEmail()));
+    }
+
+    @Test
+    void updateStatusByIdIn_whenStatusChanges_thenReturnBookingsWithNewStatus() {
+        Booking bookingStorage = save(new Booking()
+                .setStart(LocalDateTime.now().plusDays(2))
+                .setEnd(LocalDateTime.now().plusDays(5))
+                .setItem(itemStorage)
+                .setBooker(bookerStorage)
+                .setStatus(WAITING));
+
+        int updated = ownerBookingViewRepository.updateStatusByIdIn(List.of(bookingStorage.getId()), APPROVED);
+
+        assertThat(1, equalTo(updated));
+        assertThat(ownerBookingViewRepository.findAllByOwnerIdAndStatus(ownerStorage.getId(), WAITING), empty());
+        assertThat(ownerBookingViewRepository.findAllByOwnerIdAndStatus(ownerStorage.getId(), APPROVED), hasSize(1));
+    }
+
+    @Test
+    void updateItemAndBooker_whenItemAndBookerChange_thenReturnNewValues() {
+        save(new Booking()
+                .setStart(LocalDateTime.now().plusDays(2))
+                .setEnd(LocalDateTime.now().plusDays(5))
+                .setItem(itemStorage)
+                .setBooker(bookerStorage)
+                .setStatus(WAITING));
+
+        ownerBookingViewRepository.updateItem(itemStorage.getId(), "New item name", "New item description", false);
+        ownerBookingViewRepository.updateBooker(bookerStorage.getId(), "New booker name", "new-booker@yandex.ru");
+        BookingOutDto booking = ownerBookingViewRepository.findAllByOwnerId(ownerStorage.getId()).get(0);
+
+        assertThat("New item name", equalTo(booking.getItem().getName()));
+        assertThat("New item description", equalTo(booking.getItem().getDescription()));
+        assertThat(false, equalTo(booking.getItem().getAvailable()));
+        assertThat("New booker name", equalTo(booking.getBooker().getName()));
+        assertThat("new-booker@yandex.ru", equalTo(booking.getBooker().getEmail()));
+    }
+
+    private Booking save(Booking booking) {
+        Booking bookingStorage = bookingRepository.save(booking);
+        ownerBookingViewRepository.save(toOwnerBookingView(bookingStorage, booking.getItem(), booking.getBooker()));
+        return bookingStorage;
+    }
+}
@@ -0,0 +1,155 @@
+package ru.practicum.shareit.booking.view;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import ru.practicum.shareit.booking.dto.BookingInnerDto;
+import ru.practicum.shareit.booking.dto.BookingOutDto;
+import ru.practicum.shareit.booking.enums.BookingState;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.dto.ItemInnerDto;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static ru.practicum.shareit.booking.enums.BookingStatus.APPROVED;
+import static ru.practicum.shareit.booking.enums.BookingStatus.EXPIRED;
+import static ru.practicum.shareit.booking.enums.BookingStatus.REJECTED;
+
+@SpringBootTest
+class OwnerBookingViewTest {
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    private long ownerId;
+    private long firstBookerId;
+    private long secondBookerId;
+    private long itemId;
+    private long futureBookingId;
+    private long currentBookingId;
+    private long pastBookingId;
+
+    @BeforeEach
+    void saveData() {
+        ownerId = userService.addUser(new UserDto()
+                .setName("Owner name")
+                .setEmail("view-owner@yandex.ru")).getId();
+        firstBookerId = userService.addUser(new UserDto()
+                .setName("First booker name")
+                .setEmail("view-booker1@yandex.ru")).getId();
+        secondBookerId = userService.addUser(new UserDto()
+                .setName("Second booker name")
+                .setEmail("view-booker2@yandex.ru")).getId();
+        itemId = itemService.addItem(ownerId, new ItemInnerDto()
+                .setName("Item name")
+                .setDescription("Item description")
+                .setAvailable(true)).getId();
+        LocalDateTime now = LocalDateTime.now();
+        futureBookingId = addBooking(firstBookerId, now.plusDays(1), now.plusDays(2));
+        currentBookingId = addBooking(firstBookerId, now.minusDays(1), now.plusDays(1));
+        pastBookingId = addBooking(secondBookerId, now.minusDays(3), now.minusDays(2));
+        bookingService.updateBooking(ownerId, futureBookingId, true);
+        bookingService.updateBookings(ownerId, List.of(pastBookingId), false);
+        bookingService.expireWaitingBookings(LocalDateTime.now(), 10);
+    }
+
+    @AfterEach
+    void deleteData() {
+        bookingRepository.deleteAll();
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void getBookingsForOwner_whenBookingsChangeStatus_thenViewFollowsTransitions() {
+        List<BookingOutDto> bookings = bookingService.getBookingsForOwner(ownerId, "ALL", null, null);
+
+        assertThat(List.of(futureBookingId, currentBookingId, pastBookingId), equalTo(toIds(bookings)));
+        assertThat(APPROVED, equalTo(bookings.get(0).getStatus()));
+        assertThat(EXPIRED, equalTo(bookings.get(1).getStatus()));
+        assertThat(REJECTED, equalTo(bookings.get(2).getStatus()));
+        assertThat(List.of(futureBookingId), equalTo(toIds(bookingService.getBookingsForOwner(ownerId, "FUTURE",
+                0, 10))));
+        assertThat(List.of(currentBookingId), equalTo(toIds(bookingService.getBookingsForOwner(ownerId, "CURRENT",
+                null, null))));
+        assertThat(bookingService.getBookingsForOwner(ownerId, "WAITING", null, null), empty());
+    }
+
+    @Test
+    void getBookingPageForOwner_whenCalledForEveryState_thenTotalMatchesTheList() {
+        for (BookingState state : BookingState.values()) {
+            List<BookingOutDto> bookings = bookingService.getBookingsForOwner(ownerId, state.name(), null, null);
+            Page<BookingOutDto> firstPage = bookingService.getBookingPageForOwner(ownerId, state.name(), 0, 1);
+
+            assertThat(state.name(), (long) bookings.size(), equalTo(firstPage.getTotalElements()));
+            assertThat(state.name(), bookings.stream().limit(1).collect(Collectors.toList()),
+                    equalTo(firstPage.getContent()));
+        }
+    }
+
+    @Test
+    void getBookingsForOwner_whenItemAndBookerAreUpdated_thenReturnNewValues() {
+        itemService.updateItem(ownerId, itemId, new ItemInnerDto().setName("New item name"));
+        userService.updateUser(firstBookerId, new UserDto().setEmail("view-new-booker1@yandex.ru"));
+
+        BookingOutDto booking = bookingService.getBookingsForOwner(ownerId, "FUTURE", null, null).get(0);
+
+        assertThat("New item name", equalTo(booking.getItem().getName()));
+        assertThat("Item description", equalTo(booking.getItem().getDescription()));
+        assertThat("First booker name", equalTo(booking.getBooker().getName()));
+        assertThat("view-new-booker1@yandex.ru", equalTo(booking.getBooker().getEmail()));
+    }
+
+    @Test
+    void getBookingsForOwner_whenBookingsAreArchived_thenStillReturnThem() {
+        bookingService.archiveFinishedBookings(LocalDateTime.now(), 10);
+
+        assertThat(false, equalTo(bookingRepository.existsById(pastBookingId)));
+        assertThat(List.of(pastBookingId), equalTo(toIds(bookingService.getBookingsForOwner(ownerId, "PAST",
+                null, null))));
+        assertThat(bookingService.getBookingsForOwner(ownerId, "ALL", null, null), hasSize(3));
+    }
+
+    @Test
+    void getBookingsForOwner_whenBookerIsDeleted_thenTheirBookingsAreRemoved() {
+        userService.delUserById(secondBookerId);
+
+        assertThat(List.of(futureBookingId, currentBookingId),
+                equalTo(toIds(bookingService.getBookingsForOwner(ownerId, "ALL", null, null))));
+    }
+
+    private long addBooking(long bookerId, LocalDateTime start, LocalDateTime end) {
+        return bookingService.addBooking(bookerId, new BookingInnerDto()
+                .setItemId(itemId)
+                .setStart(start)
+                .setEnd(end)).getId();
+    }
+
+    private List<Long> toIds(List<BookingOutDto> bookings) {
+        return bookings.stream()
+                .map(BookingOutDto::getId)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,56 @@
+package ru.practicum.shareit.config;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.sql.SqlStatementCounter;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserService;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+
+@SpringBootTest(properties = "shareit.cache.second-level.enabled=false")
+class SecondLevelCacheDisabledTest {
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private SqlStatementCounter sqlStatementCounter;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private UserRepository userRepository;
+
+    @AfterEach
+    void deleteData() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void sessionFactory_whenCacheIsDisabled_thenSecondLevelAndQueryCacheAreOff() {
+        SessionFactoryOptions options = entityManagerFactory.unwrap(SessionFactory.class).getSessionFactoryOptions();
+
+        assertThat(false, equalTo(options.isSecondLevelCacheEnabled()));
+        assertThat(false, equalTo(options.isQueryCacheEnabled()));
+    }
+
+    @Test
+    void getUserById_whenCacheIsDisabled_thenReadUserFromDatabase() {
+        long userId = userService.addUser(new UserDto()
+                .setName("no-cache")
+                .setEmail("no-cache@cache.ru")).getId();
+        userService.getUserById(userId);
+
+        sqlStatementCounter.reset();
+        userService.getUserById(userId);
+
+        assertThat(sqlStatementCounter.getCount(), greaterThan(0));
+    }
+}
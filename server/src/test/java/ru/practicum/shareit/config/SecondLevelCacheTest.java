@@ -0,0 +1,136 @@
+package ru.practicum.shareit.config;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.item.dto.ItemInnerDto;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.request.dto.ItemRequestInnerDto;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.sql.SqlStatementCounter;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserService;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+
+@SpringBootTest
+class SecondLevelCacheTest {
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private SqlStatementCounter sqlStatementCounter;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private ItemRequestService itemRequestService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+
+    private Statistics statistics;
+    private long ownerId;
+    private long requestorId;
+
+    @BeforeEach
+    void saveUsers() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        ownerId = addUser("cache-owner");
+        requestorId = addUser("cache-requestor");
+    }
+
+    @AfterEach
+    void deleteData() {
+        itemRepository.deleteAll();
+        itemRequestRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void getUserById_whenCalledAgain_thenReadUserFromCache() {
+        userService.getUserById(ownerId);
+        long hits = statistics.getDomainDataRegionStatistics("users").getHitCount();
+
+        sqlStatementCounter.reset();
+        UserDto userDto = userService.getUserById(ownerId);
+
+        assertThat("cache-owner", equalTo(userDto.getName()));
+        assertThat(0, equalTo(sqlStatementCounter.getCount()));
+        assertThat(statistics.getDomainDataRegionStatistics("users").getHitCount(), greaterThan(hits));
+    }
+
+    @Test
+    void updateUser_whenUserIsCached_thenReturnUpdatedUser() {
+        userService.getUserById(ownerId);
+
+        userService.updateUser(ownerId, new UserDto().setName("renamed-owner"));
+
+        assertThat("renamed-owner", equalTo(userService.getUserById(ownerId).getName()));
+    }
+
+    @Test
+    void findItemByRequestId_whenCalledAgain_thenReadResultFromQueryCache() {
+        long requestId = itemRequestService.addItemRequest(requestorId,
+                new ItemRequestInnerDto("Need a drill")).getId();
+        addItem(requestId, "Drill");
+        itemRepository.findItemByRequestId(requestId);
+        long hits = statistics.getQueryRegionStatistics("items-by-request").getHitCount();
+
+        sqlStatementCounter.reset();
+        itemRepository.findItemByRequestId(requestId);
+
+        assertThat(0, equalTo(sqlStatementCounter.getCount()));
+        assertThat(statistics.getQueryRegionStatistics("items-by-request").getHitCount(), greaterThan(hits));
+    }
+
+    @Test
+    void findItemByRequestId_whenItemAdded_thenInvalidateQueryCache() {
+        long requestId = itemRequestService.addItemRequest(requestorId,
+                new ItemRequestInnerDto("Need a saw")).getId();
+        addItem(requestId, "Saw");
+        itemRepository.findItemByRequestId(requestId);
+
+        addItem(requestId, "Hand saw");
+
+        assertThat(2, equalTo(itemRepository.findItemByRequestId(requestId).size()));
+    }
+
+    @Test
+    void delUserById_whenOwnerItemsAreCached_thenEvictItems() {
+        long itemId = addItem(null, "Ladder");
+        assertThat(true, equalTo(itemRepository.existsById(itemId)));
+
+        userService.delUserById(ownerId);
+
+        assertThat(false, equalTo(itemRepository.existsById(itemId)));
+    }
+
+    private long addUser(String name) {
+        return userService.addUser(new UserDto()
+                .setName(name)
+                .setEmail(name + "@cache.ru")).getId();
+    }
+
+    private long addItem(Long requestId, String name) {
+        return itemService.addItem(ownerId, new ItemInnerDto()
+                .setName(name)
+                .setDescription(name + " to share")
+                .setAvailable(true)
+                .setRequestId(requestId)).getId();
+    }
+}
@@ -0,0 +1,143 @@
+package ru.practicum.shareit.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@SpringBootTest(properties = "shareit.datasource.replica.enabled=true")
+class ReplicaRoutingTest {
+    @TestConfiguration
+    static class ReplicaMigrationConfig {
+        @Bean
+        FlywayMigrationStrategy migratePrimaryAndReplica(HikariDataSource replicaDataSource) {
+            return flyway -> {
+                flyway.migrate();
+                Flyway.configure()
+                        .configuration(flyway.getConfiguration())
+                        .dataSource(replicaDataSource)
+                        .load()
+                        .migrate();
+            };
+        }
+    }
+
+    @Autowired
+    private HikariDataSource primaryDataSource;
+    @Autowired
+    private HikariDataSource replicaDataSource;
+    @Autowired
+    private ReadYourWrites readYourWrites;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void saveReplicaUser() {
+        new JdbcTemplate(replicaDataSource)
+                .update("INSERT INTO users (id, name, email) VALUES (1000, 'replica-user', 'replica@user.ru')");
+    }
+
+    @AfterEach
+    void deleteData() {
+        readYourWrites.endRequest();
+        userRepository.deleteAll();
+        new JdbcTemplate(replicaDataSource).update("DELETE FROM users");
+    }
+
+    @Test
+    void getUsers_whenCallerDidNotWrite_thenReadFromReplica() {
+        addUser("primary-user");
+
+        assertThat(getUserNames(), contains("replica-user"));
+    }
+
+    @Test
+    void getUsers_whenRequestWrote_thenReadFromPrimary() {
+        readYourWrites.startRequest(null);
+        addUser("primary-user");
+
+        assertThat(getUserNames(), contains("primary-user"));
+    }
+
+    @Test
+    void getUsers_whenCallerWroteInPreviousRequest_thenReadFromPrimary() {
+        readYourWrites.startRequest(7L);
+        addUser("primary-user");
+        readYourWrites.endRequest();
+
+        readYourWrites.startRequest(7L);
+        assertThat(getUserNames(), contains("primary-user"));
+        readYourWrites.endRequest();
+
+        readYourWrites.startRequest(8L);
+        assertThat(getUserNames(), contains("replica-user"));
+    }
+
+    @Test
+    void getUserById_whenReadFromReplica_thenNotPutStaleUserIntoCache() {
+        new JdbcTemplate(primaryDataSource)
+                .update("INSERT INTO users (id, name, email) VALUES (1000, 'primary-user', 'primary@user.ru')");
+        readYourWrites.startRequest(8L);
+        assertThat(userService.getUserById(1000L).getName(), equalTo("replica-user"));
+        readYourWrites.endRequest();
+
+        readYourWrites.startRequest(7L);
+        addUser("writer");
+        assertThat(userService.getUserById(1000L).getName(), equalTo("primary-user"));
+    }
+
+    @Test
+    void getItemById_whenReadFromReplica_thenNotPutStaleTimelineIntoCache() {
+        LocalDateTime now = LocalDateTime.now();
+        JdbcTemplate primary = new JdbcTemplate(primaryDataSource);
+        primary.update("INSERT INTO users (id, name, email) VALUES (1000, 'primary-user', 'primary@user.ru')");
+        primary.update("INSERT INTO users (id, name, email) VALUES (1001, 'booker', 'booker@user.ru')");
+        for (JdbcTemplate jdbcTemplate : List.of(primary, new JdbcTemplate(replicaDataSource))) {
+            jdbcTemplate.update("INSERT INTO items (id, user_id, name, description, available) " +
+                    "VALUES (2000, 1000, 'item', 'item description', TRUE)");
+        }
+        primary.update("INSERT INTO bookings (id, item_id, booker_id, status, start_time, end_time, owner_id) " +
+                "VALUES (3000, 2000, 1001, 'APPROVED', ?, ?, 1000)", now.minusDays(2), now.minusDays(1));
+        readYourWrites.startRequest(8L);
+        assertThat(itemService.getItemById(1000L, 2000L).getLastBooking(), nullValue());
+        readYourWrites.endRequest();
+
+        readYourWrites.startRequest(7L);
+        addUser("writer");
+        assertThat(itemService.getItemById(1000L, 2000L).getLastBooking().getId(), equalTo(3000L));
+    }
+
+    private void addUser(String name) {
+        userService.addUser(new UserDto()
+                .setName(name)
+                .setEmail(name + "@routing.ru"));
+    }
+
+    private List<String> getUserNames() {
+        return userService.getUsers().stream()
+                .map(UserDto::getName)
+                .collect(Collectors.toList());
+    }
+}
@@ -86,7 +86,7 @@ class CommentRepositoryTest {
                 .setAuthor(authorStorage);
 
         DataIntegrityViolationException e = Assertions.assertThrows(
-                DataIntegrityViolationException.class, () -> commentRepository.save(newComment));
+                DataIntegrityViolationException.class, () -> commentRepository.saveAndFlush(newComment));
     }
 
     @Test
@@ -97,7 +97,7 @@ class CommentRepositoryTest {
                 .setAuthor(new User().setId(-1L));
 
         DataIntegrityViolationException e = Assertions.assertThrows(
-                DataIntegrityViolationException.class, () -> commentRepository.save(newComment));
+                DataIntegrityViolationException.class, () -> commentRepository.saveAndFlush(newComment));
     }
 
     @Test
@@ -108,7 +108,7 @@ class CommentRepositoryTest {
                 .setAuthor(authorStorage);
 
         DataIntegrityViolationException e = Assertions.assertThrows(
-                DataIntegrityViolationException.class, () -> commentRepository.save(newComment));
+                DataIntegrityViolationException.class, () -> commentRepository.saveAndFlush(newComment));
     }
 
     @Test
@@ -14,6 +14,7 @@ import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.comment.dto.CommentInnerDto;
 import ru.practicum.shareit.item.comment.dto.CommentOutDto;
+import ru.practicum.shareit.item.dto.ItemFreeIntervalDto;
 import ru.practicum.shareit.item.dto.ItemInnerDto;
 import ru.practicum.shareit.item.dto.ItemOutLongDto;
 import ru.practicum.shareit.item.dto.ItemOutShortDto;
@@ -489,6 +490,73 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$[0].requestId", is(itemOutDto.getRequestId()), Long.class));
     }
 
+    @SneakyThrows
+    @Test
+    void findItemsByNameOrDescription_whenPeriodIsSet_thenReturnFreeItems() {
+        long userId = 1L;
+        String text = "item";
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 10, 0, 0);
+        LocalDateTime end = start.plusDays(3);
+        long itemId = 2L;
+        ItemOutShortDto itemOutDto = new ItemOutShortDto()
+                .setId(itemId)
+                .setName("Item name")
+                .setDescription("Item description")
+                .setAvailable(true);
+        when(itemService.findFreeItemsByNameOrDescription(userId, text, start, end, null, null))
+                .thenReturn(List.of(itemOutDto));
+
+        mockMvc.perform(get("/items/search")
+                        .header(HEADER_CALLER_ID, userId)
+                        .param("text", text)
+                        .param("start", start.toString())
+                        .param("end", end.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id", is(itemOutDto.getId()), Long.class));
+        verify(itemService, never()).findItemsByNameOrDescription(anyLong(), anyString(), any(), any());
+    }
+
+    @SneakyThrows
+    @Test
+    void getItemAvailability_whenRequestIsValid_thenReturnFreeIntervals() {
+        long userId = 1L;
+        long itemId = 2L;
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 10, 0, 0);
+        LocalDateTime to = from.plusDays(3);
+        List<ItemFreeIntervalDto> freeIntervals = List.of(new ItemFreeIntervalDto(from.plusDays(1), to));
+        when(itemService.getItemAvailability(userId, itemId, from, to)).thenReturn(freeIntervals);
+
+        mockMvc.perform(get("/items/{itemId}/availability", itemId)
+                        .header(HEADER_CALLER_ID, userId)
+                        .param("from", from.toString())
+                        .param("to", to.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].start", is("2030-01-02T10:00:00")))
+                .andExpect(jsonPath("$[0].end", is("2030-01-04T10:00:00")));
+        verify(itemService, times(1)).getItemAvailability(userId, itemId, from, to);
+    }
+
+    @SneakyThrows
+    @Test
+    void getItemAvailability_whenPeriodIsInvalid_thenValidationExceptionThrow() {
+        long userId = 1L;
+        long itemId = 2L;
+        LocalDateTime from = LocalDateTime.of(2030, 1, 3, 10, 0, 0);
+        LocalDateTime to = from.minusDays(1);
+        when(itemService.getItemAvailability(userId, itemId, from, to))
+                .thenThrow(new ValidationException("The end of the period should be after its start"));
+
+        mockMvc.perform(get("/items/{itemId}/availability", itemId)
+                        .header(HEADER_CALLER_ID, userId)
+                        .param("from", from.toString())
+                        .param("to", to.toString()))
+                .andExpect(status().isBadRequest())
+                .andExpect(result -> assertTrue(result.getResolvedException()
+                        instanceof ValidationException));
+    }
+
     @SneakyThrows
     @Test
     void addComment_whenNotRequestHeader_thenMissingRequestHeaderExceptionThrow() {
@@ -9,6 +9,9 @@ import org.springframework.context.annotation.Import;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.TestPropertySource;
+import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.config.Config;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.model.ItemRequest;
@@ -16,6 +19,8 @@ import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -33,6 +38,8 @@ class ItemRepositoryTest {
     private UserRepository userRepository;
     @Autowired
     private ItemRequestRepository requestRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
 
     private User userStorage1;
     private User userStorage2;
@@ -98,7 +105,7 @@ class ItemRepositoryTest {
                 .setAvailable(true);
 
         DataIntegrityViolationException e = Assertions.assertThrows(
-                DataIntegrityViolationException.class, () -> itemRepository.save(newItem));
+                DataIntegrityViolationException.class, () -> itemRepository.saveAndFlush(newItem));
     }
 
     @Test
@@ -255,6 +262,71 @@ class ItemRepositoryTest {
         assertThat(items, hasSize(2));
     }
 
+    @Test
+    void findFreeByNameOrDescription_whenApprovedBookingOverlapsPeriod_thenItemIsExcluded() {
+        LocalDateTime start = LocalDateTime.now().plusDays(10).truncatedTo(ChronoUnit.SECONDS);
+        LocalDateTime end = start.plusDays(2);
+        Item itemStorage1 = itemRepository.save(new Item()
+                .setUserId(userStorage1.getId())
+                .setName("Item first")
+                .setDescription("Item description")
+                .setAvailable(true));
+        Item itemStorage2 = itemRepository.save(new Item()
+                .setUserId(userStorage1.getId())
+                .setName("Item second")
+                .setDescription("Second in order, but first in importance")
+                .setAvailable(true));
+        Item itemStorage3 = itemRepository.save(new Item()
+                .setUserId(userStorage1.getId())
+                .setName("Item third")
+                .setDescription("Third in order, but first in importance")
+                .setAvailable(true));
+        bookingRepository.save(new Booking()
+                .setStart(start.plusDays(1))
+                .setEnd(end.plusDays(1))
+                .setItem(itemStorage1)
+                .setBooker(userStorage2)
+                .setStatus(BookingStatus.APPROVED));
+        bookingRepository.save(new Booking()
+                .setStart(start)
+                .setEnd(end)
+                .setItem(itemStorage2)
+                .setBooker(userStorage2)
+                .setStatus(BookingStatus.REJECTED));
+        bookingRepository.save(new Booking()
+                .setStart(end)
+                .setEnd(end.plusDays(1))
+                .setItem(itemStorage3)
+                .setBooker(userStorage2)
+                .setStatus(BookingStatus.APPROVED));
+
+        List<Item> items = itemRepository.findFreeByNameOrDescription("first", "first", start, end);
+
+        assertThat(items, hasSize(2));
+        assertThat(items, containsInAnyOrder(itemStorage2, itemStorage3));
+    }
+
+    @Test
+    void findFreeByNameOrDescription_whenPageableIsSet_thenReturnLimitedList() {
+        LocalDateTime start = LocalDateTime.now().plusDays(10);
+        LocalDateTime end = start.plusDays(2);
+        itemRepository.save(new Item()
+                .setUserId(userStorage1.getId())
+                .setName("Item first")
+                .setDescription("Item description")
+                .setAvailable(true));
+        itemRepository.save(new Item()
+                .setUserId(userStorage2.getId())
+                .setName("Item second")
+                .setDescription("Second in order, but first in importance")
+                .setAvailable(true));
+
+        List<Item> items = itemRepository.findFreeByNameOrDescription("first", "first", start, end,
+                PageRequest.of(0, 1));
+
+        assertThat(items, hasSize(1));
+    }
+
     @Test
     void findItemByRequestId_whenItemIsFound_thenReturnItems() {
         Item newItem1 = new Item()
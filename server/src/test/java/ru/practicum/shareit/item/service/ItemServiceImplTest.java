@@ -13,20 +13,27 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.audit.AuditLog;
 import ru.practicum.shareit.booking.dto.BookingForItemDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.timeline.BookingTimeline;
+import ru.practicum.shareit.booking.timeline.BookingTimelineCache;
+import ru.practicum.shareit.booking.view.OwnerBookingViewRepository;
+import ru.practicum.shareit.booking.timeline.BookingTimelineEntry;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.comment.dto.CommentInnerDto;
 import ru.practicum.shareit.item.comment.dto.CommentOutDto;
 import ru.practicum.shareit.item.comment.model.Comment;
 import ru.practicum.shareit.item.comment.repository.CommentRepository;
+import ru.practicum.shareit.item.dto.ItemFreeIntervalDto;
 import ru.practicum.shareit.item.dto.ItemInnerDto;
 import ru.practicum.shareit.item.dto.ItemOutLongDto;
 import ru.practicum.shareit.item.dto.ItemOutShortDto;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.matching.ItemMatchingIndex;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
@@ -34,6 +41,7 @@ import ru.practicum.shareit.user.repository.UserRepository;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -41,6 +49,8 @@ import static org.hamcrest.Matchers.*;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
+import static ru.practicum.shareit.booking.enums.BookingStatus.APPROVED;
+import static ru.practicum.shareit.booking.enums.BookingStatus.WAITING;
 
 @ExtendWith(MockitoExtension.class)
 class ItemServiceImplTest {
@@ -54,7 +64,15 @@ class ItemServiceImplTest {
     private CommentRepository commentRepository;
     @Mock
     private ItemRequestRepository itemRequestRepository;
+    @Mock
+    private ItemMatchingIndex itemMatchingIndex;
+    @Mock
+    private BookingTimelineCache bookingTimelineCache;
+    @Mock
+    private OwnerBookingViewRepository ownerBookingViewRepository;
 
+    @Mock
+    private AuditLog auditLog;
     @InjectMocks
     private ItemServiceImpl itemService;
 
@@ -195,6 +213,7 @@ class ItemServiceImplTest {
         ItemOutShortDto actualItemOutShortDto = itemService.addItem(userId, itemInnerDto);
 
         assertThat(itemOutShortDto, equalTo(actualItemOutShortDto));
+        verify(itemMatchingIndex, times(1)).index(itemStorage);
     }
 
     @Test
@@ -364,6 +383,8 @@ class ItemServiceImplTest {
         ItemOutShortDto actualItemOutShortDto = itemService.updateItem(userId, itemId, itemInnerDto);
 
         assertThat(itemOutShortDto, equalTo(actualItemOutShortDto));
+        verify(ownerBookingViewRepository, times(1))
+                .updateItem(itemId, "newItem name", "newItem description", false);
     }
 
     @Test
@@ -501,6 +522,102 @@ class ItemServiceImplTest {
         assertThat(booker.getId(), equalTo(actualNextBooking.getBookerId()));
     }
 
+    @Test
+    void getItemById_whenTheOwnerRequestedAndTimelineIsCached_thenTakeLastAndNextBookingFromTimeline() {
+        long userId = 1L;
+        long itemId = 2L;
+        long bookerId = 3L;
+        LocalDateTime now = LocalDateTime.now();
+        Item itemStorage = new Item()
+                .setId(itemId)
+                .setUserId(userId)
+                .setName("Item name")
+                .setDescription("Item description")
+                .setAvailable(true);
+        BookingTimeline timeline = BookingTimeline.of(List.of(
+                new BookingTimelineEntry(4L, bookerId, now.minusDays(3), now.minusDays(2), APPROVED),
+                new BookingTimelineEntry(5L, bookerId, now.minusDays(1), now.plusDays(1), APPROVED),
+                new BookingTimelineEntry(6L, bookerId, now.plusDays(2), now.plusDays(3), WAITING),
+                new BookingTimelineEntry(7L, bookerId, now.plusDays(4), now.plusDays(5), WAITING)));
+        when(userRepository.existsById(userId)).thenReturn(true);
+        when(itemRepository.existsById(itemId)).thenReturn(true);
+        when(itemRepository.getReferenceById(itemId)).thenReturn(itemStorage);
+        when(bookingTimelineCache.get(itemId)).thenReturn(Optional.of(timeline));
+
+        ItemOutLongDto actualItemOutLongDto = itemService.getItemById(userId, itemId);
+
+        assertThat(5L, equalTo(actualItemOutLongDto.getLastBooking().getId()));
+        assertThat(6L, equalTo(actualItemOutLongDto.getNextBooking().getId()));
+        assertThat(itemId, equalTo(actualItemOutLongDto.getNextBooking().getItemId()));
+        assertThat(bookerId, equalTo(actualItemOutLongDto.getNextBooking().getBookerId()));
+        verify(bookingRepository, never()).findLastByItemId(anyLong(), any(LocalDateTime.class));
+        verify(bookingRepository, never()).findNextByItemId(anyLong(), any(LocalDateTime.class));
+    }
+
+    @Test
+    void getItemById_whenCompleteTimelineHasNoLastBooking_thenReturnNullWithoutQuery() {
+        long userId = 1L;
+        long itemId = 2L;
+        long bookerId = 3L;
+        LocalDateTime now = LocalDateTime.now();
+        Item itemStorage = new Item()
+                .setId(itemId)
+                .setUserId(userId)
+                .setName("Item name")
+                .setDescription("Item description")
+                .setAvailable(true);
+        BookingTimeline timeline = BookingTimeline.of(List.of(
+                new BookingTimelineEntry(6L, bookerId, now.plusDays(2), now.plusDays(3), WAITING)));
+        when(userRepository.existsById(userId)).thenReturn(true);
+        when(itemRepository.existsById(itemId)).thenReturn(true);
+        when(itemRepository.getReferenceById(itemId)).thenReturn(itemStorage);
+        when(bookingTimelineCache.get(itemId)).thenReturn(Optional.of(timeline));
+
+        ItemOutLongDto actualItemOutLongDto = itemService.getItemById(userId, itemId);
+
+        assertNull(actualItemOutLongDto.getLastBooking());
+        assertThat(6L, equalTo(actualItemOutLongDto.getNextBooking().getId()));
+        verify(bookingRepository, never()).findLastByItemId(anyLong(), any(LocalDateTime.class));
+        verify(bookingRepository, never()).findNextByItemId(anyLong(), any(LocalDateTime.class));
+    }
+
+    @Test
+    void getItemById_whenTimelineDoesNotReachLastBooking_thenTakeLastBookingFromHistory() {
+        long userId = 1L;
+        long itemId = 2L;
+        long bookerId = 3L;
+        LocalDateTime now = LocalDateTime.now();
+        Item itemStorage = new Item()
+                .setId(itemId)
+                .setUserId(userId)
+                .setName("Item name")
+                .setDescription("Item description")
+                .setAvailable(true);
+        Booking archivedBooking = new Booking()
+                .setId(4L)
+                .setItem(itemStorage)
+                .setBooker(new User().setId(bookerId))
+                .setStart(now.minusDays(400))
+                .setEnd(now.minusDays(399));
+        BookingTimeline timeline = BookingTimeline.window(
+                List.of(new BookingTimelineEntry(6L, bookerId, now.plusDays(2), now.plusDays(3), WAITING)),
+                List.of(new BookingTimelineEntry(4L, bookerId, archivedBooking.getStart(), archivedBooking.getEnd(),
+                        APPROVED)),
+                0, now);
+        when(userRepository.existsById(userId)).thenReturn(true);
+        when(itemRepository.existsById(itemId)).thenReturn(true);
+        when(itemRepository.getReferenceById(itemId)).thenReturn(itemStorage);
+        when(bookingTimelineCache.get(itemId)).thenReturn(Optional.of(timeline));
+        when(bookingRepository.findLastByItemId(eq(itemId), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(archivedBooking));
+
+        ItemOutLongDto actualItemOutLongDto = itemService.getItemById(userId, itemId);
+
+        assertThat(4L, equalTo(actualItemOutLongDto.getLastBooking().getId()));
+        assertThat(6L, equalTo(actualItemOutLongDto.getNextBooking().getId()));
+        verify(bookingRepository, never()).findNextByItemId(anyLong(), any(LocalDateTime.class));
+    }
+
     @Test
     void getItemById_whenTheOwnerRequestedAndBookingsNotExists_thenReturnTheItemWithNullBooking() {
         long userId = 1L;
@@ -598,9 +715,87 @@ class ItemServiceImplTest {
         assertThat(itemOutLongDto, equalTo(actualItems.get(0)));
         verify(itemRepository, never()).findAllByUserIdOrderById(anyLong(), any());
         verify(bookingRepository, times(1))
-                .findLastByItemId(anyLong(), any(LocalDateTime.class));
+                .findLastByItemIdIn(eq(List.of(itemId)), any(LocalDateTime.class));
         verify(bookingRepository, times(1))
-                .findNextByItemId(anyLong(), any(LocalDateTime.class));
+                .findNextByItemIdIn(eq(List.of(itemId)), any(LocalDateTime.class));
+        verify(bookingRepository, never()).findNextByItemId(anyLong(), any(LocalDateTime.class));
+        verify(commentRepository, times(1)).findAllByItemIdIn(List.of(itemId));
+    }
+
+    @Test
+    void getItems_whenItemsHaveComments_thenLoadCommentsInOneQuery() {
+        long userId = 1L;
+        User author = new User()
+                .setId(3L)
+                .setName("User name");
+        Item firstItem = new Item()
+                .setId(2L)
+                .setUserId(userId)
+                .setName("First item")
+                .setDescription("First item description")
+                .setAvailable(true);
+        Item secondItem = new Item()
+                .setId(4L)
+                .setUserId(userId)
+                .setName("Second item")
+                .setDescription("Second item description")
+                .setAvailable(true);
+        Comment comment = new Comment()
+                .setId(5L)
+                .setText("Comment 1")
+                .setItem(secondItem)
+                .setAuthor(author)
+                .setCreated(LocalDateTime.now());
+        when(userRepository.existsById(userId)).thenReturn(true);
+        when(itemRepository.findAllByUserIdOrderById(userId)).thenReturn(List.of(firstItem, secondItem));
+        when(commentRepository.findAllByItemIdIn(List.of(firstItem.getId(), secondItem.getId())))
+                .thenReturn(List.of(comment));
+
+        List<ItemOutLongDto> actualItems = itemService.getItems(userId, null, null);
+
+        assertThat(actualItems, hasSize(2));
+        assertThat(actualItems.get(0).getComments(), empty());
+        assertThat(actualItems.get(1).getComments(), hasSize(1));
+        assertThat(comment.getText(), equalTo(actualItems.get(1).getComments().get(0).getText()));
+        verify(commentRepository, never()).findAllByItemId(anyLong());
+        verify(bookingRepository, times(1)).findLastByItemIdIn(eq(List.of(firstItem.getId(), secondItem.getId())),
+                any(LocalDateTime.class));
+        verify(bookingRepository, times(1)).findNextByItemIdIn(eq(List.of(firstItem.getId(), secondItem.getId())),
+                any(LocalDateTime.class));
+    }
+
+    @Test
+    void getItems_whenTimelinesAreCached_thenNotQueryBookings() {
+        long userId = 1L;
+        long bookerId = 3L;
+        LocalDateTime now = LocalDateTime.now();
+        Item firstItem = new Item()
+                .setId(2L)
+                .setUserId(userId)
+                .setName("First item")
+                .setDescription("First item description")
+                .setAvailable(true);
+        Item secondItem = new Item()
+                .setId(4L)
+                .setUserId(userId)
+                .setName("Second item")
+                .setDescription("Second item description")
+                .setAvailable(true);
+        when(userRepository.existsById(userId)).thenReturn(true);
+        when(itemRepository.findAllByUserIdOrderById(userId)).thenReturn(List.of(firstItem, secondItem));
+        when(bookingTimelineCache.getAll(List.of(firstItem.getId(), secondItem.getId()))).thenReturn(Map.of(
+                firstItem.getId(), BookingTimeline.of(List.of(
+                        new BookingTimelineEntry(5L, bookerId, now.minusDays(2), now.minusDays(1), APPROVED))),
+                secondItem.getId(), BookingTimeline.of(List.of())));
+
+        List<ItemOutLongDto> actualItems = itemService.getItems(userId, null, null);
+
+        assertThat(5L, equalTo(actualItems.get(0).getLastBooking().getId()));
+        assertNull(actualItems.get(0).getNextBooking());
+        assertNull(actualItems.get(1).getLastBooking());
+        assertNull(actualItems.get(1).getNextBooking());
+        verify(bookingRepository, never()).findLastByItemIdIn(anyCollection(), any(LocalDateTime.class));
+        verify(bookingRepository, never()).findNextByItemIdIn(anyCollection(), any(LocalDateTime.class));
     }
 
     @Test
@@ -698,6 +893,137 @@ class ItemServiceImplTest {
                 .findByNameOrDescription(anyString(), anyString(), any(Pageable.class));
     }
 
+    @Test
+    void findFreeItemsByNameOrDescription_whenPeriodIsInvalid_thenValidationExceptionThrow() {
+        long userId = 1L;
+        String text = "Some item";
+        LocalDateTime start = LocalDateTime.now().plusDays(2);
+        LocalDateTime end = LocalDateTime.now().plusDays(1);
+        when(userRepository.existsById(userId)).thenReturn(true);
+
+        ValidationException e = Assertions.assertThrows(
+                ValidationException.class, () -> itemService
+                        .findFreeItemsByNameOrDescription(userId, text, start, end, null, null));
+        assertThat("The end of the period should be after its start", equalTo(e.getMessage()));
+        verify(itemRepository, never()).findFreeByNameOrDescription(anyString(), anyString(),
+                any(LocalDateTime.class), any(LocalDateTime.class));
+    }
+
+    @Test
+    void findFreeItemsByNameOrDescription_whenEndIsNull_thenValidationExceptionThrow() {
+        long userId = 1L;
+        String text = "Some item";
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        when(userRepository.existsById(userId)).thenReturn(true);
+
+        ValidationException e = Assertions.assertThrows(
+                ValidationException.class, () -> itemService
+                        .findFreeItemsByNameOrDescription(userId, text, start, null, null, null));
+        assertThat("Both start and end of the period must be set", equalTo(e.getMessage()));
+    }
+
+    @Test
+    void findFreeItemsByNameOrDescription_whenFromOrSizeIsNotNull_thenReturnListItemsLimitedSize() {
+        long userId = 1L;
+        String text = "Some item";
+        Integer from = 0;
+        Integer size = 1;
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        LocalDateTime end = LocalDateTime.now().plusDays(2);
+        long itemId = 2L;
+        Item itemStorage = new Item()
+                .setId(itemId)
+                .setUserId(userId)
+                .setName("Item name")
+                .setDescription("Item description")
+                .setAvailable(true);
+        ItemOutShortDto itemOutShortDto = new ItemOutShortDto()
+                .setId(itemId)
+                .setName("Item name")
+                .setDescription("Item description")
+                .setAvailable(true);
+        when(userRepository.existsById(userId)).thenReturn(true);
+        when(itemRepository.findFreeByNameOrDescription("some item", "some item", start, end,
+                PageRequest.of(from / size, size))).thenReturn(List.of(itemStorage));
+
+        List<ItemOutShortDto> actualItems = itemService
+                .findFreeItemsByNameOrDescription(userId, text, start, end, from, size);
+
+        assertThat(actualItems, hasSize(1));
+        assertThat(itemOutShortDto, equalTo(actualItems.get(0)));
+        verify(itemRepository, never()).findByNameOrDescription(anyString(), anyString(), any(Pageable.class));
+    }
+
+    @Test
+    void getItemAvailability_whenPeriodIsInvalid_thenValidationExceptionThrow() {
+        long userId = 1L;
+        long itemId = 2L;
+        LocalDateTime from = LocalDateTime.now().plusDays(2);
+        LocalDateTime to = LocalDateTime.now().plusDays(1);
+        when(userRepository.existsById(userId)).thenReturn(true);
+        when(itemRepository.existsById(itemId)).thenReturn(true);
+
+        ValidationException e = Assertions.assertThrows(
+                ValidationException.class, () -> itemService.getItemAvailability(userId, itemId, from, to));
+        assertThat("The end of the period should be after its start", equalTo(e.getMessage()));
+        verify(bookingTimelineCache, never()).get(anyLong());
+    }
+
+    @Test
+    void getItemAvailability_whenItemNotAvailable_thenReturnEmptyList() {
+        long userId = 1L;
+        long itemId = 2L;
+        LocalDateTime from = LocalDateTime.now().plusDays(1);
+        LocalDateTime to = LocalDateTime.now().plusDays(2);
+        when(userRepository.existsById(userId)).thenReturn(true);
+        when(itemRepository.existsById(itemId)).thenReturn(true);
+        when(itemRepository.getReferenceById(itemId)).thenReturn(new Item().setId(itemId).setAvailable(false));
+
+        List<ItemFreeIntervalDto> freeIntervals = itemService.getItemAvailability(userId, itemId, from, to);
+
+        assertThat(freeIntervals, empty());
+        verify(bookingTimelineCache, never()).get(anyLong());
+    }
+
+    @Test
+    void getItemAvailability_whenTimelineIsCached_thenReturnFreeIntervals() {
+        long userId = 1L;
+        long itemId = 2L;
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        LocalDateTime to = from.plusDays(5);
+        BookingTimeline timeline = BookingTimeline.of(List.of(
+                new BookingTimelineEntry(1L, 3L, from.plusDays(1), from.plusDays(2), APPROVED)));
+        when(userRepository.existsById(userId)).thenReturn(true);
+        when(itemRepository.existsById(itemId)).thenReturn(true);
+        when(itemRepository.getReferenceById(itemId)).thenReturn(new Item().setId(itemId).setAvailable(true));
+        when(bookingTimelineCache.get(itemId)).thenReturn(Optional.of(timeline));
+
+        List<ItemFreeIntervalDto> freeIntervals = itemService.getItemAvailability(userId, itemId, from, to);
+
+        assertThat(List.of(
+                new ItemFreeIntervalDto(from, from.plusDays(1)),
+                new ItemFreeIntervalDto(from.plusDays(2), to)), equalTo(freeIntervals));
+        verify(bookingRepository, never()).findTimelineByItemIdAndPeriod(anyLong(), any(), any(), any());
+    }
+
+    @Test
+    void getItemAvailability_whenTimelineIsNotCached_thenLoadBookingsForPeriod() {
+        long userId = 1L;
+        long itemId = 2L;
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        LocalDateTime to = from.plusDays(5);
+        when(userRepository.existsById(userId)).thenReturn(true);
+        when(itemRepository.existsById(itemId)).thenReturn(true);
+        when(itemRepository.getReferenceById(itemId)).thenReturn(new Item().setId(itemId).setAvailable(true));
+        when(bookingTimelineCache.get(itemId)).thenReturn(Optional.empty());
+        when(bookingRepository.findTimelineByItemIdAndPeriod(itemId, from, to, BookingTimeline.BLOCKING_STATUSES))
+                .thenReturn(List.of(new BookingTimelineEntry(1L, 3L, from.minusDays(1), from.plusDays(3), WAITING)));
+
+        List<ItemFreeIntervalDto> freeIntervals = itemService.getItemAvailability(userId, itemId, from, to);
+
+        assertThat(List.of(new ItemFreeIntervalDto(from.plusDays(3), to)), equalTo(freeIntervals));
+    }
+
     @Test
     void addComment_whenUserNotFound_NotFoundExceptionThrow() {
         long userId = 1L;
@@ -0,0 +1,69 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureMetrics
+class ServiceMetricsTest {
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private UserService userService;
+
+    @Test
+    void serviceMethod_whenCalled_thenRecordTimerPerMethodAndOutcome() {
+        long before = timerCount("getUserById", "none");
+        UserDto userDto = userService.addUser(new UserDto().setName("Metrics").setEmail("metrics@mail.ru"));
+
+        userService.getUserById(userDto.getId());
+        assertThrows(NotFoundException.class, () -> userService.getUserById(-1L));
+
+        assertThat(before + 1, equalTo(timerCount("getUserById", "none")));
+        assertThat(1L, equalTo(timerCount("getUserById", "NotFoundException")));
+    }
+
+    @Test
+    void prometheus_whenScraped_thenExposeServiceRepositoryPoolAndCacheMetrics() throws Exception {
+        userService.getUsers();
+
+        mvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(allOf(
+                        containsString("shareit_service_seconds_count{application=\"shareit-server\""),
+                        containsString("spring_data_repository_invocations_seconds_count"),
+                        containsString("hikaricp_connections_active"),
+                        containsString("hibernate_statements_total"),
+                        containsString("cache_gets_total{application=\"shareit-server\","
+                                + "cache=\"booking-timeline\""))));
+    }
+
+    private long timerCount(String method, String exception) {
+        return meterRegistry.find(ServiceMetricsAspect.METRIC_NAME)
+                .tag("class", "UserServiceImpl")
+                .tag("method", method)
+                .tag("exception", exception)
+                .timers().stream()
+                .mapToLong(Timer::count)
+                .sum();
+    }
+}
@@ -318,4 +318,27 @@ class ItemRequestControllerTest {
                 .andExpect(jsonPath("$.created", is(created.toString())))
                 .andExpect(jsonPath("$.items", hasSize(1)));
     }
-}
\ No newline at end of file
+
+    @SneakyThrows
+    @Test
+    void getSuggestionsForItemRequest_whenRequestIsValid_thenReturnSuggestions() {
+        long userId = 1L;
+        long requestId = 1L;
+        int size = 5;
+        ItemOutShortDto itemOut = new ItemOutShortDto()
+                .setId(2L)
+                .setName("Drill")
+                .setDescription("Cordless drill")
+                .setAvailable(true);
+
+        when(requestService.getSuggestionsForItemRequest(userId, requestId, size)).thenReturn(List.of(itemOut));
+
+        mockMvc.perform(get("/requests/{requestId}/suggestions", requestId)
+                        .header(HEADER_CALLER_ID, userId)
+                        .param("size", String.valueOf(size)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id", is(itemOut.getId()), Long.class))
+                .andExpect(jsonPath("$[0].name", is(itemOut.getName())));
+    }
+}
@@ -0,0 +1,141 @@
+package ru.practicum.shareit.request.matching;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ItemMatchingIndexTest {
+    @Mock
+    private ItemRepository itemRepository;
+
+    @InjectMocks
+    private ItemMatchingIndex itemMatchingIndex;
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void tokenize_whenTextHasPunctuationAndStopWords_thenReturnLowerCaseTokens() {
+        assertThat(ItemMatchingIndex.tokenize("Need a DRILL, for a weekend!"),
+                containsInAnyOrder("drill", "weekend"));
+        assertThat(ItemMatchingIndex.tokenize(" "), empty());
+        assertThat(ItemMatchingIndex.tokenize(null), empty());
+    }
+
+    @Test
+    void match_whenIndexRebuilt_thenReturnItemsOrderedByScore() {
+        when(itemRepository.findAll()).thenReturn(List.of(
+                item(1L, 10L, "Drill", "Cordless drill with battery", true),
+                item(2L, 10L, "Hammer", "Heavy hammer", true),
+                item(3L, 11L, "Drill bits", "Bits for a hammer drill", true),
+                item(4L, 11L, "Drill", "Broken drill", false)));
+        itemMatchingIndex.rebuild();
+
+        assertThat(itemMatchingIndex.match("Need a hammer drill", 99L, 10), contains(3L, 1L, 2L));
+        assertThat(itemMatchingIndex.match("Need a hammer drill", 99L, 1), contains(3L));
+        assertThat(itemMatchingIndex.match("Looking for a bike", 99L, 10), empty());
+    }
+
+    @Test
+    void match_whenRequestorOwnsItems_thenExcludeThem() {
+        itemMatchingIndex.index(item(1L, 10L, "Drill", "Cordless drill", true));
+        itemMatchingIndex.index(item(2L, 11L, "Drill", "Hammer drill", true));
+
+        assertThat(itemMatchingIndex.match("drill", 10L, 10), contains(2L));
+    }
+
+    @Test
+    void index_whenItemUpdated_thenReplaceItsTokens() {
+        itemMatchingIndex.index(item(1L, 10L, "Drill", "Cordless drill", true));
+        itemMatchingIndex.index(item(1L, 10L, "Saw", "Circular saw", true));
+
+        assertThat(itemMatchingIndex.match("drill", 99L, 10), empty());
+        assertThat(itemMatchingIndex.match("saw", 99L, 10), contains(1L));
+
+        itemMatchingIndex.index(item(1L, 10L, "Saw", "Circular saw", false));
+
+        assertThat(itemMatchingIndex.match("saw", 99L, 10), empty());
+    }
+
+    @Test
+    void index_whenTransactionCommits_thenIndexAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        itemMatchingIndex.index(item(1L, 10L, "Drill", "Cordless drill", true));
+
+        assertThat(itemMatchingIndex.match("drill", 99L, 10), empty());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        assertThat(itemMatchingIndex.match("drill", 99L, 10), contains(1L));
+    }
+
+    @Test
+    void index_whenTransactionRollsBack_thenIndexNothing() {
+        itemMatchingIndex.index(item(1L, 10L, "Drill", "Cordless drill", true));
+        TransactionSynchronizationManager.initSynchronization();
+        itemMatchingIndex.index(item(1L, 10L, "Saw", "Circular saw", true));
+        itemMatchingIndex.index(item(2L, 11L, "Drill", "Hammer drill", true));
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertThat(itemMatchingIndex.match("drill", 99L, 10), contains(1L));
+        assertThat(itemMatchingIndex.match("saw", 99L, 10), empty());
+    }
+
+    @Test
+    void rebuild_whenItemsIndexedDuringRebuild_thenKeepTheirChanges() {
+        when(itemRepository.findAll()).thenAnswer(invocation -> {
+            itemMatchingIndex.index(item(1L, 10L, "Saw", "Circular saw", true));
+            itemMatchingIndex.index(item(2L, 11L, "Saw", "Hand saw", true));
+            return List.of(item(1L, 10L, "Drill", "Cordless drill", true));
+        });
+
+        itemMatchingIndex.rebuild();
+
+        assertThat(itemMatchingIndex.match("drill", 99L, 10), empty());
+        assertThat(itemMatchingIndex.match("saw", 99L, 10), containsInAnyOrder(1L, 2L));
+    }
+
+    @Test
+    void removeOwnerItems_whenOwnerDeleted_thenRemoveTheirItemsAfterCommit() {
+        itemMatchingIndex.index(item(1L, 10L, "Drill", "Cordless drill", true));
+        itemMatchingIndex.index(item(2L, 10L, "Saw", "Circular saw", true));
+        itemMatchingIndex.index(item(3L, 11L, "Drill", "Hammer drill", true));
+        TransactionSynchronizationManager.initSynchronization();
+        itemMatchingIndex.removeOwnerItems(10L);
+
+        assertThat(itemMatchingIndex.match("drill saw", 99L, 10), containsInAnyOrder(1L, 2L, 3L));
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        assertThat(itemMatchingIndex.match("drill saw", 99L, 10), contains(3L));
+    }
+
+    private Item item(long id, long ownerId, String name, String description, boolean available) {
+        return new Item()
+                .setId(id)
+                .setUserId(ownerId)
+                .setName(name)
+                .setDescription(description)
+                .setAvailable(available);
+    }
+}
@@ -65,7 +65,7 @@ class ItemRequestRepositoryTest {
                 .setRequestor(requestorStorage);
 
         DataIntegrityViolationException e = Assertions.assertThrows(
-                DataIntegrityViolationException.class, () -> requestRepository.save(newRequest));
+                DataIntegrityViolationException.class, () -> requestRepository.saveAndFlush(newRequest));
     }
 
     @Test
@@ -75,7 +75,7 @@ class ItemRequestRepositoryTest {
                 .setRequestor(new User().setId(-1L));
 
         DataIntegrityViolationException e = Assertions.assertThrows(
-                DataIntegrityViolationException.class, () -> requestRepository.save(newRequest));
+                DataIntegrityViolationException.class, () -> requestRepository.saveAndFlush(newRequest));
     }
 
     @Test
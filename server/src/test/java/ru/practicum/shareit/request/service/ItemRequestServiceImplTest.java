@@ -8,6 +8,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.audit.AuditLog;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.dto.ItemOutShortDto;
 import ru.practicum.shareit.item.model.Item;
@@ -15,6 +16,7 @@ import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.request.dto.ItemRequestInnerDto;
 import ru.practicum.shareit.request.dto.ItemRequestOutLongDto;
 import ru.practicum.shareit.request.dto.ItemRequestOutShortDto;
+import ru.practicum.shareit.request.matching.ItemMatchingIndex;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
@@ -38,7 +40,11 @@ class ItemRequestServiceImplTest {
     private UserRepository userRepository;
     @Mock
     private ItemRepository itemRepository;
+    @Mock
+    private ItemMatchingIndex itemMatchingIndex;
 
+    @Mock
+    private AuditLog auditLog;
     @InjectMocks
     private ItemRequestServiceImpl itemRequestService;
 
@@ -125,7 +131,7 @@ class ItemRequestServiceImplTest {
         assertThat(actualListItemRequests, hasSize(1));
         assertThat(itemRequest.getId(), equalTo(actualItemRequest.getId()));
         assertThat(itemRequest.getDescription(), equalTo(actualItemRequest.getDescription()));
-        verify(itemRepository, times(1)).findItemByRequestId(requestId);
+        verify(itemRepository, times(1)).findAllByRequestIdIn(List.of(requestId));
         assertThat(actualItemRequest.getItems(), empty());
     }
 
@@ -202,6 +208,42 @@ class ItemRequestServiceImplTest {
                 .findAllOtherRequests(anyLong(), any(Pageable.class));
     }
 
+    @Test
+    void getItemRequestsFromOthers_whenRequestsHaveItems_thenLoadItemsInOneQuery() {
+        long userId = 1L;
+        User requestor = new User().setId(5L);
+        ItemRequest firstRequest = new ItemRequest()
+                .setId(2L)
+                .setDescription("Looking for a drill")
+                .setRequestor(requestor)
+                .setCreated(LocalDateTime.now());
+        ItemRequest secondRequest = new ItemRequest()
+                .setId(3L)
+                .setDescription("Looking for a ladder")
+                .setRequestor(requestor)
+                .setCreated(LocalDateTime.now());
+        Item drill = new Item()
+                .setId(10L)
+                .setUserId(userId)
+                .setName("Drill")
+                .setDescription("Electric drill")
+                .setAvailable(true)
+                .setRequestId(firstRequest.getId());
+        when(userRepository.existsById(userId)).thenReturn(true);
+        when(itemRequestRepository.findAllOtherRequests(userId)).thenReturn(List.of(firstRequest, secondRequest));
+        when(itemRepository.findAllByRequestIdIn(List.of(firstRequest.getId(), secondRequest.getId())))
+                .thenReturn(List.of(drill));
+
+        List<ItemRequestOutLongDto> actualListItemRequests = itemRequestService
+                .getItemRequestsFromOthers(userId, null, null);
+
+        assertThat(actualListItemRequests, hasSize(2));
+        assertThat(actualListItemRequests.get(0).getItems(), hasSize(1));
+        assertThat(drill.getId(), equalTo(actualListItemRequests.get(0).getItems().get(0).getId()));
+        assertThat(actualListItemRequests.get(1).getItems(), empty());
+        verify(itemRepository, never()).findItemByRequestId(anyLong());
+    }
+
     @Test
     void getItemRequestById_whenUserNoyFound_thenNotFoundExceptionThrow() {
         long userId = 1L;
@@ -250,4 +292,70 @@ class ItemRequestServiceImplTest {
         assertThat(item.getAvailable(), equalTo(actualItemOutShortDto.getAvailable()));
         assertThat(item.getRequestId(), equalTo(actualItemOutShortDto.getRequestId()));
     }
-}
\ No newline at end of file
+
+    @Test
+    void getSuggestionsForItemRequest_whenItemRequestNotFound_thenNotFoundExceptionThrow() {
+        long userId = 1L;
+        long requestId = 2L;
+        when(userRepository.existsById(userId)).thenReturn(true);
+        when(itemRequestRepository.existsById(requestId)).thenReturn(false);
+
+        NotFoundException e = Assertions.assertThrows(NotFoundException.class,
+                () -> itemRequestService.getSuggestionsForItemRequest(userId, requestId, null));
+        assertThat(String.format("ItemRequest with id %s not found", requestId), equalTo(e.getMessage()));
+        verify(itemMatchingIndex, never()).match(anyString(), anyLong(), anyInt());
+    }
+
+    @Test
+    void getSuggestionsForItemRequest_whenNothingMatches_thenReturnEmptyList() {
+        long userId = 1L;
+        long requestId = 2L;
+        ItemRequest itemRequest = new ItemRequest()
+                .setId(requestId)
+                .setDescription("Looking for a drill")
+                .setRequestor(new User().setId(userId));
+        when(userRepository.existsById(userId)).thenReturn(true);
+        when(itemRequestRepository.existsById(requestId)).thenReturn(true);
+        when(itemRequestRepository.getReferenceById(requestId)).thenReturn(itemRequest);
+        when(itemMatchingIndex.match("Looking for a drill", userId, 10)).thenReturn(new ArrayList<>());
+
+        List<ItemOutShortDto> suggestions = itemRequestService.getSuggestionsForItemRequest(userId, requestId, null);
+
+        assertTrue(suggestions.isEmpty());
+        verify(itemRepository, never()).findAllById(any());
+    }
+
+    @Test
+    void getSuggestionsForItemRequest_whenItemsMatch_thenReturnItemsInScoreOrder() {
+        long userId = 1L;
+        long requestId = 2L;
+        int size = 5;
+        ItemRequest itemRequest = new ItemRequest()
+                .setId(requestId)
+                .setDescription("Looking for a drill")
+                .setRequestor(new User().setId(userId));
+        Item firstItem = new Item()
+                .setId(3L)
+                .setUserId(4L)
+                .setName("Drill")
+                .setDescription("Cordless drill")
+                .setAvailable(true);
+        Item secondItem = new Item()
+                .setId(5L)
+                .setUserId(4L)
+                .setName("Drill bits")
+                .setDescription("Set of bits")
+                .setAvailable(true);
+        when(userRepository.existsById(userId)).thenReturn(true);
+        when(itemRequestRepository.existsById(requestId)).thenReturn(true);
+        when(itemRequestRepository.getReferenceById(requestId)).thenReturn(itemRequest);
+        when(itemMatchingIndex.match("Looking for a drill", userId, size)).thenReturn(List.of(3L, 5L));
+        when(itemRepository.findAllById(List.of(3L, 5L))).thenReturn(List.of(secondItem, firstItem));
+
+        List<ItemOutShortDto> suggestions = itemRequestService.getSuggestionsForItemRequest(userId, requestId, size);
+
+        assertThat(suggestions, hasSize(2));
+        assertThat(suggestions.get(0).getId(), equalTo(firstItem.getId()));
+        assertThat(suggestions.get(1).getId(), equalTo(secondItem.getId()));
+    }
+}
@@ -0,0 +1,36 @@
+package ru.practicum.shareit.sql;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+
+class SqlStatementCountInterceptorTest {
+    private final SqlStatementCounter sqlStatementCounter = new SqlStatementCounter();
+    private final SqlStatementCountInterceptor interceptor = new SqlStatementCountInterceptor(sqlStatementCounter, 1);
+
+    @Test
+    void preHandle_whenStatementsWereCountedBefore_thenStartFromZero() {
+        sqlStatementCounter.inspect("select 1");
+
+        interceptor.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(), new Object());
+
+        assertThat(0, equalTo(sqlStatementCounter.getCount()));
+    }
+
+    @Test
+    void afterCompletion_whenRequestExceededThreshold_thenResetCounter() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/items");
+        interceptor.preHandle(request, new MockHttpServletResponse(), new Object());
+        sqlStatementCounter.inspect("select 1");
+        sqlStatementCounter.inspect("select 2");
+
+        interceptor.afterCompletion(request, new MockHttpServletResponse(), new Object(), null);
+
+        assertThat(0, equalTo(sqlStatementCounter.getCount()));
+        assertThat(sqlStatementCounter.getStatements(), empty());
+    }
+}
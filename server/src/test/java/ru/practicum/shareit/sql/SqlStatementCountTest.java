@@ -0,0 +1,140 @@
+package ru.practicum.shareit.sql;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.dto.BookingInnerDto;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.booking.timeline.BookingTimelineCache;
+import ru.practicum.shareit.item.dto.ItemInnerDto;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.request.dto.ItemRequestInnerDto;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+
+import static ru.practicum.shareit.sql.SqlStatements.assertAtMost;
+import static ru.practicum.shareit.sql.SqlStatements.assertNoNPlusOne;
+
+@SpringBootTest
+class SqlStatementCountTest {
+    private static final int MANY = 5;
+
+    @Autowired
+    private SqlStatementCounter sqlStatementCounter;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private ItemRequestService itemRequestService;
+    @Autowired
+    private BookingTimelineCache bookingTimelineCache;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    private long oneItemOwnerId;
+    private long manyItemsOwnerId;
+    private long viewerId;
+
+    @BeforeEach
+    void saveData() {
+        oneItemOwnerId = addUser("one-item-owner");
+        manyItemsOwnerId = addUser("many-items-owner");
+        viewerId = addUser("viewer");
+        long requestorId = addUser("requestor");
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i <= MANY; i++) {
+            long ownerId = i == 0 ? oneItemOwnerId : manyItemsOwnerId;
+            long requestId = itemRequestService.addItemRequest(requestorId,
+                    new ItemRequestInnerDto("Request " + i)).getId();
+            long itemId = itemService.addItem(ownerId, new ItemInnerDto()
+                    .setName("Item " + i)
+                    .setDescription("Item description " + i)
+                    .setAvailable(true)
+                    .setRequestId(requestId)).getId();
+            bookingService.addBooking(addUser("booker" + i), new BookingInnerDto()
+                    .setItemId(itemId)
+                    .setStart(now.plusDays(i + 1))
+                    .setEnd(now.plusDays(i + 2)));
+        }
+    }
+
+    @AfterEach
+    void deleteData() {
+        bookingRepository.deleteAll();
+        itemRepository.deleteAll();
+        itemRequestRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void getBookingsForOwner_whenOwnerHasMoreBookings_thenStatementCountDoesNotGrow() {
+        assertNoNPlusOne(sqlStatementCounter,
+                () -> bookingService.getBookingsForOwner(oneItemOwnerId, "ALL", 0, 20),
+                () -> bookingService.getBookingsForOwner(manyItemsOwnerId, "ALL", 0, 20));
+    }
+
+    @Test
+    void getItems_whenOwnerHasMoreItems_thenStatementCountDoesNotGrow() {
+        assertNoNPlusOne(sqlStatementCounter,
+                () -> {
+                    bookingTimelineCache.evictAll();
+                    itemService.getItems(oneItemOwnerId, 0, 20);
+                },
+                () -> {
+                    bookingTimelineCache.evictAll();
+                    itemService.getItems(manyItemsOwnerId, 0, 20);
+                });
+    }
+
+    @Test
+    void getItems_whenTimelinesAreCached_thenStatementCountDoesNotGrow() {
+        itemService.getItems(oneItemOwnerId, 0, 20);
+        itemService.getItems(manyItemsOwnerId, 0, 20);
+
+        assertNoNPlusOne(sqlStatementCounter,
+                () -> itemService.getItems(oneItemOwnerId, 0, 20),
+                () -> itemService.getItems(manyItemsOwnerId, 0, 20));
+    }
+
+    @Test
+    void getItemRequestsFromOthers_whenPageIsLarger_thenStatementCountDoesNotGrow() {
+        assertNoNPlusOne(sqlStatementCounter,
+                () -> itemRequestService.getItemRequestsFromOthers(viewerId, 0, 1),
+                () -> itemRequestService.getItemRequestsFromOthers(viewerId, 0, MANY));
+    }
+
+    @Test
+    void getBookingCountsForOwner_whenCalled_thenUseAtMostFourStatements() {
+        assertAtMost(sqlStatementCounter, 4, () -> bookingService.getBookingCountsForOwner(manyItemsOwnerId));
+    }
+
+    @Test
+    void addItemRequest_whenCalled_thenDoNotLoadRequestor() {
+        assertAtMost(sqlStatementCounter, 3,
+                () -> itemRequestService.addItemRequest(viewerId, new ItemRequestInnerDto("Audited request")));
+    }
+
+    private long addUser(String name) {
+        return userService.addUser(new UserDto()
+                .setName(name)
+                .setEmail(name + "@statements.ru")).getId();
+    }
+}
@@ -0,0 +1,33 @@
+package ru.practicum.shareit.sql;
+
+import lombok.experimental.UtilityClass;
+
+import java.util.function.Supplier;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+@UtilityClass
+public class SqlStatements {
+    public static int count(SqlStatementCounter counter, Runnable call) {
+        counter.reset();
+        call.run();
+        return counter.getCount();
+    }
+
+    public static <T> T assertAtMost(SqlStatementCounter counter, int maxStatements, Supplier<T> call) {
+        counter.reset();
+        T result = call.get();
+        assertThat("Executed SQL statements: " + counter.getStatements(), counter.getCount(),
+                lessThanOrEqualTo(maxStatements));
+        return result;
+    }
+
+    public static void assertNoNPlusOne(SqlStatementCounter counter, Runnable oneRowCall, Runnable manyRowsCall) {
+        int oneRowCount = count(counter, oneRowCall);
+        counter.reset();
+        manyRowsCall.run();
+        assertThat("Executed SQL statements: " + counter.getStatements(), counter.getCount(),
+                lessThanOrEqualTo(oneRowCount));
+    }
+}
@@ -0,0 +1,75 @@
+package ru.practicum.shareit.tracing;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.consts.ShareItAppConst.HEADER_CALLER_ID;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class TracingTest {
+    private static final String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+    private static final String GATEWAY_SPAN_ID = "00f067aa0ba902b7";
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private InMemorySpanExporter exporter;
+    @Autowired
+    private UserService userService;
+
+    @Test
+    void searchItems_whenTraceParentReceived_thenRecordControllerServiceAndRepositorySpans() throws Exception {
+        UserDto userDto = userService.addUser(new UserDto().setName("Tracing").setEmail("tracing@mail.ru"));
+
+        mvc.perform(get("/items/search")
+                        .header(HEADER_CALLER_ID, userDto.getId())
+                        .header(TraceContext.HEADER, "00-" + TRACE_ID + "-" + GATEWAY_SPAN_ID + "-01")
+                        .param("text", "drill"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(TraceContext.HEADER, startsWith("00-" + TRACE_ID + "-")));
+
+        Map<String, SpanData> spans = exporter.getTrace(TRACE_ID).stream()
+                .collect(Collectors.toMap(SpanData::getName, Function.identity(), (first, second) -> first));
+        SpanData server = spans.get("GET /items/search");
+        SpanData controller = spans.get("ItemController.findItemsByNameOrDescription");
+        SpanData service = spans.get("ItemServiceImpl.findItemsByNameOrDescription");
+        assertThat(server.getParentId(), equalTo(GATEWAY_SPAN_ID));
+        assertThat(server.getTags(), hasEntry("http.status", "200"));
+        assertThat(controller.getParentId(), equalTo(server.getSpanId()));
+        assertThat(service.getParentId(), equalTo(controller.getSpanId()));
+        List<SpanData> repositorySpans = exporter.getTrace(TRACE_ID).stream()
+                .filter(span -> span.getName().startsWith("ItemRepository."))
+                .collect(Collectors.toList());
+        assertThat(repositorySpans, not(empty()));
+        assertThat(repositorySpans.get(0).getParentId(), equalTo(service.getSpanId()));
+    }
+
+    @Test
+    void getUser_whenTraceParentIsNotSampled_thenRecordNothing() throws Exception {
+        String traceId = "0af7651916cd43dd8448eb211c80319c";
+        UserDto userDto = userService.addUser(new UserDto().setName("Unsampled").setEmail("unsampled@mail.ru"));
+
+        mvc.perform(get("/users/{userId}", userDto.getId())
+                        .header(TraceContext.HEADER, "00-" + traceId + "-b7ad6b7169203331-00"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(TraceContext.HEADER));
+
+        assertThat(exporter.getTrace(traceId), empty());
+    }
+}
@@ -52,7 +52,7 @@ class UserRepositoryTest {
         newUser2.setEmail(userStorage1.getEmail());
 
         DataIntegrityViolationException e = Assertions.assertThrows(
-                DataIntegrityViolationException.class, () -> userRepository.save(newUser2));
+                DataIntegrityViolationException.class, () -> userRepository.saveAndFlush(newUser2));
     }
 
     @Test
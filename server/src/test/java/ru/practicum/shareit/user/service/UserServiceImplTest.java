@@ -9,9 +9,15 @@ import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.audit.AuditLog;
+import ru.practicum.shareit.booking.counter.BookingCounters;
+import ru.practicum.shareit.booking.timeline.BookingTimelineCache;
+import ru.practicum.shareit.booking.view.OwnerBookingViewRepository;
 import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.matching.ItemMatchingIndex;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
@@ -29,6 +35,18 @@ import static org.mockito.Mockito.*;
 class UserServiceImplTest {
     @Mock
     private UserRepository userRepository;
+    @Mock
+    private ItemRepository itemRepository;
+    @Mock
+    private BookingTimelineCache bookingTimelineCache;
+    @Mock
+    private BookingCounters bookingCounters;
+    @Mock
+    private OwnerBookingViewRepository ownerBookingViewRepository;
+    @Mock
+    private ItemMatchingIndex itemMatchingIndex;
+    @Mock
+    private AuditLog auditLog;
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -96,6 +114,7 @@ class UserServiceImplTest {
         UserDto actualUserDto = userService.addUser(userInnerDto);
 
         assertThat(userOutDto, equalTo(actualUserDto));
+        verify(bookingCounters, times(1)).registerUser(userId);
     }
 
     @Test
@@ -180,6 +199,7 @@ class UserServiceImplTest {
         UserDto actualUserDto = userService.updateUser(userId, userInnerDto);
 
         assertThat(userOutDto, equalTo(actualUserDto));
+        verify(ownerBookingViewRepository, times(1)).updateBooker(userId, "newUser name", "newUser@yandex.ru");
     }
 
     @ParameterizedTest
@@ -272,6 +292,10 @@ class UserServiceImplTest {
         userService.delUserById(userId);
 
         verify(userRepository, times(1)).deleteById(userId);
+        verify(itemRepository, times(1)).deleteAllByUserId(userId);
+        verify(itemMatchingIndex, times(1)).removeOwnerItems(userId);
+        verify(bookingCounters, times(1)).onUserDeleted(userId);
+        verify(bookingTimelineCache, times(1)).evictAll();
     }
 
     @Test
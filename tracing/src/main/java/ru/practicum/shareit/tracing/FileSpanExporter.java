@@ -0,0 +1,28 @@
+package ru.practicum.shareit.tracing;
+
+import ru.practicum.shareit.tracing.file.AsyncFileWriter;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+public class FileSpanExporter implements SpanExporter, AutoCloseable {
+    private final AsyncFileWriter<SpanData> writer;
+
+    public FileSpanExporter(Path file, int queueCapacity) throws IOException {
+        this.writer = new AsyncFileWriter<>(file, queueCapacity, "span-file-exporter", SpanData::toJson);
+    }
+
+    @Override
+    public void export(SpanData span) {
+        writer.offer(span);
+    }
+
+    public long getDroppedCount() {
+        return writer.getDroppedCount();
+    }
+
+    @Override
+    public void close() throws IOException, InterruptedException {
+        writer.close();
+    }
+}
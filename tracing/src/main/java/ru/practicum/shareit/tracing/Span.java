@@ -0,0 +1,83 @@
+package ru.practicum.shareit.tracing;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+public class Span implements AutoCloseable {
+    static final Span NOOP = new Span(null, null, null, null, null);
+
+    private final Tracer tracer;
+    private final Span previous;
+    private final TraceContext context;
+    private final String parentId;
+    private final long startEpochMicros;
+    private final long startNanos;
+    private String name;
+    private Map<String, String> tags;
+    private boolean finished;
+
+    Span(Tracer tracer, Span previous, String name, TraceContext context, String parentId) {
+        this.tracer = tracer;
+        this.previous = previous;
+        this.name = name;
+        this.context = context;
+        this.parentId = parentId;
+        if (context != null && context.isSampled()) {
+            this.startEpochMicros = TimeUnit.MILLISECONDS.toMicros(System.currentTimeMillis());
+            this.startNanos = System.nanoTime();
+        } else {
+            this.startEpochMicros = 0;
+            this.startNanos = 0;
+        }
+    }
+
+    public boolean isSampled() {
+        return context != null && context.isSampled();
+    }
+
+    public TraceContext getContext() {
+        return context;
+    }
+
+    public Span name(String name) {
+        if (isSampled()) {
+            this.name = name;
+        }
+        return this;
+    }
+
+    public Span tag(String key, String value) {
+        if (isSampled() && value != null) {
+            if (tags == null) {
+                tags = new LinkedHashMap<>();
+            }
+            tags.put(key, value);
+        }
+        return this;
+    }
+
+    public Span error(Throwable e) {
+        return tag("error", e.getClass().getSimpleName());
+    }
+
+    Span getPrevious() {
+        return previous;
+    }
+
+    SpanData toData() {
+        return new SpanData(context.getTraceId(), context.getSpanId(), parentId, tracer.getService(), name,
+                startEpochMicros, TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos),
+                tags == null ? Collections.emptyMap() : tags);
+    }
+
+    @Override
+    public void close() {
+        if (tracer == null || finished) {
+            return;
+        }
+        finished = true;
+        tracer.finish(this);
+    }
+}
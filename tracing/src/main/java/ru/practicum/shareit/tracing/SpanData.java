@@ -0,0 +1,62 @@
+package ru.practicum.shareit.tracing;
+
+import lombok.Value;
+
+import java.util.Map;
+
+@Value
+public class SpanData {
+    String traceId;
+    String spanId;
+    String parentId;
+    String service;
+    String name;
+    long startEpochMicros;
+    long durationMicros;
+    Map<String, String> tags;
+
+    public String toJson() {
+        StringBuilder json = new StringBuilder(256)
+                .append("{\"traceId\":\"").append(traceId)
+                .append("\",\"spanId\":\"").append(spanId)
+                .append("\",\"parentId\":");
+        if (parentId == null) {
+            json.append("null");
+        } else {
+            json.append('"').append(parentId).append('"');
+        }
+        json.append(",\"service\":");
+        appendString(json, service);
+        json.append(",\"name\":");
+        appendString(json, name);
+        json.append(",\"startEpochMicros\":").append(startEpochMicros)
+                .append(",\"durationMicros\":").append(durationMicros)
+                .append(",\"tags\":{");
+        boolean first = true;
+        for (Map.Entry<String, String> tag : tags.entrySet()) {
+            if (!first) {
+                json.append(',');
+            }
+            appendString(json, tag.getKey());
+            json.append(':');
+            appendString(json, tag.getValue());
+            first = false;
+        }
+        return json.append("}}").toString();
+    }
+
+    private static void appendString(StringBuilder json, String value) {
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                json.append('\\').append(c);
+            } else if (c < 0x20) {
+                json.append(String.format("\\u%04x", (int) c));
+            } else {
+                json.append(c);
+            }
+        }
+        json.append('"');
+    }
+}
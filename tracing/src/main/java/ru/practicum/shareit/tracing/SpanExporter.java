@@ -0,0 +1,5 @@
+package ru.practicum.shareit.tracing;
+
+public interface SpanExporter {
+    void export(SpanData span);
+}
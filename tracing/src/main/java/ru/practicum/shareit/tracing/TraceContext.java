@@ -0,0 +1,67 @@
+package ru.practicum.shareit.tracing;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+
+@Getter
+@ToString
+@EqualsAndHashCode
+@RequiredArgsConstructor
+public final class TraceContext {
+    public static final String HEADER = "traceparent";
+    private static final String VERSION = "00";
+    private static final String INVALID_TRACE_ID = "00000000000000000000000000000000";
+    private static final String INVALID_SPAN_ID = "0000000000000000";
+
+    private final String traceId;
+    private final String spanId;
+    private final boolean sampled;
+
+    public static TraceContext newRoot(boolean sampled) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return new TraceContext(hex(random.nextLong()) + hex(random.nextLong()), hex(random.nextLong()), sampled);
+    }
+
+    public TraceContext newChild() {
+        return new TraceContext(traceId, hex(ThreadLocalRandom.current().nextLong()), sampled);
+    }
+
+    public String toTraceParent() {
+        return VERSION + "-" + traceId + "-" + spanId + (sampled ? "-01" : "-00");
+    }
+
+    public static Optional<TraceContext> parse(String traceParent) {
+        if (traceParent == null || traceParent.length() != 55 || !traceParent.startsWith(VERSION + "-")
+                || traceParent.charAt(35) != '-' || traceParent.charAt(52) != '-') {
+            return Optional.empty();
+        }
+        String traceId = traceParent.substring(3, 35);
+        String spanId = traceParent.substring(36, 52);
+        String flags = traceParent.substring(53);
+        if (!isHex(traceId) || !isHex(spanId) || !isHex(flags)
+                || INVALID_TRACE_ID.equals(traceId) || INVALID_SPAN_ID.equals(spanId)) {
+            return Optional.empty();
+        }
+        return Optional.of(new TraceContext(traceId, spanId, (Integer.parseInt(flags, 16) & 1) == 1));
+    }
+
+    private static String hex(long value) {
+        String hex = Long.toHexString(value);
+        return "0".repeat(16 - hex.length()) + hex;
+    }
+
+    private static boolean isHex(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if ((c < '0' || c > '9') && (c < 'a' || c > 'f')) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
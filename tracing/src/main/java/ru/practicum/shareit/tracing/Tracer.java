@@ -0,0 +1,71 @@
+package ru.practicum.shareit.tracing;
+
+import lombok.Getter;
+
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+
+public class Tracer {
+    private final ThreadLocal<Span> current = new ThreadLocal<>();
+    @Getter
+    private final String service;
+    private final double samplingProbability;
+    private final SpanExporter exporter;
+
+    public Tracer(String service, double samplingProbability, SpanExporter exporter) {
+        if (samplingProbability < 0 || samplingProbability > 1) {
+            throw new IllegalArgumentException("Sampling probability must be between 0 and 1");
+        }
+        this.service = service;
+        this.samplingProbability = samplingProbability;
+        this.exporter = exporter;
+    }
+
+    public Span startSpan(String name) {
+        Span parent = current.get();
+        if (parent == null) {
+            return start(name, TraceContext.newRoot(sample()), null);
+        }
+        if (!parent.isSampled()) {
+            return Span.NOOP;
+        }
+        TraceContext parentContext = parent.getContext();
+        return start(name, parentContext.newChild(), parentContext.getSpanId());
+    }
+
+    public Span startServerSpan(String name, String traceParent) {
+        Optional<TraceContext> remote = TraceContext.parse(traceParent);
+        if (remote.isEmpty()) {
+            return start(name, TraceContext.newRoot(sample()), null);
+        }
+        return start(name, remote.get().newChild(), remote.get().getSpanId());
+    }
+
+    public TraceContext currentContext() {
+        Span span = current.get();
+        return span == null ? null : span.getContext();
+    }
+
+    void finish(Span span) {
+        if (current.get() == span) {
+            if (span.getPrevious() == null) {
+                current.remove();
+            } else {
+                current.set(span.getPrevious());
+            }
+        }
+        if (span.isSampled()) {
+            exporter.export(span.toData());
+        }
+    }
+
+    private Span start(String name, TraceContext context, String parentId) {
+        Span span = new Span(this, current.get(), name, context, parentId);
+        current.set(span);
+        return span;
+    }
+
+    private boolean sample() {
+        return samplingProbability >= 1 || ThreadLocalRandom.current().nextDouble() < samplingProbability;
+    }
+}
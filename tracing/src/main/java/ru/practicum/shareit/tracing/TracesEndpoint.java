@@ -0,0 +1,24 @@
+package ru.practicum.shareit.tracing;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+
+import java.util.List;
+
+@Endpoint(id = "traces")
+@RequiredArgsConstructor
+public class TracesEndpoint {
+    private final InMemorySpanExporter exporter;
+
+    @ReadOperation
+    public List<SpanData> spans() {
+        return exporter.getSpans();
+    }
+
+    @ReadOperation
+    public List<SpanData> trace(@Selector String traceId) {
+        return exporter.getTrace(traceId);
+    }
+}
@@ -0,0 +1,42 @@
+package ru.practicum.shareit.tracing;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+
+@RequiredArgsConstructor
+public class TracingClientInterceptor implements ClientHttpRequestInterceptor {
+    private final Tracer tracer;
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        try (Span span = tracer.startSpan("http.client")) {
+            TraceContext context = tracer.currentContext();
+            if (context != null) {
+                request.getHeaders().set(TraceContext.HEADER, context.toTraceParent());
+            }
+            if (span.isSampled()) {
+                span.name(request.getMethodValue() + " " + request.getURI().getPath())
+                        .tag("span.kind", "client")
+                        .tag("http.method", request.getMethodValue())
+                        .tag("http.url", request.getURI().toString());
+            }
+            try {
+                ClientHttpResponse response = execution.execute(request, body);
+                response.getHeaders().remove(TraceContext.HEADER);
+                if (span.isSampled()) {
+                    span.tag("http.status", String.valueOf(response.getRawStatusCode()));
+                }
+                return response;
+            } catch (IOException | RuntimeException e) {
+                span.error(e);
+                throw e;
+            }
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package ru.practicum.shareit.tracing;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.client.RestTemplateCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+@Configuration
+@ConditionalOnProperty(name = "shareit.tracing.enabled", havingValue = "true", matchIfMissing = true)
+public class TracingConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "shareit.tracing.exporter", havingValue = "memory", matchIfMissing = true)
+    public InMemorySpanExporter inMemorySpanExporter(@Value("${shareit.tracing.memory.capacity:10000}") int capacity) {
+        return new InMemorySpanExporter(capacity);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "shareit.tracing.exporter", havingValue = "memory", matchIfMissing = true)
+    public TracesEndpoint tracesEndpoint(InMemorySpanExporter inMemorySpanExporter) {
+        return new TracesEndpoint(inMemorySpanExporter);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "shareit.tracing.exporter", havingValue = "file")
+    public FileSpanExporter fileSpanExporter(@Value("${shareit.tracing.file.path}") Path path,
+                                             @Value("${shareit.tracing.file.queue-capacity:10000}") int capacity)
+            throws IOException {
+        return new FileSpanExporter(path, capacity);
+    }
+
+    @Bean
+    public Tracer tracer(SpanExporter spanExporter,
+                         @Value("${shareit.tracing.service-name}") String serviceName,
+                         @Value("${shareit.tracing.sampling-probability:0.01}") double samplingProbability) {
+        return new Tracer(serviceName, samplingProbability, spanExporter);
+    }
+
+    @Bean
+    public FilterRegistrationBean<TracingFilter> tracingFilter(Tracer tracer) {
+        FilterRegistrationBean<TracingFilter> registration = new FilterRegistrationBean<>(new TracingFilter(tracer));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    @Bean
+    public RestTemplateCustomizer tracingRestTemplateCustomizer(Tracer tracer) {
+        return restTemplate -> restTemplate.getInterceptors().add(new TracingClientInterceptor(tracer));
+    }
+}
@@ -0,0 +1,48 @@
+package ru.practicum.shareit.tracing;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+@RequiredArgsConstructor
+public class TracingFilter extends OncePerRequestFilter {
+    private static final String ACTUATOR_PATH = "/actuator";
+
+    private final Tracer tracer;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Span span = tracer.startServerSpan(request.getRequestURI(), request.getHeader(TraceContext.HEADER));
+        if (span.isSampled()) {
+            response.setHeader(TraceContext.HEADER, span.getContext().toTraceParent());
+        }
+        try {
+            chain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException e) {
+            span.error(e);
+            throw e;
+        } finally {
+            if (span.isSampled()) {
+                Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                span.name(request.getMethod() + " " + (pattern == null ? request.getRequestURI() : pattern))
+                        .tag("span.kind", "server")
+                        .tag("http.method", request.getMethod())
+                        .tag("http.path", request.getRequestURI())
+                        .tag("http.status", String.valueOf(response.getStatus()));
+            }
+            span.close();
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith(ACTUATOR_PATH);
+    }
+}
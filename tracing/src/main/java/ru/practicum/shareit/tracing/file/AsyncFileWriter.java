@@ -0,0 +1,95 @@
+package ru.practicum.shareit.tracing.file;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+public class AsyncFileWriter<T> implements AutoCloseable {
+    private final BlockingQueue<T> queue;
+    private final AtomicLong dropped = new AtomicLong();
+    private final LineFormatter<T> formatter;
+    private final BufferedWriter writer;
+    private final Thread worker;
+    private volatile boolean running = true;
+    private volatile boolean accepting = true;
+
+    public AsyncFileWriter(Path file, int queueCapacity, String name, LineFormatter<T> formatter) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.formatter = formatter;
+        this.writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                StandardOpenOption.APPEND);
+        this.worker = new Thread(this::write, name);
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    public boolean offer(T value) {
+        if (!accepting || !queue.offer(value)) {
+            dropped.incrementAndGet();
+            return false;
+        }
+        if (!accepting && queue.remove(value)) {
+            dropped.incrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    private void write() {
+        try {
+            while (running || !queue.isEmpty()) {
+                T value = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (value == null) {
+                    continue;
+                }
+                do {
+                    writer.write(formatter.format(value));
+                    writer.newLine();
+                    value = queue.poll();
+                } while (value != null);
+                writer.flush();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            log.error("{} stopped: {}", worker.getName(), e.getMessage());
+        } finally {
+            accepting = false;
+            dropped.addAndGet(queue.drainTo(new ArrayList<>()));
+        }
+    }
+
+    @Override
+    public void close() throws IOException, InterruptedException {
+        running = false;
+        worker.join(TimeUnit.SECONDS.toMillis(5));
+        if (worker.isAlive()) {
+            worker.interrupt();
+            worker.join();
+        }
+        writer.close();
+    }
+
+    @FunctionalInterface
+    public interface LineFormatter<T> {
+        String format(T value) throws IOException;
+    }
+}
@@ -0,0 +1,54 @@
+package ru.practicum.shareit.tracing.log;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.ILoggerFactory;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+
+@Component
+public class AsyncAppenderMetrics implements MeterBinder {
+    private final ILoggerFactory loggerFactory;
+
+    public AsyncAppenderMetrics() {
+        this(LoggerFactory.getILoggerFactory());
+    }
+
+    AsyncAppenderMetrics(ILoggerFactory loggerFactory) {
+        this.loggerFactory = loggerFactory;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (!(loggerFactory instanceof LoggerContext)) {
+            return;
+        }
+        for (Logger logger : ((LoggerContext) loggerFactory).getLoggerList()) {
+            for (Iterator<Appender<ILoggingEvent>> it = logger.iteratorForAppenders(); it.hasNext(); ) {
+                Appender<ILoggingEvent> appender = it.next();
+                if (appender instanceof CountingAsyncAppender) {
+                    bind(registry, (CountingAsyncAppender) appender);
+                }
+            }
+        }
+    }
+
+    private static void bind(MeterRegistry registry, CountingAsyncAppender appender) {
+        FunctionCounter.builder("logback.async.dropped", appender, CountingAsyncAppender::getDroppedCount)
+                .tag("appender", appender.getName())
+                .description("Log events dropped because the async appender queue was full")
+                .register(registry);
+        Gauge.builder("logback.async.queue.size", appender, CountingAsyncAppender::getNumberOfElementsInQueue)
+                .tag("appender", appender.getName())
+                .description("Log events waiting in the async appender queue")
+                .register(registry);
+    }
+}
@@ -0,0 +1,39 @@
+package ru.practicum.shareit.tracing.log;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+import java.util.concurrent.atomic.LongAdder;
+
+public class CountingAsyncAppender extends AsyncAppender {
+    private final LongAdder dropped = new LongAdder();
+    private final Object enqueueLock = new Object();
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        if (!isNeverBlock()) {
+            super.append(event);
+            return;
+        }
+        synchronized (enqueueLock) {
+            if (getRemainingCapacity() == 0) {
+                dropped.increment();
+                return;
+            }
+            super.append(event);
+        }
+    }
+
+    @Override
+    protected boolean isDiscardable(ILoggingEvent event) {
+        boolean discardable = super.isDiscardable(event);
+        if (discardable) {
+            dropped.increment();
+        }
+        return discardable;
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+}
@@ -0,0 +1,28 @@
+package ru.practicum.shareit.tracing.log;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import ru.practicum.shareit.tracing.Tracer;
+
+@Configuration
+@ConditionalOnProperty(name = "shareit.request-log.enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(RequestLogProperties.class)
+public class RequestLogConfig implements WebMvcConfigurer {
+    private final RequestLogProperties properties;
+    private final ObjectProvider<Tracer> tracer;
+
+    public RequestLogConfig(RequestLogProperties properties, ObjectProvider<Tracer> tracer) {
+        this.properties = properties;
+        this.tracer = tracer;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new RequestLogInterceptor(properties, tracer.getIfAvailable()))
+                .excludePathPatterns("/actuator/**");
+    }
+}
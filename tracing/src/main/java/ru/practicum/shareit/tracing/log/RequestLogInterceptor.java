@@ -0,0 +1,54 @@
+package ru.practicum.shareit.tracing.log;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import ru.practicum.shareit.tracing.TraceContext;
+import ru.practicum.shareit.tracing.Tracer;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@RequiredArgsConstructor
+public class RequestLogInterceptor implements HandlerInterceptor {
+    private static final String START_ATTRIBUTE = RequestLogInterceptor.class.getName() + ".start";
+
+    private final RequestLogProperties properties;
+    private final Tracer tracer;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (log.isInfoEnabled()) {
+            request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        Object start = request.getAttribute(START_ATTRIBUTE);
+        if (start == null) {
+            return;
+        }
+        String route = (String) request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        int status = response.getStatus();
+        if (status < 400 && ex == null && !sampled(properties.getSamplingRate(route))) {
+            return;
+        }
+        TraceContext context = tracer == null ? null : tracer.currentContext();
+        log.info("request method={} route={} path={} query={} caller={} status={} durationMs={} traceId={}",
+                request.getMethod(), route, request.getRequestURI(), request.getQueryString(),
+                request.getHeader(properties.getCallerHeader()), status,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - (Long) start),
+                context == null ? null : context.getTraceId());
+    }
+
+    private static boolean sampled(double rate) {
+        return rate >= 1 || rate > 0 && ThreadLocalRandom.current().nextDouble() < rate;
+    }
+}
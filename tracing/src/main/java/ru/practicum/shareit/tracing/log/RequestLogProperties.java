@@ -0,0 +1,20 @@
+package ru.practicum.shareit.tracing.log;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "shareit.request-log")
+public class RequestLogProperties {
+    private boolean enabled = true;
+    private String callerHeader = "X-Sharer-User-Id";
+    private double defaultSamplingRate = 1.0;
+    private Map<String, Double> samplingRates = new HashMap<>();
+
+    public double getSamplingRate(String route) {
+        return route == null ? defaultSamplingRate : samplingRates.getOrDefault(route, defaultSamplingRate);
+    }
+}
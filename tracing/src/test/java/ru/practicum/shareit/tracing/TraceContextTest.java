@@ -0,0 +1,38 @@
+package ru.practicum.shareit.tracing;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TraceContextTest {
+
+    @Test
+    void parse_whenTraceParentIsValid_thenReturnContext() {
+        Optional<TraceContext> context = TraceContext.parse("00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01");
+
+        assertThat(Optional.of(new TraceContext("4bf92f3577b34da6a3ce929d0e0e4736", "00f067aa0ba902b7", true)),
+                equalTo(context));
+    }
+
+    @Test
+    void parse_whenTraceParentIsMalformed_thenReturnEmpty() {
+        assertTrue(TraceContext.parse(null).isEmpty());
+        assertTrue(TraceContext.parse("00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7").isEmpty());
+        assertTrue(TraceContext.parse("00-4BF92F3577B34DA6A3CE929D0E0E4736-00f067aa0ba902b7-01").isEmpty());
+        assertTrue(TraceContext.parse("00-00000000000000000000000000000000-00f067aa0ba902b7-01").isEmpty());
+    }
+
+    @Test
+    void toTraceParent_whenNewChild_thenKeepTraceIdAndSampling() {
+        TraceContext root = TraceContext.newRoot(false);
+
+        TraceContext child = root.newChild();
+
+        assertThat(root.getTraceId(), equalTo(child.getTraceId()));
+        assertThat(Optional.of(child), equalTo(TraceContext.parse(child.toTraceParent())));
+    }
+}
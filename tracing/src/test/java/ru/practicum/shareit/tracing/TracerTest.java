@@ -0,0 +1,90 @@
+package ru.practicum.shareit.tracing;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class TracerTest {
+    private final InMemorySpanExporter exporter = new InMemorySpanExporter(10);
+
+    @Test
+    void startSpan_whenNested_thenExportChildBeforeParentWithSameTrace() {
+        Tracer tracer = new Tracer("test", 1.0, exporter);
+
+        try (Span parent = tracer.startSpan("parent")) {
+            try (Span child = tracer.startSpan("child")) {
+                child.tag("key", "value");
+            }
+            parent.name("renamed");
+        }
+
+        List<SpanData> spans = exporter.getSpans();
+        assertThat(spans, hasSize(2));
+        assertThat("child", equalTo(spans.get(0).getName()));
+        assertThat("renamed", equalTo(spans.get(1).getName()));
+        assertThat(spans.get(1).getTraceId(), equalTo(spans.get(0).getTraceId()));
+        assertThat(spans.get(1).getSpanId(), equalTo(spans.get(0).getParentId()));
+        assertThat(spans.get(1).getParentId(), nullValue());
+        assertThat(tracer.currentContext(), nullValue());
+    }
+
+    @Test
+    void startSpan_whenNotSampled_thenExportNothingButPropagateContext() {
+        Tracer tracer = new Tracer("test", 0.0, exporter);
+
+        try (Span root = tracer.startSpan("root")) {
+            try (Span child = tracer.startSpan("child")) {
+                assertThat(child.isSampled(), equalTo(false));
+                assertThat(root.getContext(), equalTo(tracer.currentContext()));
+            }
+        }
+
+        assertThat(exporter.getSpans(), empty());
+    }
+
+    @Test
+    void startServerSpan_whenRemoteParentIsSampled_thenContinueTrace() {
+        Tracer tracer = new Tracer("test", 0.0, exporter);
+
+        tracer.startServerSpan("GET /items", "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01").close();
+
+        List<SpanData> spans = exporter.getTrace("4bf92f3577b34da6a3ce929d0e0e4736");
+        assertThat(spans, hasSize(1));
+        assertThat("00f067aa0ba902b7", equalTo(spans.get(0).getParentId()));
+        assertThat("test", equalTo(spans.get(0).getService()));
+    }
+
+    @Test
+    void export_whenCapacityReached_thenDropOldestSpans() {
+        Tracer tracer = new Tracer("test", 1.0, exporter);
+
+        for (int i = 0; i < 15; i++) {
+            tracer.startSpan("span" + i).close();
+        }
+
+        List<SpanData> spans = exporter.getSpans();
+        assertThat(spans, hasSize(10));
+        assertThat("span5", equalTo(spans.get(0).getName()));
+    }
+
+    @Test
+    void export_whenFileExporter_thenWriteJsonLines() throws Exception {
+        Path file = Files.createTempDirectory("traces").resolve("spans.jsonl");
+        try (FileSpanExporter fileExporter = new FileSpanExporter(file, 10)) {
+            Tracer tracer = new Tracer("test", 1.0, fileExporter);
+            try (Span span = tracer.startSpan("file \"span\"")) {
+                span.tag("http.status", "200");
+            }
+        }
+
+        List<String> lines = Files.readAllLines(file);
+        assertThat(lines, hasSize(1));
+        assertThat(lines.get(0), allOf(containsString("\"name\":\"file \\\"span\\\"\""),
+                containsString("\"tags\":{\"http.status\":\"200\"}")));
+    }
+}
@@ -0,0 +1,51 @@
+package ru.practicum.shareit.tracing.file;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+
+class AsyncFileWriterTest {
+    @TempDir
+    private Path directory;
+
+    @Test
+    void close_whenValuesQueued_thenWriteAllBeforeClosing() throws Exception {
+        Path file = directory.resolve("lines").resolve("values.txt");
+        AsyncFileWriter<String> writer = new AsyncFileWriter<>(file, 10, "test-writer", value -> value);
+
+        writer.offer("first");
+        writer.offer("second");
+        writer.close();
+
+        assertThat(Files.readAllLines(file), contains("first", "second"));
+        assertThat(0L, equalTo(writer.getDroppedCount()));
+    }
+
+    @Test
+    void offer_whenWorkerStopped_thenDropValues() throws Exception {
+        Path file = directory.resolve("values.txt");
+        AsyncFileWriter<String> writer = new AsyncFileWriter<>(file, 10, "test-writer", value -> {
+            if (value.equals("broken")) {
+                throw new IOException("Cannot format value");
+            }
+            return value;
+        });
+
+        writer.offer("broken");
+        writer.offer("queued");
+        writer.offer("late");
+        writer.close();
+
+        assertThat(false, equalTo(writer.offer("closed")));
+        assertThat(Files.readAllLines(file), empty());
+        assertThat(3L, equalTo(writer.getDroppedCount()));
+    }
+}
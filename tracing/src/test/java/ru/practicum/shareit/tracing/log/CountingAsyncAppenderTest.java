@@ -0,0 +1,135 @@
+package ru.practicum.shareit.tracing.log;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+
+class CountingAsyncAppenderTest {
+
+    @Test
+    void append_whenQueueIsFull_thenDropEventsAndExposeCounter() throws InterruptedException {
+        LoggerContext context = new LoggerContext();
+        CountDownLatch release = new CountDownLatch(1);
+        BlockingAppender blocking = new BlockingAppender(release);
+        blocking.setContext(context);
+        blocking.start();
+        CountingAsyncAppender appender = new CountingAsyncAppender();
+        appender.setContext(context);
+        appender.setName("ASYNC_TEST");
+        appender.setQueueSize(4);
+        appender.setDiscardingThreshold(0);
+        appender.setNeverBlock(true);
+        appender.addAppender(blocking);
+        appender.start();
+
+        for (int i = 0; i < 10; i++) {
+            appender.doAppend(event(context, "event " + i));
+        }
+        long dropped = appender.getDroppedCount();
+        release.countDown();
+        appender.stop();
+
+        assertThat(dropped + blocking.received, equalTo(10L));
+        assertThat(dropped, greaterThan(0L));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        context.getLogger("test").addAppender(appender);
+        new AsyncAppenderMetrics(context).bindTo(registry);
+        assertThat((double) dropped, equalTo(registry.get("logback.async.dropped").tag("appender", "ASYNC_TEST")
+                .functionCounter().count()));
+    }
+
+    @Test
+    void append_whenThreadsAppendConcurrently_thenCountEveryDroppedEvent() throws InterruptedException {
+        LoggerContext context = new LoggerContext();
+        CountDownLatch release = new CountDownLatch(1);
+        BlockingAppender blocking = new BlockingAppender(release);
+        blocking.setContext(context);
+        blocking.start();
+        CountingAsyncAppender appender = new CountingAsyncAppender();
+        appender.setContext(context);
+        appender.setQueueSize(16);
+        appender.setDiscardingThreshold(0);
+        appender.setNeverBlock(true);
+        appender.addAppender(blocking);
+        appender.start();
+
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            Thread thread = new Thread(() -> {
+                for (int j = 0; j < 100; j++) {
+                    appender.doAppend(event(context, "event " + j));
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        long dropped = appender.getDroppedCount();
+        release.countDown();
+        appender.stop();
+
+        assertThat(dropped + blocking.received, equalTo(800L));
+    }
+
+    @Test
+    void append_whenQueueIsBelowDiscardingThreshold_thenCountDiscardedEvents() throws InterruptedException {
+        LoggerContext context = new LoggerContext();
+        CountDownLatch release = new CountDownLatch(1);
+        BlockingAppender blocking = new BlockingAppender(release);
+        blocking.setContext(context);
+        blocking.start();
+        CountingAsyncAppender appender = new CountingAsyncAppender();
+        appender.setContext(context);
+        appender.setQueueSize(4);
+        appender.setDiscardingThreshold(2);
+        appender.addAppender(blocking);
+        appender.start();
+
+        for (int i = 0; i < 10; i++) {
+            appender.doAppend(event(context, "event " + i));
+        }
+        long dropped = appender.getDroppedCount();
+        release.countDown();
+        appender.stop();
+
+        assertThat(dropped + blocking.received, equalTo(10L));
+        assertThat(dropped, greaterThan(0L));
+    }
+
+    private static ILoggingEvent event(LoggerContext context, String message) {
+        return new LoggingEvent("test", context.getLogger("test"), Level.INFO, message, null, null);
+    }
+
+    private static class BlockingAppender extends AppenderBase<ILoggingEvent> {
+        private final CountDownLatch release;
+        private volatile long received;
+
+        BlockingAppender(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        protected void append(ILoggingEvent event) {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            received++;
+        }
+    }
+}
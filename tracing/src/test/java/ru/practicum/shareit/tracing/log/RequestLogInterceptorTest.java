@@ -0,0 +1,85 @@
+package ru.practicum.shareit.tracing.log;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+import ru.practicum.shareit.tracing.InMemorySpanExporter;
+import ru.practicum.shareit.tracing.Span;
+import ru.practicum.shareit.tracing.Tracer;
+
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class RequestLogInterceptorTest {
+    private final Logger logger = (Logger) LoggerFactory.getLogger(RequestLogInterceptor.class);
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+    private final RequestLogProperties properties = new RequestLogProperties();
+    private final Tracer tracer = new Tracer("test", 1.0, new InMemorySpanExporter(10));
+    private final RequestLogInterceptor interceptor = new RequestLogInterceptor(properties, tracer);
+
+    @BeforeEach
+    void attachAppender() {
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void detachAppender() {
+        logger.detachAppender(appender);
+    }
+
+    @Test
+    void afterCompletion_whenRouteIsSampled_thenLogStructuredLine() {
+        MockHttpServletRequest request = request("/items/search", "/items/search");
+        request.setQueryString("text=drill");
+        request.addHeader("X-Sharer-User-Id", "7");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        try (Span span = tracer.startSpan("GET /items/search")) {
+            interceptor.preHandle(request, response, new Object());
+            interceptor.afterCompletion(request, response, new Object(), null);
+
+            assertThat(appender.list, hasSize(1));
+            assertThat(appender.list.get(0).getFormattedMessage(), allOf(
+                    startsWith("request method=GET route=/items/search path=/items/search query=text=drill caller=7"
+                            + " status=200 durationMs="),
+                    endsWith("traceId=" + span.getContext().getTraceId())));
+        }
+    }
+
+    @Test
+    void afterCompletion_whenRouteSamplingRateIsZero_thenLogOnlyErrors() {
+        properties.setSamplingRates(Map.of("/items/{itemId}", 0.0));
+        MockHttpServletResponse ok = new MockHttpServletResponse();
+        MockHttpServletResponse notFound = new MockHttpServletResponse();
+        notFound.setStatus(404);
+
+        complete(request("/items/1", "/items/{itemId}"), ok);
+        complete(request("/items/2", "/items/{itemId}"), notFound);
+        complete(request("/users/1", "/users/{userId}"), ok);
+
+        assertThat(appender.list, hasSize(2));
+        assertThat(appender.list.get(0).getFormattedMessage(), containsString("path=/items/2"));
+        assertThat(appender.list.get(1).getFormattedMessage(), containsString("path=/users/1"));
+    }
+
+    private void complete(MockHttpServletRequest request, MockHttpServletResponse response) {
+        interceptor.preHandle(request, response, new Object());
+        interceptor.afterCompletion(request, response, new Object(), null);
+    }
+
+    private static MockHttpServletRequest request(String path, String route) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, route);
+        return request;
+    }
+}